@@ -16,8 +16,12 @@
  */
 package org.apache.dolphinscheduler.alert;
 
-import org.apache.dolphinscheduler.alert.runner.AlertSender;
+import org.apache.dolphinscheduler.alert.runner.AlertDispatcher;
 import org.apache.dolphinscheduler.alert.utils.Constants;
+import org.apache.dolphinscheduler.alert.utils.PropertyUtils;
+import org.apache.dolphinscheduler.alert.zk.ZKAlertClient;
+import org.apache.dolphinscheduler.common.metrics.Metrics;
+import org.apache.dolphinscheduler.common.metrics.MetricsServer;
 import org.apache.dolphinscheduler.common.thread.Stopper;
 import org.apache.dolphinscheduler.dao.AlertDao;
 import org.apache.dolphinscheduler.dao.DaoFactory;
@@ -26,6 +30,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 /**
  * alert of start
@@ -37,7 +43,19 @@ public class AlertServer {
      */
     private AlertDao alertDao = DaoFactory.getDaoInstance(AlertDao.class);
 
-    private AlertSender alertSender;
+    private AlertDispatcher alertDispatcher;
+
+    /**
+     * released when an alert is added, the scan waits for it
+     */
+    private final Semaphore alertSignal = new Semaphore(0);
+
+    private ZKAlertClient zkAlertClient;
+
+    /**
+     * waiting alerts found by the last scan
+     */
+    private volatile int alertBacklog;
 
     private static volatile AlertServer instance;
 
@@ -58,15 +76,34 @@ public class AlertServer {
 
     public void start(){
         logger.info("alert server ready start ");
+        MetricsServer metricsServer = MetricsServer.start(
+                PropertyUtils.getInt(Constants.ALERT_METRICS_PORT, Constants.DEFAULT_ALERT_METRICS_PORT));
+        Metrics.gauge("alert_backlog", "waiting alerts found by the last scan", () -> alertBacklog);
+        alertDispatcher = new AlertDispatcher(alertDao);
+        zkAlertClient = new ZKAlertClient();
+        zkAlertClient.listenerAlertSignal(alertSignal::release);
+        long backstopScanInterval = PropertyUtils.getLong(Constants.ALERT_BACKSTOP_SCAN_INTERVAL,
+                Constants.DEFAULT_ALERT_BACKSTOP_SCAN_INTERVAL);
         while (Stopper.isRunning()){
             try {
-                Thread.sleep(Constants.ALERT_SCAN_INTERVEL);
+                long waitTime = Math.min(backstopScanInterval,
+                        alertDispatcher.getNextFlushTime() - System.currentTimeMillis());
+                if (alertSignal.tryAcquire(Math.max(waitTime, 0), TimeUnit.MILLISECONDS)) {
+                    // alerts signaled before the scan begins are found by it
+                    alertSignal.drainPermits();
+                }
             } catch (InterruptedException e) {
                 logger.error(e.getMessage(),e);
             }
+            long scanTime = System.currentTimeMillis();
             List<Alert> alerts = alertDao.listWaitExecutionAlert();
-            alertSender = new AlertSender(alerts, alertDao);
-            alertSender.run();
+            alertBacklog = alerts.size();
+            alertDispatcher.dispatch(alerts, scanTime);
+        }
+        alertDispatcher.shutdown();
+        zkAlertClient.close();
+        if (metricsServer != null) {
+            metricsServer.stop();
         }
     }
 
@@ -0,0 +1,211 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.alert.runner;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.parser.Feature;
+import com.alibaba.fastjson.serializer.SerializerFeature;
+import org.apache.dolphinscheduler.dao.entity.Alert;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * merges the waiting alerts with the same alert group, type, receivers, title and process definition into digests.
+ * the first alert of a key is sent at once, the alerts following it within the window are held
+ * and sent as one digest when the window ends. not thread safe, it is only used by the scanner thread
+ */
+public class AlertAggregator {
+
+    private static final Logger logger = LoggerFactory.getLogger(AlertAggregator.class);
+
+    private final long windowMillis;
+
+    /**
+     * time in millis the last digest of the key was sent
+     */
+    private final Map<List<Object>, Long> lastSendTimes = new HashMap<>();
+
+    /**
+     * time in millis the first window holding alerts ends
+     */
+    private long nextFlushTime = Long.MAX_VALUE;
+
+    /**
+     * @param windowMillis aggregation window in millis, alerts are not merged if it is not positive
+     */
+    public AlertAggregator(long windowMillis) {
+        this.windowMillis = windowMillis;
+    }
+
+    /**
+     * aggregate the waiting alerts
+     * @param alerts waiting alerts
+     * @param now current time in millis
+     * @return digests to send now, the alerts held in the window are not in any digest
+     */
+    public List<AlertDigest> aggregate(List<Alert> alerts, long now) {
+        List<AlertDigest> digests = new ArrayList<>();
+        nextFlushTime = Long.MAX_VALUE;
+        if (windowMillis <= 0) {
+            for (Alert alert : alerts) {
+                digests.add(new AlertDigest(alert, Collections.<Integer>emptyList()));
+            }
+            return digests;
+        }
+
+        lastSendTimes.values().removeIf(sendTime -> sendTime + windowMillis <= now);
+
+        List<Alert> sorted = new ArrayList<>(alerts);
+        sorted.sort(Comparator.comparingInt(Alert::getId));
+        Map<List<Object>, List<Alert>> groups = new LinkedHashMap<>();
+        for (Alert alert : sorted) {
+            groups.computeIfAbsent(keyOf(alert), key -> new ArrayList<>()).add(alert);
+        }
+
+        for (Map.Entry<List<Object>, List<Alert>> group : groups.entrySet()) {
+            Long lastSendTime = lastSendTimes.get(group.getKey());
+            if (lastSendTime != null) {
+                // held until the window of the last digest ends
+                nextFlushTime = Math.min(nextFlushTime, lastSendTime + windowMillis);
+                continue;
+            }
+            lastSendTimes.put(group.getKey(), now);
+            digests.addAll(merge(group.getValue()));
+        }
+        return digests;
+    }
+
+    /**
+     * @return time in millis the first window holding alerts of the last aggregation ends, Long.MAX_VALUE if none
+     */
+    public long getNextFlushTime() {
+        return nextFlushTime;
+    }
+
+    /**
+     * merge alerts of the same key, the contents are json arrays whose rows are concatenated and
+     * deduplicated. an alert whose content is not a json array is sent on its own
+     * @param alerts alerts of the same key ordered by id
+     * @return digests
+     */
+    static List<AlertDigest> merge(List<Alert> alerts) {
+        List<AlertDigest> digests = new ArrayList<>();
+        Alert carrier = null;
+        List<Integer> mergedIds = new ArrayList<>();
+        Map<String, Object> rows = new LinkedHashMap<>();
+        for (Alert alert : alerts) {
+            JSONArray content = parseContent(alert);
+            if (content == null) {
+                digests.add(new AlertDigest(alert, Collections.<Integer>emptyList()));
+                continue;
+            }
+            if (carrier == null) {
+                carrier = alert;
+            } else {
+                mergedIds.add(alert.getId());
+            }
+            for (Object row : content) {
+                rows.putIfAbsent(JSON.toJSONString(row, SerializerFeature.WriteMapNullValue), row);
+            }
+        }
+        if (carrier == null) {
+            return digests;
+        }
+        if (mergedIds.isEmpty()) {
+            digests.add(new AlertDigest(carrier, mergedIds));
+            return digests;
+        }
+
+        Alert digest = new Alert();
+        digest.setId(carrier.getId());
+        digest.setTitle(String.format("%s (%d alerts)", carrier.getTitle(), mergedIds.size() + 1));
+        digest.setShowType(carrier.getShowType());
+        digest.setContent(JSON.toJSONString(new ArrayList<>(rows.values()), SerializerFeature.WriteMapNullValue));
+        digest.setAlertType(carrier.getAlertType());
+        digest.setAlertStatus(carrier.getAlertStatus());
+        digest.setAlertGroupId(carrier.getAlertGroupId());
+        digest.setReceivers(carrier.getReceivers());
+        digest.setReceiversCc(carrier.getReceiversCc());
+        digest.setProcessDefinitionId(carrier.getProcessDefinitionId());
+        digest.setCreateTime(carrier.getCreateTime());
+        digest.setUpdateTime(carrier.getUpdateTime());
+        digests.add(new AlertDigest(digest, mergedIds));
+        return digests;
+    }
+
+    /**
+     * parse the content of the alert
+     * @param alert alert
+     * @return rows of the content, null if it is not a json array
+     */
+    private static JSONArray parseContent(Alert alert) {
+        if (alert.getContent() == null) {
+            return null;
+        }
+        try {
+            Object content = JSON.parse(alert.getContent(), Feature.OrderedField);
+            return content instanceof JSONArray ? (JSONArray) content : null;
+        } catch (Exception e) {
+            logger.debug("content of alert {} is not a json array, it is not merged", alert.getId());
+            return null;
+        }
+    }
+
+    private static List<Object> keyOf(Alert alert) {
+        return Arrays.<Object>asList(alert.getAlertGroupId(), alert.getAlertType(), alert.getShowType(),
+                alert.getTitle(), alert.getReceivers(), alert.getReceiversCc(), alert.getProcessDefinitionId());
+    }
+
+    /**
+     * an alert to send with the ids of the alerts merged into it
+     */
+    public static class AlertDigest {
+
+        private final Alert alert;
+
+        private final List<Integer> mergedIds;
+
+        AlertDigest(Alert alert, List<Integer> mergedIds) {
+            this.alert = alert;
+            this.mergedIds = mergedIds;
+        }
+
+        /**
+         * @return the alert to send, it has the id of the first alert merged
+         */
+        public Alert getAlert() {
+            return alert;
+        }
+
+        /**
+         * @return ids of the other alerts merged into the digest
+         */
+        public List<Integer> getMergedIds() {
+            return mergedIds;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.alert.runner;
+
+import com.google.common.util.concurrent.RateLimiter;
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * channel sending alerts by a bounded thread pool at a limited rate.
+ * the thread dispatching an alert sends it itself when the queue of the channel is full
+ */
+public class AlertChannel {
+
+    private final ThreadPoolExecutor executor;
+
+    private final RateLimiter rateLimiter;
+
+    /**
+     * @param name thread name prefix
+     * @param threads threads sending alerts
+     * @param queueSize max alerts waiting in the channel
+     * @param permitsPerSecond max alerts sent per second
+     */
+    public AlertChannel(String name, int threads, int queueSize, double permitsPerSecond) {
+        this.executor = ThreadUtils.newDaemonBoundedThreadPool(name, threads, queueSize);
+        this.rateLimiter = RateLimiter.create(permitsPerSecond);
+    }
+
+    /**
+     * send an alert in the channel, the thread sending it waits for the rate limit
+     * @param task sends the alert
+     */
+    public void execute(Runnable task) {
+        executor.execute(() -> {
+            rateLimiter.acquire();
+            task.run();
+        });
+    }
+
+    /**
+     * stop the channel, the queued alerts are still sent
+     * @param timeoutMillis max time in millis waiting for the queued alerts
+     * @return true if all the alerts are sent in time
+     */
+    public boolean shutdown(long timeoutMillis) {
+        executor.shutdown();
+        try {
+            return executor.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
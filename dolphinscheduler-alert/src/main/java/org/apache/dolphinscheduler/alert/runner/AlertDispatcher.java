@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.alert.runner;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import org.apache.dolphinscheduler.alert.utils.Constants;
+import org.apache.dolphinscheduler.alert.utils.PropertyUtils;
+import org.apache.dolphinscheduler.common.enums.AlertStatus;
+import org.apache.dolphinscheduler.common.metrics.Counter;
+import org.apache.dolphinscheduler.common.metrics.Metrics;
+import org.apache.dolphinscheduler.common.metrics.Timer;
+import org.apache.dolphinscheduler.dao.AlertDao;
+import org.apache.dolphinscheduler.dao.entity.Alert;
+import org.apache.dolphinscheduler.dao.entity.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * alert dispatcher, sends alerts concurrently by the channel of their type
+ */
+public class AlertDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(AlertDispatcher.class);
+
+    private static final Timer SEND_TIME = Metrics.timer("alert_send_seconds",
+            "time of sending an alert, waiting for the rate limit is not counted");
+
+    private static final Counter ALERTS_AGGREGATED = Metrics.counter("alert_aggregated_total",
+            "alerts merged into the digest of another alert");
+
+    /**
+     * mail channel, alerts of type email and sms
+     */
+    private final AlertChannel mailChannel;
+
+    private final AlertChannel weChatChannel;
+
+    /**
+     * users of alert groups, key is alert group id
+     */
+    private final LoadingCache<Integer, List<User>> alertGroupUsersCache;
+
+    /**
+     * alerts dispatched by the scans, value is the time in millis the alert was sent, Long.MAX_VALUE while sending.
+     * an alert sent after a scan began may still be waiting in the result of that scan, so it is kept until the next scan
+     */
+    private final ConcurrentHashMap<Integer, Long> dispatchedAlerts = new ConcurrentHashMap<>();
+
+    private final AlertSender alertSender;
+
+    private final AlertAggregator alertAggregator;
+
+    private final AlertDao alertDao;
+
+    public AlertDispatcher(AlertDao alertDao) {
+        int queueSize = PropertyUtils.getInt(Constants.ALERT_DISPATCH_QUEUE_SIZE, Constants.DEFAULT_ALERT_DISPATCH_QUEUE_SIZE);
+        this.mailChannel = new AlertChannel("Alert-Mail-Thread",
+                PropertyUtils.getInt(Constants.ALERT_MAIL_THREADS, Constants.DEFAULT_ALERT_MAIL_THREADS), queueSize,
+                PropertyUtils.getInt(Constants.ALERT_MAIL_RATE_LIMIT, Constants.DEFAULT_ALERT_MAIL_RATE_LIMIT));
+        this.weChatChannel = new AlertChannel("Alert-WeChat-Thread",
+                PropertyUtils.getInt(Constants.ALERT_WECHAT_THREADS, Constants.DEFAULT_ALERT_WECHAT_THREADS), queueSize,
+                PropertyUtils.getInt(Constants.ALERT_WECHAT_RATE_LIMIT, Constants.DEFAULT_ALERT_WECHAT_RATE_LIMIT));
+        this.alertGroupUsersCache = CacheBuilder.newBuilder()
+                .expireAfterWrite(PropertyUtils.getInt(Constants.ALERT_GROUP_CACHE_EXPIRE, Constants.DEFAULT_ALERT_GROUP_CACHE_EXPIRE), TimeUnit.SECONDS)
+                .build(CacheLoader.from(alertDao::listUserByAlertgroupId));
+        this.alertSender = new AlertSender(null, alertDao, alertGroupUsersCache::getUnchecked, this::dispatchWeChat);
+        this.alertAggregator = new AlertAggregator(TimeUnit.SECONDS.toMillis(
+                PropertyUtils.getInt(Constants.ALERT_AGGREGATION_WINDOW, Constants.DEFAULT_ALERT_AGGREGATION_WINDOW)));
+        this.alertDao = alertDao;
+    }
+
+    /**
+     * dispatch the alerts found by a scan, alerts still being sent are skipped and
+     * the others are merged into digests by the aggregator
+     * @param alerts waiting alerts
+     * @param scanTime time in millis the scan began
+     */
+    public void dispatch(List<Alert> alerts, long scanTime) {
+        // alerts sent before the scan began are not in its result any more
+        dispatchedAlerts.values().removeIf(sendTime -> sendTime < scanTime);
+
+        List<Alert> waitingAlerts = new ArrayList<>(alerts.size());
+        for (Alert alert : alerts) {
+            if (!dispatchedAlerts.containsKey(alert.getId())) {
+                waitingAlerts.add(alert);
+            }
+        }
+
+        for (AlertAggregator.AlertDigest digest : alertAggregator.aggregate(waitingAlerts, System.currentTimeMillis())) {
+            Alert alert = digest.getAlert();
+            List<Integer> mergedIds = digest.getMergedIds();
+            dispatchedAlerts.put(alert.getId(), Long.MAX_VALUE);
+            for (Integer id : mergedIds) {
+                dispatchedAlerts.put(id, Long.MAX_VALUE);
+            }
+            mailChannel.execute(() -> {
+                try {
+                    long start = System.nanoTime();
+                    AlertStatus status = alertSender.send(alert);
+                    SEND_TIME.recordSince(start);
+                    if (status != null && !mergedIds.isEmpty()) {
+                        alertDao.updateAlerts(status, "aggregated into alert " + alert.getId(), mergedIds);
+                        ALERTS_AGGREGATED.inc(mergedIds.size());
+                    }
+                } catch (Exception e) {
+                    logger.error(String.format("send alert %d error", alert.getId()), e);
+                } finally {
+                    long sendTime = System.currentTimeMillis();
+                    dispatchedAlerts.put(alert.getId(), sendTime);
+                    for (Integer id : mergedIds) {
+                        dispatchedAlerts.put(id, sendTime);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * @return time in millis the alerts held by the aggregator are due, Long.MAX_VALUE if none
+     */
+    public long getNextFlushTime() {
+        return alertAggregator.getNextFlushTime();
+    }
+
+    /**
+     * send the alert to enterprise wechat in the wechat channel
+     * @param alert the alert
+     */
+    private void dispatchWeChat(Alert alert) {
+        weChatChannel.execute(() -> AlertSender.sendWeChat(alert));
+    }
+
+    /**
+     * stop the channels, the queued alerts are still sent
+     */
+    public void shutdown() {
+        // the mail channel dispatches to the wechat channel, so it stops first
+        if (!mailChannel.shutdown(Constants.ALERT_SCAN_INTERVEL)) {
+            logger.warn("mail channel is not stopped in time, some alerts may be unsent");
+        }
+        if (!weChatChannel.shutdown(Constants.ALERT_SCAN_INTERVEL)) {
+            logger.warn("wechat channel is not stopped in time, some alerts may be unsent");
+        }
+    }
+}
@@ -33,6 +33,8 @@ import org.slf4j.LoggerFactory;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * alert sender
@@ -48,84 +50,120 @@ public class AlertSender{
     private List<Alert> alertList;
     private AlertDao alertDao;
 
+    /**
+     * get the users of an alert group
+     */
+    private Function<Integer, List<User>> alertGroupUsers;
+
+    /**
+     * send the alert to enterprise wechat after the mail is sent
+     */
+    private Consumer<Alert> weChatSender;
+
     public AlertSender(){}
     public AlertSender(List<Alert> alertList, AlertDao alertDao){
+        this(alertList, alertDao, alertDao::listUserByAlertgroupId, AlertSender::sendWeChat);
+    }
+    public AlertSender(List<Alert> alertList, AlertDao alertDao,
+                       Function<Integer, List<User>> alertGroupUsers, Consumer<Alert> weChatSender){
         super();
         this.alertList = alertList;
         this.alertDao = alertDao;
+        this.alertGroupUsers = alertGroupUsers;
+        this.weChatSender = weChatSender;
     }
 
     public void run() {
-
-        List<User> users;
-
-        Map<String, Object> retMaps = null;
         for(Alert alert:alertList){
-            users = alertDao.listUserByAlertgroupId(alert.getAlertGroupId());
+            send(alert);
+        }
+    }
 
-            // receiving group list
-            List<String> receviersList = new ArrayList<String>();
-            for(User user:users){
-                receviersList.add(user.getEmail());
-            }
-            // custom receiver
-            String receivers = alert.getReceivers();
-            if (StringUtils.isNotEmpty(receivers)){
-                String[] splits = receivers.split(",");
-                for (String receiver : splits){
-                    receviersList.add(receiver);
-                }
+    /**
+     * send an alert and update its status
+     * @param alert the alert
+     * @return the status of the alert, null if the alert type is not supported
+     */
+    public AlertStatus send(Alert alert) {
+        List<User> users = alertGroupUsers.apply(alert.getAlertGroupId());
+
+        // receiving group list
+        List<String> receviersList = new ArrayList<String>();
+        for(User user:users){
+            receviersList.add(user.getEmail());
+        }
+        // custom receiver
+        String receivers = alert.getReceivers();
+        if (StringUtils.isNotEmpty(receivers)){
+            String[] splits = receivers.split(",");
+            for (String receiver : splits){
+                receviersList.add(receiver);
             }
+        }
 
-            // copy list
-            List<String> receviersCcList = new ArrayList<String>();
+        // copy list
+        List<String> receviersCcList = new ArrayList<String>();
 
 
-            // Custom Copier
-            String receiversCc = alert.getReceiversCc();
+        // Custom Copier
+        String receiversCc = alert.getReceiversCc();
 
-            if (StringUtils.isNotEmpty(receiversCc)){
-                String[] splits = receiversCc.split(",");
-                for (String receiverCc : splits){
-                    receviersCcList.add(receiverCc);
-                }
+        if (StringUtils.isNotEmpty(receiversCc)){
+            String[] splits = receiversCc.split(",");
+            for (String receiverCc : splits){
+                receviersCcList.add(receiverCc);
             }
+        }
 
-            if (CollectionUtils.isEmpty(receviersList) && CollectionUtils.isEmpty(receviersCcList)) {
-                logger.warn("alert send error : At least one receiver address required");
-                alertDao.updateAlert(AlertStatus.EXECUTION_FAILURE, "execution failure,At least one receiver address required.", alert.getId());
-                continue;
-            }
+        if (CollectionUtils.isEmpty(receviersList) && CollectionUtils.isEmpty(receviersCcList)) {
+            logger.warn("alert send error : At least one receiver address required");
+            alertDao.updateAlert(AlertStatus.EXECUTION_FAILURE, "execution failure,At least one receiver address required.", alert.getId());
+            return AlertStatus.EXECUTION_FAILURE;
+        }
 
-            if (alert.getAlertType() == AlertType.EMAIL){
-                retMaps = emailManager.send(receviersList,receviersCcList, alert.getTitle(), alert.getContent(),alert.getShowType());
+        Map<String, Object> retMaps = null;
+        if (alert.getAlertType() == AlertType.EMAIL){
+            retMaps = emailManager.send(receviersList,receviersCcList, alert.getTitle(), alert.getContent(),alert.getShowType());
 
-                alert.setInfo(retMaps);
-            }else if (alert.getAlertType() == AlertType.SMS){
-                retMaps = emailManager.send(getReciversForSMS(users), alert.getTitle(), alert.getContent(),alert.getShowType());
-                alert.setInfo(retMaps);
-            }
+            alert.setInfo(retMaps);
+        }else if (alert.getAlertType() == AlertType.SMS){
+            retMaps = emailManager.send(getReciversForSMS(users), alert.getTitle(), alert.getContent(),alert.getShowType());
+            alert.setInfo(retMaps);
+        }
 
-            boolean flag = Boolean.parseBoolean(String.valueOf(retMaps.get(Constants.STATUS)));
-            if (flag) {
-                alertDao.updateAlert(AlertStatus.EXECUTION_SUCCESS, "execution success", alert.getId());
-                logger.info("alert send success");
-                if (EnterpriseWeChatUtils.isEnable()) {
-                    logger.info("Enterprise WeChat is enable!");
-                    try {
-                        String token = EnterpriseWeChatUtils.getToken();
-                        weChatManager.send(alert, token);
-                    } catch (Exception e) {
-                        logger.error(e.getMessage(), e);
-                    }
-                }
-
-            } else {
-                alertDao.updateAlert(AlertStatus.EXECUTION_FAILURE, String.valueOf(retMaps.get(Constants.MESSAGE)), alert.getId());
-                logger.info("alert send error : {}", String.valueOf(retMaps.get(Constants.MESSAGE)));
+        if (retMaps == null) {
+            logger.warn("alert type {} is not supported", alert.getAlertType());
+            return null;
+        }
+
+        boolean flag = Boolean.parseBoolean(String.valueOf(retMaps.get(Constants.STATUS)));
+        if (flag) {
+            alertDao.updateAlert(AlertStatus.EXECUTION_SUCCESS, "execution success", alert.getId());
+            logger.info("alert send success");
+            if (EnterpriseWeChatUtils.isEnable()) {
+                logger.info("Enterprise WeChat is enable!");
+                weChatSender.accept(alert);
             }
+            return AlertStatus.EXECUTION_SUCCESS;
+
+        } else {
+            alertDao.updateAlert(AlertStatus.EXECUTION_FAILURE, String.valueOf(retMaps.get(Constants.MESSAGE)), alert.getId());
+            logger.info("alert send error : {}", String.valueOf(retMaps.get(Constants.MESSAGE)));
+            return AlertStatus.EXECUTION_FAILURE;
         }
+    }
 
+    /**
+     * send the alert to enterprise wechat
+     * @param alert the alert
+     */
+    public static void sendWeChat(Alert alert) {
+        try {
+            String token = EnterpriseWeChatUtils.getToken();
+            weChatManager.send(alert, token);
+        } catch (Exception e) {
+            logger.error(e.getMessage(), e);
+        }
     }
 
 
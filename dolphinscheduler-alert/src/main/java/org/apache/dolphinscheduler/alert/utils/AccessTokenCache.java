@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.alert.utils;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONObject;
+
+import java.io.IOException;
+import java.util.function.LongSupplier;
+
+/**
+ * access token cached until shortly before it expires
+ */
+class AccessTokenCache {
+
+    /**
+     * requests a new access token
+     */
+    interface TokenFetcher {
+
+        /**
+         * @return response with access_token and expires_in in seconds
+         * @throws IOException if the request failed
+         */
+        String fetch() throws IOException;
+    }
+
+    private final TokenFetcher fetcher;
+
+    /**
+     * the token is refreshed this many seconds before it expires
+     */
+    private final long refreshAheadSeconds;
+
+    private final LongSupplier clock;
+
+    private volatile String token;
+
+    /**
+     * time in millis the cached token is refreshed
+     */
+    private volatile long refreshTime;
+
+    /**
+     * @param fetcher requests a new access token
+     * @param refreshAheadSeconds the token is refreshed this many seconds before it expires
+     * @param clock current time in millis
+     */
+    AccessTokenCache(TokenFetcher fetcher, long refreshAheadSeconds, LongSupplier clock) {
+        this.fetcher = fetcher;
+        this.refreshAheadSeconds = refreshAheadSeconds;
+        this.clock = clock;
+    }
+
+    /**
+     * get the cached token, a new one is fetched if there is none or it is about to expire
+     * @return access token
+     * @throws IOException if fetching the token failed
+     */
+    String get() throws IOException {
+        String cached = token;
+        if (cached != null && clock.getAsLong() < refreshTime) {
+            return cached;
+        }
+
+        synchronized (this) {
+            if (token != null && clock.getAsLong() < refreshTime) {
+                return token;
+            }
+            long now = clock.getAsLong();
+            JSONObject resp = JSON.parseObject(fetcher.fetch());
+            String fetched = resp.getString("access_token");
+            Long expireSeconds = resp.getLong("expires_in");
+
+            refreshTime = now + Math.max((expireSeconds == null ? 0 : expireSeconds) - refreshAheadSeconds, 0) * 1000;
+            token = fetched;
+            return fetched;
+        }
+    }
+
+    /**
+     * drop the cached token, so the next call fetches a new one
+     * @param invalidToken the token found invalid, a newer cached token is kept
+     */
+    synchronized void invalidate(String invalidToken) {
+        if (invalidToken != null && invalidToken.equals(token)) {
+            token = null;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.alert.utils;
+
+/**
+ * format of the query result attached to a mail
+ */
+public enum AttachmentFormat {
+
+    /**
+     * 0 xlsx, written by a streaming workbook
+     * 1 csv
+     * 2 gzip compressed csv
+     */
+    XLSX(Constants.EXCEL_SUFFIX_XLSX),
+    CSV(Constants.CSV_SUFFIX),
+    CSV_GZ(Constants.CSV_GZ_SUFFIX);
+
+    AttachmentFormat(String suffix) {
+        this.suffix = suffix;
+    }
+
+    private final String suffix;
+
+    public String getSuffix() {
+        return suffix;
+    }
+
+    /**
+     * get the attachment format by name
+     * @param name format name, case insensitive
+     * @return attachment format, xlsx if the name is empty or unknown
+     */
+    public static AttachmentFormat of(String name) {
+        if (name != null) {
+            for (AttachmentFormat format : values()) {
+                if (format.name().equalsIgnoreCase(name.trim())) {
+                    return format;
+                }
+            }
+        }
+        return XLSX;
+    }
+}
@@ -73,6 +73,38 @@ public class Constants {
 
     public static final String EXCEL_SUFFIX_XLS = ".xls";
 
+    public static final String EXCEL_SUFFIX_XLSX = ".xlsx";
+
+    public static final String CSV_SUFFIX = ".csv";
+
+    public static final String CSV_GZ_SUFFIX = ".csv.gz";
+
+    /**
+     * attachment format, xlsx/csv/csv_gz
+     */
+    public static final String ATTACHMENT_FORMAT = "attachment.format";
+
+    /**
+     * max rows written into an attachment, the rest rows are dropped
+     */
+    public static final String ATTACHMENT_MAX_ROWS = "attachment.max.rows";
+
+    /**
+     * max bytes of the values written into an attachment, counted in utf-8, the rest rows are dropped
+     */
+    public static final String ATTACHMENT_MAX_BYTES = "attachment.max.bytes";
+
+    /**
+     * rows kept in memory when writing an excel attachment, the others are flushed to a temp file
+     */
+    public static final String ATTACHMENT_EXCEL_WINDOW_SIZE = "attachment.excel.window.size";
+
+    public static final int DEFAULT_ATTACHMENT_MAX_ROWS = 100000;
+
+    public static final long DEFAULT_ATTACHMENT_MAX_BYTES = 50 * 1024 * 1024L;
+
+    public static final int DEFAULT_ATTACHMENT_EXCEL_WINDOW_SIZE = 100;
+
     public static final int NUMBER_1000 = 1000;
 
     public static final String SPRING_DATASOURCE_DRIVER_CLASS_NAME = "spring.datasource.driver-class-name";
@@ -135,6 +167,81 @@ public class Constants {
 
     public static final int ALERT_SCAN_INTERVEL = 5000;
 
+    /**
+     * threads sending mails, alerts of type email and sms are both sent by mail
+     */
+    public static final String ALERT_MAIL_THREADS = "alert.mail.threads";
+
+    /**
+     * max mails sent per second
+     */
+    public static final String ALERT_MAIL_RATE_LIMIT = "alert.mail.rate.limit";
+
+    /**
+     * threads sending enterprise wechat messages
+     */
+    public static final String ALERT_WECHAT_THREADS = "alert.wechat.threads";
+
+    /**
+     * max enterprise wechat messages sent per second
+     */
+    public static final String ALERT_WECHAT_RATE_LIMIT = "alert.wechat.rate.limit";
+
+    /**
+     * alerts queued per channel, the scanner sends the alert itself when the queue is full
+     */
+    public static final String ALERT_DISPATCH_QUEUE_SIZE = "alert.dispatch.queue.size";
+
+    /**
+     * seconds the users of an alert group are cached
+     */
+    public static final String ALERT_GROUP_CACHE_EXPIRE = "alert.group.cache.expire";
+
+    /**
+     * max connected smtp transports kept for reuse
+     */
+    public static final String MAIL_TRANSPORT_POOL_SIZE = "mail.transport.pool.size";
+
+    /**
+     * seconds alerts of the same group, receivers and title are held and merged into one message
+     */
+    public static final String ALERT_AGGREGATION_WINDOW = "alert.aggregation.window";
+
+    /**
+     * millis between the scans of waiting alerts, the alert server is woken up earlier when an alert is added
+     */
+    public static final String ALERT_BACKSTOP_SCAN_INTERVAL = "alert.backstop.scan.interval";
+
+    /**
+     * port serving the metrics of the alert server for prometheus, 0 disables it
+     */
+    public static final String ALERT_METRICS_PORT = "alert.metrics.port";
+
+    public static final int DEFAULT_ALERT_MAIL_THREADS = 4;
+
+    public static final int DEFAULT_ALERT_MAIL_RATE_LIMIT = 10;
+
+    public static final int DEFAULT_ALERT_WECHAT_THREADS = 2;
+
+    public static final int DEFAULT_ALERT_WECHAT_RATE_LIMIT = 20;
+
+    public static final int DEFAULT_ALERT_DISPATCH_QUEUE_SIZE = 1000;
+
+    public static final int DEFAULT_ALERT_GROUP_CACHE_EXPIRE = 60;
+
+    public static final int DEFAULT_MAIL_TRANSPORT_POOL_SIZE = 4;
+
+    public static final int DEFAULT_ALERT_AGGREGATION_WINDOW = 60;
+
+    public static final long DEFAULT_ALERT_BACKSTOP_SCAN_INTERVAL = 30000;
+
+    public static final int DEFAULT_ALERT_METRICS_PORT = 12348;
+
+    /**
+     * the enterprise wechat token is refreshed this many seconds before it expires
+     */
+    public static final int ENTERPRISE_WECHAT_TOKEN_REFRESH_AHEAD = 300;
+
     public static final String MARKDOWN_QUOTE = ">";
 
     public static final String MARKDOWN_ENTER = "\n";
@@ -20,7 +20,6 @@ import org.apache.dolphinscheduler.common.enums.ShowType;
 import org.apache.dolphinscheduler.dao.entity.Alert;
 import com.alibaba.fastjson.JSON;
 
-import com.google.common.reflect.TypeToken;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.HttpEntity;
 import org.apache.http.client.methods.CloseableHttpResponse;
@@ -62,6 +61,25 @@ public class EnterpriseWeChatUtils {
 
     public static final String enterpriseWeChatUsers = PropertyUtils.getString(Constants.ENTERPRISE_WECHAT_USERS);
 
+    /**
+     * errcode of an invalid or expired access token
+     */
+    private static final Set<Integer> INVALID_TOKEN_ERRCODES = new HashSet<>(Arrays.asList(40014, 41001, 42001));
+
+    /**
+     * http client shared by the requests, the connections are pooled and kept alive
+     */
+    private static final CloseableHttpClient httpClient = HttpClients.custom()
+            .setMaxConnTotal(PropertyUtils.getInt(Constants.ALERT_WECHAT_THREADS, Constants.DEFAULT_ALERT_WECHAT_THREADS) + 1)
+            .setMaxConnPerRoute(PropertyUtils.getInt(Constants.ALERT_WECHAT_THREADS, Constants.DEFAULT_ALERT_WECHAT_THREADS) + 1)
+            .build();
+
+    /**
+     * cached access token
+     */
+    private static final AccessTokenCache accessTokenCache = new AccessTokenCache(EnterpriseWeChatUtils::fetchToken,
+            Constants.ENTERPRISE_WECHAT_TOKEN_REFRESH_AHEAD, System::currentTimeMillis);
+
     /**
      * get Enterprise WeChat is enable
      * @return isEnable
@@ -78,14 +96,30 @@ public class EnterpriseWeChatUtils {
     }
 
     /**
-     * get Enterprise WeChat token info
+     * get Enterprise WeChat token info, the token is cached and refreshed before it expires
      * @return token string info
      * @throws IOException the IOException
      */
     public static String getToken() throws IOException {
+        return accessTokenCache.get();
+    }
+
+    /**
+     * drop the cached token, so the next alert fetches a new one
+     * @param token the token found invalid
+     */
+    public static void invalidateToken(String token) {
+        accessTokenCache.invalidate(token);
+    }
+
+    /**
+     * fetch a new token
+     * @return response with the token and its expires_in
+     * @throws IOException the IOException
+     */
+    private static String fetchToken() throws IOException {
         String resp;
 
-        CloseableHttpClient httpClient = HttpClients.createDefault();
         HttpGet httpGet = new HttpGet(enterpriseWeChatTokenUrlReplace);
         CloseableHttpResponse response = httpClient.execute(httpGet);
         try {
@@ -95,11 +129,7 @@ public class EnterpriseWeChatUtils {
         } finally {
             response.close();
         }
-
-        Map<String, Object> map = JSON.parseObject(resp,
-                new TypeToken<Map<String, Object>>() {
-                }.getType());
-        return map.get("access_token").toString();
+        return resp;
     }
 
     /**
@@ -167,10 +197,9 @@ public class EnterpriseWeChatUtils {
     public static String sendEnterpriseWeChat(String charset, String data, String token) throws IOException {
         String enterpriseWeChatPushUrlReplace = enterpriseWeChatPushUrl.replaceAll("\\$token", token);
 
-        CloseableHttpClient httpclient = HttpClients.createDefault();
         HttpPost httpPost = new HttpPost(enterpriseWeChatPushUrlReplace);
         httpPost.setEntity(new StringEntity(data, charset));
-        CloseableHttpResponse response = httpclient.execute(httpPost);
+        CloseableHttpResponse response = httpClient.execute(httpPost);
         String resp;
         try {
             HttpEntity entity = response.getEntity();
@@ -180,6 +209,14 @@ public class EnterpriseWeChatUtils {
             response.close();
         }
         logger.info("Enterprise WeChat send [{}], param:{}, resp:{}", enterpriseWeChatPushUrl, data, resp);
+
+        try {
+            if (INVALID_TOKEN_ERRCODES.contains(JSON.parseObject(resp).getIntValue("errcode"))) {
+                invalidateToken(token);
+            }
+        } catch (Exception e) {
+            logger.warn("parse Enterprise WeChat resp failed : {}", resp);
+        }
         return resp;
     }
 
@@ -16,16 +16,17 @@
  */
 package org.apache.dolphinscheduler.alert.utils;
 
-import org.apache.poi.hssf.usermodel.HSSFCell;
-import org.apache.poi.hssf.usermodel.HSSFRow;
-import org.apache.poi.hssf.usermodel.HSSFSheet;
-import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.xssf.streaming.SXSSFRow;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.FileOutputStream;
-import java.io.IOException;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * excel utils
@@ -33,97 +34,268 @@ import java.util.*;
 public class ExcelUtils {
 
     private static final Logger logger = LoggerFactory.getLogger(ExcelUtils.class);
+
+    public static final AttachmentFormat attachmentFormat = AttachmentFormat.of(PropertyUtils.getString(Constants.ATTACHMENT_FORMAT));
+
+    public static final int attachmentMaxRows = PropertyUtils.getInt(Constants.ATTACHMENT_MAX_ROWS, Constants.DEFAULT_ATTACHMENT_MAX_ROWS);
+
+    public static final long attachmentMaxBytes = PropertyUtils.getLong(Constants.ATTACHMENT_MAX_BYTES, Constants.DEFAULT_ATTACHMENT_MAX_BYTES);
+
+    public static final int excelWindowSize = PropertyUtils.getInt(Constants.ATTACHMENT_EXCEL_WINDOW_SIZE, Constants.DEFAULT_ATTACHMENT_EXCEL_WINDOW_SIZE);
+
     /**
-     * generate excel file
-     * @param content the content
-     * @param title the title
-     * @param xlsFilePath the xls path
+     * generate attachment file of the json content with the configured format and caps
+     * @param content the content, json array of rows
+     * @param file the attachment file
+     * @return rows written
      */
-    public static void genExcelFile(String content,String title,String xlsFilePath){
-        List<LinkedHashMap> itemsList;
+    public static int genAttachmentFile(String content, File file) {
+        Iterator<LinkedHashMap> rows;
         try {
-            itemsList = JSONUtils.toList(content, LinkedHashMap.class);
+            rows = JSONUtils.toMapIterator(content);
         }catch (Exception e){
             logger.error(String.format("json format incorrect : %s",content),e);
             throw new RuntimeException("json format incorrect",e);
         }
+        return genAttachmentFile(rows, file, attachmentFormat, attachmentMaxRows, attachmentMaxBytes);
+    }
 
-        if (itemsList == null || itemsList.size() == 0){
+    /**
+     * generate attachment file, rows are written one by one so only a window of them is kept in memory
+     * @param rows the rows, the keys of the first row are the headers
+     * @param file the attachment file
+     * @param format the attachment format
+     * @param maxRows max rows written, the rest rows are dropped
+     * @param maxBytes max bytes of the values written in utf-8, the rest rows are dropped
+     * @return rows written
+     */
+    public static int genAttachmentFile(Iterator<? extends Map> rows, File file, AttachmentFormat format, int maxRows, long maxBytes) {
+        if (!rows.hasNext()){
             logger.error("itemsList is null");
             throw new RuntimeException("itemsList is null");
         }
 
-        LinkedHashMap<String, Object> headerMap = itemsList.get(0);
-
-        List<String> headerList = new ArrayList<>();
-
-        Iterator<Map.Entry<String, Object>> iter = headerMap.entrySet().iterator();
-        while (iter.hasNext()){
-            Map.Entry<String, Object> en = iter.next();
-            headerList.add(en.getKey());
-        }
-
-        HSSFWorkbook wb = null;
-        FileOutputStream fos = null;
-           try {
-               // declare a workbook
-               wb = new HSSFWorkbook();
-               // generate a table
-               HSSFSheet sheet = wb.createSheet();
-               HSSFRow row = sheet.createRow(0);
-               //set the height of the first line
-               row.setHeight((short)500);
-
-
-               //setting excel headers
-               for (int i = 0; i < headerList.size(); i++) {
-                   HSSFCell cell = row.createCell(i);
-                   cell.setCellValue(headerList.get(i));
-               }
-
-               //setting excel body
-               int rowIndex = 1;
-               for (LinkedHashMap<String, Object> itemsMap : itemsList){
-                   Object[] values = itemsMap.values().toArray();
-                   row = sheet.createRow(rowIndex);
-                   //setting excel body height
-                   row.setHeight((short)500);
-                   rowIndex++;
-                   for (int j = 0 ; j < values.length ; j++){
-                       HSSFCell cell1 = row.createCell(j);
-                       cell1.setCellValue(String.valueOf(values[j]));
-                   }
-               }
-
-               for (int i = 0; i < headerList.size(); i++) {
-                   sheet.setColumnWidth(i, headerList.get(i).length() * 800);
-
-               }
-
-               //setting file output
-               fos = new FileOutputStream(xlsFilePath + Constants.SINGLE_SLASH + title + Constants.EXCEL_SUFFIX_XLS);
-
-               wb.write(fos);
-
-           }catch (Exception e){
-               logger.error("generate excel error",e);
-               throw new RuntimeException("generate excel error",e);
-           }finally {
-               if (wb != null){
-                   try {
-                       wb.close();
-                   } catch (IOException e) {
-                       logger.error(e.getMessage(),e);
-                   }
-               }
-               if (fos != null){
-                   try {
-                       fos.close();
-                   } catch (IOException e) {
-                       logger.error(e.getMessage(),e);
-                   }
-               }
-           }
+        if (format == AttachmentFormat.XLSX) {
+            // the header and the truncated tip take a row each
+            maxRows = Math.min(maxRows, SpreadsheetVersion.EXCEL2007.getMaxRows() - 2);
+        }
+
+        RowWriter writer = null;
+        try {
+            writer = (format == AttachmentFormat.XLSX) ? new ExcelRowWriter(file, excelWindowSize) : new CsvRowWriter(file, format == AttachmentFormat.CSV_GZ);
+
+            Map<?, ?> row = rows.next();
+            List<String> headerList = new ArrayList<>(row.size());
+            for (Object header : row.keySet()) {
+                headerList.add(String.valueOf(header));
+            }
+            writer.writeHeader(headerList);
+
+            int rowCount = 0;
+            long bytes = 0;
+            while (row != null) {
+                if (rowCount >= maxRows || bytes >= maxBytes) {
+                    logger.warn("attachment {} exceeds {} rows or {} bytes, the rest rows are dropped", file.getName(), maxRows, maxBytes);
+                    writer.writeRow(Collections.singletonList(String.format("truncated: only the first %d rows are attached", rowCount)));
+                    break;
+                }
+
+                List<String> values = new ArrayList<>(row.size());
+                for (Object value : row.values()) {
+                    String str = String.valueOf(value);
+                    values.add(str);
+                    bytes += utf8Length(str);
+                }
+                writer.writeRow(values);
+                rowCount++;
+
+                row = rows.hasNext() ? rows.next() : null;
+            }
+
+            writer.finish();
+            return rowCount;
+        }catch (Exception e){
+            logger.error("generate attachment error",e);
+            throw new RuntimeException("generate attachment error",e);
+        }finally {
+            if (writer != null){
+                try {
+                    writer.close();
+                } catch (IOException e) {
+                    logger.error(e.getMessage(),e);
+                }
+            }
+        }
+    }
+
+    /**
+     * length of the string encoded in utf-8, the string is not encoded
+     * @param str string
+     * @return bytes in utf-8, an unpaired surrogate counts 3
+     */
+    static long utf8Length(String str) {
+        long length = 0;
+        for (int i = 0; i < str.length(); i++) {
+            char c = str.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < str.length() && Character.isLowSurrogate(str.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * writer of the attachment rows
+     */
+    private interface RowWriter extends Closeable {
+
+        /**
+         * write the header row
+         * @param headers headers
+         * @throws IOException io exception
+         */
+        void writeHeader(List<String> headers) throws IOException;
+
+        /**
+         * write a row
+         * @param values values of the row
+         * @throws IOException io exception
+         */
+        void writeRow(List<String> values) throws IOException;
+
+        /**
+         * finish writing the file
+         * @throws IOException io exception
+         */
+        void finish() throws IOException;
+    }
+
+    /**
+     * xlsx writer, rows out of the window are flushed to a compressed temp file
+     */
+    private static class ExcelRowWriter implements RowWriter {
+
+        private final File file;
+
+        private final SXSSFWorkbook wb;
+
+        private final SXSSFSheet sheet;
+
+        private int rowIndex = 0;
+
+        ExcelRowWriter(File file, int windowSize) {
+            this.file = file;
+            this.wb = new SXSSFWorkbook(windowSize);
+            this.wb.setCompressTempFiles(true);
+            this.sheet = wb.createSheet();
+        }
+
+        @Override
+        public void writeHeader(List<String> headers) {
+            writeRow(headers);
+
+            for (int i = 0; i < headers.size(); i++) {
+                sheet.setColumnWidth(i, Math.min(headers.get(i).length() * 800, 255 * 256));
+            }
+        }
+
+        @Override
+        public void writeRow(List<String> values) {
+            SXSSFRow row = sheet.createRow(rowIndex++);
+            //setting excel row height
+            row.setHeight((short)500);
+            int maxTextLength = SpreadsheetVersion.EXCEL2007.getMaxTextLength();
+            for (int i = 0; i < values.size(); i++) {
+                String value = values.get(i);
+                row.createCell(i).setCellValue(value.length() > maxTextLength ? value.substring(0, maxTextLength) : value);
+            }
+        }
+
+        @Override
+        public void finish() throws IOException {
+            try (FileOutputStream fos = new FileOutputStream(file)) {
+                wb.write(fos);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                wb.close();
+            } finally {
+                // delete the temp files of the flushed rows
+                wb.dispose();
+            }
+        }
+    }
+
+    /**
+     * csv writer, optionally gzip compressed
+     */
+    private static class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+
+        CsvRowWriter(File file, boolean gzip) throws IOException {
+            OutputStream out = new FileOutputStream(file);
+            try {
+                if (gzip) {
+                    out = new GZIPOutputStream(out);
+                }
+                // utf-8 bom, so excel recognizes the encoding
+                out.write(new byte[]{(byte) 0xEF, (byte) 0xBB, (byte) 0xBF});
+            } catch (IOException e) {
+                out.close();
+                throw e;
+            }
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void writeHeader(List<String> headers) throws IOException {
+            writeRow(headers);
+        }
+
+        @Override
+        public void writeRow(List<String> values) throws IOException {
+            for (int i = 0; i < values.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(escape(values.get(i)));
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+
+        /**
+         * quote the value if it contains a separator, quote or line break
+         * @param value value
+         * @return csv field
+         */
+        private static String escape(String value) {
+            if (value.indexOf(',') == -1 && value.indexOf('"') == -1
+                    && value.indexOf('\n') == -1 && value.indexOf('\r') == -1) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
     }
 
 }
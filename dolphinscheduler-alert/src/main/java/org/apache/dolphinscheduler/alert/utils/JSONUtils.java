@@ -18,11 +18,17 @@ package org.apache.dolphinscheduler.alert.utils;
 
 import com.alibaba.fastjson.JSONArray;
 import com.alibaba.fastjson.JSONObject;
+import com.alibaba.fastjson.JSONReader;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.StringReader;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.NoSuchElementException;
 
 /**
  * json utils
@@ -65,4 +71,33 @@ public class JSONUtils {
     return null;
   }
 
+  /**
+   * iterate the objects of a json array one by one, without parsing the whole array into a list
+   *
+   * @param json the json array
+   * @return iterator of the objects, the columns are kept in order
+   */
+  public static Iterator<LinkedHashMap> toMapIterator(String json) {
+    if (StringUtils.isEmpty(json)) {
+      return Collections.emptyIterator();
+    }
+
+    final JSONReader reader = new JSONReader(new StringReader(json));
+    reader.startArray();
+    return new Iterator<LinkedHashMap>() {
+      @Override
+      public boolean hasNext() {
+        return reader.hasNext();
+      }
+
+      @Override
+      public LinkedHashMap next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        return reader.readObject(LinkedHashMap.class);
+      }
+    };
+  }
+
 }
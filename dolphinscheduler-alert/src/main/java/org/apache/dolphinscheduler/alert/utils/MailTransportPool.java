@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.alert.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.mail.Address;
+import javax.mail.MessagingException;
+import javax.mail.SendFailedException;
+import javax.mail.Session;
+import javax.mail.Transport;
+import javax.mail.internet.MimeMessage;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * pool of connected smtp transports, so a mail does not open a new smtp connection and login again
+ */
+public class MailTransportPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(MailTransportPool.class);
+
+    private final Session session;
+
+    /**
+     * idle connected transports
+     */
+    private final BlockingQueue<Transport> idleTransports;
+
+    /**
+     * constructor
+     * @param session mail session
+     * @param maxIdle max idle transports kept
+     */
+    public MailTransportPool(Session session, int maxIdle) {
+        this.session = session;
+        this.idleTransports = new ArrayBlockingQueue<>(Math.max(maxIdle, 1));
+    }
+
+    /**
+     * send the message by an idle transport, or a new one if there is none
+     * @param msg message
+     * @throws MessagingException if sending failed
+     */
+    public void send(MimeMessage msg) throws MessagingException {
+        msg.saveChanges();
+        Address[] addresses = msg.getAllRecipients();
+        if (addresses == null || addresses.length == 0) {
+            throw new SendFailedException("No recipient addresses");
+        }
+
+        Transport transport = borrow(addresses[0]);
+        try {
+            transport.sendMessage(msg, addresses);
+        } catch (MessagingException e) {
+            // the connection may be broken, do not reuse it
+            close(transport);
+            throw e;
+        }
+        if (!idleTransports.offer(transport)) {
+            close(transport);
+        }
+    }
+
+    /**
+     * close the idle transports
+     */
+    public void close() {
+        Transport transport;
+        while ((transport = idleTransports.poll()) != null) {
+            close(transport);
+        }
+    }
+
+    /**
+     * get a connected transport
+     * @param address address to find the transport protocol, same as {@link Transport#send(javax.mail.Message)}
+     * @return transport
+     * @throws MessagingException if connecting failed
+     */
+    private Transport borrow(Address address) throws MessagingException {
+        Transport transport;
+        while ((transport = idleTransports.poll()) != null) {
+            // checks the connection with a NOOP, the server may have closed an idle one
+            if (transport.isConnected()) {
+                return transport;
+            }
+            close(transport);
+        }
+
+        transport = session.getTransport(address);
+        transport.connect();
+        return transport;
+    }
+
+    /**
+     * close the transport quietly
+     * @param transport transport
+     */
+    private void close(Transport transport) {
+        try {
+            transport.close();
+        } catch (MessagingException e) {
+            logger.warn("close mail transport failed", e);
+        }
+    }
+}
@@ -71,6 +71,16 @@ public class MailUtils {
 
     private static Template MAIL_TEMPLATE;
 
+    /**
+     * mail session, the configuration does not change so it is shared
+     */
+    private static volatile Session mailSession;
+
+    /**
+     * connected smtp transports reused by mails
+     */
+    private static volatile MailTransportPool transportPool;
+
     static {
         Configuration cfg = new Configuration(Configuration.VERSION_2_3_21);
         cfg.setDefaultEncoding(Constants.UTF_8);
@@ -152,7 +162,7 @@ public class MailUtils {
         }else if (showType == ShowType.ATTACHMENT || showType == ShowType.TABLEATTACHMENT){
             try {
 
-                String partContent = (showType == ShowType.ATTACHMENT ? "Please see the attachment " + title + Constants.EXCEL_SUFFIX_XLS : htmlTable(content,false));
+                String partContent = (showType == ShowType.ATTACHMENT ? "Please see the attachment " + title + ExcelUtils.attachmentFormat.getSuffix() : htmlTable(content,false));
 
                 attachment(receivers,receiversCc,title,content,partContent);
 
@@ -175,18 +185,17 @@ public class MailUtils {
      */
     private static String htmlTable(String content, boolean showAll){
         if (StringUtils.isNotEmpty(content)){
-            List<LinkedHashMap> mapItemsList = JSONUtils.toList(content, LinkedHashMap.class);
-
-            if(!showAll && mapItemsList.size() > Constants.NUMBER_1000){
-                mapItemsList = mapItemsList.subList(0,Constants.NUMBER_1000);
-            }
+            // only the shown rows are parsed
+            Iterator<LinkedHashMap> mapItemsIterator = JSONUtils.toMapIterator(content);
+            int maxRows = showAll ? Integer.MAX_VALUE : Constants.NUMBER_1000;
 
             StringBuilder contents = new StringBuilder(200);
 
             boolean flag = true;
 
             String title = "";
-            for (LinkedHashMap mapItems : mapItemsList){
+            for (int rows = 0; rows < maxRows && mapItemsIterator.hasNext(); rows++){
+                LinkedHashMap mapItems = mapItemsIterator.next();
 
                 Set<Map.Entry<String, Object>> entries = mapItems.entrySet();
 
@@ -295,10 +304,41 @@ public class MailUtils {
     }
 
     /**
-     * get session
-     * @return the new Session
+     * get the shared session
+     * @return the Session
      */
     private static Session getSession() {
+        if (mailSession == null) {
+            synchronized (MailUtils.class) {
+                if (mailSession == null) {
+                    mailSession = createSession();
+                }
+            }
+        }
+        return mailSession;
+    }
+
+    /**
+     * get the shared smtp transport pool
+     * @return the transport pool
+     */
+    private static MailTransportPool getTransportPool() {
+        if (transportPool == null) {
+            synchronized (MailUtils.class) {
+                if (transportPool == null) {
+                    transportPool = new MailTransportPool(getSession(),
+                            PropertyUtils.getInt(Constants.MAIL_TRANSPORT_POOL_SIZE, Constants.DEFAULT_MAIL_TRANSPORT_POOL_SIZE));
+                }
+            }
+        }
+        return transportPool;
+    }
+
+    /**
+     * create session
+     * @return the new Session
+     */
+    private static Session createSession() {
         Properties props = new Properties();
         props.setProperty(Constants.MAIL_HOST, mailServerHost);
         props.setProperty(Constants.MAIL_PORT, String.valueOf(mailServerPort));
@@ -350,19 +390,27 @@ public class MailUtils {
         part1.setContent(partContent, Constants.TEXT_HTML_CHARSET_UTF_8);
         // set attach file
         MimeBodyPart part2 = new MimeBodyPart();
-        // make excel file
-        ExcelUtils.genExcelFile(content,title,xlsFilePath);
-        File file = new File(xlsFilePath + Constants.SINGLE_SLASH +  title + Constants.EXCEL_SUFFIX_XLS);
-        part2.attachFile(file);
-        part2.setFileName(MimeUtility.encodeText(title + Constants.EXCEL_SUFFIX_XLS,Constants.UTF_8,"B"));
-        // add components to collection
-        partList.addBodyPart(part1);
-        partList.addBodyPart(part2);
-        msg.setContent(partList);
-        // 5. send Transport
-        Transport.send(msg);
-        // 6. delete saved file
-        deleteFile(file);
+        // make attachment file, named uniquely so mails of the same title do not overwrite each other
+        String suffix = ExcelUtils.attachmentFormat.getSuffix();
+        File dir = new File(xlsFilePath);
+        if (!dir.exists() && !dir.mkdirs()) {
+            logger.warn("create attachment dir {} failed", xlsFilePath);
+        }
+        File file = File.createTempFile("alert_", suffix, dir);
+        try {
+            ExcelUtils.genAttachmentFile(content, file);
+            part2.attachFile(file);
+            part2.setFileName(MimeUtility.encodeText(title + suffix,Constants.UTF_8,"B"));
+            // add components to collection
+            partList.addBodyPart(part1);
+            partList.addBodyPart(part2);
+            msg.setContent(partList);
+            // 5. send by a pooled transport
+            getTransportPool().send(msg);
+        } finally {
+            // 6. delete saved file, even if sending failed
+            deleteFile(file);
+        }
     }
 
     /**
@@ -374,8 +422,9 @@ public class MailUtils {
      * @param email the email
      * @return the result map
      * @throws EmailException
+     * @throws MessagingException
      */
-    private static Map<String, Object> getStringObjectMap(String title, String content, ShowType showType, Map<String, Object> retMap, HtmlEmail email) throws EmailException {
+    private static Map<String, Object> getStringObjectMap(String title, String content, ShowType showType, Map<String, Object> retMap, HtmlEmail email) throws EmailException, MessagingException {
 
         /**
          * the subject of the message to be sent
@@ -390,8 +439,9 @@ public class MailUtils {
             email.setMsg(htmlText(content));
         }
 
-        // send
-        email.send();
+        // send by a pooled transport instead of connecting for every mail
+        email.buildMimeMessage();
+        getTransportPool().send(email.getMimeMessage());
 
         retMap.put(Constants.STATUS, true);
 
@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.alert.zk;
+
+import org.apache.dolphinscheduler.common.zk.AbstractZKClient;
+import org.apache.curator.framework.recipes.cache.NodeCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ *  zookeeper alert client, listens to the alert signal node changed by masters and workers after adding alerts
+ */
+public class ZKAlertClient extends AbstractZKClient {
+
+	private static final Logger logger = LoggerFactory.getLogger(ZKAlertClient.class);
+
+	/**
+	 * alert signal node cache
+	 */
+	private NodeCache alertSignalNodeCache;
+
+	/**
+	 * listen to the alert signal node
+	 *
+	 * @param listener called when an alert is added
+	 */
+	public void listenerAlertSignal(Runnable listener){
+		alertSignalNodeCache = new NodeCache(zkClient, getAlertSignalPath());
+		try {
+			createNodePath(getAlertSignalPath());
+			alertSignalNodeCache.getListenable().addListener(listener::run);
+			alertSignalNodeCache.start();
+		}catch (Exception e){
+			logger.error("monitor alert signal failed : " + e.getMessage(), e);
+		}
+	}
+
+	@Override
+	public void close(){
+		try {
+			if(alertSignalNodeCache != null){
+				alertSignalNodeCache.close();
+			}
+			super.close();
+		} catch (Exception ignore) {
+		}
+	}
+}
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.alert.runner;
+
+import org.apache.dolphinscheduler.common.enums.AlertType;
+import org.apache.dolphinscheduler.common.enums.ShowType;
+import org.apache.dolphinscheduler.dao.entity.Alert;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class AlertAggregatorTest {
+
+    private static final long WINDOW = 60000L;
+
+    private Alert alert(int id, String title, String content) {
+        Alert alert = new Alert(id, title);
+        alert.setContent(content);
+        alert.setShowType(ShowType.TABLE);
+        alert.setAlertType(AlertType.EMAIL);
+        alert.setAlertGroupId(1);
+        alert.setReceivers("xx@aa.com");
+        return alert;
+    }
+
+    @Test
+    public void testMerge() {
+        List<AlertAggregator.AlertDigest> digests = AlertAggregator.merge(Arrays.asList(
+                alert(1, "Task Timeout Warn", "[{'id':'1','name':'a'}]"),
+                alert(2, "Task Timeout Warn", "[{'id':'2','name':'b'}]"),
+                alert(3, "Task Timeout Warn", "[{'id':'1','name':'a'}]"),
+                alert(4, "Task Timeout Warn", "not json")));
+
+        Assert.assertEquals(2, digests.size());
+        Assert.assertEquals(4, digests.get(0).getAlert().getId());
+        Assert.assertTrue(digests.get(0).getMergedIds().isEmpty());
+
+        Alert digest = digests.get(1).getAlert();
+        Assert.assertEquals(1, digest.getId());
+        Assert.assertEquals("Task Timeout Warn (3 alerts)", digest.getTitle());
+        Assert.assertEquals("[{\"id\":\"1\",\"name\":\"a\"},{\"id\":\"2\",\"name\":\"b\"}]", digest.getContent());
+        Assert.assertEquals(Arrays.asList(2, 3), digests.get(1).getMergedIds());
+    }
+
+    @Test
+    public void testAggregateWindow() {
+        AlertAggregator aggregator = new AlertAggregator(WINDOW);
+
+        // the first alert of a key is sent at once
+        List<AlertAggregator.AlertDigest> digests = aggregator.aggregate(
+                Collections.singletonList(alert(1, "Process Timeout Warn", "[{'id':'1'}]")), 0L);
+        Assert.assertEquals(1, digests.size());
+        Assert.assertEquals("Process Timeout Warn", digests.get(0).getAlert().getTitle());
+
+        // the following ones are held until the window ends, other keys are not
+        List<Alert> waiting = Arrays.asList(
+                alert(2, "Process Timeout Warn", "[{'id':'2'}]"),
+                alert(3, "Process Timeout Warn", "[{'id':'3'}]"),
+                alert(4, "Fault tolerance warning", "[{'host':'h'}]"));
+        digests = aggregator.aggregate(waiting, 1000L);
+        Assert.assertEquals(1, digests.size());
+        Assert.assertEquals(4, digests.get(0).getAlert().getId());
+        Assert.assertEquals(WINDOW, aggregator.getNextFlushTime());
+
+        digests = aggregator.aggregate(waiting.subList(0, 2), WINDOW);
+        Assert.assertEquals(1, digests.size());
+        Assert.assertEquals(2, digests.get(0).getAlert().getId());
+        Assert.assertEquals(Collections.singletonList(3), digests.get(0).getMergedIds());
+        Assert.assertEquals(Long.MAX_VALUE, aggregator.getNextFlushTime());
+    }
+
+    @Test
+    public void testAggregateByProcessDefinition() {
+        AlertAggregator aggregator = new AlertAggregator(WINDOW);
+
+        Alert first = alert(1, "Task Timeout Warn", "[{'id':'1'}]");
+        first.setProcessDefinitionId(1);
+        Alert second = alert(2, "Task Timeout Warn", "[{'id':'2'}]");
+        second.setProcessDefinitionId(2);
+
+        // alerts of two definitions sharing a title are neither merged nor held
+        List<AlertAggregator.AlertDigest> digests = aggregator.aggregate(Arrays.asList(first, second), 0L);
+        Assert.assertEquals(2, digests.size());
+        Assert.assertEquals(Integer.valueOf(1), digests.get(0).getAlert().getProcessDefinitionId());
+        Assert.assertEquals(Integer.valueOf(2), digests.get(1).getAlert().getProcessDefinitionId());
+        Assert.assertTrue(digests.get(1).getMergedIds().isEmpty());
+
+        Alert third = alert(3, "Task Timeout Warn", "[{'id':'3'}]");
+        third.setProcessDefinitionId(2);
+        digests = aggregator.aggregate(Collections.singletonList(third), 1000L);
+        Assert.assertTrue(digests.isEmpty());
+        Assert.assertEquals(WINDOW, aggregator.getNextFlushTime());
+    }
+
+    @Test
+    public void testAggregateDisabled() {
+        AlertAggregator aggregator = new AlertAggregator(0);
+        List<Alert> waiting = Arrays.asList(alert(1, "t", "[{'id':'1'}]"), alert(2, "t", "[{'id':'2'}]"));
+        Assert.assertEquals(2, aggregator.aggregate(waiting, 0L).size());
+        Assert.assertEquals(2, aggregator.aggregate(waiting, 1L).size());
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.alert.runner;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * alert channel test
+ */
+public class AlertChannelTest {
+
+    /**
+     * alerts are sent no faster than the rate limit
+     */
+    @Test
+    public void testRateLimit() throws InterruptedException {
+        AlertChannel channel = new AlertChannel("Alert-Test-Thread", 4, 10, 10);
+        List<Long> sendTimes = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch sent = new CountDownLatch(6);
+        for (int i = 0; i < 6; i++) {
+            channel.execute(() -> {
+                sendTimes.add(System.nanoTime());
+                sent.countDown();
+            });
+        }
+        Assert.assertTrue(sent.await(10, TimeUnit.SECONDS));
+        long elapsed = Collections.max(sendTimes) - Collections.min(sendTimes);
+        // 10 per second, the 6th alert is sent 500ms after the first
+        Assert.assertTrue(elapsed >= TimeUnit.MILLISECONDS.toNanos(400));
+        Assert.assertTrue(channel.shutdown(1000));
+    }
+
+    /**
+     * the dispatching thread sends the alert itself when the queue is full
+     */
+    @Test
+    public void testCallerRunsWhenFull() throws InterruptedException {
+        AlertChannel channel = new AlertChannel("Alert-Test-Thread", 1, 1, 1000);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Thread> senders = Collections.synchronizedList(new ArrayList<>());
+
+        // the only thread is busy and the queue holds one alert
+        channel.execute(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+        channel.execute(() -> senders.add(Thread.currentThread()));
+        channel.execute(() -> senders.add(Thread.currentThread()));
+
+        Assert.assertEquals(1, senders.size());
+        Assert.assertSame(Thread.currentThread(), senders.get(0));
+
+        release.countDown();
+        Assert.assertTrue(channel.shutdown(1000));
+        Assert.assertEquals(2, senders.size());
+        Assert.assertNotSame(Thread.currentThread(), senders.get(1));
+    }
+
+    /**
+     * shutdown waits for the queued alerts
+     */
+    @Test
+    public void testShutdownSendsQueuedAlerts() {
+        AlertChannel channel = new AlertChannel("Alert-Test-Thread", 1, 10, 20);
+        AtomicInteger sent = new AtomicInteger();
+        for (int i = 0; i < 5; i++) {
+            channel.execute(sent::incrementAndGet);
+        }
+        Assert.assertTrue(channel.shutdown(5000));
+        Assert.assertEquals(5, sent.get());
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.alert.utils;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * access token cache test
+ */
+public class AccessTokenCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private final AtomicInteger fetches = new AtomicInteger();
+
+    private final AccessTokenCache cache = new AccessTokenCache(
+            () -> String.format("{\"access_token\":\"token%d\",\"expires_in\":7200}", fetches.incrementAndGet()),
+            300, now::get);
+
+    /**
+     * the token is cached and refreshed before it expires
+     */
+    @Test
+    public void testRefreshBeforeExpiry() throws IOException {
+        Assert.assertEquals("token1", cache.get());
+        now.set((7200 - 300) * 1000L - 1);
+        Assert.assertEquals("token1", cache.get());
+        Assert.assertEquals(1, fetches.get());
+
+        // refreshed 300 seconds before the token expires
+        now.set((7200 - 300) * 1000L);
+        Assert.assertEquals("token2", cache.get());
+        Assert.assertEquals(2, fetches.get());
+    }
+
+    /**
+     * an invalid token is dropped, a stale invalidation keeps the newer token
+     */
+    @Test
+    public void testInvalidate() throws IOException {
+        Assert.assertEquals("token1", cache.get());
+        cache.invalidate("token1");
+        Assert.assertEquals("token2", cache.get());
+
+        cache.invalidate("token1");
+        Assert.assertEquals("token2", cache.get());
+        Assert.assertEquals(2, fetches.get());
+    }
+
+    /**
+     * a token without expires_in is not cached
+     */
+    @Test
+    public void testNoExpiresIn() throws IOException {
+        AccessTokenCache noExpiry = new AccessTokenCache(
+                () -> "{\"access_token\":\"token" + fetches.incrementAndGet() + "\"}", 300, now::get);
+        Assert.assertEquals("token1", noExpiry.get());
+        Assert.assertEquals("token2", noExpiry.get());
+    }
+}
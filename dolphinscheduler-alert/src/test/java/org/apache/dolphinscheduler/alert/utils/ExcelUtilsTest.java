@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.alert.utils;
+
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.zip.GZIPInputStream;
+
+public class ExcelUtilsTest {
+
+    private static final String CONTENT = "[{\"id\":1,\"name\":\"a,b\",\"note\":\"say \\\"hi\\\"\"},"
+            + "{\"id\":2,\"name\":\"c\",\"note\":null},"
+            + "{\"id\":3,\"name\":\"d\",\"note\":\"e\"}]";
+
+    private File file;
+
+    @Before
+    public void init() throws IOException {
+        file = File.createTempFile("alert_test_", ".tmp");
+    }
+
+    @After
+    public void cleanup() {
+        file.delete();
+    }
+
+    @Test
+    public void testGenCsvFile() throws IOException {
+        int rows = ExcelUtils.genAttachmentFile(JSONUtils.toMapIterator(CONTENT), file, AttachmentFormat.CSV, 100, 1024);
+        Assert.assertEquals(3, rows);
+
+        List<String> lines = readLines(new FileInputStream(file));
+        Assert.assertEquals(Arrays.asList("\uFEFFid,name,note", "1,\"a,b\",\"say \"\"hi\"\"\"", "2,c,null", "3,d,e"), lines);
+    }
+
+    @Test
+    public void testGenCsvGzFileWithRowCap() throws IOException {
+        int rows = ExcelUtils.genAttachmentFile(JSONUtils.toMapIterator(CONTENT), file, AttachmentFormat.CSV_GZ, 2, 1024);
+        Assert.assertEquals(2, rows);
+
+        List<String> lines = readLines(new GZIPInputStream(new FileInputStream(file)));
+        Assert.assertEquals(4, lines.size());
+        Assert.assertEquals("truncated: only the first 2 rows are attached", lines.get(3));
+    }
+
+    @Test
+    public void testGenExcelFileWithByteCap() throws IOException {
+        int rows = ExcelUtils.genAttachmentFile(JSONUtils.toMapIterator(CONTENT), file, AttachmentFormat.XLSX, 100, 1);
+        Assert.assertEquals(1, rows);
+
+        try (XSSFWorkbook wb = new XSSFWorkbook(new FileInputStream(file))) {
+            XSSFSheet sheet = wb.getSheetAt(0);
+            Assert.assertEquals("name", sheet.getRow(0).getCell(1).getStringCellValue());
+            Assert.assertEquals("a,b", sheet.getRow(1).getCell(1).getStringCellValue());
+            Assert.assertEquals(2, sheet.getLastRowNum());
+        }
+    }
+
+    @Test
+    public void testByteCapCountsUtf8() throws IOException {
+        // 3 + 3 + 3 bytes in utf-8 although 3 chars
+        String content = "[{\"name\":\"\u4E2D\u6587\u5B57\"},{\"name\":\"b\"}]";
+        int rows = ExcelUtils.genAttachmentFile(JSONUtils.toMapIterator(content), file, AttachmentFormat.CSV, 100, 9);
+        Assert.assertEquals(1, rows);
+        rows = ExcelUtils.genAttachmentFile(JSONUtils.toMapIterator(content), file, AttachmentFormat.CSV, 100, 10);
+        Assert.assertEquals(2, rows);
+
+        Assert.assertEquals(3, ExcelUtils.utf8Length("abc"));
+        Assert.assertEquals(2, ExcelUtils.utf8Length("\u00E9"));
+        Assert.assertEquals(4, ExcelUtils.utf8Length("\uD83D\uDE00"));
+        Assert.assertEquals("\u4E2D\uD83D\uDE00\u00E9a".getBytes(StandardCharsets.UTF_8).length,
+                ExcelUtils.utf8Length("\u4E2D\uD83D\uDE00\u00E9a"));
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testGenEmptyFile() {
+        ExcelUtils.genAttachmentFile(JSONUtils.toMapIterator("[]"), file, AttachmentFormat.CSV, 100, 1024);
+    }
+
+    private List<String> readLines(InputStream in) throws IOException {
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+}
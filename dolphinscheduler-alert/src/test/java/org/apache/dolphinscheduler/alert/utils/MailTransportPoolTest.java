@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.alert.utils;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.mail.Address;
+import javax.mail.Message;
+import javax.mail.MessagingException;
+import javax.mail.Provider;
+import javax.mail.Session;
+import javax.mail.Transport;
+import javax.mail.URLName;
+import javax.mail.internet.MimeMessage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * mail transport pool test
+ */
+public class MailTransportPoolTest {
+
+    /**
+     * transport recording the sent messages instead of talking to a smtp server
+     */
+    public static class FakeTransport extends Transport {
+
+        private static final List<FakeTransport> transports = new ArrayList<>();
+
+        private int sent;
+
+        private boolean alive = true;
+
+        private boolean broken;
+
+        public FakeTransport(Session session, URLName urlname) {
+            super(session, urlname);
+            transports.add(this);
+        }
+
+        @Override
+        protected boolean protocolConnect(String host, int port, String user, String password) {
+            return true;
+        }
+
+        @Override
+        public boolean isConnected() {
+            return alive && super.isConnected();
+        }
+
+        @Override
+        public void sendMessage(Message msg, Address[] addresses) throws MessagingException {
+            if (broken) {
+                throw new MessagingException("connection broken");
+            }
+            sent++;
+        }
+    }
+
+    private Session session;
+
+    private MailTransportPool pool;
+
+    @Before
+    public void before() {
+        FakeTransport.transports.clear();
+        session = Session.getInstance(new Properties());
+        session.addProvider(new Provider(Provider.Type.TRANSPORT, "fake", FakeTransport.class.getName(), "test", "1.0"));
+        session.setProtocolForAddress("rfc822", "fake");
+        pool = new MailTransportPool(session, 2);
+    }
+
+    private MimeMessage message() throws MessagingException {
+        MimeMessage msg = new MimeMessage(session);
+        msg.setRecipients(Message.RecipientType.TO, "xx@aa.com");
+        msg.setSubject("test");
+        msg.setText("test");
+        return msg;
+    }
+
+    /**
+     * a connected transport is reused by the next mail
+     */
+    @Test
+    public void testReuse() throws MessagingException {
+        pool.send(message());
+        pool.send(message());
+        Assert.assertEquals(1, FakeTransport.transports.size());
+        Assert.assertEquals(2, FakeTransport.transports.get(0).sent);
+        Assert.assertTrue(FakeTransport.transports.get(0).isConnected());
+
+        pool.close();
+        Assert.assertFalse(FakeTransport.transports.get(0).isConnected());
+    }
+
+    /**
+     * a transport closed by the server is dropped
+     */
+    @Test
+    public void testDropDisconnected() throws MessagingException {
+        pool.send(message());
+        FakeTransport first = FakeTransport.transports.get(0);
+        first.alive = false;
+
+        pool.send(message());
+        Assert.assertEquals(2, FakeTransport.transports.size());
+        Assert.assertEquals(1, FakeTransport.transports.get(1).sent);
+    }
+
+    /**
+     * a transport failing to send is closed and not reused
+     */
+    @Test
+    public void testInvalidateBroken() throws MessagingException {
+        pool.send(message());
+        FakeTransport first = FakeTransport.transports.get(0);
+        first.broken = true;
+        try {
+            pool.send(message());
+            Assert.fail("the failure of the transport is not propagated");
+        } catch (MessagingException e) {
+            Assert.assertEquals("connection broken", e.getMessage());
+        }
+        first.alive = true;
+        first.broken = false;
+        Assert.assertFalse(first.isConnected());
+
+        pool.send(message());
+        Assert.assertEquals(2, FakeTransport.transports.size());
+        Assert.assertEquals(1, first.sent);
+        Assert.assertEquals(1, FakeTransport.transports.get(1).sent);
+    }
+}
@@ -17,6 +17,7 @@
 package org.apache.dolphinscheduler.api.configuration;
 
 import org.apache.dolphinscheduler.api.interceptor.LoginHandlerInterceptor;
+import org.apache.dolphinscheduler.api.interceptor.MetricsInterceptor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.LocaleResolver;
@@ -45,6 +46,11 @@ public class AppConfiguration implements WebMvcConfigurer {
     return new LoginHandlerInterceptor();
   }
 
+  @Bean
+  public MetricsInterceptor metricsInterceptor() {
+    return new MetricsInterceptor();
+  }
+
 
   /**
    * Cookie
@@ -73,6 +79,9 @@ public class AppConfiguration implements WebMvcConfigurer {
 
   @Override
   public void addInterceptors(InterceptorRegistry registry) {
+    //metrics, first so rejected logins are timed as well
+    registry.addInterceptor(metricsInterceptor());
+
     //i18n
     registry.addInterceptor(localeChangeInterceptor());
 
@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.api.configuration;
+
+import org.apache.dolphinscheduler.common.metrics.MetricsServer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+/**
+ * serves the metrics of the api server for prometheus on a port of its own
+ */
+@Configuration
+public class MetricsConfiguration {
+
+  /**
+   * metrics port, 0 disables it
+   */
+  @Value("${api.metrics.port:12349}")
+  private int metricsPort;
+
+  private MetricsServer metricsServer;
+
+  @PostConstruct
+  public void start() {
+    metricsServer = MetricsServer.start(metricsPort);
+  }
+
+  @PreDestroy
+  public void stop() {
+    if (metricsServer != null) {
+      metricsServer.stop();
+    }
+  }
+
+}
@@ -69,6 +69,7 @@ public class ProcessInstanceController extends BaseController{
      * @param host host
      * @param startTime start time
      * @param endTime end time
+     * @param after cursor of the page, returned as after of the previous page
      * @return process instance list
      */
     @ApiOperation(value = "queryProcessInstanceList", notes= "QUERY_PROCESS_INSTANCE_LIST_NOTES")
@@ -80,7 +81,8 @@ public class ProcessInstanceController extends BaseController{
             @ApiImplicitParam(name = "startDate", value = "START_DATE", type ="String"),
             @ApiImplicitParam(name = "endDate", value = "END_DATE", type ="String"),
             @ApiImplicitParam(name = "pageNo", value = "PAGE_NO", dataType = "Int", example = "100"),
-            @ApiImplicitParam(name = "pageSize", value = "PAGE_SIZE", dataType = "Int", example = "100")
+            @ApiImplicitParam(name = "pageSize", value = "PAGE_SIZE", dataType = "Int", example = "100"),
+            @ApiImplicitParam(name = "after", value = "PAGE_AFTER", type ="String")
     })
     @GetMapping(value="list-paging")
     @ResponseStatus(HttpStatus.OK)
@@ -93,15 +95,16 @@ public class ProcessInstanceController extends BaseController{
                                                                    @RequestParam(value = "startDate", required = false) String startTime,
                                                                    @RequestParam(value = "endDate", required = false) String endTime,
                                                                    @RequestParam("pageNo") Integer pageNo,
-                                                                   @RequestParam("pageSize") Integer pageSize){
+                                                                   @RequestParam("pageSize") Integer pageSize,
+                                                                   @RequestParam(value = "after", required = false) String after){
         try{
             logger.info("query all process instance list, login user:{},project name:{}, define id:{}," +
-                    "search value:{},state type:{},host:{},start time:{}, end time:{},page number:{}, page size:{}",
+                    "search value:{},state type:{},host:{},start time:{}, end time:{},page number:{}, page size:{}, after:{}",
                     loginUser.getUserName(), projectName, processDefinitionId, searchVal, stateType,host,
-                    startTime, endTime, pageNo, pageSize);
+                    startTime, endTime, pageNo, pageSize, after);
             searchVal = ParameterUtils.handleEscapes(searchVal);
             Map<String, Object> result = processInstanceService.queryProcessInstanceList(
-                    loginUser, projectName, processDefinitionId, startTime, endTime, searchVal, stateType, host, pageNo, pageSize);
+                    loginUser, projectName, processDefinitionId, startTime, endTime, searchVal, stateType, host, pageNo, pageSize, after);
             return returnDataListPaging(result);
         }catch (Exception e){
             logger.error(QUERY_PROCESS_INSTANCE_LIST_PAGING_ERROR.getMsg(),e);
@@ -351,6 +354,35 @@ public class ProcessInstanceController extends BaseController{
         }
     }
 
+    /**
+     * break down the lifecycle of a process instance and its tasks
+     * into scheduling overhead and execution time
+     *
+     * @param loginUser login user
+     * @param projectName project name
+     * @param processInstanceId process instance id
+     * @return lifecycle data
+     */
+    @ApiOperation(value = "viewLifecycle", notes= "VIEW_LIFECYCLE_NOTES")
+    @ApiImplicitParams({
+            @ApiImplicitParam(name = "processInstanceId", value = "PROCESS_INSTANCE_ID", dataType = "Int", example = "100")
+    })
+    @GetMapping(value="/view-lifecycle")
+    @ResponseStatus(HttpStatus.OK)
+    public Result viewLifecycle(@ApiIgnore @RequestAttribute(value = Constants.SESSION_USER) User loginUser,
+                                @ApiParam(name = "projectName", value = "PROJECT_NAME", required = true) @PathVariable String projectName,
+                                @RequestParam("processInstanceId") Integer processInstanceId){
+        try{
+            logger.info("view process instance lifecycle, login user:{}, project name:{}, process instance id:{}",
+                    loginUser.getUserName(), projectName, processInstanceId);
+            Map<String, Object> result = processInstanceService.viewLifecycle(processInstanceId);
+            return returnDataList(result);
+        }catch (Exception e){
+            logger.error(QUERY_PROCESS_INSTANCE_LIFECYCLE_ERROR.getMsg(),e);
+            return error(Status.QUERY_PROCESS_INSTANCE_LIFECYCLE_ERROR.getCode(), QUERY_PROCESS_INSTANCE_LIFECYCLE_ERROR.getMsg());
+        }
+    }
+
     /**
      * batch delete process instance by ids, at the same time,
      * delete task instance and their mapping relation data
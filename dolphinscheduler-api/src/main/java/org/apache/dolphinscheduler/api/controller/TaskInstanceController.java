@@ -62,6 +62,7 @@ public class TaskInstanceController extends BaseController{
      * @param endTime end time
      * @param pageNo page number
      * @param pageSize page size
+     * @param after cursor of the page, returned as after of the previous page
      * @return task list page
      */
     @ApiOperation(value = "queryTaskListPaging", notes= "QUERY_TASK_INSTANCE_LIST_PAGING_NOTES")
@@ -74,7 +75,8 @@ public class TaskInstanceController extends BaseController{
             @ApiImplicitParam(name = "startDate", value = "START_DATE", type ="String"),
             @ApiImplicitParam(name = "endDate", value = "END_DATE", type ="String"),
             @ApiImplicitParam(name = "pageNo", value = "PAGE_NO", dataType = "Int", example = "1"),
-            @ApiImplicitParam(name = "pageSize", value = "PAGE_SIZE", dataType = "Int", example = "20")
+            @ApiImplicitParam(name = "pageSize", value = "PAGE_SIZE", dataType = "Int", example = "20"),
+            @ApiImplicitParam(name = "after", value = "PAGE_AFTER", type ="String")
     })
     @GetMapping("/list-paging")
     @ResponseStatus(HttpStatus.OK)
@@ -88,14 +90,15 @@ public class TaskInstanceController extends BaseController{
                                       @RequestParam(value = "startDate", required = false) String startTime,
                                       @RequestParam(value = "endDate", required = false) String endTime,
                                       @RequestParam("pageNo") Integer pageNo,
-                                      @RequestParam("pageSize") Integer pageSize){
+                                      @RequestParam("pageSize") Integer pageSize,
+                                      @RequestParam(value = "after", required = false) String after){
 
         try{
             logger.info("query task instance list, project name:{},process instance:{}, search value:{},task name:{}, state type:{}, host:{}, start:{}, end:{}",
                     projectName, processInstanceId, searchVal, taskName, stateType, host, startTime, endTime);
             searchVal = ParameterUtils.handleEscapes(searchVal);
             Map<String, Object> result = taskInstanceService.queryTaskListPaging(
-                    loginUser, projectName, processInstanceId, taskName, startTime, endTime, searchVal, stateType, host, pageNo, pageSize);
+                    loginUser, projectName, processInstanceId, taskName, startTime, endTime, searchVal, stateType, host, pageNo, pageSize, after);
             return returnDataListPaging(result);
         }catch (Exception e){
             logger.error(Status.QUERY_TASK_LIST_PAGING_ERROR.getMsg(),e);
@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.api.dto.lifecycle;
+
+import org.apache.dolphinscheduler.common.enums.LifecycleStage;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * lifecycle of a process instance or a task instance
+ */
+public class InstanceLifecycle {
+
+    /**
+     * instance id
+     */
+    private int id;
+
+    /**
+     * instance name
+     */
+    private String name;
+
+    /**
+     * task type, null for a process instance
+     */
+    private String taskType;
+
+    /**
+     * instance state
+     */
+    private String state;
+
+    /**
+     * the time each recorded stage was passed
+     */
+    private Map<LifecycleStage, Date> stages = new EnumMap<>(LifecycleStage.class);
+
+    /**
+     * spans between consecutive recorded stages
+     */
+    private List<LifecycleSpan> spans = new ArrayList<>();
+
+    /**
+     * milliseconds spent scheduling
+     */
+    private long schedulingOverhead;
+
+    /**
+     * milliseconds spent executing
+     */
+    private long executionTime;
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getTaskType() {
+        return taskType;
+    }
+
+    public void setTaskType(String taskType) {
+        this.taskType = taskType;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public void setState(String state) {
+        this.state = state;
+    }
+
+    public Map<LifecycleStage, Date> getStages() {
+        return stages;
+    }
+
+    public void setStages(Map<LifecycleStage, Date> stages) {
+        this.stages = stages;
+    }
+
+    public List<LifecycleSpan> getSpans() {
+        return spans;
+    }
+
+    public void setSpans(List<LifecycleSpan> spans) {
+        this.spans = spans;
+    }
+
+    public long getSchedulingOverhead() {
+        return schedulingOverhead;
+    }
+
+    public void setSchedulingOverhead(long schedulingOverhead) {
+        this.schedulingOverhead = schedulingOverhead;
+    }
+
+    public long getExecutionTime() {
+        return executionTime;
+    }
+
+    public void setExecutionTime(long executionTime) {
+        this.executionTime = executionTime;
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.api.dto.lifecycle;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * lifecycle of a process instance and its task instances
+ */
+public class LifecycleDto {
+
+    /**
+     * lifecycle of the process instance
+     */
+    private InstanceLifecycle process;
+
+    /**
+     * lifecycle of the task instances, in the order they were submitted
+     */
+    private List<InstanceLifecycle> tasks = new ArrayList<>();
+
+    /**
+     * milliseconds the tasks spent scheduling in total
+     */
+    private long taskSchedulingOverhead;
+
+    /**
+     * milliseconds the tasks spent executing in total
+     */
+    private long taskExecutionTime;
+
+    public InstanceLifecycle getProcess() {
+        return process;
+    }
+
+    public void setProcess(InstanceLifecycle process) {
+        this.process = process;
+    }
+
+    public List<InstanceLifecycle> getTasks() {
+        return tasks;
+    }
+
+    public void setTasks(List<InstanceLifecycle> tasks) {
+        this.tasks = tasks;
+    }
+
+    public long getTaskSchedulingOverhead() {
+        return taskSchedulingOverhead;
+    }
+
+    public void setTaskSchedulingOverhead(long taskSchedulingOverhead) {
+        this.taskSchedulingOverhead = taskSchedulingOverhead;
+    }
+
+    public long getTaskExecutionTime() {
+        return taskExecutionTime;
+    }
+
+    public void setTaskExecutionTime(long taskExecutionTime) {
+        this.taskExecutionTime = taskExecutionTime;
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.api.dto.lifecycle;
+
+import org.apache.dolphinscheduler.common.enums.LifecycleStage;
+
+/**
+ * the time between two consecutive lifecycle stages
+ */
+public class LifecycleSpan {
+
+    /**
+     * stage the span starts at
+     */
+    private LifecycleStage from;
+
+    /**
+     * stage the span ends at
+     */
+    private LifecycleStage to;
+
+    /**
+     * duration in milliseconds
+     */
+    private long duration;
+
+    /**
+     * whether the span is spent executing rather than scheduling
+     */
+    private boolean execution;
+
+    public LifecycleSpan(){}
+
+    public LifecycleSpan(LifecycleStage from, LifecycleStage to, long duration, boolean execution) {
+        this.from = from;
+        this.to = to;
+        this.duration = duration;
+        this.execution = execution;
+    }
+
+    public LifecycleStage getFrom() {
+        return from;
+    }
+
+    public void setFrom(LifecycleStage from) {
+        this.from = from;
+    }
+
+    public LifecycleStage getTo() {
+        return to;
+    }
+
+    public void setTo(LifecycleStage to) {
+        this.to = to;
+    }
+
+    public long getDuration() {
+        return duration;
+    }
+
+    public void setDuration(long duration) {
+        this.duration = duration;
+    }
+
+    public boolean isExecution() {
+        return execution;
+    }
+
+    public void setExecution(boolean execution) {
+        this.execution = execution;
+    }
+}
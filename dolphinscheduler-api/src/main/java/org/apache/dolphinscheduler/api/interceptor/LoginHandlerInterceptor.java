@@ -20,7 +20,6 @@ import org.apache.dolphinscheduler.api.service.SessionService;
 import org.apache.dolphinscheduler.common.Constants;
 import org.apache.dolphinscheduler.dao.entity.Session;
 import org.apache.dolphinscheduler.dao.entity.User;
-import org.apache.dolphinscheduler.dao.mapper.UserMapper;
 import org.apache.commons.httpclient.HttpStatus;
 import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
@@ -41,9 +40,6 @@ public class LoginHandlerInterceptor implements HandlerInterceptor {
   @Autowired
   private SessionService sessionService;
 
-  @Autowired
-  private UserMapper userMapper;
-
   /**
    * Intercept the execution of a handler. Called after HandlerMapping determined
    * an appropriate handler object, but before HandlerAdapter invokes the handler.
@@ -77,7 +73,7 @@ public class LoginHandlerInterceptor implements HandlerInterceptor {
       }
 
       //get user object from session
-      user = userMapper.selectById(session.getUserId());
+      user = sessionService.getSessionUser(session);
 
       // if user is null
       if (user == null) {
@@ -86,7 +82,7 @@ public class LoginHandlerInterceptor implements HandlerInterceptor {
         return false;
       }
     }else {
-       user = userMapper.queryUserByToken(token);
+      user = sessionService.getTokenUser(token);
       if (user == null) {
         response.setStatus(HttpStatus.SC_UNAUTHORIZED);
         logger.info("user token has expired");
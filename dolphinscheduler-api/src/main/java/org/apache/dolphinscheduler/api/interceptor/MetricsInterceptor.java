@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.api.interceptor;
+
+import org.apache.dolphinscheduler.common.metrics.MetricFamily;
+import org.apache.dolphinscheduler.common.metrics.Metrics;
+import org.apache.dolphinscheduler.common.metrics.Timer;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * metrics interceptor, records the duration of every controller method
+ */
+public class MetricsInterceptor implements HandlerInterceptor {
+
+  private static final String START_ATTRIBUTE = MetricsInterceptor.class.getName() + ".start";
+
+  private static final MetricFamily<Timer> REQUEST_TIME = Metrics.timerFamily("api_request_duration_seconds",
+          "time of handling an api request", "handler");
+
+  /**
+   * timer of each controller method, saves building the label on every request
+   */
+  private final ConcurrentHashMap<Method, Timer> timers = new ConcurrentHashMap<>();
+
+  @Override
+  public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+    request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+    return true;
+  }
+
+  @Override
+  public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+    Object start = request.getAttribute(START_ATTRIBUTE);
+    if (!(start instanceof Long) || !(handler instanceof HandlerMethod)) {
+      return;
+    }
+    Method method = ((HandlerMethod) handler).getMethod();
+    Timer timer = timers.get(method);
+    if (timer == null) {
+      timer = timers.computeIfAbsent(method,
+              m -> REQUEST_TIME.get(m.getDeclaringClass().getSimpleName() + "." + m.getName()));
+    }
+    timer.recordSince((Long) start);
+  }
+
+}
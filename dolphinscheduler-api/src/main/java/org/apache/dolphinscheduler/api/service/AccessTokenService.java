@@ -45,6 +45,9 @@ public class AccessTokenService extends BaseService {
     @Autowired
     private AccessTokenMapper accessTokenMapper;
 
+    @Autowired
+    private SessionService sessionService;
+
 
     /**
      * query access token list
@@ -140,6 +143,7 @@ public class AccessTokenService extends BaseService {
         }
 
         accessTokenMapper.deleteById(id);
+        sessionService.invalidateTokens();
         putMsg(result, Status.SUCCESS);
         return result;
     }
@@ -162,6 +166,7 @@ public class AccessTokenService extends BaseService {
         accessToken.setUpdateTime(new Date());
 
         accessTokenMapper.updateById(accessToken);
+        sessionService.invalidateTokens();
 
         putMsg(result, Status.SUCCESS);
         return result;
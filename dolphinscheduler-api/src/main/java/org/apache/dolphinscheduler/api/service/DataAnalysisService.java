@@ -23,12 +23,13 @@ import org.apache.dolphinscheduler.api.dto.TaskCountDto;
 import org.apache.dolphinscheduler.api.enums.Status;
 import org.apache.dolphinscheduler.common.Constants;
 import org.apache.dolphinscheduler.common.enums.CommandType;
+import org.apache.dolphinscheduler.common.enums.InstanceType;
 import org.apache.dolphinscheduler.common.enums.UserType;
 import org.apache.dolphinscheduler.common.queue.ITaskQueue;
 import org.apache.dolphinscheduler.common.queue.TaskQueueFactory;
 import org.apache.dolphinscheduler.common.utils.DateUtils;
+import org.apache.dolphinscheduler.common.utils.PropertyUtils;
 import org.apache.dolphinscheduler.dao.ProcessDao;
-import org.apache.commons.lang3.StringUtils;
 import org.apache.dolphinscheduler.dao.entity.*;
 import org.apache.dolphinscheduler.dao.mapper.*;
 import org.slf4j.Logger;
@@ -68,6 +69,9 @@ public class DataAnalysisService extends BaseService{
     @Autowired
     TaskInstanceMapper taskInstanceMapper;
 
+    @Autowired
+    InstanceStatisticsMapper instanceStatisticsMapper;
+
     @Autowired
     ProcessDao processDao;
 
@@ -105,8 +109,12 @@ public class DataAnalysisService extends BaseService{
         }
 
         Integer[] projectIds = getProjectIdsArrays(loginUser, projectId);
-        List<ExecuteStatusCount> taskInstanceStateCounts =
-                taskInstanceMapper.countTaskInstanceStateByUser(start, end, projectIds);
+        List<ExecuteStatusCount> taskInstanceStateCounts;
+        if (useStatistics()) {
+            taskInstanceStateCounts = countStateFromStatistics(InstanceType.TASK_INSTANCE, start, end, projectIds);
+        } else {
+            taskInstanceStateCounts = taskInstanceMapper.countTaskInstanceStateByUser(start, end, projectIds);
+        }
 
         TaskCountDto taskCountResult = new TaskCountDto(taskInstanceStateCounts);
         if (taskInstanceStateCounts != null) {
@@ -118,6 +126,31 @@ public class DataAnalysisService extends BaseService{
         return  result;
     }
 
+    /**
+     * whether state counts are read from the hourly statistics maintained by master
+     *
+     * @return true if use statistics
+     */
+    private boolean useStatistics() {
+        return PropertyUtils.getBoolean(Constants.DATA_ANALYSIS_USE_STATISTICS);
+    }
+
+    /**
+     * count instance state from the hourly statistics, the granularity is one hour:
+     * the hours from the one containing start time to the one containing end time are counted
+     *
+     * @param instanceType instance type
+     * @param start start time
+     * @param end end time
+     * @param projectIds project ids
+     * @return state count list
+     */
+    private List<ExecuteStatusCount> countStateFromStatistics(InstanceType instanceType, Date start, Date end, Integer[] projectIds) {
+        Date startHour = start == null ? null : DateUtils.getStartOfHour(start);
+        Date endHour = end == null ? null : DateUtils.getSomeHourOfDay(end, -1);
+        return instanceStatisticsMapper.countStateByProject(instanceType, startHour, endHour, projectIds);
+    }
+
     private void putErrorRequestParamsMsg(Map<String, Object> result) {
         result.put(Constants.STATUS, Status.REQUEST_PARAMS_NOT_VALID_ERROR);
         result.put(Constants.MSG, MessageFormat.format(Status.REQUEST_PARAMS_NOT_VALID_ERROR.getMsg(), "startDate,endDate"));
@@ -151,9 +184,13 @@ public class DataAnalysisService extends BaseService{
             return result;
         }
         Integer[] projectIdArray = getProjectIdsArrays(loginUser, projectId);
-        List<ExecuteStatusCount> processInstanceStateCounts =
-                processInstanceMapper.countInstanceStateByUser(start, end,
-                        projectIdArray);
+        List<ExecuteStatusCount> processInstanceStateCounts;
+        if (useStatistics()) {
+            processInstanceStateCounts = countStateFromStatistics(InstanceType.PROCESS_INSTANCE, start, end, projectIdArray);
+        } else {
+            processInstanceStateCounts = processInstanceMapper.countInstanceStateByUser(start, end,
+                    projectIdArray);
+        }
 
         TaskCountDto taskCountResult = new TaskCountDto(processInstanceStateCounts);
         if (processInstanceStateCounts != null) {
@@ -319,54 +356,26 @@ public class DataAnalysisService extends BaseService{
         }
 
         ITaskQueue tasksQueue = TaskQueueFactory.getTaskQueueInstance();
-        List<String> tasksQueueList = tasksQueue.getAllTasks(Constants.DOLPHINSCHEDULER_TASKS_QUEUE);
-        List<String> tasksKillList = tasksQueue.getAllTasks(Constants.DOLPHINSCHEDULER_TASKS_KILL);
 
         Map<String,Integer> dataMap = new HashMap<>();
         if (loginUser.getUserType() == UserType.ADMIN_USER){
-            dataMap.put("taskQueue",tasksQueueList.size());
-            dataMap.put("taskKill",tasksKillList.size());
+            dataMap.put("taskQueue",tasksQueue.getTaskNum(Constants.DOLPHINSCHEDULER_TASKS_QUEUE));
+            dataMap.put("taskKill",tasksQueue.getTaskNum(Constants.DOLPHINSCHEDULER_TASKS_KILL));
 
             result.put(Constants.DATA_LIST, dataMap);
             putMsg(result, Status.SUCCESS);
             return result;
         }
 
-        int[] tasksQueueIds = new int[tasksQueueList.size()];
-        int[] tasksKillIds = new int[tasksKillList.size()];
-
-        int i =0;
-        for (String taskQueueStr : tasksQueueList){
-            if (StringUtils.isNotEmpty(taskQueueStr)){
-                String[] splits = taskQueueStr.split("_");
-                if (splits.length >= 4){
-                    tasksQueueIds[i++]=Integer.parseInt(splits[3]);
-                }
-            }
-        }
-
-        i = 0;
-        for (String taskKillStr : tasksKillList){
-            if (StringUtils.isNotEmpty(taskKillStr)){
-                String[] splits = taskKillStr.split("-");
-                if (splits.length == 2){
-                    tasksKillIds[i++]=Integer.parseInt(splits[1]);
-                }
-            }
-        }
-        Integer taskQueueCount = 0;
-        Integer taskKillCount = 0;
-
         Integer[] projectIds = getProjectIdsArrays(loginUser, projectId);
-        if (tasksQueueIds.length != 0){
-            taskQueueCount = taskInstanceMapper.countTask(
-                    projectIds,
-                    tasksQueueIds);
-        }
+        Set<Integer> projectIdSet = new HashSet<>(Arrays.asList(projectIds));
+        // 0 stands for no project, it also names the counter of tasks whose definition is missing
+        projectIdSet.remove(0);
 
-        if (tasksKillIds.length != 0){
-            taskKillCount = taskInstanceMapper.countTask(projectIds, tasksKillIds);
-        }
+        Integer taskQueueCount = countQueueByProjects(
+                tasksQueue.getCounters(Constants.DOLPHINSCHEDULER_TASKS_QUEUE), projectIdSet);
+        Integer taskKillCount = countQueueByProjects(
+                tasksQueue.getCounters(Constants.DOLPHINSCHEDULER_TASKS_KILL), projectIdSet);
 
         dataMap.put("taskQueue",taskQueueCount);
         dataMap.put("taskKill",taskKillCount);
@@ -376,6 +385,24 @@ public class DataAnalysisService extends BaseService{
         return result;
     }
 
+    /**
+     * sum the queue counters of the given projects
+     *
+     * @param counters counters named by ${projectId}_${workerGroupId}
+     * @param projectIds project ids
+     * @return task number of the projects
+     */
+    private Integer countQueueByProjects(Map<String, Integer> counters, Set<Integer> projectIds){
+        int count = 0;
+        for (Map.Entry<String, Integer> counter : counters.entrySet()){
+            String[] splits = counter.getKey().split(Constants.UNDERLINE);
+            if (splits.length == 2 && projectIds.contains(Integer.parseInt(splits[0]))){
+                count += counter.getValue();
+            }
+        }
+        return count;
+    }
+
     private boolean checkProject(User loginUser, int projectId, Map<String, Object> result){
         if(projectId != 0){
             Project project = projectMapper.selectById(projectId);
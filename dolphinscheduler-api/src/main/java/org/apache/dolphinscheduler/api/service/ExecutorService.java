@@ -343,6 +343,7 @@ public class ExecutorService extends BaseService{
         command.setProcessDefinitionId(processDefinitionId);
         command.setCommandParam(String.format("{\"%s\":%d}",
                 CMDPARAM_RECOVER_PROCESS_ID_STRING, instanceId));
+        command.setProcessInstanceId(instanceId);
         command.setExecutorId(loginUser.getId());
 
         if(!processDao.verifyIsNeedCreateCommand(command)){
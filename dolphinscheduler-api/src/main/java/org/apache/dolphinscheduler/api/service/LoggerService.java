@@ -49,7 +49,7 @@ public class LoggerService {
    */
   public Result queryLog(int taskInstId, int skipLineNum, int limit) {
 
-    TaskInstance taskInstance = processDao.findTaskInstanceById(taskInstId);
+    TaskInstance taskInstance = processDao.findTaskInstanceIncludingArchive(taskInstId);
 
     if (taskInstance == null){
       return new Result(Status.TASK_INSTANCE_NOT_FOUND.getCode(), Status.TASK_INSTANCE_NOT_FOUND.getMsg());
@@ -80,7 +80,7 @@ public class LoggerService {
    * @return log byte array
    */
   public byte[] getLogBytes(int taskInstId) {
-    TaskInstance taskInstance = processDao.findTaskInstanceById(taskInstId);
+    TaskInstance taskInstance = processDao.findTaskInstanceIncludingArchive(taskInstId);
     if (taskInstance == null){
       throw new RuntimeException("task instance is null");
     }
@@ -402,6 +402,7 @@ public class ProcessDefinitionService extends BaseDAGService {
             Schedule schedule = schedules.get(0);
             if(schedule.getReleaseState() == ReleaseState.OFFLINE){
                 scheduleMapper.deleteById(schedule.getId());
+                scheduleMapper.deleteFireTime(schedule.getId());
             }else if(schedule.getReleaseState() == ReleaseState.ONLINE){
                 putMsg(result, Status.SCHEDULE_CRON_STATE_ONLINE,schedule.getId());
                 return result;
@@ -940,6 +941,16 @@ public class ProcessDefinitionService extends BaseDAGService {
             limit = processInstanceList.size();
         }
 
+        /**
+         * task instances of the selected process instances, loaded at once
+         */
+        Map<Integer, Map<String, TaskInstance>> taskInstanceMap = queryTaskInstanceMap(processInstanceList.subList(0, limit));
+
+        /**
+         * sub process definition id of sub process task instances, key is task instance id
+         */
+        Map<Integer, Integer> subProcessIdMap = new HashMap<>();
+
         TreeViewDto parentTreeViewDto = new TreeViewDto();
         parentTreeViewDto.setName("DAG");
         parentTreeViewDto.setType("");
@@ -977,7 +988,8 @@ public class ProcessDefinitionService extends BaseDAGService {
                 //set treeViewDto instances
                 for (int i = limit - 1; i >= 0; i--) {
                     ProcessInstance processInstance = processInstanceList.get(i);
-                    TaskInstance taskInstance = taskInstanceMapper.queryByInstanceIdAndName(processInstance.getId(), nodeName);
+                    Map<String, TaskInstance> nameTaskInstanceMap = taskInstanceMap.get(processInstance.getId());
+                    TaskInstance taskInstance = nameTaskInstanceMap == null ? null : nameTaskInstanceMap.get(nodeName);
                     if (taskInstance == null) {
                         treeViewDto.getInstances().add(new Instance(-1, "not running", "null"));
                     } else {
@@ -989,10 +1001,8 @@ public class ProcessDefinitionService extends BaseDAGService {
                          * if process is sub process, the return sub id, or sub id=0
                          */
                         if (taskInstance.getTaskType().equals(TaskType.SUB_PROCESS.name())) {
-                            String taskJson = taskInstance.getTaskJson();
-                            taskNode = JSON.parseObject(taskJson, TaskNode.class);
-                            subProcessId = Integer.parseInt(JSON.parseObject(
-                                    taskNode.getParams()).getString(CMDPARAM_SUB_PROCESS_DEFINE_ID));
+                            subProcessId = subProcessIdMap.computeIfAbsent(taskInstance.getId(),
+                                    key -> getSubProcessDefineId(taskInstance));
                         }
                         treeViewDto.getInstances().add(new Instance(taskInstance.getId(), taskInstance.getName(), taskInstance.getTaskType(), taskInstance.getState().toString()
                                 , taskInstance.getStartTime(), taskInstance.getEndTime(), taskInstance.getHost(), DateUtils.format2Readable(endTime.getTime() - startTime.getTime()), subProcessId));
@@ -1031,6 +1041,42 @@ public class ProcessDefinitionService extends BaseDAGService {
         return result;
     }
 
+    /**
+     * query the task instances of process instances in one round trip,
+     * indexed by process instance id and task name
+     *
+     * @param processInstanceList process instance list
+     * @return task instance map
+     */
+    private Map<Integer, Map<String, TaskInstance>> queryTaskInstanceMap(List<ProcessInstance> processInstanceList) {
+        Map<Integer, Map<String, TaskInstance>> taskInstanceMap = new HashMap<>();
+        if (processInstanceList.isEmpty()) {
+            return taskInstanceMap;
+        }
+        int[] processInstanceIds = new int[processInstanceList.size()];
+        for (int i = 0; i < processInstanceList.size(); i++) {
+            processInstanceIds[i] = processInstanceList.get(i).getId();
+        }
+        List<TaskInstance> taskInstanceList = taskInstanceMapper.queryByProcessInstanceIds(processInstanceIds);
+        for (TaskInstance taskInstance : taskInstanceList) {
+            taskInstanceMap.computeIfAbsent(taskInstance.getProcessInstanceId(), key -> new HashMap<>())
+                    .putIfAbsent(taskInstance.getName(), taskInstance);
+        }
+        return taskInstanceMap;
+    }
+
+    /**
+     * get the sub process definition id of a sub process task instance
+     *
+     * @param taskInstance sub process task instance
+     * @return sub process definition id
+     */
+    private int getSubProcessDefineId(TaskInstance taskInstance) {
+        TaskNode taskNode = JSON.parseObject(taskInstance.getTaskJson(), TaskNode.class);
+        return Integer.parseInt(JSON.parseObject(
+                taskNode.getParams()).getString(CMDPARAM_SUB_PROCESS_DEFINE_ID));
+    }
+
 
     /**
      * Generate the DAG Graph based on the process definition id
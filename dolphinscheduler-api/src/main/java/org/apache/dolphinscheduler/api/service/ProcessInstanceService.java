@@ -18,13 +18,18 @@ package org.apache.dolphinscheduler.api.service;
 
 import org.apache.dolphinscheduler.api.dto.gantt.GanttDto;
 import org.apache.dolphinscheduler.api.dto.gantt.Task;
+import org.apache.dolphinscheduler.api.dto.lifecycle.InstanceLifecycle;
+import org.apache.dolphinscheduler.api.dto.lifecycle.LifecycleDto;
+import org.apache.dolphinscheduler.api.dto.lifecycle.LifecycleSpan;
 import org.apache.dolphinscheduler.api.enums.Status;
+import org.apache.dolphinscheduler.api.utils.PageCursor;
 import org.apache.dolphinscheduler.api.utils.PageInfo;
 import org.apache.dolphinscheduler.api.utils.Result;
 import org.apache.dolphinscheduler.common.Constants;
 import org.apache.dolphinscheduler.common.enums.DependResult;
 import org.apache.dolphinscheduler.common.enums.ExecutionStatus;
 import org.apache.dolphinscheduler.common.enums.Flag;
+import org.apache.dolphinscheduler.common.enums.LifecycleStage;
 import org.apache.dolphinscheduler.common.enums.TaskType;
 import org.apache.dolphinscheduler.common.graph.DAG;
 import org.apache.dolphinscheduler.common.model.TaskNode;
@@ -35,8 +40,9 @@ import org.apache.dolphinscheduler.common.utils.*;
 import org.apache.dolphinscheduler.common.utils.placeholder.BusinessTimeUtils;
 import org.apache.dolphinscheduler.dao.ProcessDao;
 import com.alibaba.fastjson.JSON;
-import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.dolphinscheduler.dao.entity.*;
 import org.apache.dolphinscheduler.dao.mapper.*;
@@ -53,6 +59,7 @@ import java.io.InputStreamReader;
 import java.nio.charset.Charset;
 import java.text.ParseException;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import static org.apache.dolphinscheduler.common.Constants.*;
@@ -96,6 +103,18 @@ public class ProcessInstanceService extends BaseDAGService {
     @Autowired
     WorkerGroupMapper workerGroupMapper;
 
+    @Autowired
+    LifecycleEventMapper lifecycleEventMapper;
+
+    /**
+     * total count of the process instance list, key is the list filters
+     */
+    private final Cache<String, Integer> listCountCache = CacheBuilder.newBuilder()
+            .maximumSize(1000)
+            .expireAfterWrite(PropertyUtils.getLong(Constants.LIST_COUNT_CACHE_EXPIRE_SECONDS,
+                    Constants.LIST_COUNT_CACHE_EXPIRE_SECONDS_DEFAULT), TimeUnit.SECONDS)
+            .build();
+
     /**
      * query process instance by id
      *
@@ -113,7 +132,7 @@ public class ProcessInstanceService extends BaseDAGService {
         if (resultEnum != Status.SUCCESS) {
             return checkResult;
         }
-        ProcessInstance processInstance = processDao.findProcessInstanceDetailById(processId);
+        ProcessInstance processInstance = processDao.findProcessInstanceDetailIncludingArchive(processId);
         String workerGroupName = "";
         if(processInstance.getWorkerGroupId() == -1){
             workerGroupName = DEFAULT;
@@ -148,12 +167,13 @@ public class ProcessInstanceService extends BaseDAGService {
      * @param host host
      * @param startDate start time
      * @param endDate end time
+     * @param after cursor of the page, read the page after it instead of by page number if not empty
      * @return process instance list
      */
     public Map<String, Object> queryProcessInstanceList(User loginUser, String projectName, Integer processDefineId,
                                                         String startDate, String endDate,
                                                         String searchVal, ExecutionStatus stateType, String host,
-                                                        Integer pageNo, Integer pageSize) {
+                                                        Integer pageNo, Integer pageSize, String after) {
 
         Map<String, Object> result = new HashMap<>(5);
         Project project = projectMapper.queryByName(projectName);
@@ -183,13 +203,25 @@ public class ProcessInstanceService extends BaseDAGService {
             putMsg(result, Status.REQUEST_PARAMS_NOT_VALID_ERROR, "startDate,endDate");
             return result;
         }
-        Page<ProcessInstance> page = new Page(pageNo, pageSize);
-
-        IPage<ProcessInstance> processInstanceList =
-                processInstanceMapper.queryProcessInstanceListPaging(page,
-                project.getId(), processDefineId, searchVal, statusArray, host, start, end);
+        PageCursor cursor;
+        try {
+            cursor = PageCursor.parse(after);
+        } catch (IllegalArgumentException e) {
+            putMsg(result, Status.REQUEST_PARAMS_NOT_VALID_ERROR, "after");
+            return result;
+        }
 
-        List<ProcessInstance> processInstances = processInstanceList.getRecords();
+        List<ProcessInstance> processInstances;
+        if (cursor == null) {
+            // the total count is cached, so the page does not count again
+            Page<ProcessInstance> page = new Page<>(pageNo, pageSize, false);
+            processInstances = processInstanceMapper.queryProcessInstanceListPaging(page,
+                    project.getId(), processDefineId, searchVal, statusArray, host, start, end).getRecords();
+        } else {
+            processInstances = processInstanceMapper.queryProcessInstanceListAfter(
+                    project.getId(), processDefineId, searchVal, statusArray, host, start, end,
+                    cursor.getStartTime(), cursor.getId(), pageSize);
+        }
 
         for(ProcessInstance processInstance: processInstances){
             processInstance.setDuration(DateUtils.differSec(processInstance.getStartTime(),processInstance.getEndTime()));
@@ -203,14 +235,41 @@ public class ProcessInstanceService extends BaseDAGService {
         }};
 
         PageInfo pageInfo = new PageInfo<ProcessInstance>(pageNo, pageSize);
-        pageInfo.setTotalCount((int) processInstanceList.getTotal());
+        pageInfo.setTotalCount(countProcessInstanceList(project.getId(), processDefineId, searchVal, statusArray, host, start, end));
         pageInfo.setLists(CollectionUtils.getListByExclusion(processInstances, exclusionSet));
+        if (!processInstances.isEmpty()) {
+            ProcessInstance last = processInstances.get(processInstances.size() - 1);
+            pageInfo.setAfter(PageCursor.next(last.getStartTime(), last.getId(), processInstances.size(), pageSize));
+        }
         result.put(Constants.DATA_LIST, pageInfo);
         putMsg(result, Status.SUCCESS);
         return result;
     }
 
-
+    /**
+     * count process instance list, the count is cached for the same filters
+     *
+     * @param projectId project id
+     * @param processDefineId process definition id
+     * @param searchVal search value
+     * @param statusArray status array
+     * @param host host
+     * @param start start time
+     * @param end end time
+     * @return process instance count
+     */
+    private int countProcessInstanceList(int projectId, Integer processDefineId, String searchVal,
+                                         int[] statusArray, String host, Date start, Date end) {
+        String key = Arrays.asList(projectId, processDefineId, searchVal, Arrays.toString(statusArray),
+                host, start, end).toString();
+        Integer count = listCountCache.getIfPresent(key);
+        if (count == null) {
+            count = processInstanceMapper.countProcessInstanceList(projectId, processDefineId, searchVal,
+                    statusArray, host, start, end);
+            listCountCache.put(key, count);
+        }
+        return count;
+    }
 
     /**
      * query task list by process instance id
@@ -230,8 +289,8 @@ public class ProcessInstanceService extends BaseDAGService {
         if (resultEnum != Status.SUCCESS) {
             return checkResult;
         }
-        ProcessInstance processInstance = processDao.findProcessInstanceDetailById(processId);
-        List<TaskInstance> taskInstanceList = processDao.findValidTaskListByProcessId(processId);
+        ProcessInstance processInstance = processDao.findProcessInstanceDetailIncludingArchive(processId);
+        List<TaskInstance> taskInstanceList = processDao.findValidTaskListIncludingArchive(processId);
         AddDependResultForTaskList(taskInstanceList);
         Map<String, Object> resultMap = new HashMap<>();
         resultMap.put(PROCESS_INSTANCE_STATE, processInstance.getState().toString());
@@ -306,7 +365,7 @@ public class ProcessInstanceService extends BaseDAGService {
             return checkResult;
         }
 
-        TaskInstance taskInstance = processDao.findTaskInstanceById(taskId);
+        TaskInstance taskInstance = processDao.findTaskInstanceIncludingArchive(taskId);
         if (taskInstance == null) {
             putMsg(result, Status.TASK_INSTANCE_NOT_EXISTS, taskId);
             return result;
@@ -316,7 +375,7 @@ public class ProcessInstanceService extends BaseDAGService {
             return result;
         }
 
-        ProcessInstance subWorkflowInstance = processDao.findSubProcessInstance(
+        ProcessInstance subWorkflowInstance = processDao.findSubProcessInstanceIncludingArchive(
                 taskInstance.getProcessInstanceId(), taskInstance.getId());
         if (subWorkflowInstance == null) {
             putMsg(result, Status.SUB_PROCESS_INSTANCE_NOT_EXIST, taskId);
@@ -447,7 +506,7 @@ public class ProcessInstanceService extends BaseDAGService {
             return checkResult;
         }
 
-        ProcessInstance subInstance = processDao.findProcessInstanceDetailById(subId);
+        ProcessInstance subInstance = processDao.findProcessInstanceDetailIncludingArchive(subId);
         if (subInstance == null) {
             putMsg(result, Status.PROCESS_INSTANCE_NOT_EXIST, subId);
             return result;
@@ -457,7 +516,7 @@ public class ProcessInstanceService extends BaseDAGService {
             return result;
         }
 
-        ProcessInstance parentWorkflowInstance = processDao.findParentProcessInstance(subId);
+        ProcessInstance parentWorkflowInstance = processDao.findParentProcessInstanceIncludingArchive(subId);
         if (parentWorkflowInstance == null) {
             putMsg(result, Status.SUB_PROCESS_INSTANCE_NOT_EXIST);
             return result;
@@ -545,6 +604,7 @@ public class ProcessInstanceService extends BaseDAGService {
         int delete = processDao.deleteWorkProcessInstanceById(processInstanceId);
         processDao.deleteAllSubWorkProcessByParentId(processInstanceId);
         processDao.deleteWorkProcessMapByParentId(processInstanceId);
+        lifecycleEventMapper.deleteByProcessInstanceId(processInstanceId);
 
         if (delete > 0) {
             putMsg(result, Status.SUCCESS);
@@ -565,7 +625,7 @@ public class ProcessInstanceService extends BaseDAGService {
     public Map<String, Object> viewVariables( Integer processInstanceId) throws Exception {
         Map<String, Object> result = new HashMap<>(5);
 
-        ProcessInstance processInstance = processInstanceMapper.queryDetailById(processInstanceId);
+        ProcessInstance processInstance = processDao.findProcessInstanceDetailIncludingArchive(processInstanceId);
 
         if (processInstance == null) {
             throw new RuntimeException("workflow instance is null");
@@ -639,7 +699,7 @@ public class ProcessInstanceService extends BaseDAGService {
     public Map<String, Object> viewGantt(Integer processInstanceId) throws Exception {
         Map<String, Object> result = new HashMap<>();
 
-        ProcessInstance processInstance = processInstanceMapper.queryDetailById(processInstanceId);
+        ProcessInstance processInstance = processDao.findProcessInstanceDetailIncludingArchive(processInstanceId);
 
         if (processInstance == null) {
             throw new RuntimeException("workflow instance is null");
@@ -679,4 +739,93 @@ public class ProcessInstanceService extends BaseDAGService {
         return result;
     }
 
+    /**
+     * break down the lifecycle of a process instance and its task instances
+     * into scheduling overhead and execution time
+     *
+     * @param processInstanceId process instance id
+     * @return lifecycle data
+     */
+    public Map<String, Object> viewLifecycle(Integer processInstanceId) {
+        Map<String, Object> result = new HashMap<>();
+
+        ProcessInstance processInstance = processDao.findProcessInstanceDetailIncludingArchive(processInstanceId);
+        if (processInstance == null) {
+            putMsg(result, Status.PROCESS_INSTANCE_NOT_EXIST, processInstanceId);
+            return result;
+        }
+
+        // events are ordered by time, a stage passed again (e.g. after failover) keeps its latest time
+        Map<Integer, Map<LifecycleStage, Date>> taskStages = new LinkedHashMap<>();
+        Map<LifecycleStage, Date> processStages = new EnumMap<>(LifecycleStage.class);
+        for (LifecycleEvent event : lifecycleEventMapper.queryByProcessInstanceId(processInstanceId)) {
+            if (event.getTaskInstanceId() == 0) {
+                processStages.put(event.getStage(), event.getEventTime());
+            } else {
+                taskStages.computeIfAbsent(event.getTaskInstanceId(), id -> new EnumMap<>(LifecycleStage.class))
+                        .put(event.getStage(), event.getEventTime());
+            }
+        }
+
+        LifecycleDto lifecycleDto = new LifecycleDto();
+        InstanceLifecycle process = buildLifecycle(processStages);
+        process.setId(processInstance.getId());
+        process.setName(processInstance.getName());
+        process.setState(processInstance.getState().toString());
+        lifecycleDto.setProcess(process);
+
+        if (!taskStages.isEmpty()) {
+            Map<Integer, TaskInstance> taskInstances = processDao.findTaskInstancesIncludingArchive(taskStages.keySet()).stream()
+                    .collect(Collectors.toMap(TaskInstance::getId, taskInstance -> taskInstance));
+            for (Map.Entry<Integer, Map<LifecycleStage, Date>> entry : taskStages.entrySet()) {
+                TaskInstance taskInstance = taskInstances.get(entry.getKey());
+                if (taskInstance == null) {
+                    continue;
+                }
+                InstanceLifecycle task = buildLifecycle(entry.getValue());
+                task.setId(taskInstance.getId());
+                task.setName(taskInstance.getName());
+                task.setTaskType(taskInstance.getTaskType());
+                task.setState(taskInstance.getState().toString());
+                lifecycleDto.getTasks().add(task);
+                lifecycleDto.setTaskSchedulingOverhead(lifecycleDto.getTaskSchedulingOverhead() + task.getSchedulingOverhead());
+                lifecycleDto.setTaskExecutionTime(lifecycleDto.getTaskExecutionTime() + task.getExecutionTime());
+            }
+        }
+
+        result.put(Constants.DATA_LIST, lifecycleDto);
+        putMsg(result, Status.SUCCESS);
+        return result;
+    }
+
+    /**
+     * split the recorded stages into spans, a span ending when the process is spawned
+     * or the task or process finishes is execution, any other span is scheduling overhead
+     *
+     * @param stages the time each recorded stage was passed
+     * @return lifecycle
+     */
+    private InstanceLifecycle buildLifecycle(Map<LifecycleStage, Date> stages) {
+        InstanceLifecycle lifecycle = new InstanceLifecycle();
+        lifecycle.setStages(stages);
+        Map.Entry<LifecycleStage, Date> previous = null;
+        for (Map.Entry<LifecycleStage, Date> current : stages.entrySet()) {
+            if (previous != null) {
+                LifecycleStage to = current.getKey();
+                long duration = Math.max(0, current.getValue().getTime() - previous.getValue().getTime());
+                boolean execution = to == LifecycleStage.PROCESS_SPAWNED
+                        || to == LifecycleStage.TASK_FINISHED
+                        || to == LifecycleStage.PROCESS_FINISHED;
+                lifecycle.getSpans().add(new LifecycleSpan(previous.getKey(), to, duration, execution));
+                if (execution) {
+                    lifecycle.setExecutionTime(lifecycle.getExecutionTime() + duration);
+                } else {
+                    lifecycle.setSchedulingOverhead(lifecycle.getSchedulingOverhead() + duration);
+                }
+            }
+            previous = current;
+        }
+        return lifecycle;
+    }
+
 }
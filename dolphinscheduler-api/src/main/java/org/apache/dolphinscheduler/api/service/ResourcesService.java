@@ -41,6 +41,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.text.MessageFormat;
 import java.util.*;
 
@@ -122,7 +124,7 @@ public class ResourcesService extends BaseService {
                 return result;
             }
         }
-        if (file.getSize() > Constants.maxFileSize) {
+        if (file.getSize() > PropertyUtils.getLong(Constants.RESOURCE_UPLOAD_MAX_SIZE, Constants.maxFileSize)) {
             logger.error("file size is too large: {}", file.getOriginalFilename());
             putMsg(result, Status.RESOURCE_SIZE_EXCEED_LIMIT);
             return result;
@@ -340,11 +342,8 @@ public class ResourcesService extends BaseService {
         }
         // query tenant
         String tenantCode = tenantMapper.queryById(loginUser.getTenantId()).getTenantCode();
-        // random file name
-        String localFilename = FileUtils.getUploadFilename(tenantCode, UUID.randomUUID().toString());
 
-
-        // save file to hdfs, and delete original file
+        // stream file to hdfs, without staging it on the local disk
         String hdfsFilename = "";
         String resourcePath = "";
         if (type.equals(ResourceType.FILE)) {
@@ -359,8 +358,10 @@ public class ResourcesService extends BaseService {
             if (!HadoopUtils.getInstance().exists(resourcePath)) {
                 createTenantDirIfNotExists(tenantCode);
             }
-            org.apache.dolphinscheduler.api.utils.FileUtils.copyFile(file, localFilename);
-            HadoopUtils.getInstance().copyLocalToHdfs(localFilename, hdfsFilename, true, true);
+            try (InputStream in = file.getInputStream()) {
+                String checksum = HadoopUtils.getInstance().copyStreamToHdfs(in, hdfsFilename, true);
+                logger.info("upload resource {} to {}, size: {}, md5: {}", name, hdfsFilename, file.getSize(), checksum);
+            }
         } catch (Exception e) {
             logger.error(e.getMessage(), e);
             return false;
@@ -663,18 +664,8 @@ public class ResourcesService extends BaseService {
      */
     private Result uploadContentToHdfs(String resourceName, String tenantCode, String content) {
         Result result = new Result();
-        String localFilename = "";
         String hdfsFileName = "";
         try {
-            localFilename = FileUtils.getUploadFilename(tenantCode, UUID.randomUUID().toString());
-
-            if (!FileUtils.writeContent2File(content, localFilename)) {
-                // write file fail
-                logger.error("file {} fail, content is {}", localFilename, content);
-                putMsg(result, Status.RESOURCE_NOT_EXIST);
-                return result;
-            }
-
             // get file hdfs path
             hdfsFileName = HadoopUtils.getHdfsFilename(tenantCode, resourceName);
             String resourcePath = HadoopUtils.getHdfsResDir(tenantCode);
@@ -685,15 +676,14 @@ public class ResourcesService extends BaseService {
                 // create if tenant dir not exists
                 createTenantDirIfNotExists(tenantCode);
             }
-            if (hadoopUtils.exists(hdfsFileName)) {
-                hadoopUtils.delete(hdfsFileName, false);
-            }
 
-            hadoopUtils.copyLocalToHdfs(localFilename, hdfsFileName, true, true);
+            try (InputStream in = new ByteArrayInputStream(content.getBytes())) {
+                hadoopUtils.copyStreamToHdfs(in, hdfsFileName, true);
+            }
         } catch (Exception e) {
             logger.error(e.getMessage(), e);
             result.setCode(Status.HDFS_OPERATION_ERROR.getCode());
-            result.setMsg(String.format("copy %s to hdfs %s fail", localFilename, hdfsFileName));
+            result.setMsg(String.format("write content to hdfs %s fail", hdfsFileName));
             return result;
         }
         putMsg(result, Status.SUCCESS);
@@ -568,6 +568,7 @@ public class SchedulerService extends BaseService {
 
 
         int delete = scheduleMapper.deleteById(scheduleId);
+        scheduleMapper.deleteFireTime(scheduleId);
 
         if (delete > 0) {
             putMsg(result, Status.SUCCESS);
@@ -20,9 +20,13 @@ package org.apache.dolphinscheduler.api.service;
 import org.apache.dolphinscheduler.api.controller.BaseController;
 import org.apache.dolphinscheduler.common.Constants;
 import org.apache.dolphinscheduler.common.utils.CollectionUtils;
+import org.apache.dolphinscheduler.common.utils.PropertyUtils;
 import org.apache.dolphinscheduler.dao.entity.Session;
 import org.apache.dolphinscheduler.dao.entity.User;
 import org.apache.dolphinscheduler.dao.mapper.SessionMapper;
+import org.apache.dolphinscheduler.dao.mapper.UserMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -35,6 +39,7 @@ import javax.servlet.http.HttpServletRequest;
 import java.util.Date;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 /**
  * session service
@@ -47,6 +52,38 @@ public class SessionService extends BaseService{
   @Autowired
   private SessionMapper sessionMapper;
 
+  @Autowired
+  private UserMapper userMapper;
+
+  /**
+   * session cache, key is session id
+   */
+  private final Cache<String, Session> sessionCache = buildCache();
+
+  /**
+   * user cache, key is user id
+   */
+  private final Cache<Integer, User> userCache = buildCache();
+
+  /**
+   * access token cache, key is token
+   */
+  private final Cache<String, User> tokenUserCache = buildCache();
+
+  /**
+   * build a bounded, time expiring login cache.
+   * the caches are local to this api server, the invalidate methods evict only here,
+   * other api servers see a sign out, a user or token change after the short expiry
+   *
+   * @return cache
+   */
+  private static <K, V> Cache<K, V> buildCache() {
+    return CacheBuilder.newBuilder()
+            .maximumSize(PropertyUtils.getLong(Constants.LOGIN_CACHE_MAX_SIZE, Constants.LOGIN_CACHE_MAX_SIZE_DEFAULT))
+            .expireAfterWrite(PropertyUtils.getLong(Constants.LOGIN_CACHE_EXPIRE_SECONDS, Constants.LOGIN_CACHE_EXPIRE_SECONDS_DEFAULT), TimeUnit.SECONDS)
+            .build();
+  }
+
   /**
    * get user session from request
    *
@@ -71,7 +108,65 @@ public class SessionService extends BaseService{
     String ip = BaseController.getClientIpAddress(request);
     logger.debug("get session: {}, ip: {}", sessionId, ip);
 
-    return sessionMapper.selectById(sessionId);
+    Session session = sessionCache.getIfPresent(sessionId);
+    if (session == null) {
+      session = sessionMapper.selectById(sessionId);
+      if (session != null) {
+        sessionCache.put(sessionId, session);
+      }
+    }
+    return session;
+  }
+
+  /**
+   * get the user a session belongs to
+   *
+   * @param session session
+   * @return user, null if the user does not exist
+   */
+  public User getSessionUser(Session session) {
+    User user = userCache.getIfPresent(session.getUserId());
+    if (user == null) {
+      user = userMapper.selectById(session.getUserId());
+      if (user != null) {
+        userCache.put(user.getId(), user);
+      }
+    }
+    return user;
+  }
+
+  /**
+   * get the user an access token belongs to
+   *
+   * @param token access token
+   * @return user, null if the token does not exist or has expired
+   */
+  public User getTokenUser(String token) {
+    User user = tokenUserCache.getIfPresent(token);
+    if (user == null) {
+      user = userMapper.queryUserByToken(token);
+      if (user != null) {
+        tokenUserCache.put(token, user);
+      }
+    }
+    return user;
+  }
+
+  /**
+   * evict a user from the login cache, must be called when the user is updated or deleted
+   *
+   * @param userId user id
+   */
+  public void invalidateUser(int userId) {
+    userCache.invalidate(userId);
+    tokenUserCache.asMap().values().removeIf(user -> user.getId() == userId);
+  }
+
+  /**
+   * evict all access tokens from the login cache, must be called when a token is updated or deleted
+   */
+  public void invalidateTokens() {
+    tokenUserCache.invalidateAll();
   }
 
   /**
@@ -98,6 +193,7 @@ public class SessionService extends BaseService{
       if (sessionList.size() > 1){
         for (int i=1 ; i < sessionList.size();i++){
           sessionMapper.deleteById(sessionList.get(i).getId());
+          sessionCache.invalidate(sessionList.get(i).getId());
         }
       }
       session = sessionList.get(0);
@@ -107,6 +203,7 @@ public class SessionService extends BaseService{
          */
         session.setLastLoginTime(now);
         sessionMapper.updateById(session);
+        sessionCache.invalidate(session.getId());
 
         return session.getId();
 
@@ -115,6 +212,7 @@ public class SessionService extends BaseService{
          * session expired, then delete this session first
          */
         sessionMapper.deleteById(session.getId());
+        sessionCache.invalidate(session.getId());
       }
     }
 
@@ -147,6 +245,7 @@ public class SessionService extends BaseService{
 
       //delete session
       sessionMapper.deleteById(session.getId());
+      sessionCache.invalidate(session.getId());
     }catch (Exception e){
 
     }
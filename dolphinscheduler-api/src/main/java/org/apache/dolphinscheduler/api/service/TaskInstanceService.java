@@ -18,11 +18,13 @@ package org.apache.dolphinscheduler.api.service;
 
 
 import org.apache.dolphinscheduler.api.enums.Status;
+import org.apache.dolphinscheduler.api.utils.PageCursor;
 import org.apache.dolphinscheduler.api.utils.PageInfo;
 import org.apache.dolphinscheduler.common.Constants;
 import org.apache.dolphinscheduler.common.enums.ExecutionStatus;
 import org.apache.dolphinscheduler.common.utils.CollectionUtils;
 import org.apache.dolphinscheduler.common.utils.DateUtils;
+import org.apache.dolphinscheduler.common.utils.PropertyUtils;
 import org.apache.dolphinscheduler.dao.ProcessDao;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.dao.entity.Project;
@@ -30,8 +32,9 @@ import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.apache.dolphinscheduler.dao.entity.User;
 import org.apache.dolphinscheduler.dao.mapper.ProjectMapper;
 import org.apache.dolphinscheduler.dao.mapper.TaskInstanceMapper;
-import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,6 +43,7 @@ import org.springframework.stereotype.Service;
 
 import java.text.MessageFormat;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 
 /**
  * task instance service
@@ -61,6 +65,15 @@ public class TaskInstanceService extends BaseService {
     @Autowired
     TaskInstanceMapper taskInstanceMapper;
 
+    /**
+     * total count of the task instance list, key is the list filters
+     */
+    private final Cache<String, Integer> listCountCache = CacheBuilder.newBuilder()
+            .maximumSize(1000)
+            .expireAfterWrite(PropertyUtils.getLong(Constants.LIST_COUNT_CACHE_EXPIRE_SECONDS,
+                    Constants.LIST_COUNT_CACHE_EXPIRE_SECONDS_DEFAULT), TimeUnit.SECONDS)
+            .build();
+
 
     /**
      * query task list by project, process instance, task name, task start time, task end time, task status, keyword paging
@@ -76,12 +89,13 @@ public class TaskInstanceService extends BaseService {
      * @param endDate end time
      * @param pageNo page number
      * @param pageSize page size
+     * @param after cursor of the page, read the page after it instead of by page number if not empty
      * @return task list page
      */
     public Map<String,Object> queryTaskListPaging(User loginUser, String projectName,
                                                   Integer processInstanceId, String taskName, String startDate, String endDate,
                                                   String searchVal, ExecutionStatus stateType,String host,
-                                                  Integer pageNo, Integer pageSize) {
+                                                  Integer pageNo, Integer pageSize, String after) {
         Map<String, Object> result = new HashMap<>(5);
         Project project = projectMapper.queryByName(projectName);
 
@@ -111,25 +125,72 @@ public class TaskInstanceService extends BaseService {
             return result;
         }
 
-        Page<TaskInstance> page = new Page(pageNo, pageSize);
-        IPage<TaskInstance> taskInstanceIPage = taskInstanceMapper.queryTaskInstanceListPaging(
-                page, project.getId(), processInstanceId, searchVal, taskName, statusArray, host, start, end
-        );
+        PageCursor cursor;
+        try {
+            cursor = PageCursor.parse(after);
+        } catch (IllegalArgumentException e) {
+            result.put(Constants.STATUS, Status.REQUEST_PARAMS_NOT_VALID_ERROR);
+            result.put(Constants.MSG, MessageFormat.format(Status.REQUEST_PARAMS_NOT_VALID_ERROR.getMsg(), "after"));
+            return result;
+        }
+
+        List<TaskInstance> taskInstanceList;
+        if(cursor == null){
+            // the total count is cached, so the page does not count again
+            Page<TaskInstance> page = new Page<>(pageNo, pageSize, false);
+            taskInstanceList = taskInstanceMapper.queryTaskInstanceListPaging(
+                    page, project.getId(), processInstanceId, searchVal, taskName, statusArray, host, start, end
+            ).getRecords();
+        }else{
+            taskInstanceList = taskInstanceMapper.queryTaskInstanceListAfter(
+                    project.getId(), processInstanceId, searchVal, taskName, statusArray, host, start, end,
+                    cursor.getStartTime(), cursor.getId(), pageSize);
+        }
         PageInfo pageInfo = new PageInfo<ProcessInstance>(pageNo, pageSize);
         Set<String> exclusionSet = new HashSet<String>(){{
             add(Constants.CLASS);
             add("taskJson");
         }};
-        List<TaskInstance> taskInstanceList = taskInstanceIPage.getRecords();
         for(TaskInstance taskInstance : taskInstanceList){
             taskInstance.setDuration(DateUtils.differSec(taskInstance.getStartTime(),
                     taskInstance.getEndTime()));
         }
-        pageInfo.setTotalCount((int)taskInstanceIPage.getTotal());
-        pageInfo.setLists(CollectionUtils.getListByExclusion(taskInstanceIPage.getRecords(),exclusionSet));
+        pageInfo.setTotalCount(countTaskInstanceList(project.getId(), processInstanceId, searchVal, taskName,
+                statusArray, host, start, end));
+        pageInfo.setLists(CollectionUtils.getListByExclusion(taskInstanceList,exclusionSet));
+        if(!taskInstanceList.isEmpty()){
+            TaskInstance last = taskInstanceList.get(taskInstanceList.size() - 1);
+            pageInfo.setAfter(PageCursor.next(last.getStartTime(), last.getId(), taskInstanceList.size(), pageSize));
+        }
         result.put(Constants.DATA_LIST, pageInfo);
         putMsg(result, Status.SUCCESS);
 
         return result;
     }
+
+    /**
+     * count task instance list, the count is cached for the same filters
+     *
+     * @param projectId project id
+     * @param processInstanceId process instance id
+     * @param searchVal search value
+     * @param taskName task name
+     * @param statusArray status array
+     * @param host host
+     * @param start start time
+     * @param end end time
+     * @return task instance count
+     */
+    private int countTaskInstanceList(int projectId, Integer processInstanceId, String searchVal, String taskName,
+                                      int[] statusArray, String host, Date start, Date end) {
+        String key = Arrays.asList(projectId, processInstanceId, searchVal, taskName, Arrays.toString(statusArray),
+                host, start, end).toString();
+        Integer count = listCountCache.getIfPresent(key);
+        if (count == null) {
+            count = taskInstanceMapper.countTaskInstanceList(projectId, processInstanceId, searchVal, taskName,
+                    statusArray, host, start, end);
+            listCountCache.put(key, count);
+        }
+        return count;
+    }
 }
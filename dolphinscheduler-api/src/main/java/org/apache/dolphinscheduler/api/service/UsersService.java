@@ -72,6 +72,9 @@ public class UsersService extends BaseService {
     @Autowired
     private AlertGroupMapper alertGroupMapper;
 
+    @Autowired
+    private SessionService sessionService;
+
 
     /**
      * create user, only system admin have permission
@@ -298,6 +301,7 @@ public class UsersService extends BaseService {
 
         // updateProcessInstance user
         userMapper.updateById(user);
+        sessionService.invalidateUser(userId);
         putMsg(result, Status.SUCCESS);
         return result;
     }
@@ -331,6 +335,7 @@ public class UsersService extends BaseService {
         }
 
         userMapper.deleteById(id);
+        sessionService.invalidateUser(id);
         putMsg(result, Status.SUCCESS);
 
         return result;
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.api.utils;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Date;
+
+/**
+ * position of the last row of a page ordered by start time and id descending,
+ * the next page is read after it instead of skipping the rows before it.
+ *
+ * the text form is "startTimeMillis_id"
+ */
+public class PageCursor {
+
+    private static final String SEPARATOR = "_";
+
+    /**
+     * start time of the last row
+     */
+    private final Date startTime;
+
+    /**
+     * id of the last row
+     */
+    private final int id;
+
+    public PageCursor(Date startTime, int id) {
+        this.startTime = startTime;
+        this.id = id;
+    }
+
+    public Date getStartTime() {
+        return startTime;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * parse cursor
+     *
+     * @param cursor cursor text
+     * @return page cursor, null if the cursor is empty
+     * @throws IllegalArgumentException if the cursor is not valid
+     */
+    public static PageCursor parse(String cursor) {
+        if (StringUtils.isEmpty(cursor)) {
+            return null;
+        }
+        String[] parts = cursor.split(SEPARATOR);
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("page cursor is not valid: " + cursor);
+        }
+        try {
+            return new PageCursor(new Date(Long.parseLong(parts[0])), Integer.parseInt(parts[1]));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("page cursor is not valid: " + cursor, e);
+        }
+    }
+
+    /**
+     * cursor of the next page
+     *
+     * @param lastStartTime start time of the last row of the page
+     * @param lastId id of the last row of the page
+     * @param pageCount row count of the page
+     * @param pageSize page size
+     * @return cursor text, null if the page is the last one
+     */
+    public static String next(Date lastStartTime, int lastId, int pageCount, int pageSize) {
+        if (pageCount < pageSize || lastStartTime == null) {
+            return null;
+        }
+        return new PageCursor(lastStartTime, lastId).toString();
+    }
+
+    @Override
+    public String toString() {
+        return startTime.getTime() + SEPARATOR + id;
+    }
+}
@@ -45,6 +45,10 @@ public class PageInfo<T> {
      * pageNo
      */
     private Integer pageNo;
+    /**
+     * cursor of the next page, null if this is the last page
+     */
+    private String after;
 
     public PageInfo(Integer currentPage,Integer pageSize){
         if(currentPage==null){
@@ -107,6 +111,14 @@ public class PageInfo<T> {
         this.currentPage = currentPage;
     }
 
+    public String getAfter() {
+        return after;
+    }
+
+    public void setAfter(String after) {
+        this.after = after;
+    }
+
     public Integer getCurrentPage() {
         if (currentPage==null||currentPage <= 0) {
             this.currentPage = 1;
@@ -75,7 +75,7 @@ public class ProcessInstanceServiceTest {
         User loginUser = new User();
         loginUser.setId(27);
         loginUser.setUserType(UserType.GENERAL_USER);
-        Map<String, Object> map = processInstanceService.queryProcessInstanceList(loginUser, "project_test1", 0, "", "", "", ExecutionStatus.FAILURE, "", 1, 5);
+        Map<String, Object> map = processInstanceService.queryProcessInstanceList(loginUser, "project_test1", 0, "", "", "", ExecutionStatus.FAILURE, "", 1, 5, null);
 
         Assert.assertEquals(Status.PROJECT_NOT_FOUNT, map.get(Constants.STATUS));
         logger.info(JSON.toJSONString(map));
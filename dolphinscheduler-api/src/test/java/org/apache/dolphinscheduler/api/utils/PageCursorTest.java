@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.api.utils;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Date;
+
+/**
+ * page cursor test
+ */
+public class PageCursorTest {
+
+    @Test
+    public void testParse() {
+        Assert.assertNull(PageCursor.parse(null));
+        Assert.assertNull(PageCursor.parse(""));
+
+        PageCursor cursor = PageCursor.parse("1571212800000_1024");
+        Assert.assertEquals(1571212800000L, cursor.getStartTime().getTime());
+        Assert.assertEquals(1024, cursor.getId());
+        Assert.assertEquals("1571212800000_1024", cursor.toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParseInvalid() {
+        PageCursor.parse("2019-10-16_1024");
+    }
+
+    @Test
+    public void testNext() {
+        Date startTime = new Date(1571212800000L);
+        Assert.assertEquals("1571212800000_7", PageCursor.next(startTime, 7, 10, 10));
+        Assert.assertNull(PageCursor.next(startTime, 7, 9, 10));
+        Assert.assertNull(PageCursor.next(null, 7, 10, 10));
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.benchmark;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONObject;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * runs the benchmarks and compares the scores with the baseline results.
+ * <p>
+ * system properties:
+ * benchmark.include   regular expression of the benchmarks to run
+ * benchmark.result    file the json results are written to
+ * benchmark.baseline  json results of the baseline, written by a previous run
+ * benchmark.threshold relative slowdown reported as a regression, 0.1 by default
+ * benchmark.update-baseline  replace the baseline with the results of this run
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws Exception {
+        String include = System.getProperty("benchmark.include", ".*Benchmark.*");
+        String result = System.getProperty("benchmark.result", "target/jmh-result.json");
+        String baseline = System.getProperty("benchmark.baseline", "baseline/jmh-result.json");
+        double threshold = Double.parseDouble(System.getProperty("benchmark.threshold", "0.1"));
+
+        Options options = new OptionsBuilder()
+                .include(include)
+                .resultFormat(ResultFormatType.JSON)
+                .result(result)
+                .build();
+        Collection<RunResult> runResults = new Runner(options).run();
+
+        Map<String, Double> baselineScores = readBaseline(new File(baseline));
+        int regressions = compare(runResults, baselineScores, threshold);
+
+        if (Boolean.parseBoolean(System.getProperty("benchmark.update-baseline"))) {
+            new File(baseline).getAbsoluteFile().getParentFile().mkdirs();
+            Files.copy(new File(result).toPath(), new File(baseline).toPath(), StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("baseline updated: " + baseline);
+        } else if (regressions > 0) {
+            System.out.println(regressions + " benchmarks regressed by more than " + (threshold * 100) + "%");
+            System.exit(1);
+        } else if (baselineScores.isEmpty()) {
+            System.out.println("no baseline " + baseline + ", record it on the reference machine with -Dbenchmark.update-baseline=true");
+        }
+    }
+
+    /**
+     * print the scores of this run next to the baseline
+     * @param runResults results of this run
+     * @param baseline baseline scores by benchmark key
+     * @param threshold relative slowdown reported as a regression
+     * @return number of regressions
+     */
+    private static int compare(Collection<RunResult> runResults, Map<String, Double> baseline, double threshold) {
+        int regressions = 0;
+        System.out.println();
+        System.out.println(String.format("%-90s %14s %14s %8s", "Benchmark", "Baseline", "Score", "Change"));
+        for (RunResult runResult : runResults) {
+            Map<String, String> params = new TreeMap<>();
+            for (String key : runResult.getParams().getParamsKeys()) {
+                params.put(key, runResult.getParams().getParam(key));
+            }
+            String key = key(runResult.getParams().getBenchmark(), params);
+            double score = runResult.getPrimaryResult().getScore();
+            Double base = baseline.get(key);
+            if (base == null || base == 0) {
+                System.out.println(String.format("%-90s %14s %14.3f %8s", key, "-", score, "-"));
+                continue;
+            }
+            // higher is better only for throughput
+            double change = runResult.getParams().getMode().shortLabel().equals("thrpt")
+                    ? (base - score) / base : (score - base) / base;
+            boolean regressed = change > threshold;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.println(String.format("%-90s %14.3f %14.3f %7.1f%%%s",
+                    key, base, score, change * 100, regressed ? " REGRESSION" : ""));
+        }
+        return regressions;
+    }
+
+    /**
+     * read the scores of the baseline, which is a json result file of jmh
+     * @param file baseline file
+     * @return scores by benchmark key, empty if there is no baseline
+     * @throws IOException if the file cannot be read
+     */
+    private static Map<String, Double> readBaseline(File file) throws IOException {
+        Map<String, Double> scores = new HashMap<>();
+        if (!file.exists()) {
+            return scores;
+        }
+        JSONArray results = JSON.parseArray(new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+        if (results == null) {
+            return scores;
+        }
+        for (int i = 0; i < results.size(); i++) {
+            JSONObject result = results.getJSONObject(i);
+            Map<String, String> params = new TreeMap<>();
+            JSONObject paramsObject = result.getJSONObject("params");
+            if (paramsObject != null) {
+                for (String key : paramsObject.keySet()) {
+                    params.put(key, paramsObject.getString(key));
+                }
+            }
+            scores.put(key(result.getString("benchmark"), params),
+                    result.getJSONObject("primaryMetric").getDouble("score"));
+        }
+        return scores;
+    }
+
+    private static String key(String benchmark, Map<String, String> params) {
+        return params.isEmpty() ? benchmark : benchmark + params;
+    }
+}
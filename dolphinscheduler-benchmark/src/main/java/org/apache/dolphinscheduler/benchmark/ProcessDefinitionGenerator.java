@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.benchmark;
+
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONObject;
+
+/**
+ * generates process definition json of the shape the ui saves, for benchmarks
+ */
+public class ProcessDefinitionGenerator {
+
+    private ProcessDefinitionGenerator() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * name of the task node of the given index
+     * @param index index
+     * @return task name
+     */
+    public static String taskName(int index) {
+        return "task_" + index;
+    }
+
+    /**
+     * generate a layered process definition, every node depends on up to two nodes of the previous layer
+     * @param nodes number of task nodes
+     * @param width number of task nodes in a layer
+     * @return process definition json
+     */
+    public static String generate(int nodes, int width) {
+        JSONArray tasks = new JSONArray();
+        for (int i = 0; i < nodes; i++) {
+            tasks.add(taskNode(i, width));
+        }
+        return generate(tasks);
+    }
+
+    /**
+     * generate a layered process definition of task nodes of the given type
+     * @param nodes number of task nodes
+     * @param width number of task nodes in a layer, 1 for a chain, nodes for independent tasks
+     * @param type task type
+     * @param params task parameters
+     * @return process definition json
+     */
+    public static String generate(int nodes, int width, String type, JSONObject params) {
+        JSONArray tasks = new JSONArray();
+        for (int i = 0; i < nodes; i++) {
+            tasks.add(taskNode(i, width, type, params));
+        }
+        return generate(tasks);
+    }
+
+    private static String generate(JSONArray tasks) {
+        JSONObject processData = new JSONObject(true);
+        processData.put("globalParams", new JSONArray());
+        processData.put("tasks", tasks);
+        processData.put("tenantId", -1);
+        processData.put("timeout", 0);
+        return processData.toJSONString();
+    }
+
+    /**
+     * generate the json of one shell task node
+     * @param index index
+     * @param width number of task nodes in a layer
+     * @return task node json
+     */
+    public static JSONObject taskNode(int index, int width) {
+        JSONObject params = new JSONObject(true);
+        params.put("resourceList", new JSONArray());
+        params.put("localParams", new JSONArray());
+        params.put("rawScript", "echo ${system.biz.date} $[yyyyMMdd-1] " + index);
+        return taskNode(index, width, "SHELL", params);
+    }
+
+    /**
+     * generate the json of one task node
+     * @param index index
+     * @param width number of task nodes in a layer
+     * @param type task type
+     * @param params task parameters
+     * @return task node json
+     */
+    public static JSONObject taskNode(int index, int width, String type, JSONObject params) {
+        JSONObject timeout = new JSONObject(true);
+        timeout.put("strategy", "");
+        timeout.put("interval", null);
+        timeout.put("enable", false);
+
+        JSONArray preTasks = new JSONArray();
+        if (index >= width) {
+            preTasks.add(taskName(index - width));
+            if ((index + 1) % width != 0) {
+                preTasks.add(taskName(index - width + 1));
+            }
+        }
+
+        JSONObject taskNode = new JSONObject(true);
+        taskNode.put("type", type);
+        taskNode.put("id", "tasks-" + index);
+        taskNode.put("name", taskName(index));
+        taskNode.put("params", params);
+        taskNode.put("desc", "");
+        taskNode.put("runFlag", "NORMAL");
+        taskNode.put("dependence", new JSONObject());
+        taskNode.put("maxRetryTimes", "0");
+        taskNode.put("retryInterval", "1");
+        taskNode.put("timeout", timeout);
+        taskNode.put("taskInstancePriority", "MEDIUM");
+        taskNode.put("workerGroupId", -1);
+        taskNode.put("preTasks", preTasks);
+        return taskNode;
+    }
+}
@@ -0,0 +1,290 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.benchmark.load;
+
+import org.apache.dolphinscheduler.common.enums.CommandType;
+import org.apache.dolphinscheduler.common.enums.ExecutionStatus;
+import org.apache.dolphinscheduler.common.enums.FailureStrategy;
+import org.apache.dolphinscheduler.common.enums.Flag;
+import org.apache.dolphinscheduler.common.enums.Priority;
+import org.apache.dolphinscheduler.common.enums.ReleaseState;
+import org.apache.dolphinscheduler.common.enums.TaskDependType;
+import org.apache.dolphinscheduler.common.enums.WarningType;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * database access of the load test.
+ * it uses its own jdbc connections, so that its statements are not counted as the statements of the servers
+ */
+public class LoadTestDatabase {
+
+    /**
+     * id of the admin user created by the schema script
+     */
+    private static final int ADMIN_USER_ID = 1;
+
+    /**
+     * id of the default queue created by the schema script
+     */
+    private static final int DEFAULT_QUEUE_ID = 1;
+
+    /**
+     * states of the finished process instances
+     */
+    private static final String FINISHED_STATES = ExecutionStatus.PAUSE.getCode() + ","
+            + ExecutionStatus.STOP.getCode() + ","
+            + ExecutionStatus.FAILURE.getCode() + ","
+            + ExecutionStatus.SUCCESS.getCode() + ","
+            + ExecutionStatus.KILL.getCode();
+
+    private final DataSource dataSource;
+
+    public LoadTestDatabase(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * create the tables, the whole script is sent as one statement
+     * @param schemaFile postgresql create script
+     * @throws IOException if the script cannot be read
+     * @throws SQLException if the script fails
+     */
+    public void createSchema(String schemaFile) throws IOException, SQLException {
+        String script = new String(Files.readAllBytes(Paths.get(schemaFile)), StandardCharsets.UTF_8);
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute(script);
+        }
+    }
+
+    /**
+     * create a tenant and make it the tenant of the admin user
+     * @param tenantCode tenant code, the os user running the tasks
+     * @return tenant id
+     * @throws SQLException if the insert fails
+     */
+    public int createTenant(String tenantCode) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            int tenantId = insert(connection,
+                    "insert into t_ds_tenant(tenant_code, tenant_name, description, queue_id, create_time, update_time) " +
+                            "values (?, ?, 'load test', ?, now(), now())",
+                    tenantCode, tenantCode, DEFAULT_QUEUE_ID);
+            try (PreparedStatement statement = connection.prepareStatement("update t_ds_user set tenant_id = ? where id = ?")) {
+                statement.setInt(1, tenantId);
+                statement.setInt(2, ADMIN_USER_ID);
+                statement.executeUpdate();
+            }
+            return tenantId;
+        }
+    }
+
+    /**
+     * create a project of the admin user
+     * @param name project name
+     * @return project id
+     * @throws SQLException if the insert fails
+     */
+    public int createProject(String name) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            return insert(connection,
+                    "insert into t_ds_project(name, description, user_id, flag, create_time, update_time) " +
+                            "values (?, 'load test', ?, ?, now(), now())",
+                    name, ADMIN_USER_ID, Flag.YES.getCode());
+        }
+    }
+
+    /**
+     * create an online process definition
+     * @param projectId project id
+     * @param tenantId tenant id
+     * @param name process definition name
+     * @param processDefinitionJson process definition json
+     * @return process definition id
+     * @throws SQLException if the insert fails
+     */
+    public int createProcessDefinition(int projectId, int tenantId, String name, String processDefinitionJson) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            return insert(connection,
+                    "insert into t_ds_process_definition(name, version, release_state, project_id, user_id, " +
+                            "process_definition_json, description, global_params, flag, locations, connects, " +
+                            "create_time, timeout, tenant_id, update_time) " +
+                            "values (?, 1, ?, ?, ?, ?, 'load test', '[]', ?, '{}', '[]', now(), 0, ?, now())",
+                    name, ReleaseState.ONLINE.getCode(), projectId, ADMIN_USER_ID,
+                    processDefinitionJson, Flag.YES.getCode(), tenantId);
+        }
+    }
+
+    /**
+     * insert start process commands in one batch, as a burst of schedules firing at the same time
+     * @param processDefinitionIds process definitions, the commands are spread over them
+     * @param count number of commands
+     * @throws SQLException if the insert fails
+     */
+    public void createCommands(List<Integer> processDefinitionIds, int count) throws SQLException {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "insert into t_ds_command(command_type, process_definition_id, command_param, task_depend_type, " +
+                             "failure_strategy, warning_type, warning_group_id, schedule_time, start_time, executor_id, " +
+                             "update_time, process_instance_priority, worker_group_id) " +
+                             "values (?, ?, '{}', ?, ?, ?, 0, ?, ?, ?, ?, ?, -1)")) {
+            for (int i = 0; i < count; i++) {
+                statement.setInt(1, CommandType.START_PROCESS.getCode());
+                statement.setInt(2, processDefinitionIds.get(i % processDefinitionIds.size()));
+                statement.setInt(3, TaskDependType.TASK_POST.getCode());
+                statement.setInt(4, FailureStrategy.CONTINUE.getCode());
+                statement.setInt(5, WarningType.NONE.getCode());
+                statement.setTimestamp(6, now);
+                statement.setTimestamp(7, now);
+                statement.setInt(8, ADMIN_USER_ID);
+                statement.setTimestamp(9, now);
+                statement.setInt(10, Priority.MEDIUM.getCode());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    /**
+     * create online schedules with the same crontab, they fire together into commands
+     * @param processDefinitionIds process definitions, the schedules are spread over them
+     * @param count number of schedules
+     * @param crontab crontab of the schedules
+     * @param startTime start time of the schedules
+     * @param endTime end time of the schedules
+     * @throws SQLException if the insert fails
+     */
+    public void createSchedules(List<Integer> processDefinitionIds, int count, String crontab,
+                                Date startTime, Date endTime) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "insert into t_ds_schedules(process_definition_id, start_time, end_time, crontab, failure_strategy, " +
+                             "user_id, release_state, warning_type, warning_group_id, process_instance_priority, " +
+                             "worker_group_id, create_time, update_time) " +
+                             "values (?, ?, ?, ?, ?, ?, ?, ?, 0, ?, -1, now(), now())")) {
+            for (int i = 0; i < count; i++) {
+                statement.setInt(1, processDefinitionIds.get(i % processDefinitionIds.size()));
+                statement.setTimestamp(2, new Timestamp(startTime.getTime()));
+                statement.setTimestamp(3, new Timestamp(endTime.getTime()));
+                statement.setString(4, crontab);
+                statement.setInt(5, FailureStrategy.CONTINUE.getCode());
+                statement.setInt(6, ADMIN_USER_ID);
+                statement.setInt(7, ReleaseState.ONLINE.getCode());
+                statement.setInt(8, WarningType.NONE.getCode());
+                statement.setInt(9, Priority.MEDIUM.getCode());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    /**
+     * @return number of commands not handled yet
+     * @throws SQLException if the query fails
+     */
+    public int countCommands() throws SQLException {
+        return count("select count(*) from t_ds_command");
+    }
+
+    /**
+     * @return number of process instances not finished yet
+     * @throws SQLException if the query fails
+     */
+    public int countRunningProcessInstances() throws SQLException {
+        return count("select count(*) from t_ds_process_instance where state not in (" + FINISHED_STATES + ")");
+    }
+
+    /**
+     * @return number of commands the master failed to handle
+     * @throws SQLException if the query fails
+     */
+    public int countErrorCommands() throws SQLException {
+        return count("select count(*) from t_ds_error_command");
+    }
+
+    /**
+     * @return number of task instances
+     * @throws SQLException if the query fails
+     */
+    public int countTaskInstances() throws SQLException {
+        return count("select count(*) from t_ds_task_instance");
+    }
+
+    /**
+     * @return number of successful process instances
+     * @throws SQLException if the query fails
+     */
+    public int countSuccessProcessInstances() throws SQLException {
+        return count("select count(*) from t_ds_process_instance where state = " + ExecutionStatus.SUCCESS.getCode());
+    }
+
+    /**
+     * query the times of the finished process instances
+     * @return command start time, start time and end time of each process instance, unit is millisecond
+     * @throws SQLException if the query fails
+     */
+    public List<long[]> queryProcessInstanceTimes() throws SQLException {
+        List<long[]> times = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "select command_start_time, start_time, end_time from t_ds_process_instance " +
+                             "where state in (" + FINISHED_STATES + ") and command_start_time is not null");
+             ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                times.add(new long[]{resultSet.getTimestamp(1).getTime(),
+                        resultSet.getTimestamp(2).getTime(),
+                        resultSet.getTimestamp(3).getTime()});
+            }
+        }
+        return times;
+    }
+
+    private int count(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql);
+             ResultSet resultSet = statement.executeQuery()) {
+            return resultSet.next() ? resultSet.getInt(1) : 0;
+        }
+    }
+
+    private static int insert(Connection connection, String sql, Object... params) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql, new String[]{"id"})) {
+            for (int i = 0; i < params.length; i++) {
+                statement.setObject(i + 1, params[i]);
+            }
+            statement.executeUpdate();
+            try (ResultSet keys = statement.getGeneratedKeys()) {
+                keys.next();
+                return keys.getInt(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,256 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.benchmark.load;
+
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONObject;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.apache.curator.test.TestingServer;
+import org.apache.dolphinscheduler.benchmark.ProcessDefinitionGenerator;
+import org.apache.dolphinscheduler.common.metrics.MetricFamily;
+import org.apache.dolphinscheduler.common.metrics.Metrics;
+import org.apache.dolphinscheduler.common.metrics.Timer;
+import org.apache.dolphinscheduler.server.master.MasterServer;
+import org.apache.dolphinscheduler.server.worker.WorkerServer;
+import org.apache.dolphinscheduler.server.worker.task.TaskManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * load test of the scheduler: a master and a worker run in process against an embedded zookeeper
+ * and an embedded postgresql, the tasks are simulated by the sleep task.
+ * <p>
+ * the servers read the zookeeper.properties, application-dao.properties and master.properties of this module,
+ * which point to the embedded servers started here.
+ * <p>
+ * system properties:
+ * load.schema         postgresql create script of the tables
+ * load.result         file the json report is written to
+ * load.definitions    number of process definitions, 10 by default
+ * load.dag.shape      shapes of the process definitions, chain, parallel or layered, a comma separated list
+ *                     is spread over the process definitions
+ * load.dag.nodes      number of tasks of a process definition, 10 by default
+ * load.dag.width      number of tasks of a layer of the layered shape, 5 by default
+ * load.task.sleep     time a task sleeps, 0 for no-op tasks, unit is millisecond
+ * load.storm.mode     command inserts the commands of a storm at once, schedule creates online schedules
+ *                     firing every minute on the timing wheel of the master
+ * load.storm.size     commands of a storm, or number of schedules, 200 by default
+ * load.storms         number of storms, or minutes the schedules fire, 5 by default
+ * load.storm.interval interval between two command storms, unit is second, 10 by default
+ * load.timeout        time waiting for all process instances to finish, unit is second, 3600 by default
+ */
+public class LoadTestHarness {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadTestHarness.class);
+
+    /**
+     * port of the embedded zookeeper, the zookeeper.quorum of zookeeper.properties
+     */
+    private static final int ZOOKEEPER_PORT = 12181;
+
+    /**
+     * port of the embedded postgresql, the spring.datasource.url of application-dao.properties
+     */
+    private static final int DATABASE_PORT = 15432;
+
+    /**
+     * crontab of the schedules of the schedule storms, all fire at the beginning of every minute
+     */
+    private static final String STORM_CRONTAB = "0 * * * * ? *";
+
+    /**
+     * time for the master to insert the commands of the last schedule fire, unit is millisecond
+     */
+    private static final long LAST_FIRE_DELAY = 10000;
+
+    public static void main(String[] args) throws Exception {
+        String schema = System.getProperty("load.schema", "../sql/dolphinscheduler-postgre.sql");
+        String resultFile = System.getProperty("load.result", "target/load-test-result.json");
+        int definitions = Integer.getInteger("load.definitions", 10);
+        String[] shapes = System.getProperty("load.dag.shape", "layered").split(",");
+        int nodes = Integer.getInteger("load.dag.nodes", 10);
+        int width = Integer.getInteger("load.dag.width", 5);
+        long sleepMillis = Long.getLong("load.task.sleep", 0L);
+        String stormMode = System.getProperty("load.storm.mode", "command");
+        int stormSize = Integer.getInteger("load.storm.size", 200);
+        int storms = Integer.getInteger("load.storms", 5);
+        int stormInterval = Integer.getInteger("load.storm.interval", 10);
+        int timeout = Integer.getInteger("load.timeout", 3600);
+
+        Map<String, Object> options = new LinkedHashMap<>();
+        options.put("definitions", definitions);
+        options.put("shapes", String.join(",", shapes));
+        options.put("nodes", nodes);
+        options.put("width", width);
+        options.put("taskSleep", sleepMillis);
+        options.put("stormMode", stormMode);
+        options.put("stormSize", stormSize);
+        options.put("storms", storms);
+        options.put("stormInterval", stormInterval);
+
+        logger.info("start embedded zookeeper on port {} and postgresql on port {}", ZOOKEEPER_PORT, DATABASE_PORT);
+        TestingServer zookeeper = new TestingServer(ZOOKEEPER_PORT, true);
+        EmbeddedPostgres postgres = EmbeddedPostgres.builder().setPort(DATABASE_PORT).start();
+
+        LoadTestDatabase database = new LoadTestDatabase(postgres.getPostgresDatabase());
+        database.createSchema(schema);
+        int tenantId = database.createTenant(System.getProperty("user.name"));
+        int projectId = database.createProject("load_test");
+
+        JSONObject taskParams = new JSONObject(true);
+        taskParams.put("localParams", new JSONArray());
+        taskParams.put("sleepMillis", sleepMillis);
+        List<Integer> processDefinitionIds = new ArrayList<>(definitions);
+        for (int i = 0; i < definitions; i++) {
+            String shape = shapes[i % shapes.length].trim();
+            String json = ProcessDefinitionGenerator.generate(nodes, layerWidth(shape, nodes, width),
+                    SleepTask.TASK_TYPE, taskParams);
+            processDefinitionIds.add(database.createProcessDefinition(projectId, tenantId, shape + "_" + i, json));
+        }
+
+        // the worker runs the sleep task in place of real tasks
+        TaskManager.register(SleepTask.TASK_TYPE, SleepTask::new);
+
+        logger.info("start master and worker");
+        new SpringApplicationBuilder(MasterServer.class, WorkerServer.class)
+                .web(WebApplicationType.NONE)
+                .properties("server.is-combined-server=true")
+                .run(args);
+
+        MetricFamily<Timer> statementTimers = Metrics.timerFamily("db_statement_duration_seconds",
+                "duration of the database statements", "statement");
+        Map<String, Long> statementsBefore = statementCounts(statementTimers);
+
+        long lastFireTime;
+        if ("schedule".equalsIgnoreCase(stormMode)) {
+            Date startTime = new Date();
+            Date endTime = new Date(startTime.getTime() + TimeUnit.MINUTES.toMillis(storms) - 1);
+            logger.info("create {} schedules firing every minute until {}", stormSize, endTime);
+            database.createSchedules(processDefinitionIds, stormSize, STORM_CRONTAB, startTime, endTime);
+            lastFireTime = endTime.getTime() + LAST_FIRE_DELAY;
+        } else {
+            for (int i = 0; i < storms; i++) {
+                if (i > 0) {
+                    Thread.sleep(TimeUnit.SECONDS.toMillis(stormInterval));
+                }
+                logger.info("storm {} of {} : insert {} commands", i + 1, storms, stormSize);
+                database.createCommands(processDefinitionIds, stormSize);
+            }
+            lastFireTime = System.currentTimeMillis();
+        }
+
+        boolean finished = awaitFinished(database, lastFireTime, TimeUnit.SECONDS.toMillis(timeout));
+        if (!finished) {
+            logger.warn("process instances are still running after {} seconds, the report is partial", timeout);
+        }
+
+        Map<String, Long> statements = statementCounts(statementTimers);
+        for (Map.Entry<String, Long> before : statementsBefore.entrySet()) {
+            statements.merge(before.getKey(), -before.getValue(), Long::sum);
+        }
+
+        LoadTestReport report = new LoadTestReport(options,
+                database.queryProcessInstanceTimes(),
+                database.countSuccessProcessInstances(),
+                database.countTaskInstances(),
+                database.countErrorCommands(),
+                statements);
+        report.print();
+        File file = new File(resultFile);
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+        Files.write(file.toPath(), report.toJson().getBytes(StandardCharsets.UTF_8));
+        logger.info("load test report written to {}", file.getAbsolutePath());
+
+        // the servers stop in their shutdown hooks, the embedded servers are stopped after them
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                postgres.close();
+                zookeeper.close();
+            } catch (Exception e) {
+                logger.warn("stop embedded servers failed", e);
+            }
+        }));
+        System.exit(finished ? 0 : 1);
+    }
+
+    /**
+     * @param shape dag shape
+     * @param nodes number of tasks
+     * @param width width of the layered shape
+     * @return number of tasks of a layer
+     */
+    private static int layerWidth(String shape, int nodes, int width) {
+        switch (shape) {
+            case "chain":
+                return 1;
+            case "parallel":
+                return nodes;
+            case "layered":
+                return width;
+            default:
+                throw new IllegalArgumentException("unknown dag shape : " + shape);
+        }
+    }
+
+    /**
+     * wait until no command is left and all process instances are finished
+     * @param database database
+     * @param lastFireTime time of the last storm
+     * @param timeout timeout, unit is millisecond
+     * @return true if all process instances finished before the timeout
+     * @throws Exception if the database cannot be queried
+     */
+    private static boolean awaitFinished(LoadTestDatabase database, long lastFireTime, long timeout) throws Exception {
+        long deadline = lastFireTime + timeout;
+        while (System.currentTimeMillis() < deadline) {
+            Thread.sleep(1000);
+            if (System.currentTimeMillis() < lastFireTime) {
+                continue;
+            }
+            int commands = database.countCommands();
+            int running = database.countRunningProcessInstances();
+            logger.info("waiting for {} commands and {} running process instances", commands, running);
+            if (commands == 0 && running == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Map<String, Long> statementCounts(MetricFamily<Timer> statementTimers) {
+        Map<String, Long> counts = new HashMap<>();
+        for (Map.Entry<String, Timer> timer : statementTimers.snapshot().entrySet()) {
+            counts.put(timer.getKey(), timer.getValue().count());
+        }
+        return counts;
+    }
+}
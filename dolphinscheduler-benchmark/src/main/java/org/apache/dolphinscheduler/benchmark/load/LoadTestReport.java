@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.benchmark.load;
+
+import com.alibaba.fastjson.JSONObject;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * results of a load test run: throughput, latency percentiles and database statements
+ */
+public class LoadTestReport {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 100};
+
+    /**
+     * number of statements listed by their count
+     */
+    private static final int TOP_STATEMENTS = 15;
+
+    private final JSONObject result = new JSONObject(true);
+
+    /**
+     * build the report
+     * @param options options of the run
+     * @param processInstanceTimes command start time, start time and end time of each finished process instance
+     * @param successProcessInstances number of successful process instances
+     * @param taskInstances number of task instances
+     * @param errorCommands number of commands the master failed to handle
+     * @param statements statements executed by the servers during the run, by statement name
+     */
+    public LoadTestReport(Map<String, Object> options, List<long[]> processInstanceTimes, int successProcessInstances,
+                          int taskInstances, int errorCommands, Map<String, Long> statements) {
+        int processInstances = processInstanceTimes.size();
+        long firstCommand = processInstanceTimes.stream().mapToLong(times -> times[0]).min().orElse(0);
+        long lastEnd = processInstanceTimes.stream().mapToLong(times -> times[2]).max().orElse(0);
+        double seconds = Math.max(lastEnd - firstCommand, 1) / 1000.0;
+
+        result.put("options", options);
+
+        JSONObject throughput = new JSONObject(true);
+        throughput.put("processInstances", processInstances);
+        throughput.put("successProcessInstances", successProcessInstances);
+        throughput.put("taskInstances", taskInstances);
+        throughput.put("errorCommands", errorCommands);
+        throughput.put("seconds", seconds);
+        throughput.put("processInstancesPerSecond", processInstances / seconds);
+        throughput.put("taskInstancesPerSecond", taskInstances / seconds);
+        result.put("throughput", throughput);
+
+        JSONObject latency = new JSONObject(true);
+        latency.put("commandToStartMillis", percentiles(processInstanceTimes.stream()
+                .mapToLong(times -> times[1] - times[0]).toArray()));
+        latency.put("commandToEndMillis", percentiles(processInstanceTimes.stream()
+                .mapToLong(times -> times[2] - times[0]).toArray()));
+        result.put("latency", latency);
+
+        long total = statements.values().stream().mapToLong(Long::longValue).sum();
+        JSONObject database = new JSONObject(true);
+        database.put("statements", total);
+        database.put("statementsPerProcessInstance", processInstances == 0 ? 0 : (double) total / processInstances);
+        database.put("statementsPerTaskInstance", taskInstances == 0 ? 0 : (double) total / taskInstances);
+        database.put("topStatements", statements.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+                .limit(TOP_STATEMENTS)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, LinkedHashMap::new)));
+        result.put("database", database);
+    }
+
+    /**
+     * @param values values
+     * @return p50, p90, p99 and max of the values
+     */
+    private static Map<String, Long> percentiles(long[] values) {
+        Arrays.sort(values);
+        Map<String, Long> percentiles = new LinkedHashMap<>();
+        for (double percentile : PERCENTILES) {
+            String name = percentile == 100 ? "max" : "p" + (int) percentile;
+            if (values.length == 0) {
+                percentiles.put(name, 0L);
+                continue;
+            }
+            int index = (int) Math.ceil(percentile / 100 * values.length) - 1;
+            percentiles.put(name, values[Math.max(index, 0)]);
+        }
+        return percentiles;
+    }
+
+    /**
+     * @return report as json
+     */
+    public String toJson() {
+        return JSONObject.toJSONString(result, true);
+    }
+
+    /**
+     * print the report
+     */
+    public void print() {
+        JSONObject throughput = result.getJSONObject("throughput");
+        JSONObject latency = result.getJSONObject("latency");
+        JSONObject database = result.getJSONObject("database");
+
+        System.out.println();
+        System.out.println("load test " + result.get("options"));
+        System.out.println(String.format("process instances : %d (%d success), task instances : %d, error commands : %d, in %.1f s",
+                throughput.getIntValue("processInstances"), throughput.getIntValue("successProcessInstances"),
+                throughput.getIntValue("taskInstances"), throughput.getIntValue("errorCommands"),
+                throughput.getDoubleValue("seconds")));
+        System.out.println(String.format("throughput : %.2f process instances/s, %.2f task instances/s",
+                throughput.getDoubleValue("processInstancesPerSecond"), throughput.getDoubleValue("taskInstancesPerSecond")));
+        System.out.println("latency command to start (ms) : " + latency.get("commandToStartMillis"));
+        System.out.println("latency command to end (ms)   : " + latency.get("commandToEndMillis"));
+        System.out.println(String.format("database statements : %d, %.1f per process instance, %.1f per task instance",
+                database.getLongValue("statements"), database.getDoubleValue("statementsPerProcessInstance"),
+                database.getDoubleValue("statementsPerTaskInstance")));
+        for (Map.Entry<String, Object> statement : database.getJSONObject("topStatements").entrySet()) {
+            System.out.println(String.format("  %-60s %10s", statement.getKey(), statement.getValue()));
+        }
+    }
+}
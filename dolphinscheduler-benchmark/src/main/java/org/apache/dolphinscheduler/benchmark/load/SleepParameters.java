@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.benchmark.load;
+
+import org.apache.dolphinscheduler.common.task.AbstractParameters;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * parameters of the sleep task
+ */
+public class SleepParameters extends AbstractParameters {
+
+    /**
+     * time the task sleeps, 0 for a no-op task, unit is millisecond
+     */
+    private long sleepMillis;
+
+    public long getSleepMillis() {
+        return sleepMillis;
+    }
+
+    public void setSleepMillis(long sleepMillis) {
+        this.sleepMillis = sleepMillis;
+    }
+
+    @Override
+    public boolean checkParameters() {
+        return sleepMillis >= 0;
+    }
+
+    @Override
+    public List<String> getResourceFilesList() {
+        return new ArrayList<>();
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.benchmark.load;
+
+import com.alibaba.fastjson.JSONObject;
+import org.apache.dolphinscheduler.common.Constants;
+import org.apache.dolphinscheduler.common.task.AbstractParameters;
+import org.apache.dolphinscheduler.server.worker.task.AbstractTask;
+import org.apache.dolphinscheduler.server.worker.task.TaskProps;
+import org.slf4j.Logger;
+
+/**
+ * simulated task of the load test, it sleeps instead of running anything,
+ * so that the load test measures the scheduling and not the tasks
+ */
+public class SleepTask extends AbstractTask {
+
+    /**
+     * task type of the sleep task, registered to the TaskManager by the load test
+     */
+    public static final String TASK_TYPE = "SLEEP";
+
+    /**
+     * sleep parameters
+     */
+    private SleepParameters sleepParameters;
+
+    /**
+     * constructor
+     * @param taskProps task props
+     * @param logger    logger
+     */
+    public SleepTask(TaskProps taskProps, Logger logger) {
+        super(taskProps, logger);
+    }
+
+    @Override
+    public void init() {
+        this.sleepParameters = JSONObject.parseObject(taskProps.getTaskParams(), SleepParameters.class);
+
+        if (!sleepParameters.checkParameters()) {
+            throw new RuntimeException("sleep task params is not valid");
+        }
+    }
+
+    @Override
+    public void handle() throws Exception {
+        if (sleepParameters.getSleepMillis() > 0) {
+            try {
+                Thread.sleep(sleepParameters.getSleepMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                exitStatusCode = Constants.EXIT_CODE_KILL;
+                return;
+            }
+        }
+        exitStatusCode = cancel ? Constants.EXIT_CODE_KILL : Constants.EXIT_CODE_SUCCESS;
+    }
+
+    @Override
+    public AbstractParameters getParameters() {
+        return sleepParameters;
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.common.queue;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * benchmark of the ordering and filtering a worker does on the task queue children in TaskQueueZkImpl.poll.
+ * run it with the main method or through BenchmarkRunner
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskQueueBenchmark {
+
+    /**
+     * ip of the polling worker, as a long string
+     */
+    private static final String WORKER_IP = "3232235777";
+
+    @Param({"1000", "10000"})
+    private int queueSize;
+
+    @Param({"1", "100"})
+    private int tasksNum;
+
+    private List<String> tasks;
+
+    /**
+     * children of the task queue node, ${processInstancePriority}_${processInstanceId}_${taskInstancePriority}_${taskId}_host1,host2,...
+     * a quarter of the tasks are bound to worker groups the worker does not belong to
+     */
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        tasks = new ArrayList<>(queueSize);
+        for (int i = 0; i < queueSize; i++) {
+            String hosts = i % 4 == 0 ? "3232235778,3232235779" : WORKER_IP + ",3232235778";
+            tasks.add(random.nextInt(5) + "_" + random.nextInt(queueSize) + "_"
+                    + random.nextInt(5) + "_" + (i + 1) + "_" + hosts);
+        }
+    }
+
+    @Benchmark
+    public List<String> selectTasks() {
+        return TaskQueueZkImpl.selectTasks(tasks, WORKER_IP, tasksNum);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(TaskQueueBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.common.utils;
+
+import org.apache.dolphinscheduler.common.Constants;
+import org.apache.dolphinscheduler.common.utils.placeholder.TimePlaceholderUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * benchmark of the parameter substitution done on the script of every task instance.
+ * run it with the main method or through BenchmarkRunner
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParameterUtilsBenchmark {
+
+    private static final String SCRIPT = "hive -e \"insert overwrite table dw.t_order partition(dt='${system.biz.date}') "
+            + "select * from ods.t_order where dt = '$[yyyyMMdd-1]' and hour = '$[HH]' and region = '${region}'\"\n"
+            + "echo ${system.datetime} $[yyyy-MM-dd] $[add_months(yyyyMMdd,-1)] $[this_day(yyyy-MM-dd)]";
+
+    private static final String TIME_SCRIPT = "select * from t where dt between '$[yyyyMMdd-7]' and '$[yyyyMMdd-1]' "
+            + "and month = '$[month_begin(yyyyMMdd,0)]'";
+
+    private Map<String, String> parameterMap;
+
+    private Date date;
+
+    @Setup
+    public void setup() {
+        date = DateUtils.stringToDate("2019-12-25 02:30:00");
+        parameterMap = new HashMap<>();
+        parameterMap.put(Constants.PARAMETER_DATETIME, DateUtils.format(date, Constants.PARAMETER_FORMAT_TIME));
+        parameterMap.put(Constants.PARAMETER_BUSINESS_DATE, "20191224");
+        parameterMap.put("region", "east");
+    }
+
+    @Benchmark
+    public String convertParameterPlaceholders() {
+        return ParameterUtils.convertParameterPlaceholders(SCRIPT, parameterMap);
+    }
+
+    @Benchmark
+    public String replaceTimePlaceholders() {
+        return TimePlaceholderUtils.replacePlaceholders(TIME_SCRIPT, date, true);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ParameterUtilsBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
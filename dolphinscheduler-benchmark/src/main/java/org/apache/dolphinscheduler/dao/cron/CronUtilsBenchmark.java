@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.dao.cron;
+
+import org.apache.dolphinscheduler.common.enums.CycleEnum;
+import org.apache.dolphinscheduler.common.utils.DateUtils;
+import org.apache.dolphinscheduler.dao.utils.cron.CronUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.quartz.CronExpression;
+
+import java.text.ParseException;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * benchmark of the last fire time of a dependent schedule, as computed by ProcessDao.getCycleDependencies.
+ * run it with the main method or through BenchmarkRunner
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CronUtilsBenchmark {
+
+    @Param({"0 * * * * ? *", "0 0 * * * ? *", "0 0 2 * * ? *", "0 0 2 1 * ? *"})
+    private String crontab;
+
+    private Date start;
+
+    private Date scheduledFireTime;
+
+    @Setup
+    public void setup() throws ParseException {
+        scheduledFireTime = DateUtils.stringToDate("2019-12-25 02:30:00");
+        CycleEnum cycleEnum = CronUtils.getMiniCycle(CronUtils.parse2Cron(crontab));
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTime(scheduledFireTime);
+        // the same look back windows as getCycleDependencies, a minute cycle looks back one hour
+        switch (cycleEnum) {
+            case MINUTE:
+                calendar.add(Calendar.MINUTE, -61);
+                break;
+            case HOUR:
+                calendar.add(Calendar.HOUR, -25);
+                break;
+            case DAY:
+            case WEEK:
+                calendar.add(Calendar.DATE, -32);
+                break;
+            default:
+                calendar.add(Calendar.MONTH, -13);
+                break;
+        }
+        start = calendar.getTime();
+    }
+
+    /**
+     * parse the crontab twice and list all the fire times to keep the last one
+     */
+    @Benchmark
+    public Date fireDateList() throws ParseException {
+        CronExpression cronExpression = CronUtils.parse2CronExpression(crontab);
+        CronUtils.getMiniCycle(CronUtils.parse2Cron(crontab));
+        List<Date> list = CronUtils.getFireDateList(start, scheduledFireTime, cronExpression);
+        return list.isEmpty() ? null : list.get(list.size() - 1);
+    }
+
+    /**
+     * cached parse and the last fire time computed directly
+     */
+    @Benchmark
+    public Date lastFireTime() throws ParseException {
+        CronExpression cronExpression = CronUtils.getCronExpression(crontab);
+        CronUtils.getMiniCycle(crontab);
+        return CronUtils.getLastFireTime(start, scheduledFireTime, cronExpression);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(CronUtilsBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
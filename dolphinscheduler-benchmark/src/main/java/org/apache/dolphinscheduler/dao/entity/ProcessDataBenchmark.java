@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.dao.entity;
+
+import com.alibaba.fastjson.JSONObject;
+import org.apache.dolphinscheduler.benchmark.ProcessDefinitionGenerator;
+import org.apache.dolphinscheduler.common.model.TaskNode;
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * benchmark of the fastjson parsing of process definitions and task nodes, done for every process and task instance.
+ * run it with the main method or through BenchmarkRunner
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProcessDataBenchmark {
+
+    @Param({"10", "1000"})
+    private int nodes;
+
+    private String processDefinitionJson;
+
+    private String taskJson;
+
+    @Setup
+    public void setup() {
+        processDefinitionJson = ProcessDefinitionGenerator.generate(nodes, 20);
+        taskJson = ProcessDefinitionGenerator.taskNode(nodes, 20).toJSONString();
+    }
+
+    @Benchmark
+    public ProcessData parseProcessData() {
+        return JSONUtils.parseObject(processDefinitionJson, ProcessData.class);
+    }
+
+    @Benchmark
+    public TaskNode parseTaskNode() {
+        return JSONObject.parseObject(taskJson, TaskNode.class);
+    }
+
+    @Benchmark
+    public String toJsonString() {
+        return JSONUtils.toJsonString(JSONUtils.parseObject(processDefinitionJson, ProcessData.class));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ProcessDataBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
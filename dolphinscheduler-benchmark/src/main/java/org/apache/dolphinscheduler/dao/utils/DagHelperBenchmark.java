@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.dao.utils;
+
+import org.apache.dolphinscheduler.benchmark.ProcessDefinitionGenerator;
+import org.apache.dolphinscheduler.common.enums.TaskDependType;
+import org.apache.dolphinscheduler.common.graph.DAG;
+import org.apache.dolphinscheduler.common.graph.FrozenDAG;
+import org.apache.dolphinscheduler.common.model.TaskNode;
+import org.apache.dolphinscheduler.common.model.TaskNodeRelation;
+import org.apache.dolphinscheduler.common.process.ProcessDag;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * benchmark of the dag a master builds for a process instance, from the definition json to the topological order.
+ * run it with the main method or through BenchmarkRunner
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DagHelperBenchmark {
+
+    /**
+     * no start or recovery nodes, the whole process runs
+     */
+    private static final List<String> NO_NODES = Collections.emptyList();
+
+    @Param({"100", "1000"})
+    private int nodes;
+
+    private String processDefinitionJson;
+
+    private ProcessDag processDag;
+
+    private DAG<String, TaskNode, TaskNodeRelation> dag;
+
+    @Setup
+    public void setup() throws Exception {
+        processDefinitionJson = ProcessDefinitionGenerator.generate(nodes, 20);
+        processDag = DagHelper.generateFlowDag(processDefinitionJson, NO_NODES, NO_NODES, TaskDependType.TASK_POST);
+        dag = DagHelper.buildDagGraph(processDag);
+    }
+
+    @Benchmark
+    public ProcessDag generateFlowDag() throws Exception {
+        return DagHelper.generateFlowDag(processDefinitionJson, NO_NODES, NO_NODES, TaskDependType.TASK_POST);
+    }
+
+    @Benchmark
+    public DAG<String, TaskNode, TaskNodeRelation> buildDagGraph() {
+        return DagHelper.buildDagGraph(processDag);
+    }
+
+    @Benchmark
+    public List<String> topologicalSort() throws Exception {
+        return dag.topologicalSort();
+    }
+
+    @Benchmark
+    public FrozenDAG<String, TaskNode, TaskNodeRelation> freeze() {
+        return dag.freeze();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(DagHelperBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
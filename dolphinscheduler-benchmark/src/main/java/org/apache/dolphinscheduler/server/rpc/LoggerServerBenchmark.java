@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.server.rpc;
+
+import io.grpc.stub.StreamObserver;
+import org.apache.dolphinscheduler.rpc.LogParameter;
+import org.apache.dolphinscheduler.rpc.RetStrInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * benchmark of the paging of a task log by the log rpc, as the ui does when scrolling a running task log.
+ * run it with the main method or through BenchmarkRunner
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoggerServerBenchmark {
+
+    private static final int LINES = 100000;
+
+    private static final int LIMIT = 1000;
+
+    @Param({"0", "50000", "99000"})
+    private int skipLineNum;
+
+    private File logFile;
+
+    private LoggerServer.LogViewServiceGrpcImpl logViewService;
+
+    private LogParameter logParameter;
+
+    private final StreamObserver<RetStrInfo> responseObserver = new StreamObserver<RetStrInfo>() {
+        @Override
+        public void onNext(RetStrInfo value) {
+            // discard, the benchmark only measures the reading
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            throw new IllegalStateException(t);
+        }
+
+        @Override
+        public void onCompleted() {
+            // nothing to do
+        }
+    };
+
+    @Setup
+    public void setup() throws IOException {
+        logFile = File.createTempFile("task-log", ".log");
+        try (BufferedWriter writer = Files.newBufferedWriter(logFile.toPath(), StandardCharsets.UTF_8)) {
+            for (int i = 0; i < LINES; i++) {
+                writer.write("[INFO] 2019-12-25 02:30:00.000 TaskLogLogger-class org.apache.dolphinscheduler.server.worker.task.shell.ShellTask:[106] - -> line " + i);
+                writer.newLine();
+            }
+        }
+        logViewService = new LoggerServer.LogViewServiceGrpcImpl();
+        logParameter = LogParameter.newBuilder()
+                .setPath(logFile.getAbsolutePath())
+                .setSkipLineNum(skipLineNum)
+                .setLimit(LIMIT)
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(logFile.toPath());
+    }
+
+    @Benchmark
+    public void rollViewLog() {
+        logViewService.rollViewLog(logParameter, responseObserver);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(LoggerServerBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
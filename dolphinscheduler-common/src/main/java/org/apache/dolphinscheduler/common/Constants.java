@@ -131,6 +131,26 @@ public final class Constants {
      */
     public static final String RESOURCE_VIEW_SUFFIXS = "resource.view.suffixs";
 
+    /**
+     * resource.upload.max.size
+     */
+    public static final String RESOURCE_UPLOAD_MAX_SIZE = "resource.upload.max.size";
+
+    /**
+     * suffix of the temporary file written while streaming to hdfs
+     */
+    public static final String HDFS_COPYING_SUFFIX = "._COPYING_";
+
+    /**
+     * buffer size used when streaming to hdfs
+     */
+    public static final int HDFS_STREAM_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * MD5
+     */
+    public static final String MD5 = "MD5";
+
     /**
      * development.state
      */
@@ -186,6 +206,26 @@ public final class Constants {
      */
     public static final String ZOOKEEPER_DOLPHINSCHEDULER_LOCK_FAILOVER_STARTUP_MASTERS = "zookeeper.dolphinscheduler.lock.failover.startup.masters";
 
+    /**
+     * MasterServer instance statistics refresh lock directory registered in zookeeper
+     */
+    public static final String ZOOKEEPER_DOLPHINSCHEDULER_LOCK_STATISTICS = "zookeeper.dolphinscheduler.lock.statistics";
+
+    /**
+     * MasterServer instance archive lock directory registered in zookeeper
+     */
+    public static final String ZOOKEEPER_DOLPHINSCHEDULER_LOCK_ARCHIVE = "zookeeper.dolphinscheduler.lock.archive";
+
+    /**
+     * MasterServer sub process finished events directory registered in zookeeper
+     */
+    public static final String ZOOKEEPER_DOLPHINSCHEDULER_SUBPROCESS_EVENTS = "zookeeper.dolphinscheduler.subprocess.events";
+
+    /**
+     * alert signal node registered in zookeeper, its data is changed after an alert is added to wake up the alert server
+     */
+    public static final String ZOOKEEPER_DOLPHINSCHEDULER_ALERT_SIGNAL = "zookeeper.dolphinscheduler.alert.signal";
+
     /**
      * need send warn times when master server or worker server failover
      */
@@ -239,6 +279,34 @@ public final class Constants {
 
     public static final String MASTER_EXEC_TASK_THREADS = "master.exec.task.number";
 
+    public static final String MASTER_TASK_WATCH_THREADS = "master.task.watch.threads";
+
+    public static final String MASTER_TASK_SUBMIT_THREADS = "master.task.submit.threads";
+
+    public static final String MASTER_TASK_WATCH_INTERVAL = "master.task.watch.interval";
+
+    public static final String MASTER_SUBPROCESS_WATCH_INTERVAL = "master.subprocess.watch.interval";
+
+    public static final String MASTER_FAILOVER_THREADS = "master.failover.threads";
+
+    public static final String MASTER_FAILOVER_BATCH_SIZE = "master.failover.batch.size";
+
+    public static final String MASTER_SCHEDULE_ENGINE = "master.schedule.engine";
+
+    public static final String MASTER_SCHEDULE_WHEEL_TICK = "master.schedule.wheel.tick";
+
+    public static final String MASTER_SCHEDULE_RELOAD_INTERVAL = "master.schedule.reload.interval";
+
+    public static final String MASTER_SCHEDULE_MISFIRE_THRESHOLD = "master.schedule.misfire.threshold";
+
+    public static final String MASTER_SCHEDULE_MISFIRE_MAX_FIRES = "master.schedule.misfire.max.fires";
+
+    public static final String MASTER_SCHEDULE_FIRE_BATCH_SIZE = "master.schedule.fire.batch.size";
+
+    public static final String MASTER_SCHEDULE_COMMAND_LINGER = "master.schedule.command.linger";
+
+    public static final String MASTER_SCHEDULE_CACHE_EXPIRE = "master.schedule.cache.expire";
+
 
     public static final String MASTER_COMMIT_RETRY_TIMES = "master.task.commit.retryTimes";
 
@@ -255,10 +323,40 @@ public final class Constants {
 
     public static final String WORKER_RESERVED_MEMORY = "worker.reserved.memory";
 
+    public static final String WORKER_TASK_LOG_ASYNC = "worker.task.log.async";
+
+    public static final String WORKER_TASK_LOG_BUFFER_SIZE = "worker.task.log.buffer.size";
+
+    public static final String WORKER_TASK_LOG_BATCH_SIZE = "worker.task.log.batch.size";
+
+    public static final String WORKER_TASK_LOG_FLUSH_INTERVAL = "worker.task.log.flush.interval";
+
+    public static final String WORKER_TASK_LOG_OVERFLOW_POLICY = "worker.task.log.overflow.policy";
+
     public static final String MASTER_MAX_CPULOAD_AVG = "master.max.cpuload.avg";
 
     public static final String MASTER_RESERVED_MEMORY = "master.reserved.memory";
 
+    public static final String MASTER_STATISTICS_REFRESH_INTERVAL = "master.statistics.refresh.interval";
+
+    public static final String MASTER_STATISTICS_REFRESH_WINDOW = "master.statistics.refresh.window";
+
+    public static final String MASTER_STATISTICS_RECONCILE_DAYS = "master.statistics.reconcile.days";
+
+    public static final String MASTER_ARCHIVE_ENABLE = "master.archive.enable";
+
+    public static final String MASTER_ARCHIVE_INTERVAL = "master.archive.interval";
+
+    public static final String MASTER_ARCHIVE_RETENTION_DAYS = "master.archive.retention.days";
+
+    public static final String MASTER_ARCHIVE_BATCH_SIZE = "master.archive.batch.size";
+
+    public static final String MASTER_LIFECYCLE_RETENTION_DAYS = "master.lifecycle.retention.days";
+
+    public static final String MASTER_METRICS_PORT = "master.metrics.port";
+
+    public static final String WORKER_METRICS_PORT = "worker.metrics.port";
+
 
     /**
      * dolphinscheduler tasks queue
@@ -270,6 +368,11 @@ public final class Constants {
      */
     public static final String DOLPHINSCHEDULER_TASKS_KILL = "tasks_kill";
 
+    /**
+     * suffix of the zookeeper path holding the counters of a tasks queue
+     */
+    public static final String TASK_QUEUE_COUNTER_SUFFIX = "_counters";
+
     public static final String ZOOKEEPER_DOLPHINSCHEDULER_ROOT = "zookeeper.dolphinscheduler.root";
 
     public static final String SCHEDULER_QUEUE_IMPL = "dolphinscheduler.queue.impl";
@@ -381,6 +484,41 @@ public final class Constants {
      */
     public static final int defaultWorkerFetchTaskNum = 1;
 
+    /**
+     * default max buffered output lines of each task
+     */
+    public static final int defaultWorkerTaskLogBufferSize = 10000;
+
+    /**
+     * default max task output lines written per batch
+     */
+    public static final int defaultWorkerTaskLogBatchSize = 1000;
+
+    /**
+     * default interval of writing task output, unit is millisecond
+     */
+    public static final int defaultWorkerTaskLogFlushInterval = 200;
+
+    /**
+     * default policy when the task output buffer is full
+     */
+    public static final String defaultWorkerTaskLogOverflowPolicy = "BLOCK";
+
+    /**
+     * write buffer size of task output
+     */
+    public static final int TASK_LOG_WRITE_BUFFER_SIZE = 256 * 1024;
+
+    /**
+     * max time to wait for the task log writer to stop, unit is millisecond
+     */
+    public static final long TASK_LOG_WRITER_STOP_TIMEOUT = 5000L;
+
+    /**
+     * max time to wait for the process output being written after the process exits, unit is millisecond
+     */
+    public static final long PROCESS_OUTPUT_AWAIT_TIMEOUT = 10000L;
+
     /**
      * worker execute threads number
      */
@@ -418,6 +556,81 @@ public final class Constants {
      */
     public static final int defaultMasterTaskExecNum = 20;
 
+    /**
+     * default master task watch thread num
+     */
+    public static final int defaultMasterTaskWatchThreadNum = 8;
+
+    /**
+     * default master task submit thread num
+     */
+    public static final int defaultMasterTaskSubmitThreadNum = 8;
+
+    /**
+     * default interval of polling a running sub process, unit is millisecond
+     */
+    public static final long defaultMasterSubProcessWatchInterval = 10000;
+
+    /**
+     * default master failover thread num
+     */
+    public static final int defaultMasterFailoverThreadNum = 4;
+
+    /**
+     * default number of instances failed over in one transaction
+     */
+    public static final int defaultMasterFailoverBatchSize = 500;
+
+    /**
+     * schedule engine based on clustered quartz
+     */
+    public static final String SCHEDULE_ENGINE_QUARTZ = "quartz";
+
+    /**
+     * schedule engine based on a timing wheel in each master
+     */
+    public static final String SCHEDULE_ENGINE_TIMING_WHEEL = "timing_wheel";
+
+    /**
+     * default master schedule engine
+     */
+    public static final String defaultMasterScheduleEngine = SCHEDULE_ENGINE_QUARTZ;
+
+    /**
+     * default tick of the schedule timing wheel, unit is millisecond
+     */
+    public static final long defaultMasterScheduleWheelTick = 1000;
+
+    /**
+     * default interval of reloading online schedules, unit is second
+     */
+    public static final int defaultMasterScheduleReloadInterval = 10;
+
+    /**
+     * default misfire threshold of a schedule never fired by the timing wheel engine, older fire times are skipped, unit is second
+     */
+    public static final int defaultMasterScheduleMisfireThreshold = 60;
+
+    /**
+     * default max number of missed fire times a schedule catches up, older ones are dropped
+     */
+    public static final int defaultMasterScheduleMisfireMaxFires = 100;
+
+    /**
+     * default number of schedule commands created in one transaction
+     */
+    public static final int defaultMasterScheduleFireBatchSize = 500;
+
+    /**
+     * default time of collecting quartz fired commands before inserting them, unit is millisecond
+     */
+    public static final long defaultMasterScheduleCommandLinger = 5;
+
+    /**
+     * default expire time of the schedules and process definitions cached by quartz jobs, unit is second
+     */
+    public static final int defaultMasterScheduleCacheExpire = 5;
+
     /**
      * default log cache rows num,output when reach the number
      */
@@ -451,6 +664,71 @@ public final class Constants {
      */
     public static final int defaultMasterCommitRetryInterval = 100;
 
+    /**
+     * default master instance statistics refresh interval, unit is second
+     */
+    public static final int defaultMasterStatisticsRefreshInterval = 300;
+
+    /**
+     * default master instance statistics refresh window, unit is hour
+     */
+    public static final int defaultMasterStatisticsRefreshWindow = 2;
+
+    /**
+     * default days before the refresh window rebuilt by the statistics reconciliation, 0 disables it
+     */
+    public static final int defaultMasterStatisticsReconcileDays = 7;
+
+    /**
+     * default whether master archives finished instances older than the retention
+     */
+    public static final boolean defaultMasterArchiveEnable = true;
+
+    /**
+     * default master instance archive interval, unit is second
+     */
+    public static final int defaultMasterArchiveInterval = 3600;
+
+    /**
+     * default days finished instances are kept in the hot tables before being archived
+     */
+    public static final int defaultMasterArchiveRetentionDays = 90;
+
+    /**
+     * default number of process instances archived in one transaction
+     */
+    public static final int defaultMasterArchiveBatchSize = 500;
+
+    /**
+     * default days lifecycle events are kept, 0 keeps them forever
+     */
+    public static final int defaultMasterLifecycleRetentionDays = 30;
+
+    /**
+     * default port of the master metrics server, 0 disables it
+     */
+    public static final int defaultMasterMetricsPort = 12346;
+
+    /**
+     * default port of the worker metrics server, 0 disables it
+     */
+    public static final int defaultWorkerMetricsPort = 12347;
+
+    /**
+     * master instance statistics thread number
+     */
+    public static final int defaultMasterStatisticsThreadNum = 1;
+
+    /**
+     * master instance archive thread number
+     */
+    public static final int defaultMasterArchiveThreadNum = 1;
+
+    /**
+     * whether the data analysis of project uses hourly instance statistics
+     */
+    public static final String DATA_ANALYSIS_USE_STATISTICS = "data.analysis.use.statistics";
+
     /**
      * time unit secong to minutes
      */
@@ -1037,6 +1315,21 @@ public final class Constants {
      * session timeout
      */
     public static final int SESSION_TIME_OUT = 7200;
+
+    /**
+     * login cache of the api server, holds sessions, users and access tokens.
+     * it is local to each api server, a change made through another server is seen after the expiry
+     */
+    public static final String LOGIN_CACHE_MAX_SIZE = "login.cache.max.size";
+    public static final long LOGIN_CACHE_MAX_SIZE_DEFAULT = 10000;
+    public static final String LOGIN_CACHE_EXPIRE_SECONDS = "login.cache.expire.seconds";
+    public static final long LOGIN_CACHE_EXPIRE_SECONDS_DEFAULT = 5;
+
+    /**
+     * seconds the total count of an instance list is cached by the api server, 0 counts on every page
+     */
+    public static final String LIST_COUNT_CACHE_EXPIRE_SECONDS = "list.count.cache.expire.seconds";
+    public static final long LIST_COUNT_CACHE_EXPIRE_SECONDS_DEFAULT = 30;
     public static final int maxFileSize = 1024 * 1024 * 1024;
     public static final String UDF = "UDF";
     public static final String CLASS = "class";
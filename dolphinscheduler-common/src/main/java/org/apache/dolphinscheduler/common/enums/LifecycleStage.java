@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.common.enums;
+
+import com.baomidou.mybatisplus.annotation.EnumValue;
+import lombok.Getter;
+
+/**
+ * lifecycle stage of a process instance or a task instance, in the order they are passed
+ */
+@Getter
+public enum LifecycleStage {
+    /**
+     * process instance stages:
+     * 0 command inserted; 1 command claimed by a master; 2 dag built; 3 process finished
+     * task instance stages:
+     * 4 task inserted; 5 task enqueued; 6 task polled by a worker; 7 task started;
+     * 8 process spawned; 9 task finished; 10 finish observed by the master
+     */
+    COMMAND_INSERTED(0, "command inserted"),
+    COMMAND_CLAIMED(1, "command claimed"),
+    DAG_BUILT(2, "dag built"),
+    PROCESS_FINISHED(3, "process finished"),
+    TASK_SUBMITTED(4, "task inserted"),
+    TASK_QUEUED(5, "task enqueued"),
+    TASK_POLLED(6, "task polled"),
+    TASK_STARTED(7, "task started"),
+    PROCESS_SPAWNED(8, "process spawned"),
+    TASK_FINISHED(9, "task finished"),
+    TASK_OBSERVED(10, "task finish observed");
+
+
+    LifecycleStage(int code, String descp){
+        this.code = code;
+        this.descp = descp;
+    }
+
+    @EnumValue
+    private final int code;
+    private final String descp;
+
+    /**
+     * whether the stage belongs to a task instance
+     * @return true if task stage
+     */
+    public boolean isTaskStage(){
+        return code >= TASK_SUBMITTED.code;
+    }
+}
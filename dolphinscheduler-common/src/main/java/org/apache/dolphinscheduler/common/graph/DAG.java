@@ -350,6 +350,28 @@ public class DAG<Node, NodeInfo, EdgeInfo> {
   }
 
 
+  /**
+   * freeze the DAG into an immutable index based DAG for the hot read paths,
+   * later changes of this DAG are not visible in the frozen DAG
+   *
+   * @return frozen DAG
+   */
+  public FrozenDAG<Node, NodeInfo, EdgeInfo> freeze() {
+    lock.readLock().lock();
+
+    try{
+      Map.Entry<Boolean, List<Node>> entry = topologicalSortImpl();
+
+      if (!entry.getKey()) {
+        throw new IllegalStateException("serious error: graph has cycle ! ");
+      }
+      return new FrozenDAG<>(nodesMap, edgesMap, entry.getValue());
+    }finally {
+      lock.readLock().unlock();
+    }
+  }
+
+
   /**
    *  if tho node does not exist,add this node
    *
@@ -0,0 +1,386 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.common.graph;
+
+import java.util.*;
+
+/**
+ * immutable DAG built from a {@link DAG} that does not change any more, e.g. the DAG of a running process instance.
+ * nodes are numbered, edges are kept in compressed arrays (the successors of node i are
+ * successors[successorOffsets[i]] .. successors[successorOffsets[i+1] - 1], the same for predecessors),
+ * begin nodes, end nodes and the topological order are computed once, reads need no lock
+ *
+ * Node: node
+ * NodeInfo：node description information
+ * EdgeInfo: edge description information
+ */
+public class FrozenDAG<Node, NodeInfo, EdgeInfo> {
+
+  /**
+   * nodes, index is node id
+   */
+  private final Object[] nodes;
+
+  /**
+   * node information, index is node id
+   */
+  private final Object[] nodeInfos;
+
+  /**
+   * key is node, value is node id
+   */
+  private final Map<Node, Integer> nodeIds;
+
+  /**
+   * start offset of the successors of every node in successors, size is node count + 1
+   */
+  private final int[] successorOffsets;
+
+  /**
+   * successor node ids
+   */
+  private final int[] successors;
+
+  /**
+   * edge information, same index as successors
+   */
+  private final Object[] edgeInfos;
+
+  /**
+   * start offset of the predecessors of every node in predecessors, size is node count + 1
+   */
+  private final int[] predecessorOffsets;
+
+  /**
+   * predecessor node ids
+   */
+  private final int[] predecessors;
+
+  private final List<Node> beginNodes;
+
+  private final List<Node> endNodes;
+
+  private final List<Node> topologicalOrder;
+
+  /**
+   * build the frozen DAG, called by {@link DAG#freeze()} under its read lock
+   *
+   * @param nodesMap        node map of the DAG
+   * @param edgesMap        edge map of the DAG
+   * @param topologicalOrder topological order of the DAG
+   */
+  FrozenDAG(Map<Node, NodeInfo> nodesMap, Map<Node, Map<Node, EdgeInfo>> edgesMap, List<Node> topologicalOrder) {
+    int nodeCount = nodesMap.size();
+    this.nodes = new Object[nodeCount];
+    this.nodeInfos = new Object[nodeCount];
+    this.nodeIds = new HashMap<>(nodeCount * 2);
+
+    // number the nodes in topological order
+    int id = 0;
+    for (Node node : topologicalOrder) {
+      nodes[id] = node;
+      nodeInfos[id] = nodesMap.get(node);
+      nodeIds.put(node, id);
+      id++;
+    }
+
+    int edgeCount = 0;
+    int[] indegrees = new int[nodeCount];
+    for (Map.Entry<Node, Map<Node, EdgeInfo>> entry : edgesMap.entrySet()) {
+      edgeCount += entry.getValue().size();
+      for (Node toNode : entry.getValue().keySet()) {
+        indegrees[nodeIds.get(toNode)]++;
+      }
+    }
+
+    this.successorOffsets = new int[nodeCount + 1];
+    this.successors = new int[edgeCount];
+    this.edgeInfos = new Object[edgeCount];
+    this.predecessorOffsets = new int[nodeCount + 1];
+    this.predecessors = new int[edgeCount];
+
+    for (int i = 0; i < nodeCount; i++) {
+      predecessorOffsets[i + 1] = predecessorOffsets[i] + indegrees[i];
+    }
+    int[] predecessorCursor = Arrays.copyOf(predecessorOffsets, nodeCount);
+
+    int cursor = 0;
+    List<Node> begins = new ArrayList<>();
+    List<Node> ends = new ArrayList<>();
+    for (int i = 0; i < nodeCount; i++) {
+      successorOffsets[i] = cursor;
+      Map<Node, EdgeInfo> toNodes = edgesMap.get(nodes[i]);
+      if (toNodes != null) {
+        for (Map.Entry<Node, EdgeInfo> edge : toNodes.entrySet()) {
+          int toId = nodeIds.get(edge.getKey());
+          successors[cursor] = toId;
+          edgeInfos[cursor] = edge.getValue();
+          cursor++;
+          predecessors[predecessorCursor[toId]++] = i;
+        }
+      }
+      if (indegrees[i] == 0) {
+        begins.add(node(i));
+      }
+      if (toNodes == null || toNodes.isEmpty()) {
+        ends.add(node(i));
+      }
+    }
+    successorOffsets[nodeCount] = cursor;
+
+    this.beginNodes = Collections.unmodifiableList(begins);
+    this.endNodes = Collections.unmodifiableList(ends);
+    this.topologicalOrder = Collections.unmodifiableList(new ArrayList<>(topologicalOrder));
+  }
+
+  /**
+   * get node id
+   *
+   * @param node node
+   * @return node id, -1 if the node is not in the DAG
+   */
+  public int getNodeId(Node node) {
+    Integer id = nodeIds.get(node);
+    return id == null ? -1 : id;
+  }
+
+  /**
+   * whether this node is contained
+   *
+   * @param node node
+   * @return true if contains
+   */
+  public boolean containsNode(Node node) {
+    return nodeIds.containsKey(node);
+  }
+
+  /**
+   * whether this edge is contained
+   *
+   * @param fromNode node of origin
+   * @param toNode   node of destination
+   * @return true if contains
+   */
+  public boolean containsEdge(Node fromNode, Node toNode) {
+    int fromId = getNodeId(fromNode);
+    int toId = getNodeId(toNode);
+    if (fromId < 0 || toId < 0) {
+      return false;
+    }
+    for (int i = successorOffsets[fromId]; i < successorOffsets[fromId + 1]; i++) {
+      if (successors[i] == toId) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * get node description
+   *
+   * @param node node
+   * @return node description
+   */
+  @SuppressWarnings("unchecked")
+  public NodeInfo getNode(Node node) {
+    int id = getNodeId(node);
+    return id < 0 ? null : (NodeInfo) nodeInfos[id];
+  }
+
+  /**
+   * Get the number of nodes
+   *
+   * @return the number of nodes
+   */
+  public int getNodesCount() {
+    return nodes.length;
+  }
+
+  /**
+   * Get the number of edges
+   *
+   * @return the number of edges
+   */
+  public int getEdgesCount() {
+    return successors.length;
+  }
+
+  /**
+   * get the start node of DAG
+   *
+   * @return the start node of DAG
+   */
+  public Collection<Node> getBeginNode() {
+    return beginNodes;
+  }
+
+  /**
+   * get the end node of DAG
+   *
+   * @return the end node of DAG
+   */
+  public Collection<Node> getEndNode() {
+    return endNodes;
+  }
+
+  /**
+   * whether the node is a start node of DAG
+   *
+   * @param node node
+   * @return true if the node is in the DAG and has no previous node
+   */
+  public boolean isBeginNode(Node node) {
+    int id = getNodeId(node);
+    return id >= 0 && predecessorOffsets[id] == predecessorOffsets[id + 1];
+  }
+
+  /**
+   * Gets all previous nodes of the node
+   *
+   * @param node node id to be calculated
+   * @return all previous nodes of the node
+   */
+  public Collection<Node> getPreviousNodes(Node node) {
+    return neighborNodes(getNodeId(node), predecessorOffsets, predecessors);
+  }
+
+  /**
+   * Get all subsequent nodes of the node
+   *
+   * @param node node id to be calculated
+   * @return all subsequent nodes of the node
+   */
+  public Collection<Node> getSubsequentNodes(Node node) {
+    return neighborNodes(getNodeId(node), successorOffsets, successors);
+  }
+
+  /**
+   * Gets the degree of entry of the node
+   *
+   * @param node node id
+   * @return the degree of entry of the node
+   */
+  public int getIndegree(Node node) {
+    int id = getNodeId(node);
+    return id < 0 ? 0 : predecessorOffsets[id + 1] - predecessorOffsets[id];
+  }
+
+  /**
+   * topological order of the nodes
+   *
+   * @return topologically sorted results
+   */
+  public List<Node> topologicalSort() {
+    return topologicalOrder;
+  }
+
+  /**
+   * create a counter of the previous nodes that are not done yet, for every node
+   *
+   * @return ready counter
+   */
+  public ReadyCounter newReadyCounter() {
+    return new ReadyCounter();
+  }
+
+  @SuppressWarnings("unchecked")
+  private Node node(int id) {
+    return (Node) nodes[id];
+  }
+
+  /**
+   * neighbor nodes of the node, a view of the compressed arrays
+   *
+   * @param id        node id
+   * @param offsets   neighbor offsets
+   * @param neighbors neighbor node ids
+   * @return neighbor nodes
+   */
+  private List<Node> neighborNodes(final int id, final int[] offsets, final int[] neighbors) {
+    if (id < 0) {
+      return Collections.emptyList();
+    }
+    return new AbstractList<Node>() {
+      @Override
+      public Node get(int index) {
+        if (index < 0 || index >= size()) {
+          throw new IndexOutOfBoundsException(String.valueOf(index));
+        }
+        return node(neighbors[offsets[id] + index]);
+      }
+
+      @Override
+      public int size() {
+        return offsets[id + 1] - offsets[id];
+      }
+    };
+  }
+
+  /**
+   * number of previous nodes that are not done yet for every node, a node is ready when the number is 0.
+   * not thread safe, it belongs to the thread that runs the DAG
+   */
+  public class ReadyCounter {
+
+    /**
+     * previous nodes not done yet, index is node id
+     */
+    private final int[] remaining;
+
+    /**
+     * whether the node is done, index is node id
+     */
+    private final boolean[] done;
+
+    private ReadyCounter() {
+      this.remaining = new int[nodes.length];
+      this.done = new boolean[nodes.length];
+      for (int i = 0; i < nodes.length; i++) {
+        remaining[i] = predecessorOffsets[i + 1] - predecessorOffsets[i];
+      }
+    }
+
+    /**
+     * mark the node done or not done
+     *
+     * @param node node
+     * @param isDone whether the node is done
+     */
+    public void setDone(Node node, boolean isDone) {
+      int id = getNodeId(node);
+      if (id < 0 || done[id] == isDone) {
+        return;
+      }
+      done[id] = isDone;
+      int delta = isDone ? -1 : 1;
+      for (int i = successorOffsets[id]; i < successorOffsets[id + 1]; i++) {
+        remaining[successors[i]] += delta;
+      }
+    }
+
+    /**
+     * whether all previous nodes of the node are done
+     *
+     * @param node node
+     * @return true if ready, false if not ready or the node is not in the DAG
+     */
+    public boolean isReady(Node node) {
+      int id = getNodeId(node);
+      return id >= 0 && remaining[id] == 0;
+    }
+  }
+}
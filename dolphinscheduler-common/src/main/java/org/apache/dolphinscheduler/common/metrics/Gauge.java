@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.common.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.function.DoubleSupplier;
+
+/**
+ * gauge whose value is read when the metrics are scraped
+ */
+public final class Gauge extends Meter {
+
+    private static final Logger logger = LoggerFactory.getLogger(Gauge.class);
+
+    private final DoubleSupplier value;
+
+    Gauge(DoubleSupplier value) {
+        this.value = value;
+    }
+
+    @Override
+    String type() {
+        return "gauge";
+    }
+
+    @Override
+    void write(StringBuilder out, String name, String labels) {
+        double v;
+        try {
+            v = value.getAsDouble();
+        } catch (Exception e) {
+            logger.warn("read gauge {} failed : {}", name, e.getMessage());
+            v = Double.NaN;
+        }
+        writeSample(out, name, labels, v);
+    }
+}
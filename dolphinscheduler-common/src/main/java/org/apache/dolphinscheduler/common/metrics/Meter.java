@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.common.metrics;
+
+/**
+ * a meter of the metrics registry, written in the prometheus text format
+ */
+public abstract class Meter {
+
+    /**
+     * @return prometheus type of the meter
+     */
+    abstract String type();
+
+    /**
+     * write the samples of the meter
+     * @param out output
+     * @param name metric name
+     * @param labels labels of the samples without braces, empty if none
+     */
+    abstract void write(StringBuilder out, String name, String labels);
+
+    /**
+     * write one sample
+     * @param out output
+     * @param name sample name
+     * @param labels labels without braces, empty if none
+     * @param value value
+     */
+    static void writeSample(StringBuilder out, String name, String labels, double value) {
+        out.append(name);
+        if (!labels.isEmpty()) {
+            out.append('{').append(labels).append('}');
+        }
+        out.append(' ');
+        if (value == (long) value) {
+            out.append((long) value);
+        } else {
+            out.append(value);
+        }
+        out.append('\n');
+    }
+}
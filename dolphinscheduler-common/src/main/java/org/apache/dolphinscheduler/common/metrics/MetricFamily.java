@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.common.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * meters of one metric distinguished by the value of a label, e.g. task duration by task type.
+ * the label values must be of a small set, each value keeps its meter forever
+ */
+public final class MetricFamily<T extends Meter> extends Meter {
+
+    private final String labelName;
+
+    private final Supplier<T> factory;
+
+    private final String type;
+
+    private final ConcurrentHashMap<String, T> children = new ConcurrentHashMap<>();
+
+    MetricFamily(String labelName, Supplier<T> factory) {
+        this.labelName = labelName;
+        this.factory = factory;
+        this.type = factory.get().type();
+    }
+
+    /**
+     * get the meter of the label value
+     * @param labelValue label value
+     * @return meter
+     */
+    public T get(String labelValue) {
+        T meter = children.get(labelValue);
+        if (meter == null) {
+            meter = children.computeIfAbsent(labelValue, value -> factory.get());
+        }
+        return meter;
+    }
+
+    /**
+     * @return meters by label value, a copy sorted by label value
+     */
+    public Map<String, T> snapshot() {
+        return new TreeMap<>(children);
+    }
+
+    @Override
+    String type() {
+        return type;
+    }
+
+    @Override
+    void write(StringBuilder out, String name, String labels) {
+        String prefix = labels.isEmpty() ? "" : labels + ",";
+        for (Map.Entry<String, T> child : snapshot().entrySet()) {
+            child.getValue().write(out, name, prefix + labelName + "=\"" + escape(child.getKey()) + "\"");
+        }
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.common.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.DoubleSupplier;
+import java.util.function.Supplier;
+
+/**
+ * metrics registry of the server.
+ * meters are registered once and kept in fields, so that recording on the hot paths does not look them up.
+ * registering a name again returns the meter registered first
+ */
+public final class Metrics {
+
+    /**
+     * metric name -> registered metric
+     */
+    private static final Map<String, Registration> registry = new ConcurrentSkipListMap<>();
+
+    private Metrics() {
+    }
+
+    /**
+     * register a counter
+     * @param name metric name
+     * @param help help text
+     * @return counter
+     */
+    public static Counter counter(String name, String help) {
+        return register(name, help, new Counter());
+    }
+
+    /**
+     * register a timer
+     * @param name metric name, should end with _seconds
+     * @param help help text
+     * @return timer
+     */
+    public static Timer timer(String name, String help) {
+        return register(name, help, new Timer());
+    }
+
+    /**
+     * register a gauge, the value is read when the metrics are scraped.
+     * a gauge registered again replaces the former one, as it reads the state of a new component
+     * @param name metric name
+     * @param help help text
+     * @param value value supplier
+     * @return gauge
+     */
+    public static Gauge gauge(String name, String help, DoubleSupplier value) {
+        Gauge gauge = new Gauge(value);
+        registry.put(name, new Registration(help, gauge));
+        return gauge;
+    }
+
+    /**
+     * register counters distinguished by a label
+     * @param name metric name
+     * @param help help text
+     * @param labelName label name
+     * @return counter family
+     */
+    public static MetricFamily<Counter> counterFamily(String name, String help, String labelName) {
+        return register(name, help, new MetricFamily<>(labelName, (Supplier<Counter>) Counter::new));
+    }
+
+    /**
+     * register timers distinguished by a label
+     * @param name metric name, should end with _seconds
+     * @param help help text
+     * @param labelName label name
+     * @return timer family
+     */
+    public static MetricFamily<Timer> timerFamily(String name, String help, String labelName) {
+        return register(name, help, new MetricFamily<>(labelName, (Supplier<Timer>) Timer::new));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Meter> T register(String name, String help, T meter) {
+        Registration registration = registry.putIfAbsent(name, new Registration(help, meter));
+        if (registration == null) {
+            return meter;
+        }
+        if (registration.meter.getClass() != meter.getClass()) {
+            throw new IllegalArgumentException(String.format("metric %s is registered as %s",
+                    name, registration.meter.getClass().getSimpleName()));
+        }
+        return (T) registration.meter;
+    }
+
+    /**
+     * remove a metric, e.g. a gauge of a stopped component
+     * @param name metric name
+     */
+    public static void remove(String name) {
+        registry.remove(name);
+    }
+
+    /**
+     * write all metrics in the prometheus text format
+     * @return metrics text
+     */
+    public static String scrape() {
+        StringBuilder out = new StringBuilder(4096);
+        for (Map.Entry<String, Registration> entry : registry.entrySet()) {
+            String name = entry.getKey();
+            Meter meter = entry.getValue().meter;
+            out.append("# HELP ").append(name).append(' ').append(entry.getValue().help).append('\n');
+            out.append("# TYPE ").append(name).append(' ').append(meter.type()).append('\n');
+            meter.write(out, name, "");
+        }
+        return out.toString();
+    }
+
+    private static final class Registration {
+
+        private final String help;
+
+        private final Meter meter;
+
+        private Registration(String help, Meter meter) {
+            this.help = help;
+            this.meter = meter;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.common.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * http server serving the metrics for prometheus at /metrics.
+ * one server is started per jvm, the servers of a combined server share it
+ */
+public class MetricsServer {
+
+    private static final Logger logger = LoggerFactory.getLogger(MetricsServer.class);
+
+    public static final String METRICS_PATH = "/metrics";
+
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private static MetricsServer instance;
+
+    private final HttpServer server;
+
+    private final ExecutorService executor;
+
+    private MetricsServer(HttpServer server, ExecutorService executor) {
+        this.server = server;
+        this.executor = executor;
+    }
+
+    /**
+     * start the metrics server, a failure is only logged
+     * @param port port, the server is not started if it is not positive
+     * @return the metrics server, null if it is not started
+     */
+    public static synchronized MetricsServer start(int port) {
+        if (instance != null) {
+            return instance;
+        }
+        if (port <= 0) {
+            logger.info("metrics server is disabled");
+            return null;
+        }
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress(port), 0);
+            ExecutorService executor = ThreadUtils.newDaemonSingleThreadExecutor("Metrics-Server-Thread");
+            server.setExecutor(executor);
+            server.createContext(METRICS_PATH, MetricsServer::handle);
+            server.start();
+            instance = new MetricsServer(server, executor);
+            logger.info("metrics server started, listening on port : {}", port);
+        } catch (IOException e) {
+            logger.error("start metrics server on port {} failed : {}", port, e.getMessage(), e);
+        }
+        return instance;
+    }
+
+    private static void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod()) || !METRICS_PATH.equals(exchange.getRequestURI().getPath())) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            byte[] body = Metrics.scrape().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * stop the metrics server
+     */
+    public void stop() {
+        synchronized (MetricsServer.class) {
+            if (instance == this) {
+                instance = null;
+            }
+        }
+        server.stop(0);
+        executor.shutdownNow();
+        logger.info("metrics server stopped");
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.common.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * timer exposed as a prometheus histogram in seconds.
+ * recording only increments adders, it does not allocate
+ */
+public final class Timer extends Meter {
+
+    /**
+     * upper bounds of the buckets, unit is second
+     */
+    private static final double[] BUCKETS = {0.001, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5,
+            1, 2.5, 5, 10, 30, 60, 300, 1800, 3600};
+
+    private static final long[] BUCKET_NANOS = new long[BUCKETS.length];
+
+    private static final String[] BUCKET_LABELS = new String[BUCKETS.length];
+
+    static {
+        for (int i = 0; i < BUCKETS.length; i++) {
+            BUCKET_NANOS[i] = (long) (BUCKETS[i] * TimeUnit.SECONDS.toNanos(1));
+            BUCKET_LABELS[i] = "le=\"" + BUCKETS[i] + "\"";
+        }
+    }
+
+    /**
+     * count of each bucket, not cumulative
+     */
+    private final LongAdder[] buckets = new LongAdder[BUCKETS.length];
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder sumNanos = new LongAdder();
+
+    Timer() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * record a duration
+     * @param nanos duration, unit is nanosecond
+     */
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        for (int i = 0; i < BUCKET_NANOS.length; i++) {
+            if (nanos <= BUCKET_NANOS[i]) {
+                buckets[i].increment();
+                break;
+            }
+        }
+        count.increment();
+        sumNanos.add(nanos);
+    }
+
+    /**
+     * record a duration
+     * @param duration duration
+     * @param unit unit of the duration
+     */
+    public void record(long duration, TimeUnit unit) {
+        record(unit.toNanos(duration));
+    }
+
+    /**
+     * record the time elapsed since the start
+     * @param startNanos start time from System.nanoTime()
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    public long count() {
+        return count.sum();
+    }
+
+    @Override
+    String type() {
+        return "histogram";
+    }
+
+    @Override
+    void write(StringBuilder out, String name, String labels) {
+        String bucketName = name + "_bucket";
+        String separator = labels.isEmpty() ? "" : labels + ",";
+        long cumulative = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            cumulative += buckets[i].sum();
+            writeSample(out, bucketName, separator + BUCKET_LABELS[i], cumulative);
+        }
+        long total = count.sum();
+        writeSample(out, bucketName, separator + "le=\"+Inf\"", Math.max(total, cumulative));
+        writeSample(out, name + "_sum", labels, sumNanos.sum() / 1e9);
+        writeSample(out, name + "_count", labels, Math.max(total, cumulative));
+    }
+}
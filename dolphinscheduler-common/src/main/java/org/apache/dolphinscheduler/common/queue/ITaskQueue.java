@@ -17,6 +17,7 @@
 package org.apache.dolphinscheduler.common.queue;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 public interface ITaskQueue {
@@ -47,6 +48,15 @@ public interface ITaskQueue {
      */
     void add(String key, String value);
 
+    /**
+     * add an element to the queue and count it in the given counter of the queue
+     *
+     * @param key  queue name
+     * @param value
+     * @param counter counter name, the element is no longer counted once it is removed
+     */
+    void add(String key, String value, String counter);
+
     /**
      * an element pops out of the queue
      *
@@ -71,6 +81,15 @@ public interface ITaskQueue {
      */
     void sadd(String key, String value);
 
+    /**
+     * add an element to the set and count it in the given counter of the set
+     *
+     * @param key
+     * @param value
+     * @param counter counter name, the element is no longer counted once it is removed
+     */
+    void sadd(String key, String value, String counter);
+
     /**
      * delete the value corresponding to the key in the set
      *
@@ -87,6 +106,22 @@ public interface ITaskQueue {
      */
     Set<String> smembers(String key);
 
+    /**
+     * gets the number of elements without fetching them
+     *
+     * @param key
+     * @return element number
+     */
+    int getTaskNum(String key);
+
+    /**
+     * gets the element number of all the counters of the queue
+     *
+     * @param key
+     * @return counter name -> element number
+     */
+    Map<String, Integer> getCounters(String key);
+
 
     /**
      * clear the task queue for use by junit tests only
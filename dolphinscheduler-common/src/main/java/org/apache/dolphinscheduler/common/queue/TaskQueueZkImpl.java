@@ -20,19 +20,24 @@ package org.apache.dolphinscheduler.common.queue;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
 
 import org.apache.dolphinscheduler.common.Constants;
+import org.apache.dolphinscheduler.common.metrics.Metrics;
+import org.apache.dolphinscheduler.common.metrics.Timer;
 import org.apache.dolphinscheduler.common.utils.Bytes;
 import org.apache.dolphinscheduler.common.utils.IpUtils;
 import org.apache.dolphinscheduler.common.utils.OSUtils;
 import org.apache.dolphinscheduler.common.zk.AbstractZKClient;
 import org.apache.curator.framework.CuratorFramework;
 import org.apache.zookeeper.CreateMode;
+import org.apache.zookeeper.KeeperException;
 import org.apache.zookeeper.data.Stat;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -47,8 +52,41 @@ public class TaskQueueZkImpl extends AbstractZKClient implements ITaskQueue {
 
     private static volatile TaskQueueZkImpl instance;
 
+    private static final Timer ADD_TIME = Metrics.timer("task_queue_add_seconds",
+            "time of adding a task to the task queue");
+
+    private static final Timer POLL_TIME = Metrics.timer("task_queue_poll_seconds",
+            "time of polling tasks from the task queue, polls finding no task are not counted");
+
+    /**
+     * orders the formatted task nodes by priority, ignoring the hosts
+     */
+    private static final Comparator<String> TASK_COMPARATOR = new Comparator<String>() {
+        @Override
+        public int compare(String o1, String o2) {
+
+            String s1 = o1;
+            String s2 = o2;
+            String[] s1Array = s1.split(Constants.UNDERLINE);
+            if(s1Array.length>4){
+                // warning: if this length > 5, need to be changed
+                s1 = s1.substring(0, s1.lastIndexOf(Constants.UNDERLINE) );
+            }
+
+            String[] s2Array = s2.split(Constants.UNDERLINE);
+            if(s2Array.length>4){
+                // warning: if this length > 5, need to be changed
+                s2 = s2.substring(0, s2.lastIndexOf(Constants.UNDERLINE) );
+            }
+
+            return s1.compareTo(s2);
+        }
+    };
+
     private TaskQueueZkImpl(){
         init();
+        Metrics.gauge("task_queue_size", "tasks waiting in the task queue",
+                () -> getTaskNum(Constants.DOLPHINSCHEDULER_TASKS_QUEUE));
     }
 
     public static TaskQueueZkImpl getInstance(){
@@ -119,13 +157,28 @@ public class TaskQueueZkImpl extends AbstractZKClient implements ITaskQueue {
      */
     @Override
     public void add(String key, String value) {
+        add(key, value, null);
+    }
+
+    /**
+     * add task to tasks queue and count it in the counter
+     *
+     * @param key      task queue name
+     * @param value    ${processInstancePriority}_${processInstanceId}_${taskInstancePriority}_${taskId}_host1,host2,...
+     * @param counter  counter name, stored as the node data so that removing the node removes it from the counter
+     */
+    @Override
+    public void add(String key, String value, String counter) {
+        long start = System.nanoTime();
         try {
             String taskIdPath = getTasksPath(key) + Constants.SINGLE_SLASH + value;
-            String result = getZkClient().create().withMode(CreateMode.PERSISTENT).forPath(taskIdPath, Bytes.toBytes(value));
+            String result = create(key, value, counter);
 
             logger.info("add task : {} to tasks queue , result success",result);
         } catch (Exception e) {
             logger.error("add task to tasks queue exception",e);
+        } finally {
+            ADD_TIME.recordSince(start);
         }
 
     }
@@ -143,6 +196,7 @@ public class TaskQueueZkImpl extends AbstractZKClient implements ITaskQueue {
      */
     @Override
     public List<String> poll(String key, int tasksNum) {
+        long start = System.nanoTime();
         try{
             CuratorFramework zk = getZkClient();
             String tasksQueuePath = getTasksPath(key) + Constants.SINGLE_SLASH;
@@ -155,72 +209,62 @@ public class TaskQueueZkImpl extends AbstractZKClient implements ITaskQueue {
 
                 int size = list.size();
 
+                List<String> taskslist = selectTasks(list, workerIpLongStr, tasksNum);
 
-                Set<String> taskTreeSet = new TreeSet<>(new Comparator<String>() {
-                    @Override
-                    public int compare(String o1, String o2) {
+                logger.info("consume tasks: {},there still have {} tasks need to be executed", Arrays.toString(taskslist.toArray()), size - taskslist.size());
 
-                        String s1 = o1;
-                        String s2 = o2;
-                        String[] s1Array = s1.split(Constants.UNDERLINE);
-                        if(s1Array.length>4){
-                            // warning: if this length > 5, need to be changed
-                            s1 = s1.substring(0, s1.lastIndexOf(Constants.UNDERLINE) );
-                        }
+                POLL_TIME.recordSince(start);
+                return taskslist;
+            }else{
+                Thread.sleep(Constants.SLEEP_TIME_MILLIS);
+            }
 
-                        String[] s2Array = s2.split(Constants.UNDERLINE);
-                        if(s2Array.length>4){
-                            // warning: if this length > 5, need to be changed
-                            s2 = s2.substring(0, s2.lastIndexOf(Constants.UNDERLINE) );
-                        }
+        } catch (Exception e) {
+            logger.error("add task to tasks queue exception",e);
+        }
+        return new ArrayList<String>();
+    }
 
-                        return s1.compareTo(s2);
-                    }
-                });
 
-                for (int i = 0; i < size; i++) {
+    /**
+     * select the tasks of the highest priority that the worker may execute
+     *
+     * @param list task nodes in the queue
+     * @param workerIpLongStr ip of the worker as a long
+     * @param tasksNum how many tasks to select at most
+     * @return the selected task nodes
+     */
+    public static List<String> selectTasks(List<String> list, String workerIpLongStr, int tasksNum) {
+        Set<String> taskTreeSet = new TreeSet<>(TASK_COMPARATOR);
 
-                    String taskDetail = list.get(i);
-                    String[] taskDetailArrs = taskDetail.split(Constants.UNDERLINE);
+        for (String taskDetail : list) {
+            String[] taskDetailArrs = taskDetail.split(Constants.UNDERLINE);
 
-                    //forward compatibility 向前版本兼容
-                    if(taskDetailArrs.length >= 4){
+            //forward compatibility 向前版本兼容
+            if(taskDetailArrs.length >= 4){
 
-                        //format ${processInstancePriority}_${processInstanceId}_${taskInstancePriority}_${taskId}
-                        String formatTask = String.format("%s_%010d_%s_%010d", taskDetailArrs[0], Long.parseLong(taskDetailArrs[1]), taskDetailArrs[2], Long.parseLong(taskDetailArrs[3]));
-                        if(taskDetailArrs.length > 4){
-                            String taskHosts = taskDetailArrs[4];
+                //format ${processInstancePriority}_${processInstanceId}_${taskInstancePriority}_${taskId}
+                String formatTask = String.format("%s_%010d_%s_%010d", taskDetailArrs[0], Long.parseLong(taskDetailArrs[1]), taskDetailArrs[2], Long.parseLong(taskDetailArrs[3]));
+                if(taskDetailArrs.length > 4){
+                    String taskHosts = taskDetailArrs[4];
 
-                            //task can assign to any worker host if equals default ip value of worker server
-                            if(!taskHosts.equals(String.valueOf(Constants.DEFAULT_WORKER_ID))){
-                                String[] taskHostsArr = taskHosts.split(Constants.COMMA);
-                                if(!Arrays.asList(taskHostsArr).contains(workerIpLongStr)){
-                                    continue;
-                                }
-                            }
-                            formatTask += Constants.UNDERLINE + taskDetailArrs[4];
+                    //task can assign to any worker host if equals default ip value of worker server
+                    if(!taskHosts.equals(String.valueOf(Constants.DEFAULT_WORKER_ID))){
+                        String[] taskHostsArr = taskHosts.split(Constants.COMMA);
+                        if(!Arrays.asList(taskHostsArr).contains(workerIpLongStr)){
+                            continue;
                         }
-                        taskTreeSet.add(formatTask);
-
                     }
-
+                    formatTask += Constants.UNDERLINE + taskDetailArrs[4];
                 }
+                taskTreeSet.add(formatTask);
 
-                List<String> taskslist = getTasksListFromTreeSet(tasksNum, taskTreeSet);
-
-                logger.info("consume tasks: {},there still have {} tasks need to be executed", Arrays.toString(taskslist.toArray()), size - taskslist.size());
-
-                return taskslist;
-            }else{
-                Thread.sleep(Constants.SLEEP_TIME_MILLIS);
             }
 
-        } catch (Exception e) {
-            logger.error("add task to tasks queue exception",e);
         }
-        return new ArrayList<String>();
-    }
 
+        return getTasksListFromTreeSet(tasksNum, taskTreeSet);
+    }
 
     /**
      * get task list from tree set
@@ -228,7 +272,7 @@ public class TaskQueueZkImpl extends AbstractZKClient implements ITaskQueue {
      * @param tasksNum
      * @param taskTreeSet
      */
-    public List<String> getTasksListFromTreeSet(int tasksNum, Set<String> taskTreeSet) {
+    public static List<String> getTasksListFromTreeSet(int tasksNum, Set<String> taskTreeSet) {
         Iterator<String> iterator = taskTreeSet.iterator();
         int j = 0;
         List<String> taskslist = new ArrayList<>(tasksNum);
@@ -248,7 +292,7 @@ public class TaskQueueZkImpl extends AbstractZKClient implements ITaskQueue {
      * @param formatTask
      * @return
      */
-    private String getOriginTaskFormat(String formatTask){
+    private static String getOriginTaskFormat(String formatTask){
         String[] taskArray = formatTask.split(Constants.UNDERLINE);
         if(taskArray.length< 4){
             return formatTask;
@@ -272,15 +316,10 @@ public class TaskQueueZkImpl extends AbstractZKClient implements ITaskQueue {
     @Override
     public void removeNode(String key, String nodeValue){
 
-        CuratorFramework zk = getZkClient();
-        String tasksQueuePath = getTasksPath(key) + Constants.SINGLE_SLASH;
-        String taskIdPath = tasksQueuePath + nodeValue;
+        String taskIdPath = getTasksPath(key) + Constants.SINGLE_SLASH + nodeValue;
         logger.info("consume task {}", taskIdPath);
         try{
-            Stat stat = zk.checkExists().forPath(taskIdPath);
-            if(stat != null){
-                zk.delete().forPath(taskIdPath);
-            }
+            remove(key, nodeValue);
         }catch(Exception e){
             logger.error(String.format("delete task:%s from zookeeper fail, exception:" ,nodeValue) ,e);
         }
@@ -298,6 +337,17 @@ public class TaskQueueZkImpl extends AbstractZKClient implements ITaskQueue {
      */
     @Override
     public void sadd(String key,String value) {
+        sadd(key, value, null);
+    }
+
+    /**
+     * add an element to the set and count it in the counter
+     * @param key   The key is the kill/cancel queue path name
+     * @param value host-taskId  The name of the zookeeper node
+     * @param counter counter name, stored as the node data so that removing the node removes it from the counter
+     */
+    @Override
+    public void sadd(String key,String value, String counter) {
         try {
 
             if(value != null && value.trim().length() > 0){
@@ -306,7 +356,7 @@ public class TaskQueueZkImpl extends AbstractZKClient implements ITaskQueue {
                 Stat stat = zk.checkExists().forPath(path + value);
 
                 if(null == stat){
-                    String result = zk.create().withMode(CreateMode.PERSISTENT).forPath(path + value,Bytes.toBytes(value));
+                    String result = create(key, value, counter);
                     logger.info("add task:{} to tasks set result:{} ",value,result);
                 }else{
                     logger.info("task {} exists in tasks set ",value);
@@ -330,12 +380,7 @@ public class TaskQueueZkImpl extends AbstractZKClient implements ITaskQueue {
     @Override
     public void srem(String key, String value) {
         try{
-            String path = getTasksPath(key) + Constants.SINGLE_SLASH;
-            CuratorFramework zk = getZkClient();
-            Stat stat = zk.checkExists().forPath(path + value);
-
-            if(null != stat){
-                zk.delete().forPath(path + value);
+            if(remove(key, value)){
                 logger.info("delete task:{} from tasks set ",value);
             }else{
                 logger.info("delete task:{} from tasks set fail, there is no this task",value);
@@ -374,6 +419,134 @@ public class TaskQueueZkImpl extends AbstractZKClient implements ITaskQueue {
 
 
 
+    /**
+     * Gets the number of tasks from the stat of the queue node, the children are not fetched
+     * @param key  task queue name
+     * @return task number
+     */
+    @Override
+    public int getTaskNum(String key) {
+        try {
+            Stat stat = getZkClient().checkExists().forPath(getTasksPath(key));
+            if(stat != null){
+                return stat.getNumChildren();
+            }
+        } catch (Exception e) {
+            logger.error("get task number of tasks queue exception",e);
+        }
+        return 0;
+    }
+
+    /**
+     * Gets the element number of all the counters of the queue from the stat of the counter nodes
+     * @param key  task queue name
+     * @return counter name -> task number
+     */
+    @Override
+    public Map<String, Integer> getCounters(String key) {
+        Map<String, Integer> counters = new HashMap<>();
+        try {
+            String countersPath = getCountersPath(key);
+            if(zkClient.checkExists().forPath(countersPath) == null){
+                return counters;
+            }
+            for(String counter : zkClient.getChildren().forPath(countersPath)){
+                Stat stat = zkClient.checkExists().forPath(countersPath + Constants.SINGLE_SLASH + counter);
+                if(stat != null && stat.getNumChildren() > 0){
+                    counters.put(counter, stat.getNumChildren());
+                }
+            }
+        } catch (Exception e) {
+            logger.error("get counters of tasks queue exception",e);
+        }
+        return counters;
+    }
+
+    /**
+     * create the node of an element, and its node under the counter in the same transaction,
+     * so the counter never drifts from the queue
+     * @param key  task queue name
+     * @param value node name
+     * @param counter counter name, null if the element is not counted
+     * @return path of the created node
+     * @throws Exception if the node exists or zookeeper fails
+     */
+    private String create(String key, String value, String counter) throws Exception {
+        CuratorFramework zk = getZkClient();
+        String path = getTasksPath(key) + Constants.SINGLE_SLASH + value;
+        if(counter == null){
+            return zk.create().withMode(CreateMode.PERSISTENT).forPath(path, Bytes.toBytes(value));
+        }
+        String counterPath = getCountersPath(key) + Constants.SINGLE_SLASH + counter;
+        if(zk.checkExists().forPath(counterPath) == null){
+            try {
+                zk.create().creatingParentsIfNeeded().withMode(CreateMode.PERSISTENT).forPath(counterPath);
+            } catch (KeeperException.NodeExistsException ignore) {
+                // created by another client
+            }
+        }
+        zk.inTransaction()
+                .create().withMode(CreateMode.PERSISTENT).forPath(path, Bytes.toBytes(counter))
+                .and()
+                .create().withMode(CreateMode.PERSISTENT).forPath(counterPath + Constants.SINGLE_SLASH + value)
+                .and()
+                .commit();
+        return path;
+    }
+
+    /**
+     * delete the node of an element, and its node under the counter in the same transaction
+     * @param key  task queue name
+     * @param value node name
+     * @return true if this call deleted the node
+     * @throws Exception if zookeeper fails
+     */
+    private boolean remove(String key, String value) throws Exception {
+        CuratorFramework zk = getZkClient();
+        String path = getTasksPath(key) + Constants.SINGLE_SLASH + value;
+        String counter;
+        try {
+            counter = getNodeCounter(value, zk.getData().forPath(path));
+        } catch (KeeperException.NoNodeException e) {
+            return false;
+        }
+        try {
+            if(counter == null){
+                zk.delete().forPath(path);
+            }else{
+                zk.inTransaction()
+                        .delete().forPath(path)
+                        .and()
+                        .delete().forPath(getCountersPath(key) + Constants.SINGLE_SLASH + counter + Constants.SINGLE_SLASH + value)
+                        .and()
+                        .commit();
+            }
+            return true;
+        } catch (KeeperException.NoNodeException e) {
+            // deleted by another client, or the counted node is missing
+            if(counter != null && zk.checkExists().forPath(path) != null){
+                logger.warn("counted node of task {} is missing in counter {}", value, counter);
+                zk.delete().forPath(path);
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * get the counter stored in the node data, nodes added without counter store their own name
+     * @param nodeValue node name
+     * @param data node data
+     * @return counter name, null if the node has no counter
+     */
+    private String getNodeCounter(String nodeValue, byte[] data){
+        if(data == null || data.length == 0){
+            return null;
+        }
+        String counter = Bytes.toString(data);
+        return counter.equals(nodeValue) ? null : counter;
+    }
+
     /**
      * Init the task queue of zookeeper node
      */
@@ -420,6 +593,13 @@ public class TaskQueueZkImpl extends AbstractZKClient implements ITaskQueue {
                 }
             }
 
+            for(String countersPath : new String[]{getCountersPath(Constants.DOLPHINSCHEDULER_TASKS_QUEUE),
+                    getCountersPath(Constants.DOLPHINSCHEDULER_TASKS_KILL)}){
+                if(zkClient.checkExists().forPath(countersPath) != null){
+                    zkClient.delete().deletingChildrenIfNeeded().forPath(countersPath);
+                }
+            }
+
         } catch (Exception e) {
             logger.error("delete all tasks in tasks queue failure",e);
         }
@@ -434,5 +614,14 @@ public class TaskQueueZkImpl extends AbstractZKClient implements ITaskQueue {
         return conf.getString(Constants.ZOOKEEPER_DOLPHINSCHEDULER_ROOT) + Constants.SINGLE_SLASH + key;
     }
 
+    /**
+     * Get the counters path of the task queue, a counter holds one child per counted element
+     * @param key  task queue name
+     * @return
+     */
+    public String getCountersPath(String key){
+        return getTasksPath(key) + Constants.TASK_QUEUE_COUNTER_SUFFIX;
+    }
+
 
 }
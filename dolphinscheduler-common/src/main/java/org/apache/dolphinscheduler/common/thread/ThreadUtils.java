@@ -91,6 +91,20 @@ public class ThreadUtils {
         return ((ThreadPoolExecutor) Executors.newFixedThreadPool(nThreads, threadFactory));
     }
 
+    /**
+     * Wrapper over ThreadPoolExecutor with a bounded queue,
+     * the submitting thread runs the task itself when the queue is full
+     * @param prefix thread name prefix
+     * @param nThreads threads num
+     * @param queueCapacity queue capacity
+     * @return ThreadPoolExecutor
+     */
+    public static ThreadPoolExecutor newDaemonBoundedThreadPool(String prefix, int nThreads, int queueCapacity){
+        ThreadFactory threadFactory = namedThreadFactory(prefix);
+        return new ThreadPoolExecutor(nThreads, nThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
     /**
      * Wrapper over newSingleThreadExecutor.
      * @param threadName
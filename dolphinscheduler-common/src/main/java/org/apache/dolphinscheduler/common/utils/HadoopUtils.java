@@ -22,6 +22,7 @@ import org.apache.dolphinscheduler.common.enums.ResUploadType;
 import com.alibaba.fastjson.JSON;
 import com.alibaba.fastjson.JSONException;
 import com.alibaba.fastjson.JSONObject;
+import org.apache.commons.codec.binary.Hex;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.hadoop.conf.Configuration;
@@ -33,6 +34,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.*;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.security.PrivilegedExceptionAction;
 import java.util.List;
 import java.util.Map;
@@ -273,6 +277,49 @@ public class HadoopUtils implements Closeable {
         return true;
     }
 
+    /**
+     * stream the given input directly to FS at the given dst name,
+     * without staging it on the local disk first.
+     * the data is written to a temporary file next to dst and renamed
+     * when complete, so a broken upload never leaves a partial file behind.
+     *
+     * @param in            input stream, not closed by this method
+     * @param dstHdfsPath   destination hdfs path
+     * @param overwrite     whether to overwrite an existing file
+     * @return md5 checksum of the written bytes, in hex
+     * @throws IOException errors
+     */
+    public String copyStreamToHdfs(InputStream in, String dstHdfsPath, boolean overwrite) throws IOException {
+        Path dstPath = new Path(dstHdfsPath);
+        Path tmpPath = new Path(dstHdfsPath + Constants.HDFS_COPYING_SUFFIX);
+
+        if (!overwrite && fs.exists(dstPath)) {
+            throw new IOException(String.format("destination file %s already exists", dstHdfsPath));
+        }
+
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance(Constants.MD5);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+        try (FSDataOutputStream out = fs.create(tmpPath, true)) {
+            IOUtils.copyLarge(new DigestInputStream(in, digest), out, new byte[Constants.HDFS_STREAM_BUFFER_SIZE]);
+        } catch (IOException e) {
+            fs.delete(tmpPath, false);
+            throw e;
+        }
+
+        if (fs.exists(dstPath)) {
+            fs.delete(dstPath, false);
+        }
+        if (!fs.rename(tmpPath, dstPath)) {
+            fs.delete(tmpPath, false);
+            throw new IOException(String.format("rename %s to %s failed", tmpPath, dstPath));
+        }
+        return Hex.encodeHexString(digest.digest());
+    }
+
     /**
      * copy hdfs file to local
      *
@@ -21,8 +21,7 @@ import org.apache.dolphinscheduler.common.enums.CommandType;
 import org.apache.dolphinscheduler.common.enums.DataType;
 import org.apache.dolphinscheduler.common.process.Property;
 import org.apache.dolphinscheduler.common.utils.placeholder.BusinessTimeUtils;
-import org.apache.dolphinscheduler.common.utils.placeholder.PlaceholderUtils;
-import org.apache.dolphinscheduler.common.utils.placeholder.TimePlaceholderUtils;
+import org.apache.dolphinscheduler.common.utils.placeholder.ParameterTemplate;
 import com.alibaba.fastjson.JSONObject;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.lang.time.DateUtils;
@@ -67,15 +66,9 @@ public class ParameterUtils {
       cronTime = new Date();
     }
 
-    // replace variable ${} form,refers to the replacement of system variables and custom variables
-    parameterString = PlaceholderUtils.replacePlaceholders(parameterString, parameterMap, true);
-
-    // replace time $[...] form, eg. $[yyyyMMdd]
-    if (cronTime != null) {
-      parameterString = TimePlaceholderUtils.replacePlaceholders(parameterString, cronTime, true);
-    }
-
-    return parameterString;
+    // replace variable ${} form,refers to the replacement of system variables and custom variables,
+    // then time $[...] form, eg. $[yyyyMMdd]. the template of the text is compiled once and cached
+    return ParameterTemplate.compile(parameterString).render(parameterMap, cronTime);
   }
 
   /**
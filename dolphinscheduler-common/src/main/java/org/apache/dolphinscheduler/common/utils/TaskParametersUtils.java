@@ -47,8 +47,13 @@ public class TaskParametersUtils {
    * @return task parameters
    */
   public static AbstractParameters getParameters(String taskType, String parameter) {
+    TaskType type = EnumUtils.getEnum(TaskType.class,taskType);
+    if (type == null) {
+      // task types registered to the worker have no parameters known here
+      return null;
+    }
     try {
-      switch (EnumUtils.getEnum(TaskType.class,taskType)) {
+      switch (type) {
         case SUB_PROCESS:
           return JSONUtils.parseObject(parameter, SubProcessParameters.class);
         case SHELL:
@@ -0,0 +1,320 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.common.utils.placeholder;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * compiled form of a text with ${name} and $[time] placeholders.
+ * the text is scanned once when compiled, rendering it only appends the segments,
+ * the result is the same as replacing ${...} with {@link PlaceholderUtils} and then $[...] with {@link TimePlaceholderUtils}
+ */
+public final class ParameterTemplate {
+
+    private static final Logger logger = LoggerFactory.getLogger(ParameterTemplate.class);
+
+    /**
+     * max total length of the texts kept in the template cache
+     */
+    private static final long TEMPLATE_CACHE_MAX_WEIGHT = 8 * 1024 * 1024;
+
+    /**
+     * compiled templates, key is the text. a template is only read, so it is shared
+     */
+    private static final LoadingCache<String, ParameterTemplate> TEMPLATE_CACHE = CacheBuilder.newBuilder()
+            .maximumWeight(TEMPLATE_CACHE_MAX_WEIGHT)
+            .weigher((String text, ParameterTemplate template) -> text.length())
+            .build(CacheLoader.from(ParameterTemplate::parse));
+
+    private final String text;
+
+    /**
+     * segments of the text, empty if the text is rendered by the placeholder utils
+     */
+    private final List<Segment> segments;
+
+    /**
+     * whether all $[...] are closed in the literal text, so they are calculated in the segments
+     */
+    private final boolean timeCompiled;
+
+    private ParameterTemplate(String text, List<Segment> segments, boolean timeCompiled) {
+        this.text = text;
+        this.segments = segments;
+        this.timeCompiled = timeCompiled;
+    }
+
+    /**
+     * get the compiled template of the text, compile it if absent
+     * @param text text
+     * @return compiled template
+     */
+    public static ParameterTemplate compile(String text) {
+        return TEMPLATE_CACHE.getUnchecked(text);
+    }
+
+    /**
+     * replace the placeholders of the template
+     * @param paramsMap placeholder data dictionary
+     * @param date date of $[...], they are kept if null
+     * @return the text with placeholders replaced
+     */
+    public String render(Map<String, String> paramsMap, Date date) {
+        if (segments.isEmpty()) {
+            return renderByPlaceholderUtils(text, paramsMap, date);
+        }
+
+        // resolve ${...} first, $[...] is calculated in place only if no value may take part in it
+        String[] values = new String[segments.size()];
+        boolean timeInPlace = timeCompiled && date != null;
+        char lastChar = 0;
+        for (int i = 0; i < segments.size(); i++) {
+            Segment segment = segments.get(i);
+            String value = segment.original;
+            if (segment.type == SegmentType.PARAM) {
+                value = paramsMap.get(segment.name);
+                if (value == null) {
+                    value = segment.original;
+                } else if (value.contains(PlaceholderUtils.placeholderPrefix)) {
+                    value = PlaceholderUtils.replacePlaceholders(value, paramsMap, true);
+                }
+                if (value.contains(TimePlaceholderUtils.placeholderPrefix)) {
+                    timeInPlace = false;
+                }
+            }
+            if (!value.isEmpty()) {
+                if (lastChar == '$' && value.charAt(0) == '[') {
+                    timeInPlace = false;
+                }
+                lastChar = value.charAt(value.length() - 1);
+            }
+            values[i] = value;
+        }
+
+        StringBuilder result = new StringBuilder(text.length());
+        for (int i = 0; i < segments.size(); i++) {
+            Segment segment = segments.get(i);
+            if (segment.type == SegmentType.TIME && timeInPlace) {
+                result.append(segment.calculate(date));
+            } else {
+                result.append(values[i]);
+            }
+        }
+
+        if (date != null && !timeInPlace) {
+            return TimePlaceholderUtils.replacePlaceholders(result.toString(), date, true);
+        }
+        return result.toString();
+    }
+
+    /**
+     * replace the placeholders by scanning the text
+     * @param text text
+     * @param paramsMap placeholder data dictionary
+     * @param date date of $[...], they are kept if null
+     * @return the text with placeholders replaced
+     */
+    private static String renderByPlaceholderUtils(String text, Map<String, String> paramsMap, Date date) {
+        String result = PlaceholderUtils.replacePlaceholders(text, paramsMap, true);
+        if (date != null) {
+            result = TimePlaceholderUtils.replacePlaceholders(result, date, true);
+        }
+        return result;
+    }
+
+    /**
+     * split the text into segments
+     * @param text text
+     * @return compiled template
+     */
+    private static ParameterTemplate parse(String text) {
+        List<Segment> segments = new ArrayList<>();
+        boolean timeCompiled = true;
+
+        int index = 0;
+        while (index < text.length()) {
+            int startIndex = text.indexOf(PlaceholderUtils.placeholderPrefix, index);
+            int endIndex = startIndex == -1 ? -1 : findPlaceholderEndIndex(text, startIndex,
+                    PlaceholderUtils.placeholderPrefix, PlaceholderUtils.placeholderSuffix, '{');
+            if (endIndex == -1) {
+                timeCompiled &= parseLiteral(text.substring(index), segments);
+                break;
+            }
+
+            String name = text.substring(startIndex + PlaceholderUtils.placeholderPrefix.length(), endIndex);
+            if (name.contains(PlaceholderUtils.placeholderPrefix)) {
+                // nested placeholder in the name is resolved first, leave it to the placeholder utils
+                return new ParameterTemplate(text, Collections.emptyList(), false);
+            }
+            timeCompiled &= parseLiteral(text.substring(index, startIndex), segments);
+            endIndex += PlaceholderUtils.placeholderSuffix.length();
+            segments.add(new Segment(SegmentType.PARAM, text.substring(startIndex, endIndex), name, null));
+            index = endIndex;
+        }
+
+        return new ParameterTemplate(text, segments, timeCompiled);
+    }
+
+    /**
+     * split the literal text into text and time segments
+     * @param literal literal text between ${...}
+     * @param segments segments
+     * @return false if some $[...] is not closed in the literal text
+     */
+    private static boolean parseLiteral(String literal, List<Segment> segments) {
+        int index = 0;
+        while (index < literal.length()) {
+            int startIndex = literal.indexOf(TimePlaceholderUtils.placeholderPrefix, index);
+            if (startIndex == -1) {
+                break;
+            }
+            int endIndex = findPlaceholderEndIndex(literal, startIndex,
+                    TimePlaceholderUtils.placeholderPrefix, TimePlaceholderUtils.placeholderSuffix, '[');
+            if (endIndex == -1) {
+                segments.add(new Segment(SegmentType.TEXT, literal.substring(index), null, null));
+                return false;
+            }
+
+            String expression = literal.substring(startIndex + TimePlaceholderUtils.placeholderPrefix.length(), endIndex);
+            if (expression.contains(TimePlaceholderUtils.placeholderPrefix)) {
+                segments.add(new Segment(SegmentType.TEXT, literal.substring(index), null, null));
+                return false;
+            }
+            if (startIndex > index) {
+                segments.add(new Segment(SegmentType.TEXT, literal.substring(index, startIndex), null, null));
+            }
+            endIndex += TimePlaceholderUtils.placeholderSuffix.length();
+            segments.add(new Segment(SegmentType.TIME, literal.substring(startIndex, endIndex),
+                    expression, parseTimeExpression(expression)));
+            index = endIndex;
+        }
+
+        if (index < literal.length()) {
+            segments.add(new Segment(SegmentType.TEXT, literal.substring(index), null, null));
+        }
+        return true;
+    }
+
+    /**
+     * parse the time expression
+     * @param expression expression
+     * @return parsed time expression, null if it is invalid and the placeholder is kept
+     */
+    private static TimePlaceholderUtils.TimeExpression parseTimeExpression(String expression) {
+        try {
+            return TimePlaceholderUtils.parseTimeExpression(expression);
+        } catch (Exception e) {
+            logger.error(String.format("parse time placeholder '%s' failed", expression), e);
+            return null;
+        }
+    }
+
+    /**
+     * find the end of the placeholder, same as {@link PropertyPlaceholderHelper}
+     * @param text text
+     * @param startIndex start index of the prefix
+     * @param prefix placeholder prefix
+     * @param suffix placeholder suffix
+     * @param simplePrefix nested prefix
+     * @return index of the suffix, -1 if not found
+     */
+    private static int findPlaceholderEndIndex(String text, int startIndex, String prefix, String suffix, char simplePrefix) {
+        int index = startIndex + prefix.length();
+        int withinNestedPlaceholder = 0;
+        while (index < text.length()) {
+            if (text.startsWith(suffix, index)) {
+                if (withinNestedPlaceholder > 0) {
+                    withinNestedPlaceholder--;
+                    index = index + suffix.length();
+                } else {
+                    return index;
+                }
+            } else if (text.charAt(index) == simplePrefix) {
+                withinNestedPlaceholder++;
+                index++;
+            } else {
+                index++;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * segment type
+     */
+    private enum SegmentType {
+        TEXT, PARAM, TIME
+    }
+
+    /**
+     * segment of the template
+     */
+    private static final class Segment {
+
+        private final SegmentType type;
+
+        /**
+         * original text of the segment
+         */
+        private final String original;
+
+        /**
+         * parameter name, or expression of the time placeholder
+         */
+        private final String name;
+
+        private final TimePlaceholderUtils.TimeExpression timeExpression;
+
+        private Segment(SegmentType type, String original, String name, TimePlaceholderUtils.TimeExpression timeExpression) {
+            this.type = type;
+            this.original = original;
+            this.name = name;
+            this.timeExpression = timeExpression;
+        }
+
+        /**
+         * calculate the time placeholder
+         * @param date date
+         * @return calculated time, the original text if the expression is invalid
+         */
+        private String calculate(Date date) {
+            if (timeExpression == null) {
+                return original;
+            }
+            try {
+                String value = timeExpression.format(date);
+                if (value.contains(TimePlaceholderUtils.placeholderPrefix)) {
+                    value = TimePlaceholderUtils.replacePlaceholders(value, date, true);
+                }
+                return value;
+            } catch (Exception e) {
+                logger.error(String.format("resolve placeholder '%s' in [ %s ]", name, original), e);
+                return original;
+            }
+        }
+    }
+}
@@ -38,6 +38,17 @@ public class PlaceholderUtils {
      */
     public static final String placeholderSuffix = "}";
 
+    /**
+     * replacement tool， parameter key will be replaced by value,if can't match , will throw an exception.
+     * the helper keeps no state so it is shared
+     */
+    private static final PropertyPlaceholderHelper STRICT_HELPER = getPropertyPlaceholderHelper(false);
+
+    /**
+     * Non-strict replacement tool implementation, when the position to be replaced does not get the corresponding value, the current position is ignored, and the next position is replaced.
+     */
+    private static final PropertyPlaceholderHelper NON_STRICT_HELPER = getPropertyPlaceholderHelper(true);
+
 
     /**
      * Replaces all placeholders of format {@code ${name}} with the value returned
@@ -48,13 +59,7 @@ public class PlaceholderUtils {
      * @return the supplied value with placeholders replaced inline
      */
     public static String replacePlaceholders(String value, Map<String, String> paramsMap, boolean ignoreUnresolvablePlaceholders) {
-        //replacement tool， parameter key will be replaced by value,if can't match , will throw an exception
-        PropertyPlaceholderHelper strictHelper = getPropertyPlaceholderHelper(false);
-
-        //Non-strict replacement tool implementation, when the position to be replaced does not get the corresponding value, the current position is ignored, and the next position is replaced.
-        PropertyPlaceholderHelper nonStrictHelper = getPropertyPlaceholderHelper(true);
-
-        PropertyPlaceholderHelper helper = (ignoreUnresolvablePlaceholders ? nonStrictHelper : strictHelper);
+        PropertyPlaceholderHelper helper = (ignoreUnresolvablePlaceholders ? NON_STRICT_HELPER : STRICT_HELPER);
 
         //the PlaceholderResolver to use for replacement
         return helper.replacePlaceholders(value, new PropertyPlaceholderResolver(value, paramsMap));
@@ -42,6 +42,16 @@ public class TimePlaceholderUtils {
      */
     public static final String placeholderSuffix = "]";
 
+    /**
+     * strict replacement tool, the helper keeps no state so it is shared
+     */
+    private static final PropertyPlaceholderHelper STRICT_HELPER = getPropertyPlaceholderHelper(false);
+
+    /**
+     * non-strict replacement tool
+     */
+    private static final PropertyPlaceholderHelper NON_STRICT_HELPER = getPropertyPlaceholderHelper(true);
+
     /**
      * Replaces all placeholders of format {@code ${name}} with the value returned
      * from the supplied {@link PropertyPlaceholderHelper.PlaceholderResolver}.
@@ -52,10 +62,7 @@ public class TimePlaceholderUtils {
      * @return the supplied value with placeholders replaced inline
      */
     public static String replacePlaceholders(String value, Date date, boolean ignoreUnresolvablePlaceholders) {
-        PropertyPlaceholderHelper strictHelper = getPropertyPlaceholderHelper(false);
-        PropertyPlaceholderHelper nonStrictHelper = getPropertyPlaceholderHelper(true);
-
-        PropertyPlaceholderHelper helper = (ignoreUnresolvablePlaceholders ? nonStrictHelper : strictHelper);
+        PropertyPlaceholderHelper helper = (ignoreUnresolvablePlaceholders ? NON_STRICT_HELPER : STRICT_HELPER);
         return helper.replacePlaceholders(value, new TimePlaceholderResolver(value, date));
     }
 
@@ -293,55 +300,104 @@ public class TimePlaceholderUtils {
      */
     private static String calculateTime(String expression, Date date) {
         // After N years: $[add_months(yyyyMMdd,12*N)], the first N months: $[add_months(yyyyMMdd,-N)], etc
-        String value;
-
         try {
-            if (expression.startsWith(Constants.TIMESTAMP)) {
-                String timeExpression = expression.substring(Constants.TIMESTAMP.length() + 1, expression.length() - 1);
-
-                Map.Entry<Date, String> entry = calcTimeExpression(timeExpression, date);
-
-                String dateStr = DateUtils.format(entry.getKey(), entry.getValue());
-
-                Date timestamp = DateUtils.parse(dateStr, Constants.PARAMETER_FORMAT_TIME);
-
-                value = String.valueOf(timestamp.getTime() / 1000);
-            } else {
-                Map.Entry<Date, String> entry = calcTimeExpression(expression, date);
-                value = DateUtils.format(entry.getKey(), entry.getValue());
-            }
+            return parseTimeExpression(expression).format(date);
         } catch (Exception e) {
             logger.error(e.getMessage(), e);
             throw e;
         }
-
-        return value;
     }
 
     /**
-     * calculate time expresstion
-     * @param expression expresstion
-     * @param date  date
-     * @return  map with date, date format
+     * parse the expression of a time placeholder, the numbers in it are calculated once
+     * @param expression expression between $[ and ], eg. add_months(yyyyMMdd,-1) or timestamp(yyyyMMdd)
+     * @return parsed time expression
      */
-    public static Map.Entry<Date, String> calcTimeExpression(String expression, Date date) {
-        Map.Entry<Date, String> resultEntry;
+    public static TimeExpression parseTimeExpression(String expression) {
+        if (expression.startsWith(Constants.TIMESTAMP)) {
+            String timeExpression = expression.substring(Constants.TIMESTAMP.length() + 1, expression.length() - 1);
+            return parseDateExpression(timeExpression, true);
+        }
+        return parseDateExpression(expression, false);
+    }
 
+    /**
+     * parse a date expression
+     * @param expression expression
+     * @param timestamp whether the date is output as a unix timestamp
+     * @return parsed time expression
+     */
+    private static TimeExpression parseDateExpression(String expression, boolean timestamp) {
         if (expression.startsWith(Constants.ADD_MONTHS)) {
-            resultEntry = calcMonths(expression, date);
+            return parseFunction(expression, Constants.ADD_MONTHS, TimeFunction.ADD_MONTHS, timestamp);
         } else if (expression.startsWith(Constants.MONTH_BEGIN)) {
-            resultEntry = calcMonthBegin(expression, date);
+            return parseFunction(expression, Constants.MONTH_BEGIN, TimeFunction.MONTH_BEGIN, timestamp);
         } else if (expression.startsWith(Constants.MONTH_END)) {
-            resultEntry = calcMonthEnd(expression, date);
+            return parseFunction(expression, Constants.MONTH_END, TimeFunction.MONTH_END, timestamp);
         } else if (expression.startsWith(Constants.WEEK_BEGIN)) {
-            resultEntry = calcWeekStart(expression, date);
+            return parseFunction(expression, Constants.WEEK_BEGIN, TimeFunction.WEEK_BEGIN, timestamp);
         } else if (expression.startsWith(Constants.WEEK_END)) {
-            resultEntry = calcWeekEnd(expression, date);
-        } else {
-            resultEntry = calcMinutes(expression, date);
+            return parseFunction(expression, Constants.WEEK_END, TimeFunction.WEEK_END, timestamp);
+        }
+        return parseMinutes(expression, timestamp);
+    }
+
+    /**
+     * parse a function expression, eg. add_months(yyyyMMdd,12*N)
+     * @param expression expression
+     * @param name function name
+     * @param function function
+     * @param timestamp whether the date is output as a unix timestamp
+     * @return parsed time expression
+     */
+    private static TimeExpression parseFunction(String expression, String name, TimeFunction function, boolean timestamp) {
+        String functionExpr = expression.substring(name.length() + 1, expression.length() - 1);
+        String[] params = functionExpr.split(Constants.COMMA);
+
+        if (params.length == 2) {
+            return new TimeExpression(function, calculate(params[1]), params[0], timestamp);
+        }
+
+        throw new RuntimeException("expression not valid");
+    }
+
+    /**
+     * parse a date format with minutes added, eg. yyyyMMdd+7*1 or yyyyMMddHH-1/24
+     * @param expression expression
+     * @param timestamp whether the date is output as a unix timestamp
+     * @return parsed time expression
+     */
+    private static TimeExpression parseMinutes(String expression, boolean timestamp) {
+        if (expression.contains("+")) {
+            int index = expression.lastIndexOf('+');
+
+            if (Character.isDigit(expression.charAt(index + 1))) {
+                String addMinuteExpr = expression.substring(index + 1);
+                return new TimeExpression(TimeFunction.ADD_MINUTES, calcMinutes(addMinuteExpr),
+                        expression.substring(0, index), timestamp);
+            }
+        } else if (expression.contains("-")) {
+            int index = expression.lastIndexOf('-');
+
+            if (Character.isDigit(expression.charAt(index + 1))) {
+                String addMinuteExpr = expression.substring(index + 1);
+                return new TimeExpression(TimeFunction.ADD_MINUTES, 0 - calcMinutes(addMinuteExpr),
+                        expression.substring(0, index), timestamp);
+            }
         }
 
-        return resultEntry;
+        // yyyy-MM-dd/HH:mm:ss, $[HHmmss]
+        return new TimeExpression(TimeFunction.NONE, 0, expression, timestamp);
+    }
+
+    /**
+     * calculate time expresstion
+     * @param expression expresstion
+     * @param date  date
+     * @return  map with date, date format
+     */
+    public static Map.Entry<Date, String> calcTimeExpression(String expression, Date date) {
+        return parseDateExpression(expression, false).calc(date);
     }
 
     /**
@@ -351,20 +407,7 @@ public class TimePlaceholderUtils {
      * @return first day of month
      */
     public static Map.Entry<Date, String> calcMonthBegin(String expression, Date date) {
-        String addMonthExpr = expression.substring(Constants.MONTH_BEGIN.length() + 1, expression.length() - 1);
-        String[] params = addMonthExpr.split(Constants.COMMA);
-
-        if (params.length == 2) {
-            String dateFormat = params[0];
-            String dayExpr = params[1];
-            Integer day = calculate(dayExpr);
-            Date targetDate = DateUtils.getFirstDayOfMonth(date);
-            targetDate = org.apache.commons.lang.time.DateUtils.addDays(targetDate, day);
-
-            return new AbstractMap.SimpleImmutableEntry<>(targetDate, dateFormat);
-        }
-
-        throw new RuntimeException("expression not valid");
+        return parseFunction(expression, Constants.MONTH_BEGIN, TimeFunction.MONTH_BEGIN, false).calc(date);
     }
 
     /**
@@ -374,20 +417,7 @@ public class TimePlaceholderUtils {
      * @return last day of month
      */
     public static Map.Entry<Date, String> calcMonthEnd(String expression, Date date) {
-        String addMonthExpr = expression.substring(Constants.MONTH_END.length() + 1, expression.length() - 1);
-        String[] params = addMonthExpr.split(Constants.COMMA);
-
-        if (params.length == 2) {
-            String dateFormat = params[0];
-            String dayExpr = params[1];
-            Integer day = calculate(dayExpr);
-            Date targetDate = DateUtils.getLastDayOfMonth(date);
-            targetDate = org.apache.commons.lang.time.DateUtils.addDays(targetDate, day);
-
-            return new AbstractMap.SimpleImmutableEntry<>(targetDate, dateFormat);
-        }
-
-        throw new RuntimeException("expression not valid");
+        return parseFunction(expression, Constants.MONTH_END, TimeFunction.MONTH_END, false).calc(date);
     }
 
     /**
@@ -397,19 +427,7 @@ public class TimePlaceholderUtils {
      * @return monday
      */
     public static Map.Entry<Date, String> calcWeekStart(String expression, Date date) {
-        String addMonthExpr = expression.substring(Constants.WEEK_BEGIN.length() + 1, expression.length() - 1);
-        String[] params = addMonthExpr.split(Constants.COMMA);
-
-        if (params.length == 2) {
-            String dateFormat = params[0];
-            String dayExpr = params[1];
-            Integer day = calculate(dayExpr);
-            Date targetDate = DateUtils.getMonday(date);
-            targetDate = org.apache.commons.lang.time.DateUtils.addDays(targetDate, day);
-            return new AbstractMap.SimpleImmutableEntry<>(targetDate, dateFormat);
-        }
-
-        throw new RuntimeException("expression not valid");
+        return parseFunction(expression, Constants.WEEK_BEGIN, TimeFunction.WEEK_BEGIN, false).calc(date);
     }
 
     /**
@@ -419,20 +437,7 @@ public class TimePlaceholderUtils {
      * @return last day of week
      */
     public static Map.Entry<Date, String> calcWeekEnd(String expression, Date date) {
-        String addMonthExpr = expression.substring(Constants.WEEK_END.length() + 1, expression.length() - 1);
-        String[] params = addMonthExpr.split(Constants.COMMA);
-
-        if (params.length == 2) {
-            String dateFormat = params[0];
-            String dayExpr = params[1];
-            Integer day = calculate(dayExpr);
-            Date targetDate = DateUtils.getSunday(date);
-            targetDate = org.apache.commons.lang.time.DateUtils.addDays(targetDate, day);
-
-            return new AbstractMap.SimpleImmutableEntry<>(targetDate, dateFormat);
-        }
-
-        throw new RuntimeException("Expression not valid");
+        return parseFunction(expression, Constants.WEEK_END, TimeFunction.WEEK_END, false).calc(date);
     }
 
     /**
@@ -442,58 +447,17 @@ public class TimePlaceholderUtils {
      * @return calc months
      */
     public static Map.Entry<Date, String> calcMonths(String expression, Date date) {
-        String addMonthExpr = expression.substring(Constants.ADD_MONTHS.length() + 1, expression.length() - 1);
-        String[] params = addMonthExpr.split(Constants.COMMA);
-
-        if (params.length == 2) {
-            String dateFormat = params[0];
-            String monthExpr = params[1];
-            Integer addMonth = calculate(monthExpr);
-            Date targetDate = org.apache.commons.lang.time.DateUtils.addMonths(date, addMonth);
-
-            return new AbstractMap.SimpleImmutableEntry<>(targetDate, dateFormat);
-        }
-
-        throw new RuntimeException("expression not valid");
+        return parseFunction(expression, Constants.ADD_MONTHS, TimeFunction.ADD_MONTHS, false).calc(date);
     }
 
     /**
      * calculate time expression
-     *
      * @param expression expresstion
      * @param date  date
      * @return calculate time expression with date,format
      */
     public static Map.Entry<Date, String> calcMinutes(String expression, Date date) {
-        if (expression.contains("+")) {
-            int index = expression.lastIndexOf('+');
-
-            if (Character.isDigit(expression.charAt(index + 1))) {
-                String addMinuteExpr = expression.substring(index + 1);
-                Date targetDate = org.apache.commons.lang.time.DateUtils
-                        .addMinutes(date, calcMinutes(addMinuteExpr));
-                String dateFormat = expression.substring(0, index);
-
-                return new AbstractMap.SimpleImmutableEntry<>(targetDate, dateFormat);
-            }
-        } else if (expression.contains("-")) {
-            int index = expression.lastIndexOf('-');
-
-            if (Character.isDigit(expression.charAt(index + 1))) {
-                String addMinuteExpr = expression.substring(index + 1);
-                Date targetDate = org.apache.commons.lang.time.DateUtils
-                        .addMinutes(date, 0 - calcMinutes(addMinuteExpr));
-                String dateFormat = expression.substring(0, index);
-
-                return new AbstractMap.SimpleImmutableEntry<>(targetDate, dateFormat);
-            }
-
-            // yyyy-MM-dd/HH:mm:ss
-            return new AbstractMap.SimpleImmutableEntry<>(date, expression);
-        }
-
-        // $[HHmmss]
-        return new AbstractMap.SimpleImmutableEntry<>(date, expression);
+        return parseMinutes(expression, false).calc(date);
     }
 
     /**
@@ -518,4 +482,79 @@ public class TimePlaceholderUtils {
         return calculate(calcExpression);
     }
 
+    /**
+     * function of a time expression
+     */
+    private enum TimeFunction {
+        ADD_MONTHS, MONTH_BEGIN, MONTH_END, WEEK_BEGIN, WEEK_END, ADD_MINUTES, NONE
+    }
+
+    /**
+     * parsed time expression, only the date is needed to calculate it
+     */
+    public static final class TimeExpression {
+
+        private final TimeFunction function;
+
+        private final int amount;
+
+        private final String format;
+
+        private final boolean timestamp;
+
+        private TimeExpression(TimeFunction function, int amount, String format, boolean timestamp) {
+            this.function = function;
+            this.amount = amount;
+            this.format = format;
+            this.timestamp = timestamp;
+        }
+
+        /**
+         * calculate the date of the expression
+         * @param date date
+         * @return map with date, date format
+         */
+        public Map.Entry<Date, String> calc(Date date) {
+            Date targetDate;
+            switch (function) {
+                case ADD_MONTHS:
+                    targetDate = org.apache.commons.lang.time.DateUtils.addMonths(date, amount);
+                    break;
+                case MONTH_BEGIN:
+                    targetDate = org.apache.commons.lang.time.DateUtils.addDays(DateUtils.getFirstDayOfMonth(date), amount);
+                    break;
+                case MONTH_END:
+                    targetDate = org.apache.commons.lang.time.DateUtils.addDays(DateUtils.getLastDayOfMonth(date), amount);
+                    break;
+                case WEEK_BEGIN:
+                    targetDate = org.apache.commons.lang.time.DateUtils.addDays(DateUtils.getMonday(date), amount);
+                    break;
+                case WEEK_END:
+                    targetDate = org.apache.commons.lang.time.DateUtils.addDays(DateUtils.getSunday(date), amount);
+                    break;
+                case ADD_MINUTES:
+                    targetDate = org.apache.commons.lang.time.DateUtils.addMinutes(date, amount);
+                    break;
+                default:
+                    targetDate = date;
+                    break;
+            }
+            return new AbstractMap.SimpleImmutableEntry<>(targetDate, format);
+        }
+
+        /**
+         * format the date of the expression
+         * @param date date
+         * @return formatted date, or seconds since epoch for timestamp(...)
+         */
+        public String format(Date date) {
+            Map.Entry<Date, String> entry = calc(date);
+            String dateStr = DateUtils.format(entry.getKey(), entry.getValue());
+            if (!timestamp) {
+                return dateStr;
+            }
+            Date timestampDate = DateUtils.parse(dateStr, Constants.PARAMETER_FORMAT_TIME);
+            return String.valueOf(timestampDate.getTime() / 1000);
+        }
+    }
 }
@@ -36,9 +36,11 @@ import org.apache.curator.framework.state.ConnectionState;
 import org.apache.curator.framework.state.ConnectionStateListener;
 import org.apache.curator.retry.ExponentialBackoffRetry;
 import org.apache.zookeeper.CreateMode;
+import org.apache.zookeeper.KeeperException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 
 import static org.apache.dolphinscheduler.common.Constants.*;
@@ -487,6 +489,57 @@ public abstract class AbstractZKClient {
 		return conf.getString(Constants.ZOOKEEPER_DOLPHINSCHEDULER_LOCK_FAILOVER_WORKERS);
 	}
 
+	/**
+	 *
+	 * @return get instance statistics refresh lock path
+	 */
+	public String getStatisticsLockPath(){
+		return conf.getString(Constants.ZOOKEEPER_DOLPHINSCHEDULER_LOCK_STATISTICS);
+	}
+
+	/**
+	 *
+	 * @return get instance archive lock path
+	 */
+	public String getArchiveLockPath(){
+		return conf.getString(Constants.ZOOKEEPER_DOLPHINSCHEDULER_LOCK_ARCHIVE);
+	}
+
+	/**
+	 *
+	 * @return get sub process finished events path
+	 */
+	public String getSubProcessEventsPath(){
+		return conf.getString(Constants.ZOOKEEPER_DOLPHINSCHEDULER_SUBPROCESS_EVENTS);
+	}
+
+	/**
+	 *
+	 * @return get alert signal path
+	 */
+	public String getAlertSignalPath(){
+		return conf.getString(Constants.ZOOKEEPER_DOLPHINSCHEDULER_ALERT_SIGNAL);
+	}
+
+	/**
+	 * wake up the alert server by changing the data of the alert signal node,
+	 * a failure is only logged as the alert server still scans the alerts periodically
+	 */
+	public void signalAlert(){
+		String alertSignalPath = getAlertSignalPath();
+		byte[] data = String.valueOf(System.currentTimeMillis()).getBytes(StandardCharsets.UTF_8);
+		try {
+			try {
+				zkClient.setData().forPath(alertSignalPath, data);
+			} catch (KeeperException.NoNodeException e) {
+				zkClient.create().creatingParentContainersIfNeeded()
+						.withMode(CreateMode.PERSISTENT).forPath(alertSignalPath, data);
+			}
+		}catch (Exception e){
+			logger.warn("signal alert server failed : " + e.getMessage(), e);
+		}
+	}
+
 	/**
 	 * release mutex
 	 * @param mutex mutex
@@ -525,7 +578,7 @@ public abstract class AbstractZKClient {
 	 * @param zNodeParentPath zookeeper parent path
 	 * @throws Exception errors
 	 */
-	private void createNodePath(String zNodeParentPath) throws Exception {
+	protected void createNodePath(String zNodeParentPath) throws Exception {
 	    if(null == zkClient.checkExists().forPath(zNodeParentPath)){
 	        zkClient.create().creatingParentContainersIfNeeded()
 					.withMode(CreateMode.PERSISTENT).forPath(zNodeParentPath);
@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.common.graph;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class FrozenDAGTest {
+  private FrozenDAG<Integer, String, String> frozen;
+
+  @Before
+  public void setup() {
+    //         1->2
+    //         2->5
+    //         3->5
+    //         4->6
+    //         5->6
+    //         6->7
+    DAG<Integer, String, String> graph = new DAG<>();
+    for (int i = 1; i <= 7; ++i) {
+      graph.addNode(i, "v(" + i + ")");
+    }
+    assertTrue(graph.addEdge(1, 2));
+    assertTrue(graph.addEdge(2, 5));
+    assertTrue(graph.addEdge(3, 5));
+    assertTrue(graph.addEdge(4, 6));
+    assertTrue(graph.addEdge(5, 6));
+    assertTrue(graph.addEdge(6, 7));
+
+    frozen = graph.freeze();
+  }
+
+  @Test
+  public void testNodesAndEdges() {
+    assertEquals(7, frozen.getNodesCount());
+    assertEquals(6, frozen.getEdgesCount());
+    assertTrue(frozen.containsNode(3));
+    assertFalse(frozen.containsNode(8));
+    assertTrue(frozen.containsEdge(5, 6));
+    assertFalse(frozen.containsEdge(6, 5));
+    assertEquals("v(4)", frozen.getNode(4));
+    assertNull(frozen.getNode(8));
+    assertEquals(-1, frozen.getNodeId(8));
+  }
+
+  @Test
+  public void testBeginAndEndNode() {
+    assertEquals(new HashSet<>(Arrays.asList(1, 3, 4)), new HashSet<>(frozen.getBeginNode()));
+    assertEquals(new HashSet<>(Arrays.asList(7)), new HashSet<>(frozen.getEndNode()));
+    assertTrue(frozen.isBeginNode(3));
+    assertFalse(frozen.isBeginNode(5));
+    assertFalse(frozen.isBeginNode(8));
+  }
+
+  @Test
+  public void testNeighborNodes() {
+    assertEquals(new HashSet<>(Arrays.asList(2, 3)), new HashSet<>(frozen.getPreviousNodes(5)));
+    assertEquals(new HashSet<>(Arrays.asList(6)), new HashSet<>(frozen.getSubsequentNodes(4)));
+    assertTrue(frozen.getSubsequentNodes(7).isEmpty());
+    assertTrue(frozen.getPreviousNodes(8).isEmpty());
+    assertEquals(2, frozen.getIndegree(6));
+    assertEquals(0, frozen.getIndegree(1));
+  }
+
+  @Test
+  public void testTopologicalSort() {
+    List<Integer> sorted = frozen.topologicalSort();
+    assertEquals(7, sorted.size());
+    assertTrue(sorted.indexOf(1) < sorted.indexOf(2));
+    assertTrue(sorted.indexOf(2) < sorted.indexOf(5));
+    assertTrue(sorted.indexOf(3) < sorted.indexOf(5));
+    assertTrue(sorted.indexOf(5) < sorted.indexOf(6));
+    assertTrue(sorted.indexOf(4) < sorted.indexOf(6));
+    assertTrue(sorted.indexOf(6) < sorted.indexOf(7));
+  }
+
+  @Test
+  public void testReadyCounter() {
+    FrozenDAG<Integer, String, String>.ReadyCounter counter = frozen.newReadyCounter();
+    assertTrue(counter.isReady(1));
+    assertFalse(counter.isReady(5));
+
+    counter.setDone(2, true);
+    assertFalse(counter.isReady(5));
+    counter.setDone(3, true);
+    assertTrue(counter.isReady(5));
+
+    // marking done twice counts once
+    counter.setDone(3, true);
+    counter.setDone(2, false);
+    assertFalse(counter.isReady(5));
+    counter.setDone(2, true);
+    assertTrue(counter.isReady(5));
+
+    assertFalse(counter.isReady(8));
+  }
+}
@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.common.metrics;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class MetricsTest {
+
+    @Test
+    public void testCounter() {
+        Counter counter = Metrics.counter("test_counter_total", "test counter");
+        counter.inc();
+        counter.inc(2);
+        Assert.assertSame(counter, Metrics.counter("test_counter_total", "test counter"));
+        Assert.assertTrue(Metrics.scrape().contains("# TYPE test_counter_total counter\ntest_counter_total 3\n"));
+    }
+
+    @Test
+    public void testTimer() {
+        Timer timer = Metrics.timer("test_timer_seconds", "test timer");
+        timer.record(3, TimeUnit.MILLISECONDS);
+        timer.record(2, TimeUnit.SECONDS);
+        timer.record(2, TimeUnit.HOURS);
+
+        String text = Metrics.scrape();
+        Assert.assertTrue(text.contains("test_timer_seconds_bucket{le=\"0.001\"} 0\n"));
+        Assert.assertTrue(text.contains("test_timer_seconds_bucket{le=\"0.005\"} 1\n"));
+        Assert.assertTrue(text.contains("test_timer_seconds_bucket{le=\"2.5\"} 2\n"));
+        Assert.assertTrue(text.contains("test_timer_seconds_bucket{le=\"3600.0\"} 2\n"));
+        Assert.assertTrue(text.contains("test_timer_seconds_bucket{le=\"+Inf\"} 3\n"));
+        Assert.assertTrue(text.contains("test_timer_seconds_sum 7202.003\n"));
+        Assert.assertTrue(text.contains("test_timer_seconds_count 3\n"));
+    }
+
+    @Test
+    public void testFamilyAndGauge() {
+        MetricFamily<Counter> family = Metrics.counterFamily("test_family_total", "test family", "type");
+        family.get("SHELL").inc();
+        family.get("SQL").inc(5);
+        Assert.assertSame(family.get("SHELL"), family.get("SHELL"));
+        Metrics.gauge("test_gauge", "test gauge", () -> 1.5);
+
+        String text = Metrics.scrape();
+        Assert.assertTrue(text.contains("test_family_total{type=\"SHELL\"} 1\ntest_family_total{type=\"SQL\"} 5\n"));
+        Assert.assertTrue(text.contains("# TYPE test_gauge gauge\ntest_gauge 1.5\n"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRegisterConflict() {
+        Metrics.counter("test_conflict", "test conflict");
+        Metrics.timer("test_conflict", "test conflict");
+    }
+}
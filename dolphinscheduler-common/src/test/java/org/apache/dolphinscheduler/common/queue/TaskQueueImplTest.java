@@ -28,9 +28,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 /**
  * task queue test
@@ -86,6 +88,37 @@ public class TaskQueueImplTest extends StandaloneZKServerForTest {
 
 
 
+    @Test
+    public void testCounters(){
+
+        tasksQueue.add(Constants.DOLPHINSCHEDULER_TASKS_QUEUE,"1_1_1_1_-1", "1_-1");
+        tasksQueue.add(Constants.DOLPHINSCHEDULER_TASKS_QUEUE,"1_1_1_2_-1", "1_-1");
+        tasksQueue.add(Constants.DOLPHINSCHEDULER_TASKS_QUEUE,"1_2_1_3_-1", "2_-1");
+        tasksQueue.add(Constants.DOLPHINSCHEDULER_TASKS_QUEUE,"1_3_1_4_-1");
+
+        Map<String, Integer> counters = tasksQueue.getCounters(Constants.DOLPHINSCHEDULER_TASKS_QUEUE);
+        assertEquals(2, counters.size());
+        assertEquals(2, (int) counters.get("1_-1"));
+        assertEquals(1, (int) counters.get("2_-1"));
+
+        //removing a node twice counts it once
+        tasksQueue.removeNode(Constants.DOLPHINSCHEDULER_TASKS_QUEUE, "1_1_1_1_-1");
+        tasksQueue.removeNode(Constants.DOLPHINSCHEDULER_TASKS_QUEUE, "1_1_1_1_-1");
+        tasksQueue.removeNode(Constants.DOLPHINSCHEDULER_TASKS_QUEUE, "1_3_1_4_-1");
+
+        counters = tasksQueue.getCounters(Constants.DOLPHINSCHEDULER_TASKS_QUEUE);
+        assertEquals(1, (int) counters.get("1_-1"));
+        assertEquals(1, (int) counters.get("2_-1"));
+        assertEquals(2, tasksQueue.getTaskNum(Constants.DOLPHINSCHEDULER_TASKS_QUEUE));
+
+        tasksQueue.sadd(Constants.DOLPHINSCHEDULER_TASKS_KILL, "127.0.0.1-1", "1_-1");
+        tasksQueue.sadd(Constants.DOLPHINSCHEDULER_TASKS_KILL, "127.0.0.1-1", "1_-1");
+        assertEquals(1, (int) tasksQueue.getCounters(Constants.DOLPHINSCHEDULER_TASKS_KILL).get("1_-1"));
+
+        tasksQueue.srem(Constants.DOLPHINSCHEDULER_TASKS_KILL, "127.0.0.1-1");
+        assertTrue(tasksQueue.getCounters(Constants.DOLPHINSCHEDULER_TASKS_KILL).isEmpty());
+    }
+
     /**
      * test one million data from zookeeper queue
      */
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.common.utils.placeholder;
+
+import org.apache.dolphinscheduler.common.utils.DateUtils;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+public class ParameterTemplateTest {
+
+    Date date = null;
+
+    Map<String, String> paramsMap = null;
+
+    @Before
+    public void init(){
+        date = DateUtils.parse("20170101010101","yyyyMMddHHmmss");
+        paramsMap = new HashMap<>();
+        paramsMap.put("a", "1");
+        paramsMap.put("b", "${a}2");
+        paramsMap.put("c", "$[yyyy]");
+        paramsMap.put("d", "[yyyyMMdd]");
+    }
+
+    @Test
+    public void testRender() {
+        String text = "select * from t where a=${a} and b='${b}' and dt='$[yyyyMMdd-1]' and ts=$[timestamp(yyyyMMdd00mmss)]";
+        Assert.assertEquals("select * from t where a=1 and b='12' and dt='20161231' and ts=1483200061",
+                ParameterTemplate.compile(text).render(paramsMap, date));
+        Assert.assertEquals(legacy(text, date), ParameterTemplate.compile(text).render(paramsMap, date));
+
+        // time placeholders are kept without date
+        Assert.assertEquals("a=1,dt=$[yyyyMMdd]", ParameterTemplate.compile("a=${a},dt=$[yyyyMMdd]").render(paramsMap, null));
+        // unresolved parameters and invalid time expressions are kept
+        Assert.assertEquals("${x},$[add_months(yyyyMMdd)]",
+                ParameterTemplate.compile("${x},$[add_months(yyyyMMdd)]").render(paramsMap, date));
+    }
+
+    @Test
+    public void testRenderSameAsPlaceholderUtils() {
+        String[] texts = {
+                "",
+                "no placeholder",
+                "${c}",
+                "$${d}",
+                "${${a}}",
+                "$[yyyy]${a}$[yyyy-MM-dd-1],$[month_begin(yyyyMMdd, 1)],$[week_end(yyyyMMdd, -1)]",
+                "$[yyyy${a}]",
+                "$[a$[yyyy]]",
+                "${a",
+                "$[yyyy"
+        };
+        for (String text : texts) {
+            Assert.assertEquals(text, legacy(text, date), ParameterTemplate.compile(text).render(paramsMap, date));
+            Assert.assertEquals(text, legacy(text, null), ParameterTemplate.compile(text).render(paramsMap, null));
+        }
+    }
+
+    @Test
+    public void testCompileCached() {
+        Assert.assertSame(ParameterTemplate.compile("${a}$[yyyy]"), ParameterTemplate.compile("${a}$[yyyy]"));
+    }
+
+    private String legacy(String text, Date date) {
+        String result = PlaceholderUtils.replacePlaceholders(text, paramsMap, true);
+        if (date != null) {
+            result = TimePlaceholderUtils.replacePlaceholders(result, date, true);
+        }
+        return result;
+    }
+}
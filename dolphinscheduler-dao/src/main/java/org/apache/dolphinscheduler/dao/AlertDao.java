@@ -48,6 +48,11 @@ public class AlertDao extends AbstractBaseDao {
     @Autowired
     private UserAlertGroupMapper userAlertGroupMapper;
 
+    /**
+     * called after an alert is added, the servers set it to wake up the alert server
+     */
+    private static volatile Runnable alertAddedListener;
+
     @Override
     protected void init() {
         alertMapper = ConnectionFactory.getMapper(AlertMapper.class);
@@ -55,12 +60,31 @@ public class AlertDao extends AbstractBaseDao {
     }
 
     /**
-     * insert alert
+     * insert alert, an alert identical to one still waiting to be sent is dropped
      * @param alert alert
-     * @return add alert result
+     * @return add alert result, 0 if the alert is a duplicate
      */
     public int addAlert(Alert alert){
-        return alertMapper.insert(alert);
+        if (alert.getTitle() != null && alert.getContent() != null
+                && alertMapper.countDuplicateAlert(AlertStatus.WAIT_EXECUTION, alert) > 0) {
+            logger.info("alert {} of alert group {} is already waiting to be sent, skip it",
+                    alert.getTitle(), alert.getAlertGroupId());
+            return 0;
+        }
+        int result = alertMapper.insert(alert);
+        Runnable listener = alertAddedListener;
+        if (result > 0 && listener != null) {
+            listener.run();
+        }
+        return result;
+    }
+
+    /**
+     * set the listener called after an alert is added
+     * @param listener listener
+     */
+    public static void setAlertAddedListener(Runnable listener){
+        alertAddedListener = listener;
     }
 
     /**
@@ -78,6 +102,20 @@ public class AlertDao extends AbstractBaseDao {
         return alertMapper.updateById(alert);
     }
 
+    /**
+     * update alerts in one statement
+     * @param alertStatus alertStatus
+     * @param log log
+     * @param ids alert ids
+     * @return update alert result
+     */
+    public int updateAlerts(AlertStatus alertStatus, String log, List<Integer> ids){
+        if (ids == null || ids.isEmpty()) {
+            return 0;
+        }
+        return alertMapper.updateAlertStatusByIds(alertStatus, log, new Date(), ids);
+    }
+
     /**
      * query user list by alert group id
      * @param alerGroupId alerGroupId
@@ -105,7 +143,7 @@ public class AlertDao extends AbstractBaseDao {
         alert.setAlertGroupId(alertgroupId);
         alert.setCreateTime(new Date());
         alert.setUpdateTime(new Date());
-        alertMapper.insert(alert);
+        addAlert(alert);
     }
 
     /**
@@ -125,6 +163,7 @@ public class AlertDao extends AbstractBaseDao {
         alert.setContent(content);
         alert.setAlertType(AlertType.EMAIL);
         alert.setAlertGroupId(alertgroupId);
+        alert.setProcessDefinitionId(processDefinition.getId());
         if (StringUtils.isNotEmpty(receivers)) {
             alert.setReceivers(receivers);
         }
@@ -133,7 +172,7 @@ public class AlertDao extends AbstractBaseDao {
         }
         alert.setCreateTime(new Date());
         alert.setUpdateTime(new Date());
-        alertMapper.insert(alert);
+        addAlert(alert);
     }
 
     /**
@@ -141,10 +180,11 @@ public class AlertDao extends AbstractBaseDao {
      * @param alertgroupId alertgroupId
      * @param receivers receivers
      * @param receiversCc receiversCc
+     * @param processDefinitionId processDefinitionId
      * @param taskId taskId
      * @param taskName taskName
      */
-    public void sendTaskTimeoutAlert(int alertgroupId,String receivers,String receiversCc,int taskId,String taskName){
+    public void sendTaskTimeoutAlert(int alertgroupId,String receivers,String receiversCc,int processDefinitionId,int taskId,String taskName){
         Alert alert = new Alert();
         String content = String.format("[{'id':'%d','name':'%s','event':'timeout','warnLevel':'middle'}]",taskId,taskName);
         alert.setTitle("Task Timeout Warn");
@@ -152,6 +192,7 @@ public class AlertDao extends AbstractBaseDao {
         alert.setContent(content);
         alert.setAlertType(AlertType.EMAIL);
         alert.setAlertGroupId(alertgroupId);
+        alert.setProcessDefinitionId(processDefinitionId);
         if (StringUtils.isNotEmpty(receivers)) {
             alert.setReceivers(receivers);
         }
@@ -160,7 +201,7 @@ public class AlertDao extends AbstractBaseDao {
         }
         alert.setCreateTime(new Date());
         alert.setUpdateTime(new Date());
-        alertMapper.insert(alert);
+        addAlert(alert);
     }
 
     /**
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.dao;
+
+import org.apache.dolphinscheduler.common.enums.LifecycleStage;
+import org.apache.dolphinscheduler.common.metrics.Counter;
+import org.apache.dolphinscheduler.common.metrics.Metrics;
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.common.utils.OSUtils;
+import org.apache.dolphinscheduler.dao.entity.LifecycleEvent;
+import org.apache.dolphinscheduler.dao.mapper.LifecycleEventMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * records the lifecycle events of process and task instances in memory
+ * and persists them in batches, so the scheduling path never waits for them
+ */
+@Component
+public class LifecycleRecorder {
+
+    private static final Logger logger = LoggerFactory.getLogger(LifecycleRecorder.class);
+
+    /**
+     * events buffered at most, newer events are dropped beyond it
+     */
+    private static final int CAPACITY = 100000;
+
+    /**
+     * events inserted in one statement
+     */
+    private static final int BATCH_SIZE = 500;
+
+    /**
+     * flush interval in milliseconds
+     */
+    private static final long FLUSH_INTERVAL = 1000;
+
+    private static final Counter EVENTS_DROPPED = Metrics.counter("lifecycle_events_dropped_total",
+            "lifecycle events dropped because the buffer was full");
+
+    @Autowired
+    private LifecycleEventMapper lifecycleEventMapper;
+
+    private final Queue<LifecycleEvent> buffer = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger size = new AtomicInteger();
+
+    private final String host = OSUtils.getHost();
+
+    private ScheduledExecutorService flushService;
+
+    @PostConstruct
+    public void start() {
+        flushService = ThreadUtils.newDaemonThreadScheduledExecutor("Lifecycle-Event-Flush-Thread", 1);
+        flushService.scheduleWithFixedDelay(this::flush, FLUSH_INTERVAL, FLUSH_INTERVAL, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (flushService != null) {
+            flushService.shutdownNow();
+        }
+        flush();
+    }
+
+    /**
+     * record a lifecycle event
+     * @param processInstanceId process instance id
+     * @param taskInstanceId task instance id, 0 for the stages of the process instance
+     * @param stage stage
+     * @param eventTime the time the stage was passed
+     */
+    public void record(int processInstanceId, int taskInstanceId, LifecycleStage stage, Date eventTime) {
+        if (size.incrementAndGet() > CAPACITY) {
+            size.decrementAndGet();
+            EVENTS_DROPPED.inc();
+            return;
+        }
+        buffer.offer(new LifecycleEvent(processInstanceId, taskInstanceId, stage, eventTime, host));
+    }
+
+    /**
+     * persist the buffered events
+     */
+    public synchronized void flush() {
+        List<LifecycleEvent> batch = new ArrayList<>(BATCH_SIZE);
+        LifecycleEvent event;
+        while ((event = buffer.poll()) != null) {
+            size.decrementAndGet();
+            batch.add(event);
+            if (batch.size() == BATCH_SIZE) {
+                insert(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            insert(batch);
+        }
+    }
+
+    private void insert(List<LifecycleEvent> batch) {
+        try {
+            lifecycleEventMapper.batchInsert(batch);
+        } catch (Exception e) {
+            // events are diagnostics, a failed batch is not retried
+            logger.error("insert {} lifecycle events failed", batch.size(), e);
+        }
+    }
+}
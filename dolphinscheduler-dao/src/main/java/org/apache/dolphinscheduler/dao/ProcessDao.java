@@ -17,7 +17,6 @@
 package org.apache.dolphinscheduler.dao;
 
 import com.alibaba.fastjson.JSONObject;
-import com.cronutils.model.Cron;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.dolphinscheduler.common.Constants;
@@ -39,6 +38,7 @@ import org.quartz.CronExpression;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -60,6 +60,10 @@ public class ProcessDao {
             ExecutionStatus.READY_PAUSE.ordinal(),
             ExecutionStatus.READY_STOP.ordinal()};
 
+    private final int[] recoverCommandTypes = new int[]{CommandType.REPEAT_RUNNING.ordinal(),
+            CommandType.RECOVER_SUSPENDED_PROCESS.ordinal(),
+            CommandType.START_FAILURE_TASK_PROCESS.ordinal()};
+
     @Autowired
     private UserMapper userMapper;
 
@@ -102,6 +106,15 @@ public class ProcessDao {
     @Autowired
     private  ProjectMapper projectMapper;
 
+    @Autowired
+    private InstanceStatisticsMapper instanceStatisticsMapper;
+
+    @Autowired
+    private LifecycleRecorder lifecycleRecorder;
+
+    @Autowired
+    private LifecycleEventMapper lifecycleEventMapper;
+
     /**
      * task queue impl
      */
@@ -132,9 +145,35 @@ public class ProcessDao {
         saveProcessInstance(processInstance);
         this.setSubProcessParam(processInstance);
         delCommandByid(command.getId());
+        if(command.getStartTime() != null){
+            recordLifecycle(processInstance.getId(), 0, LifecycleStage.COMMAND_INSERTED, command.getStartTime());
+        }
+        recordLifecycle(processInstance.getId(), 0, LifecycleStage.COMMAND_CLAIMED);
         return processInstance;
     }
 
+    /**
+     * record that a process instance or task instance passed a lifecycle stage now
+     * @param processInstanceId process instance id
+     * @param taskInstanceId task instance id, 0 for the stages of the process instance
+     * @param stage stage
+     */
+    public void recordLifecycle(int processInstanceId, int taskInstanceId, LifecycleStage stage) {
+        recordLifecycle(processInstanceId, taskInstanceId, stage, new Date());
+    }
+
+    /**
+     * record that a process instance or task instance passed a lifecycle stage,
+     * the events are persisted in batches in the background
+     * @param processInstanceId process instance id
+     * @param taskInstanceId task instance id, 0 for the stages of the process instance
+     * @param stage stage
+     * @param eventTime the time the stage was passed
+     */
+    public void recordLifecycle(int processInstanceId, int taskInstanceId, LifecycleStage stage, Date eventTime) {
+        lifecycleRecorder.record(processInstanceId, taskInstanceId, stage, eventTime);
+    }
+
     /**
      * save error command, and delete original command
      * @param command command
@@ -188,6 +227,18 @@ public class ProcessDao {
         return result;
     }
 
+    /**
+     * insert commands in one statement
+     * @param commands commands
+     * @return create result
+     */
+    public int createCommands(List<Command> commands) {
+        if (commands.isEmpty()) {
+            return 0;
+        }
+        return commandMapper.batchInsert(commands);
+    }
+
     /**
      * find one command from queue list
      * @return command
@@ -196,37 +247,27 @@ public class ProcessDao {
         return commandMapper.getOneToRun();
     }
 
+    /**
+     * count the commands waiting to be handled
+     * @return command count
+     */
+    public int countCommands(){
+        return commandMapper.selectCount(null);
+    }
+
     /**
      * check the input command exists in queue list
      * @param command command
      * @return create command result
      */
     public Boolean verifyIsNeedCreateCommand(Command command){
-        Boolean isNeedCreate = true;
-        Map<CommandType,Integer> cmdTypeMap = new HashMap<CommandType,Integer>();
-        cmdTypeMap.put(CommandType.REPEAT_RUNNING,1);
-        cmdTypeMap.put(CommandType.RECOVER_SUSPENDED_PROCESS,1);
-        cmdTypeMap.put(CommandType.START_FAILURE_TASK_PROCESS,1);
         CommandType commandType = command.getCommandType();
-
-        if(cmdTypeMap.containsKey(commandType)){
-            JSONObject cmdParamObj = (JSONObject) JSONObject.parse(command.getCommandParam());
-            JSONObject tempObj;
-            int processInstanceId = cmdParamObj.getInteger(CMDPARAM_RECOVER_PROCESS_ID_STRING);
-
-            List<Command> commands = commandMapper.selectList(null);
-            // for all commands
-            for (Command tmpCommand:commands){
-                if(cmdTypeMap.containsKey(tmpCommand.getCommandType())){
-                    tempObj = (JSONObject) JSONObject.parse(tmpCommand.getCommandParam());
-                    if(tempObj != null && processInstanceId == tempObj.getInteger(CMDPARAM_RECOVER_PROCESS_ID_STRING)){
-                        isNeedCreate = false;
-                        break;
-                    }
-                }
-            }
+        if(commandType != CommandType.REPEAT_RUNNING
+                && commandType != CommandType.RECOVER_SUSPENDED_PROCESS
+                && commandType != CommandType.START_FAILURE_TASK_PROCESS){
+            return true;
         }
-        return  isNeedCreate;
+        return commandMapper.countByProcessInstanceId(command.getProcessInstanceId(), recoverCommandTypes) == 0;
     }
 
     /**
@@ -247,6 +288,19 @@ public class ProcessDao {
         return processInstanceMapper.selectById(processId);
     }
 
+    /**
+     * find process instance detail by id, falling back to the archive for instances moved out of the hot table
+     * @param processId processId
+     * @return process instance
+     */
+    public ProcessInstance findProcessInstanceDetailIncludingArchive(int processId){
+        ProcessInstance processInstance = processInstanceMapper.queryDetailById(processId);
+        if(processInstance == null){
+            processInstance = processInstanceMapper.queryArchivedDetailById(processId);
+        }
+        return processInstance;
+    }
+
     /**
      * find process define by id.
      * @param processDefinitionId processDefinitionId
@@ -768,6 +822,7 @@ public class ProcessDao {
     public TaskInstance submitTask(TaskInstance taskInstance, ProcessInstance processInstance){
         logger.info("start submit task : {}, instance id:{}, state: {}, ",
                 taskInstance.getName(), processInstance.getId(), processInstance.getState() );
+        ProcessDefinition processDefinition = processInstance.getProcessDefinition();
         processInstance = this.findProcessInstanceDetailById(processInstance.getId());
         //submit to mysql
         TaskInstance task= submitTaskInstanceToMysql(taskInstance, processInstance);
@@ -781,7 +836,7 @@ public class ProcessDao {
         }else if(!task.getState().typeIsFinished()){
             //submit to task queue
             task.setProcessInstancePriority(processInstance.getProcessInstancePriority());
-            submitTaskToQueue(task);
+            submitTaskToQueue(task, processDefinition);
         }
         logger.info("submit task :{} state:{} complete, instance id:{} state: {}  ",
                 taskInstance.getName(), task.getState(), processInstance.getId(), processInstance.getState());
@@ -950,15 +1005,18 @@ public class ProcessDao {
         taskInstance.setState(getSubmitTaskState(taskInstance, processInstanceState));
         taskInstance.setSubmitTime(new Date());
         saveTaskInstance(taskInstance);
+        recordLifecycle(taskInstance.getProcessInstanceId(), taskInstance.getId(),
+                LifecycleStage.TASK_SUBMITTED, taskInstance.getSubmitTime());
         return taskInstance;
     }
 
     /**
      * submit task to queue
      * @param taskInstance taskInstance
+     * @param processDefinition process definition of the task, null if not loaded
      * @return whether submit task to queue success
      */
-    public Boolean submitTaskToQueue(TaskInstance taskInstance) {
+    public Boolean submitTaskToQueue(TaskInstance taskInstance, ProcessDefinition processDefinition) {
 
         try{
             // task cannot submit when running
@@ -971,7 +1029,9 @@ public class ProcessDao {
                 return true;
             }
             logger.info("task ready to queue: {}" , taskInstance);
-            taskQueue.add(DOLPHINSCHEDULER_TASKS_QUEUE, taskZkInfo(taskInstance));
+            taskQueue.add(DOLPHINSCHEDULER_TASKS_QUEUE, taskZkInfo(taskInstance),
+                    taskQueueCounter(taskInstance, processDefinition));
+            recordLifecycle(taskInstance.getProcessInstanceId(), taskInstance.getId(), LifecycleStage.TASK_QUEUED);
             logger.info(String.format("master insert into queue success, task : %s", taskInstance.getName()) );
             return true;
         }catch (Exception e){
@@ -982,6 +1042,17 @@ public class ProcessDao {
         }
     }
 
+    /**
+     * ${projectId}_${workerGroupId}, the counter of task queue the task belongs to
+     * @param taskInstance taskInstance
+     * @param processDefinition process definition of the task, null if not loaded
+     * @return task queue counter name
+     */
+    public String taskQueueCounter(TaskInstance taskInstance, ProcessDefinition processDefinition){
+        int projectId = processDefinition == null ? 0 : processDefinition.getProjectId();
+        return projectId + Constants.UNDERLINE + getTaskWorkerGroupId(taskInstance);
+    }
+
     /**
      * ${processInstancePriority}_${processInstanceId}_${taskInstancePriority}_${taskId}_${task executed by ip1},${ip2}...
      * The tasks with the highest priority are selected by comparing the priorities of the above four levels from high to low.
@@ -1207,6 +1278,36 @@ public class ProcessDao {
         return taskInstanceMapper.selectById(taskId);
     }
 
+    /**
+     * find task instance by id, falling back to the archive for instances moved out of the hot table
+     * @param taskId task id
+     * @return task instance
+     */
+    public TaskInstance findTaskInstanceIncludingArchive(Integer taskId){
+        TaskInstance taskInstance = taskInstanceMapper.selectById(taskId);
+        if(taskInstance == null){
+            taskInstance = taskInstanceMapper.queryArchivedById(taskId);
+        }
+        return taskInstance;
+    }
+
+    /**
+     * find task instances by ids, the ids missing in the hot table are looked up in the archive
+     * @param taskIds task ids
+     * @return task instance list
+     */
+    public List<TaskInstance> findTaskInstancesIncludingArchive(Collection<Integer> taskIds){
+        List<TaskInstance> taskInstances = new ArrayList<>(taskInstanceMapper.selectBatchIds(taskIds));
+        if(taskInstances.size() < taskIds.size()){
+            Set<Integer> archivedIds = new HashSet<>(taskIds);
+            for(TaskInstance taskInstance : taskInstances){
+                archivedIds.remove(taskInstance.getId());
+            }
+            taskInstances.addAll(taskInstanceMapper.queryArchivedByIds(archivedIds));
+        }
+        return taskInstances;
+    }
+
 
     /**
      * package task instance，associate processInstance and processDefine
@@ -1249,6 +1350,19 @@ public class ProcessDao {
          return taskInstanceMapper.findValidTaskListByProcessId(processInstanceId, Flag.YES);
     }
 
+    /**
+     * find valid task list by process instance id, falling back to the archive when the hot table has none
+     * @param processInstanceId processInstanceId
+     * @return task instance list
+     */
+    public List<TaskInstance> findValidTaskListIncludingArchive(Integer processInstanceId){
+        List<TaskInstance> taskInstanceList = taskInstanceMapper.findValidTaskListByProcessId(processInstanceId, Flag.YES);
+        if(taskInstanceList.isEmpty()){
+            taskInstanceList = taskInstanceMapper.findValidArchivedTaskListByProcessId(processInstanceId, Flag.YES);
+        }
+        return taskInstanceList;
+    }
+
     /**
      * find previous task list by work process id
      * @param processInstanceId processInstanceId
@@ -1291,6 +1405,15 @@ public class ProcessDao {
         return processInstanceMapMapper.queryByParentId(parentWorkProcessId, parentTaskId);
     }
 
+    /**
+     * find work process map by sub process id.
+     * @param subProcessId subProcessId
+     * @return process instance map
+     */
+    public ProcessInstanceMap findWorkProcessMapByChild(Integer subProcessId){
+        return processInstanceMapMapper.queryBySubProcessId(subProcessId);
+    }
+
     /**
      * delete work process map by parent process id
      * @param parentWorkProcessId parentWorkProcessId
@@ -1332,6 +1455,33 @@ public class ProcessDao {
         return processInstance;
     }
 
+    /**
+     * find sub process instance, including the archived ones
+     * @param parentProcessId parentProcessId
+     * @param parentTaskId parentTaskId
+     * @return process instance
+     */
+    public ProcessInstance findSubProcessInstanceIncludingArchive(Integer parentProcessId, Integer parentTaskId){
+        ProcessInstanceMap processInstanceMap = processInstanceMapMapper.queryByParentId(parentProcessId, parentTaskId);
+        if(processInstanceMap == null || processInstanceMap.getProcessInstanceId() == 0){
+            return null;
+        }
+        return findProcessInstanceDetailIncludingArchive(processInstanceMap.getProcessInstanceId());
+    }
+
+    /**
+     * find parent process instance, including the archived ones
+     * @param subProcessId subProcessId
+     * @return process instance
+     */
+    public ProcessInstance findParentProcessInstanceIncludingArchive(Integer subProcessId) {
+        ProcessInstanceMap processInstanceMap = processInstanceMapMapper.queryBySubProcessId(subProcessId);
+        if(processInstanceMap == null || processInstanceMap.getProcessInstanceId() == 0){
+            return null;
+        }
+        return findProcessInstanceDetailIncludingArchive(processInstanceMap.getParentProcessInstanceId());
+    }
+
 
     /**
      * change task state
@@ -1444,6 +1594,77 @@ public class ProcessDao {
         return scheduleMapper.selectById(id);
     }
 
+    /**
+     * query online schedules of online process definitions with their last fire time
+     * @return schedule list
+     */
+    public List<Schedule> queryOnlineSchedules() {
+        return scheduleMapper.queryOnlineSchedules();
+    }
+
+    /**
+     * init the last fire time of a schedule that has never been fired
+     * @param scheduleId scheduleId
+     * @param fireTime fireTime
+     * @return false if another master has already inited it
+     */
+    public boolean initScheduleFireTime(int scheduleId, Date fireTime) {
+        try {
+            return scheduleMapper.insertFireTime(scheduleId, fireTime) > 0;
+        } catch (DuplicateKeyException e) {
+            logger.info("fire time of schedule {} already exists", scheduleId);
+            return false;
+        }
+    }
+
+    /**
+     * claim the fire times of schedules and insert their commands in one transaction,
+     * a fire time already claimed by another master creates no command
+     * @param schedules schedules
+     * @param fireTimes fire time of each schedule
+     * @param startTime startTime of the commands
+     * @return number of commands created
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public int createScheduleCommands(List<Schedule> schedules, List<Date> fireTimes, Date startTime) {
+        List<Command> commands = new ArrayList<>(schedules.size());
+        for (int i = 0; i < schedules.size(); i++) {
+            Schedule schedule = schedules.get(i);
+            Date fireTime = fireTimes.get(i);
+            if (scheduleMapper.updateFireTime(schedule.getId(), fireTime) > 0) {
+                commands.add(buildScheduleCommand(schedule, fireTime, startTime));
+            } else {
+                logger.info("fire time {} of schedule {} is claimed by another master", fireTime, schedule.getId());
+            }
+        }
+        if (!commands.isEmpty()) {
+            commandMapper.batchInsert(commands);
+        }
+        return commands.size();
+    }
+
+    /**
+     * build the scheduler command of a schedule
+     * @param schedule schedule
+     * @param scheduleTime scheduleTime
+     * @param startTime startTime
+     * @return command
+     */
+    public Command buildScheduleCommand(Schedule schedule, Date scheduleTime, Date startTime) {
+        Command command = new Command();
+        command.setCommandType(CommandType.SCHEDULER);
+        command.setExecutorId(schedule.getUserId());
+        command.setFailureStrategy(schedule.getFailureStrategy());
+        command.setProcessDefinitionId(schedule.getProcessDefinitionId());
+        command.setScheduleTime(scheduleTime);
+        command.setStartTime(startTime);
+        command.setWarningGroupId(schedule.getWarningGroupId());
+        command.setWorkerGroupId(schedule.getWorkerGroupId());
+        command.setWarningType(schedule.getWarningType());
+        command.setProcessInstancePriority(schedule.getProcessInstancePriority());
+        return command;
+    }
+
     /**
      * query need failover process instance
      * @param host host
@@ -1465,12 +1686,45 @@ public class ProcessDao {
         processInstanceMapper.updateById(processInstance);
 
         //2 insert into recover command
+        createCommand(buildFailoverCommand(processInstance));
+    }
+
+    /**
+     * process need failover process instances in one transaction,
+     * update their host in one statement and insert their recover commands in bulk
+     * @param processInstances processInstances
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public void processNeedFailoverProcessInstances(List<ProcessInstance> processInstances){
+        if(processInstances.isEmpty()){
+            return;
+        }
+        int[] ids = new int[processInstances.size()];
+        List<Command> commands = new ArrayList<>(processInstances.size());
+        for(int i = 0; i < processInstances.size(); i++){
+            ids[i] = processInstances.get(i).getId();
+            commands.add(buildFailoverCommand(processInstances.get(i)));
+        }
+        //1 update processInstance host is null
+        processInstanceMapper.updateHostByIds(ids, "null");
+
+        //2 insert into recover command
+        commandMapper.batchInsert(commands);
+    }
+
+    /**
+     * build recover tolerance fault command of the process instance
+     * @param processInstance processInstance
+     * @return command
+     */
+    private Command buildFailoverCommand(ProcessInstance processInstance){
         Command cmd = new Command();
         cmd.setProcessDefinitionId(processInstance.getProcessDefinitionId());
         cmd.setCommandParam(String.format("{\"%s\":%d}", Constants.CMDPARAM_RECOVER_PROCESS_ID_STRING, processInstance.getId()));
+        cmd.setProcessInstanceId(processInstance.getId());
         cmd.setExecutorId(processInstance.getExecutorId());
         cmd.setCommandType(CommandType.RECOVER_TOLERANCE_FAULT_PROCESS);
-        createCommand(cmd);
+        return cmd;
     }
 
     /**
@@ -1483,6 +1737,23 @@ public class ProcessDao {
                 stateArray);
     }
 
+    /**
+     * update state of task instances in one statement
+     * @param taskInstances taskInstances
+     * @param state state
+     * @return update result
+     */
+    public int updateTaskInstanceState(List<TaskInstance> taskInstances, ExecutionStatus state){
+        if(taskInstances.isEmpty()){
+            return 0;
+        }
+        int[] ids = new int[taskInstances.size()];
+        for(int i = 0; i < taskInstances.size(); i++){
+            ids[i] = taskInstances.get(i).getId();
+        }
+        return taskInstanceMapper.updateStateByIds(ids, state);
+    }
+
     /**
      * find data source by id
      * @param id id
@@ -1584,15 +1855,13 @@ public class ProcessDao {
 
         String strCrontab = "";
         CronExpression depCronExpression;
-        Cron depCron;
-        List<Date> list;
+        Date lastFireTime;
         List<Schedule> schedules = this.selectAllByProcessDefineId(ids);
         // for all scheduling information
         for(Schedule depSchedule:schedules){
             strCrontab = depSchedule.getCrontab();
-            depCronExpression = CronUtils.parse2CronExpression(strCrontab);
-            depCron = CronUtils.parse2Cron(strCrontab);
-            CycleEnum cycleEnum = CronUtils.getMiniCycle(depCron);
+            depCronExpression = CronUtils.getCronExpression(strCrontab);
+            CycleEnum cycleEnum = CronUtils.getMiniCycle(strCrontab);
             if(cycleEnum == null){
                 logger.error("{} is not valid",strCrontab);
                 continue;
@@ -1620,13 +1889,12 @@ public class ProcessDao {
             Date start = calendar.getTime();
 
             if(depSchedule.getProcessDefinitionId() == masterId){
-                list = CronUtils.getSelfFireDateList(start, scheduledFireTime, depCronExpression);
+                lastFireTime = CronUtils.getLastSelfFireTime(start, scheduledFireTime, depCronExpression);
             }else {
-                list = CronUtils.getFireDateList(start, scheduledFireTime, depCronExpression);
+                lastFireTime = CronUtils.getLastFireTime(start, scheduledFireTime, depCronExpression);
             }
-            if(list.size()>=1){
-                start = list.get(list.size()-1);
-                CycleDependency dependency = new CycleDependency(depSchedule.getProcessDefinitionId(),start, CronUtils.getExpirationTime(start, cycleEnum), cycleEnum);
+            if(lastFireTime != null){
+                CycleDependency dependency = new CycleDependency(depSchedule.getProcessDefinitionId(),lastFireTime, CronUtils.getExpirationTime(lastFireTime, cycleEnum), cycleEnum);
                 cycleDependencyList.add(dependency);
             }
 
@@ -1755,4 +2023,124 @@ public class ProcessDao {
     }
 
 
+    /**
+     * rebuild the instance statistics of one hour in one transaction
+     * @param statHour stat hour
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public void refreshInstanceStatistics(Date statHour){
+        Date endHour = DateUtils.getSomeHourOfDay(statHour, -1);
+        Date now = new Date();
+
+        instanceStatisticsMapper.deleteByStatHour(InstanceType.PROCESS_INSTANCE, statHour);
+        instanceStatisticsMapper.insertProcessInstanceStatistics(statHour, endHour, now);
+
+        instanceStatisticsMapper.deleteByStatHour(InstanceType.TASK_INSTANCE, statHour);
+        instanceStatisticsMapper.insertTaskInstanceStatistics(statHour, endHour, now);
+    }
+
+    /**
+     * find the hours whose instance statistics need to be rebuilt:
+     * hours since the last refresh, the recent window, and older hours still holding unfinished instances
+     * @param lastRefreshHour last refreshed hour, null if not refreshed since startup
+     * @param windowHours hours before the current hour that are always rebuilt
+     * @return sorted stat hours
+     */
+    public List<Date> findInstanceStatisticsHoursToRefresh(Date lastRefreshHour, int windowHours){
+        Date now = new Date();
+        Date currentHour = DateUtils.getStartOfHour(now);
+        Date windowStart = DateUtils.getSomeHourOfDay(now, windowHours);
+
+        Date from = lastRefreshHour;
+        if(from == null){
+            from = instanceStatisticsMapper.queryLastStatHour(InstanceType.PROCESS_INSTANCE);
+        }
+        if(from == null){
+            from = processInstanceMapper.queryFirstStartTime();
+        }
+        if(from == null || from.after(windowStart)){
+            from = windowStart;
+        }
+
+        TreeSet<Date> statHours = new TreeSet<>();
+        for(Date hour = DateUtils.getStartOfHour(from); !hour.after(currentHour);
+            hour = DateUtils.getSomeHourOfDay(hour, -1)){
+            statHours.add(hour);
+        }
+
+        int[] unfinishedStates = getUnfinishedStateArray();
+        for(InstanceType instanceType : InstanceType.values()){
+            List<Date> unfinishedHours = instanceStatisticsMapper.queryStatHoursByStates(
+                    instanceType, unfinishedStates, windowStart);
+            for(Date hour : unfinishedHours){
+                statHours.add(new Date(hour.getTime()));
+            }
+        }
+        return new ArrayList<>(statHours);
+    }
+
+    /**
+     * get the states which may still change
+     * @return unfinished state array
+     */
+    private int[] getUnfinishedStateArray(){
+        List<Integer> states = new ArrayList<>();
+        for(ExecutionStatus status : ExecutionStatus.values()){
+            if(status == ExecutionStatus.SUCCESS || status == ExecutionStatus.FAILURE
+                    || status.typeIsCancel()){
+                continue;
+            }
+            states.add(status.ordinal());
+        }
+        return states.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * find the ids of the process instances finished before the end time, which can be archived
+     * @param endTime endTime
+     * @param size max size
+     * @return process instance id array, ordered by id
+     */
+    public int[] findArchivableProcessInstanceIds(Date endTime, int size){
+        int[] finishedStates = new int[]{ExecutionStatus.SUCCESS.ordinal(),
+                ExecutionStatus.FAILURE.ordinal(),
+                ExecutionStatus.STOP.ordinal(),
+                ExecutionStatus.KILL.ordinal()};
+        List<Integer> ids = processInstanceMapper.queryArchivableIds(endTime, finishedStates, size);
+        return ids.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * move process instances and their task instances from the hot tables into the archive tables
+     * in one transaction, their lifecycle events are deleted
+     * @param processInstanceIds process instance ids
+     * @return archived process instance count
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public int archiveProcessInstances(int[] processInstanceIds){
+        if(processInstanceIds.length == 0){
+            return 0;
+        }
+        taskInstanceMapper.archiveByProcessInstanceIds(processInstanceIds);
+        taskInstanceMapper.deleteByProcessInstanceIds(processInstanceIds);
+        int count = processInstanceMapper.archiveByIds(processInstanceIds);
+        processInstanceMapper.deleteByIds(processInstanceIds);
+        lifecycleEventMapper.deleteByProcessInstanceIds(processInstanceIds);
+        return count;
+    }
+
+    /**
+     * delete a batch of lifecycle events recorded before the event time
+     * @param eventTime event time
+     * @param size max size
+     * @return deleted event count
+     */
+    public int purgeLifecycleEvents(Date eventTime, int size){
+        List<Integer> ids = lifecycleEventMapper.queryIdsBefore(eventTime, size);
+        if(ids.isEmpty()){
+            return 0;
+        }
+        return lifecycleEventMapper.deleteBatchIds(ids);
+    }
+
 }
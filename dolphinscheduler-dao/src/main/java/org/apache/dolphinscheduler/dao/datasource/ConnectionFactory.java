@@ -110,6 +110,7 @@ public class ConnectionFactory extends SpringConnectionFactory{
                     configuration.setLazyLoadingEnabled(true);
                     configuration.addMappers("org.apache.dolphinscheduler.dao.mapper");
                     configuration.addInterceptor(new PaginationInterceptor());
+                    configuration.addInterceptor(new StatementMetricsInterceptor());
 
                     MybatisSqlSessionFactoryBean sqlSessionFactoryBean = new MybatisSqlSessionFactoryBean();
                     sqlSessionFactoryBean.setConfiguration(configuration);
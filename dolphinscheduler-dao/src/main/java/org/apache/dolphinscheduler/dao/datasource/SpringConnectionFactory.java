@@ -121,6 +121,7 @@ public class SpringConnectionFactory {
         MybatisConfiguration configuration = new MybatisConfiguration();
         configuration.addMappers("org.apache.dolphinscheduler.dao.mapper");
         configuration.addInterceptor(paginationInterceptor());
+        configuration.addInterceptor(new StatementMetricsInterceptor());
 
         MybatisSqlSessionFactoryBean sqlSessionFactoryBean = new MybatisSqlSessionFactoryBean();
         sqlSessionFactoryBean.setConfiguration(configuration);
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.dao.datasource;
+
+import org.apache.dolphinscheduler.common.metrics.MetricFamily;
+import org.apache.dolphinscheduler.common.metrics.Metrics;
+import org.apache.dolphinscheduler.common.metrics.Timer;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Plugin;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * times the statements of the mappers, the timers are labeled by mapper and method, e.g. CommandMapper.getOneToRun
+ */
+@Intercepts({
+        @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class})
+})
+public class StatementMetricsInterceptor implements Interceptor {
+
+    private static final MetricFamily<Timer> STATEMENT_DURATION = Metrics.timerFamily("db_statement_duration_seconds",
+            "duration of the database statements", "statement");
+
+    /**
+     * timers of the mapped statements, saves building the label for every statement
+     */
+    private final ConcurrentHashMap<MappedStatement, Timer> timers = new ConcurrentHashMap<>();
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        long start = System.nanoTime();
+        try {
+            return invocation.proceed();
+        } finally {
+            MappedStatement mappedStatement = (MappedStatement) invocation.getArgs()[0];
+            Timer timer = timers.get(mappedStatement);
+            if (timer == null) {
+                timer = timers.computeIfAbsent(mappedStatement, ms -> STATEMENT_DURATION.get(getStatementName(ms.getId())));
+            }
+            timer.recordSince(start);
+        }
+    }
+
+    /**
+     * @param id mapped statement id
+     * @return id without the package of the mapper
+     */
+    private static String getStatementName(String id) {
+        int method = id.lastIndexOf('.');
+        int mapper = method > 0 ? id.lastIndexOf('.', method - 1) : -1;
+        return id.substring(mapper + 1);
+    }
+
+    @Override
+    public Object plugin(Object target) {
+        return Plugin.wrap(target, this);
+    }
+
+    @Override
+    public void setProperties(Properties properties) {
+    }
+}
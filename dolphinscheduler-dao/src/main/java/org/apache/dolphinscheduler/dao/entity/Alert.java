@@ -90,6 +90,11 @@ public class Alert {
      */
     private String receiversCc;
 
+    /**
+     * process definition id raising the alert, null if it is not raised by a process
+     */
+    private Integer processDefinitionId;
+
     /**
      * create time
      */
@@ -205,6 +210,14 @@ public class Alert {
         this.receiversCc = receiversCc;
     }
 
+    public Integer getProcessDefinitionId() {
+        return processDefinitionId;
+    }
+
+    public void setProcessDefinitionId(Integer processDefinitionId) {
+        this.processDefinitionId = processDefinitionId;
+    }
+
     public void setCreateTime(Date createTime) {
         this.createTime = createTime;
     }
@@ -232,6 +245,7 @@ public class Alert {
                 ", updateTime=" + updateTime +
                 ", receivers='" + receivers + '\'' +
                 ", receiversCc='" + receiversCc + '\'' +
+                ", processDefinitionId=" + processDefinitionId +
                 ", info=" + info +
                 '}';
     }
@@ -117,6 +117,12 @@ public class Command {
     @TableField("worker_group_id")
     private int workerGroupId;
 
+    /**
+     * id of the process instance recovered or rerun by this command, 0 for none
+     */
+    @TableField("process_instance_id")
+    private int processInstanceId;
+
 
     public Command() {
         this.taskDependType = TaskDependType.TASK_POST;
@@ -265,6 +271,14 @@ public class Command {
         this.workerGroupId = workerGroupId;
     }
 
+    public int getProcessInstanceId() {
+        return processInstanceId;
+    }
+
+    public void setProcessInstanceId(int processInstanceId) {
+        this.processInstanceId = processInstanceId;
+    }
+
     @Override
     public String toString() {
         return "Command{" +
@@ -282,6 +296,7 @@ public class Command {
                 ", processInstancePriority=" + processInstancePriority +
                 ", updateTime=" + updateTime +
                 ", workerGroupId=" + workerGroupId +
+                ", processInstanceId=" + processInstanceId +
                 '}';
     }
 }
@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.dao.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+import org.apache.dolphinscheduler.common.enums.ExecutionStatus;
+import org.apache.dolphinscheduler.common.enums.InstanceType;
+
+import java.util.Date;
+
+/**
+ * hourly rollup of instance states by project
+ */
+@Data
+@TableName("t_ds_instance_statistics")
+public class InstanceStatistics {
+
+    /**
+     * id
+     */
+    @TableId(value="id", type=IdType.AUTO)
+    private int id;
+
+    /**
+     * process instance or task instance
+     */
+    private InstanceType instanceType;
+
+    /**
+     * project id
+     */
+    private int projectId;
+
+    /**
+     * the hour the instances started in
+     */
+    private Date statHour;
+
+    /**
+     * instance state
+     */
+    private ExecutionStatus state;
+
+    /**
+     * number of instances
+     */
+    private int instanceCount;
+
+    /**
+     * update time
+     */
+    private Date updateTime;
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public InstanceType getInstanceType() {
+        return instanceType;
+    }
+
+    public void setInstanceType(InstanceType instanceType) {
+        this.instanceType = instanceType;
+    }
+
+    public int getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(int projectId) {
+        this.projectId = projectId;
+    }
+
+    public Date getStatHour() {
+        return statHour;
+    }
+
+    public void setStatHour(Date statHour) {
+        this.statHour = statHour;
+    }
+
+    public ExecutionStatus getState() {
+        return state;
+    }
+
+    public void setState(ExecutionStatus state) {
+        this.state = state;
+    }
+
+    public int getInstanceCount() {
+        return instanceCount;
+    }
+
+    public void setInstanceCount(int instanceCount) {
+        this.instanceCount = instanceCount;
+    }
+
+    public Date getUpdateTime() {
+        return updateTime;
+    }
+
+    public void setUpdateTime(Date updateTime) {
+        this.updateTime = updateTime;
+    }
+
+    @Override
+    public String toString() {
+        return "InstanceStatistics{" +
+                "id=" + id +
+                ", instanceType=" + instanceType +
+                ", projectId=" + projectId +
+                ", statHour=" + statHour +
+                ", state=" + state +
+                ", instanceCount=" + instanceCount +
+                ", updateTime=" + updateTime +
+                '}';
+    }
+}
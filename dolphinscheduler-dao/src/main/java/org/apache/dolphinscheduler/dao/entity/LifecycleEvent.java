@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.dao.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+import org.apache.dolphinscheduler.common.enums.LifecycleStage;
+
+import java.util.Date;
+
+/**
+ * the time a process instance or task instance passed a lifecycle stage
+ */
+@Data
+@TableName("t_ds_lifecycle_event")
+public class LifecycleEvent {
+
+    /**
+     * id
+     */
+    @TableId(value="id", type=IdType.AUTO)
+    private int id;
+
+    /**
+     * process instance id
+     */
+    private int processInstanceId;
+
+    /**
+     * task instance id, 0 for the stages of the process instance
+     */
+    private int taskInstanceId;
+
+    /**
+     * lifecycle stage
+     */
+    private LifecycleStage stage;
+
+    /**
+     * the time the stage was passed
+     */
+    private Date eventTime;
+
+    /**
+     * host recording the event
+     */
+    private String host;
+
+    public LifecycleEvent(){}
+
+    public LifecycleEvent(int processInstanceId, int taskInstanceId, LifecycleStage stage, Date eventTime, String host){
+        this.processInstanceId = processInstanceId;
+        this.taskInstanceId = taskInstanceId;
+        this.stage = stage;
+        this.eventTime = eventTime;
+        this.host = host;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public int getProcessInstanceId() {
+        return processInstanceId;
+    }
+
+    public void setProcessInstanceId(int processInstanceId) {
+        this.processInstanceId = processInstanceId;
+    }
+
+    public int getTaskInstanceId() {
+        return taskInstanceId;
+    }
+
+    public void setTaskInstanceId(int taskInstanceId) {
+        this.taskInstanceId = taskInstanceId;
+    }
+
+    public LifecycleStage getStage() {
+        return stage;
+    }
+
+    public void setStage(LifecycleStage stage) {
+        this.stage = stage;
+    }
+
+    public Date getEventTime() {
+        return eventTime;
+    }
+
+    public void setEventTime(Date eventTime) {
+        this.eventTime = eventTime;
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    public void setHost(String host) {
+        this.host = host;
+    }
+
+    @Override
+    public String toString() {
+        return "LifecycleEvent{" +
+                "id=" + id +
+                ", processInstanceId=" + processInstanceId +
+                ", taskInstanceId=" + taskInstanceId +
+                ", stage=" + stage +
+                ", eventTime=" + eventTime +
+                ", host='" + host + '\'' +
+                '}';
+    }
+}
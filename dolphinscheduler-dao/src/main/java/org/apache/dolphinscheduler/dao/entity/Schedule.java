@@ -128,6 +128,12 @@ public class Schedule {
    */
   private int workerGroupId;
 
+  /**
+   * last fire time claimed by a master, only used by the timing wheel schedule engine
+   */
+  @TableField(exist = false)
+  private Date lastFireTime;
+
   public int getWarningGroupId() {
     return warningGroupId;
   }
@@ -307,4 +313,12 @@ public class Schedule {
   public void setDefinitionDescription(String definitionDescription) {
     this.definitionDescription = definitionDescription;
   }
+
+  public Date getLastFireTime() {
+    return lastFireTime;
+  }
+
+  public void setLastFireTime(Date lastFireTime) {
+    this.lastFireTime = lastFireTime;
+  }
 }
@@ -21,6 +21,7 @@ import org.apache.dolphinscheduler.dao.entity.Alert;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.util.Date;
 import java.util.List;
 
 /**
@@ -35,4 +36,25 @@ public interface AlertMapper extends BaseMapper<Alert> {
      */
     List<Alert> listAlertByStatus(@Param("alertStatus") AlertStatus alertStatus);
 
+    /**
+     * count alerts of the status with the same group, type, receivers, title and content
+     * @param alertStatus alertStatus
+     * @param alert alert
+     * @return count
+     */
+    int countDuplicateAlert(@Param("alertStatus") AlertStatus alertStatus, @Param("alert") Alert alert);
+
+    /**
+     * update status of alerts
+     * @param alertStatus alertStatus
+     * @param log log
+     * @param updateTime updateTime
+     * @param ids alert ids
+     * @return update count
+     */
+    int updateAlertStatusByIds(@Param("alertStatus") AlertStatus alertStatus,
+                               @Param("log") String log,
+                               @Param("updateTime") Date updateTime,
+                               @Param("ids") List<Integer> ids);
+
 }
@@ -39,6 +39,22 @@ public interface CommandMapper extends BaseMapper<Command> {
      */
     Command getOneToRun();
 
+    /**
+     * insert commands in one statement
+     * @param commands commands
+     * @return insert result
+     */
+    int batchInsert(@Param("commands") List<Command> commands);
+
+    /**
+     * count the commands of the given types on one process instance
+     * @param processInstanceId processInstanceId
+     * @param commandTypes commandTypes
+     * @return command count
+     */
+    int countByProcessInstanceId(@Param("processInstanceId") int processInstanceId,
+                                 @Param("commandTypes") int[] commandTypes);
+
     /**
      * count command state
      * @param userId userId
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.dao.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.dolphinscheduler.common.enums.InstanceType;
+import org.apache.dolphinscheduler.dao.entity.ExecuteStatusCount;
+import org.apache.dolphinscheduler.dao.entity.InstanceStatistics;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * instance statistics mapper interface
+ */
+public interface InstanceStatisticsMapper extends BaseMapper<InstanceStatistics> {
+
+    /**
+     * count instance state of projects from the hourly rollup
+     * @param instanceType instance type
+     * @param startTime start time, inclusive
+     * @param endTime end time, exclusive
+     * @param projectIds project ids, all projects if empty
+     * @return state count list
+     */
+    List<ExecuteStatusCount> countStateByProject(@Param("instanceType") InstanceType instanceType,
+                                                 @Param("startTime") Date startTime,
+                                                 @Param("endTime") Date endTime,
+                                                 @Param("projectIds") Integer[] projectIds);
+
+    /**
+     * delete the rollup of one hour
+     * @param instanceType instance type
+     * @param statHour stat hour
+     * @return delete result
+     */
+    int deleteByStatHour(@Param("instanceType") InstanceType instanceType,
+                         @Param("statHour") Date statHour);
+
+    /**
+     * roll up the process instances started in [statHour, endHour)
+     * @param statHour stat hour
+     * @param endHour end hour
+     * @param updateTime update time
+     * @return insert result
+     */
+    int insertProcessInstanceStatistics(@Param("statHour") Date statHour,
+                                        @Param("endHour") Date endHour,
+                                        @Param("updateTime") Date updateTime);
+
+    /**
+     * roll up the task instances started in [statHour, endHour)
+     * @param statHour stat hour
+     * @param endHour end hour
+     * @param updateTime update time
+     * @return insert result
+     */
+    int insertTaskInstanceStatistics(@Param("statHour") Date statHour,
+                                     @Param("endHour") Date endHour,
+                                     @Param("updateTime") Date updateTime);
+
+    /**
+     * query the latest rolled up hour
+     * @param instanceType instance type
+     * @return latest stat hour, null if nothing is rolled up yet
+     */
+    Date queryLastStatHour(@Param("instanceType") InstanceType instanceType);
+
+    /**
+     * query hours before the given time that still hold instances in the given states
+     * @param instanceType instance type
+     * @param states states
+     * @param before before time
+     * @return stat hour list
+     */
+    List<Date> queryStatHoursByStates(@Param("instanceType") InstanceType instanceType,
+                                      @Param("states") int[] states,
+                                      @Param("before") Date before);
+}
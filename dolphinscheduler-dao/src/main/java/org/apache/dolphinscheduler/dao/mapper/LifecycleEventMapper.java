@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.dao.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.dolphinscheduler.dao.entity.LifecycleEvent;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * lifecycle event mapper interface
+ */
+public interface LifecycleEventMapper extends BaseMapper<LifecycleEvent> {
+
+    /**
+     * insert events in one statement
+     * @param events events
+     * @return insert result
+     */
+    int batchInsert(@Param("events") List<LifecycleEvent> events);
+
+    /**
+     * query the events of a process instance and its task instances
+     * @param processInstanceId process instance id
+     * @return event list ordered by event time
+     */
+    List<LifecycleEvent> queryByProcessInstanceId(@Param("processInstanceId") int processInstanceId);
+
+    /**
+     * delete the events of a process instance and its task instances
+     * @param processInstanceId process instance id
+     * @return delete result
+     */
+    int deleteByProcessInstanceId(@Param("processInstanceId") int processInstanceId);
+
+    /**
+     * delete the events of process instances and their task instances
+     * @param processInstanceIds process instance ids
+     * @return delete result
+     */
+    int deleteByProcessInstanceIds(@Param("processInstanceIds") int[] processInstanceIds);
+
+    /**
+     * query the ids of the events recorded before the event time
+     * @param eventTime event time
+     * @param size max size
+     * @return event id list
+     */
+    List<Integer> queryIdsBefore(@Param("eventTime") Date eventTime, @Param("size") int size);
+}
@@ -87,6 +87,50 @@ public interface ProcessInstanceMapper extends BaseMapper<ProcessInstance> {
                                                           @Param("startTime") Date startTime,
                                                           @Param("endTime") Date endTime);
 
+    /**
+     * process instance list after the position of the last row of the previous page
+     * @param projectId projectId
+     * @param processDefinitionId processDefinitionId
+     * @param searchVal searchVal
+     * @param statusArray statusArray
+     * @param host host
+     * @param startTime startTime
+     * @param endTime endTime
+     * @param afterStartTime start time of the last row of the previous page, null for the first page
+     * @param afterId id of the last row of the previous page
+     * @param size size
+     * @return process instance list
+     */
+    List<ProcessInstance> queryProcessInstanceListAfter(@Param("projectId") int projectId,
+                                                        @Param("processDefinitionId") Integer processDefinitionId,
+                                                        @Param("searchVal") String searchVal,
+                                                        @Param("states") int[] statusArray,
+                                                        @Param("host") String host,
+                                                        @Param("startTime") Date startTime,
+                                                        @Param("endTime") Date endTime,
+                                                        @Param("afterStartTime") Date afterStartTime,
+                                                        @Param("afterId") int afterId,
+                                                        @Param("size") int size);
+
+    /**
+     * count process instance list
+     * @param projectId projectId
+     * @param processDefinitionId processDefinitionId
+     * @param searchVal searchVal
+     * @param statusArray statusArray
+     * @param host host
+     * @param startTime startTime
+     * @param endTime endTime
+     * @return process instance count
+     */
+    int countProcessInstanceList(@Param("projectId") int projectId,
+                                 @Param("processDefinitionId") Integer processDefinitionId,
+                                 @Param("searchVal") String searchVal,
+                                 @Param("states") int[] statusArray,
+                                 @Param("host") String host,
+                                 @Param("startTime") Date startTime,
+                                 @Param("endTime") Date endTime);
+
     /**
      * set failover by host and state array
      * @param host host
@@ -96,6 +140,15 @@ public interface ProcessInstanceMapper extends BaseMapper<ProcessInstance> {
     int setFailoverByHostAndStateArray(@Param("host") String host,
                                        @Param("states") int[] stateArray);
 
+    /**
+     * update host of process instances
+     * @param ids process instance ids
+     * @param host host
+     * @return update result
+     */
+    int updateHostByIds(@Param("ids") int[] ids,
+                        @Param("host") String host);
+
     /**
      * update process instance by state
      * @param originState  originState
@@ -178,4 +231,42 @@ public interface ProcessInstanceMapper extends BaseMapper<ProcessInstance> {
     ProcessInstance queryLastManualProcess(@Param("processDefinitionId") int definitionId,
                                            @Param("startTime") Date startTime,
                                            @Param("endTime") Date endTime);
+
+    /**
+     * query the start time of the earliest process instance
+     * @return first start time, null if there is no process instance
+     */
+    Date queryFirstStartTime();
+
+    /**
+     * query the ids of the process instances that finished before the end time
+     * @param endTime endTime
+     * @param stateArray stateArray
+     * @param size size
+     * @return process instance id list, ordered by id
+     */
+    List<Integer> queryArchivableIds(@Param("endTime") Date endTime,
+                                     @Param("states") int[] stateArray,
+                                     @Param("size") int size);
+
+    /**
+     * copy process instances into the archive table
+     * @param ids process instance ids
+     * @return insert result
+     */
+    int archiveByIds(@Param("ids") int[] ids);
+
+    /**
+     * delete process instances by ids
+     * @param ids process instance ids
+     * @return delete result
+     */
+    int deleteByIds(@Param("ids") int[] ids);
+
+    /**
+     * query archived process instance detail info by id
+     * @param processId processId
+     * @return process instance
+     */
+    ProcessInstance queryArchivedDetailById(@Param("processId") int processId);
 }
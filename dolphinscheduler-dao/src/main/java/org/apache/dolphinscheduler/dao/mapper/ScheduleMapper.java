@@ -21,6 +21,7 @@ import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import org.apache.ibatis.annotations.Param;
 
+import java.util.Date;
 import java.util.List;
 
 /**
@@ -60,4 +61,35 @@ public interface ScheduleMapper extends BaseMapper<Schedule> {
      */
     List<Schedule> queryByProcessDefinitionId(@Param("processDefinitionId") int processDefinitionId);
 
+    /**
+     * query online schedules of online process definitions with their last fire time
+     * @return schedule list
+     */
+    List<Schedule> queryOnlineSchedules();
+
+    /**
+     * insert the last fire time of a schedule
+     * @param scheduleId scheduleId
+     * @param fireTime fireTime
+     * @return insert result
+     */
+    int insertFireTime(@Param("scheduleId") int scheduleId,
+                       @Param("fireTime") Date fireTime);
+
+    /**
+     * advance the last fire time of a schedule if it is before the fire time
+     * @param scheduleId scheduleId
+     * @param fireTime fireTime
+     * @return update result, 0 if the fire time is already claimed
+     */
+    int updateFireTime(@Param("scheduleId") int scheduleId,
+                       @Param("fireTime") Date fireTime);
+
+    /**
+     * delete the last fire time of a schedule
+     * @param scheduleId scheduleId
+     * @return delete result
+     */
+    int deleteFireTime(@Param("scheduleId") int scheduleId);
+
 }
@@ -25,6 +25,7 @@ import org.apache.dolphinscheduler.common.enums.Flag;
 import org.apache.dolphinscheduler.common.enums.UserType;
 import org.apache.ibatis.annotations.Param;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 
@@ -47,9 +48,14 @@ public interface TaskInstanceMapper extends BaseMapper<TaskInstance> {
                                        @Param("states") int[] stateArray,
                                        @Param("destStatus") ExecutionStatus destStatus);
 
+    int updateStateByIds(@Param("ids") int[] ids,
+                         @Param("destStatus") ExecutionStatus destStatus);
+
     TaskInstance queryByInstanceIdAndName(@Param("processInstanceId") int processInstanceId,
                                           @Param("name") String name);
 
+    List<TaskInstance> queryByProcessInstanceIds(@Param("processInstanceIds") int[] processInstanceIds);
+
     Integer countTask(
                       @Param("projectIds") Integer[] projectIds,
                       @Param("taskIds") int[] taskIds);
@@ -69,4 +75,36 @@ public interface TaskInstanceMapper extends BaseMapper<TaskInstance> {
                                                     @Param("startTime") Date startTime,
                                                     @Param("endTime") Date endTime
     );
+
+    List<TaskInstance> queryTaskInstanceListAfter(@Param("projectId") int projectId,
+                                                  @Param("processInstanceId") Integer processInstanceId,
+                                                  @Param("searchVal") String searchVal,
+                                                  @Param("taskName") String taskName,
+                                                  @Param("states") int[] statusArray,
+                                                  @Param("host") String host,
+                                                  @Param("startTime") Date startTime,
+                                                  @Param("endTime") Date endTime,
+                                                  @Param("afterStartTime") Date afterStartTime,
+                                                  @Param("afterId") int afterId,
+                                                  @Param("size") int size);
+
+    int countTaskInstanceList(@Param("projectId") int projectId,
+                              @Param("processInstanceId") Integer processInstanceId,
+                              @Param("searchVal") String searchVal,
+                              @Param("taskName") String taskName,
+                              @Param("states") int[] statusArray,
+                              @Param("host") String host,
+                              @Param("startTime") Date startTime,
+                              @Param("endTime") Date endTime);
+
+    int archiveByProcessInstanceIds(@Param("processInstanceIds") int[] processInstanceIds);
+
+    int deleteByProcessInstanceIds(@Param("processInstanceIds") int[] processInstanceIds);
+
+    TaskInstance queryArchivedById(@Param("taskInstanceId") int taskInstanceId);
+
+    List<TaskInstance> queryArchivedByIds(@Param("taskInstanceIds") Collection<Integer> taskInstanceIds);
+
+    List<TaskInstance> findValidArchivedTaskListByProcessId(@Param("processInstanceId") Integer processInstanceId,
+                                                            @Param("flag") Flag flag);
 }
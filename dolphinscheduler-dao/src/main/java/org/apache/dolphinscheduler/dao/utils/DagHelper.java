@@ -19,6 +19,7 @@ package org.apache.dolphinscheduler.dao.utils;
 
 import org.apache.dolphinscheduler.common.enums.TaskDependType;
 import org.apache.dolphinscheduler.common.graph.DAG;
+import org.apache.dolphinscheduler.common.graph.FrozenDAG;
 import org.apache.dolphinscheduler.common.model.TaskNode;
 import org.apache.dolphinscheduler.common.model.TaskNodeRelation;
 import org.apache.dolphinscheduler.common.process.ProcessDag;
@@ -237,6 +238,19 @@ public class DagHelper {
      */
     public static Collection<String> getStartVertex(String parentNodeName, DAG<String, TaskNode, TaskNodeRelation> dag,
                                                     Map<String, TaskInstance> completeTaskList){
+        return getStartVertex(parentNodeName, dag.freeze(), completeTaskList);
+    }
+
+    /**
+     * get start vertex in one frozen dag
+     * it would find the post node if the start vertex is forbidden running
+     * @param parentNodeName previous node
+     * @param dag frozen dag
+     * @param completeTaskList completeTaskList
+     * @return start Vertex list
+     */
+    public static Collection<String> getStartVertex(String parentNodeName, FrozenDAG<String, TaskNode, TaskNodeRelation> dag,
+                                                    Map<String, TaskInstance> completeTaskList){
 
         if(completeTaskList == null){
             completeTaskList = new HashMap<>();
@@ -282,6 +296,19 @@ public class DagHelper {
     public static boolean taskNodeCanSubmit(TaskNode taskNode,
                                             DAG<String, TaskNode, TaskNodeRelation> dag,
                                             Map<String, TaskInstance> completeTaskList) {
+        return taskNodeCanSubmit(taskNode, dag.freeze(), completeTaskList);
+    }
+
+    /**
+     * the task can be submit when  all the depends nodes are forbidden or complete
+     * @param taskNode taskNode
+     * @param dag frozen dag
+     * @param completeTaskList completeTaskList
+     * @return can submit
+     */
+    public static boolean taskNodeCanSubmit(TaskNode taskNode,
+                                            FrozenDAG<String, TaskNode, TaskNodeRelation> dag,
+                                            Map<String, TaskInstance> completeTaskList) {
 
         List<String> dependList = taskNode.getDepList();
         if(dependList == null){
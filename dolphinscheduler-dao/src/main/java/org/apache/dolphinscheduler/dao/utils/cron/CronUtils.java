@@ -21,6 +21,8 @@ import org.apache.dolphinscheduler.common.enums.CycleEnum;
 import org.apache.dolphinscheduler.common.thread.Stopper;
 import org.apache.dolphinscheduler.common.utils.DateUtils;
 import com.cronutils.model.Cron;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.cronutils.model.definition.CronDefinitionBuilder;
 import com.cronutils.parser.CronParser;
 import org.quartz.CronExpression;
@@ -44,6 +46,25 @@ public class CronUtils {
 
   private static final CronParser QUARTZ_CRON_PARSER = new CronParser(CronDefinitionBuilder.instanceDefinitionFor(QUARTZ));
 
+  /**
+   * max crontabs kept in the parsed cron cache
+   */
+  private static final int CRON_CACHE_MAX_SIZE = 10000;
+
+  /**
+   * parsed cron expressions, key is crontab. a parsed expression is only read, so it is shared
+   */
+  private static final Cache<String, CronExpression> CRON_EXPRESSION_CACHE = CacheBuilder.newBuilder()
+          .maximumSize(CRON_CACHE_MAX_SIZE)
+          .build();
+
+  /**
+   * min cycle of crontabs, key is crontab
+   */
+  private static final Cache<String, Optional<CycleEnum>> MINI_CYCLE_CACHE = CacheBuilder.newBuilder()
+          .maximumSize(CRON_CACHE_MAX_SIZE)
+          .build();
+
   /**
    * parse to cron
    * @param cronExpression cron expression, never null
@@ -64,6 +85,35 @@ public class CronUtils {
     return new CronExpression(cronExpression);
   }
 
+  /**
+   * get the cached cron expression of the crontab, parse it if absent
+   * @param crontab crontab
+   * @return CronExpression
+   * @throws ParseException if the crontab is invalid
+   */
+  public static CronExpression getCronExpression(String crontab) throws ParseException {
+    CronExpression cronExpression = CRON_EXPRESSION_CACHE.getIfPresent(crontab);
+    if (cronExpression == null) {
+      cronExpression = parse2CronExpression(crontab);
+      CRON_EXPRESSION_CACHE.put(crontab, cronExpression);
+    }
+    return cronExpression;
+  }
+
+  /**
+   * get the cached min cycle of the crontab
+   * @param crontab crontab
+   * @return CycleEnum, null if the crontab has no supported cycle
+   */
+  public static CycleEnum getMiniCycle(String crontab) {
+    Optional<CycleEnum> cycleEnum = MINI_CYCLE_CACHE.getIfPresent(crontab);
+    if (cycleEnum == null) {
+      cycleEnum = Optional.ofNullable(getMiniCycle(parse2Cron(crontab)));
+      MINI_CYCLE_CACHE.put(crontab, cycleEnum);
+    }
+    return cycleEnum.orElse(null);
+  }
+
   /**
    * get max cycle
    * @param cron cron
@@ -91,6 +141,70 @@ public class CronUtils {
     return getMaxCycle(parse2Cron(crontab));
   }
 
+  /**
+   * get the next fire time after the given time, the same as a quartz cron trigger
+   * starting at startTime and ending at endTime
+   * @param cronExpression cronExpression
+   * @param afterTime afterTime
+   * @param startTime startTime
+   * @param endTime endTime
+   * @return next fire time, null if the schedule ends before it
+   */
+  public static Date getNextFireTime(CronExpression cronExpression, Date afterTime, Date startTime, Date endTime) {
+    // a fire at the start time itself is valid, quartz looks for the first fire one second before it
+    Date firstAfterTime = new Date(startTime.getTime() - 1000L);
+    if (afterTime == null || afterTime.before(firstAfterTime)) {
+      afterTime = firstAfterTime;
+    }
+    Date nextFireTime = cronExpression.getNextValidTimeAfter(afterTime);
+    if (nextFireTime == null || (endTime != null && nextFireTime.after(endTime))) {
+      return null;
+    }
+    return nextFireTime;
+  }
+
+  /**
+   * get the last fire time in (startTime, endTime], the same as the last one of getFireDateList.
+   * it looks back from the end time in doubling windows, so only the fire times in the last window
+   * are computed instead of all the fire times of the period
+   * @param startTime startTime, exclusive
+   * @param endTime endTime, inclusive
+   * @param cronExpression cronExpression
+   * @return last fire time, null if there is none
+   */
+  public static Date getLastFireTime(Date startTime, Date endTime, CronExpression cronExpression) {
+    long window = 1000L;
+    while (true) {
+      Date from = new Date(Math.max(endTime.getTime() - window, startTime.getTime()));
+      Date fireTime = cronExpression.getNextValidTimeAfter(from);
+      if (fireTime != null && !fireTime.after(endTime)) {
+        // the last fire time is in (from, endTime]
+        Date nextFireTime = cronExpression.getNextValidTimeAfter(fireTime);
+        while (nextFireTime != null && !nextFireTime.after(endTime)) {
+          fireTime = nextFireTime;
+          nextFireTime = cronExpression.getNextValidTimeAfter(fireTime);
+        }
+        return fireTime;
+      }
+      if (from.getTime() <= startTime.getTime()) {
+        return null;
+      }
+      window *= 2;
+    }
+  }
+
+  /**
+   * get the last fire time in (startTime, endTime), the same as the last one of getSelfFireDateList
+   * @param startTime startTime, exclusive
+   * @param endTime endTime, exclusive
+   * @param cronExpression cronExpression
+   * @return last fire time, null if there is none
+   */
+  public static Date getLastSelfFireTime(Date startTime, Date endTime, CronExpression cronExpression) {
+    // fire times are whole seconds, so before the end time means not after one millisecond before it
+    return getLastFireTime(startTime, new Date(endTime.getTime() - 1), cronExpression);
+  }
+
   /**
    * gets all scheduled times for a period of time based on not self dependency
    * @param startTime startTime
@@ -17,6 +17,7 @@
 package org.apache.dolphinscheduler.dao.cron;
 
 import org.apache.dolphinscheduler.common.enums.CycleEnum;
+import org.apache.dolphinscheduler.common.utils.DateUtils;
 import org.apache.dolphinscheduler.dao.utils.cron.CronUtils;
 import com.cronutils.builder.CronBuilder;
 import com.cronutils.model.Cron;
@@ -27,10 +28,13 @@ import com.cronutils.model.field.CronFieldName;
 import com.cronutils.model.field.expression.*;
 import org.junit.Assert;
 import org.junit.Test;
+import org.quartz.CronExpression;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.text.ParseException;
+import java.util.Date;
+import java.util.List;
 
 import static com.cronutils.model.field.expression.FieldExpressionFactory.*;
 
@@ -180,4 +184,48 @@ public class CronUtilsTest {
             }
         }
     }
+
+    @Test
+    public void testGetNextFireTime() throws ParseException {
+        CronExpression cronExpression = CronUtils.parse2CronExpression("0 0 * * * ? *");
+        Date startTime = DateUtils.stringToDate("2019-01-01 10:00:00");
+        Date endTime = DateUtils.stringToDate("2019-01-01 12:00:00");
+
+        // the start time itself is the first fire time
+        Assert.assertEquals(startTime,
+                CronUtils.getNextFireTime(cronExpression, null, startTime, endTime));
+        Assert.assertEquals(startTime,
+                CronUtils.getNextFireTime(cronExpression, DateUtils.stringToDate("2018-12-31 00:00:00"), startTime, endTime));
+        Assert.assertEquals(DateUtils.stringToDate("2019-01-01 11:00:00"),
+                CronUtils.getNextFireTime(cronExpression, startTime, startTime, endTime));
+        // the end time itself is the last fire time
+        Assert.assertEquals(endTime,
+                CronUtils.getNextFireTime(cronExpression, DateUtils.stringToDate("2019-01-01 11:00:00"), startTime, endTime));
+        Assert.assertNull(CronUtils.getNextFireTime(cronExpression, endTime, startTime, endTime));
+    }
+
+    @Test
+    public void testGetLastFireTime() throws ParseException {
+        String[] crontabs = {"0 * * * * ? *", "0 0 * * * ? *", "0 30 2 * * ? *",
+                "0 0 0 ? * 2 *", "0 0 0 1 * ? *", "0 0 3,23 L * ? *"};
+        Date startTime = DateUtils.stringToDate("2019-01-01 00:00:00");
+        Date[] endTimes = {DateUtils.stringToDate("2019-02-01 00:00:00"),
+                DateUtils.stringToDate("2019-03-31 23:00:00"),
+                DateUtils.stringToDate("2019-12-25 02:30:00")};
+        for (String crontab : crontabs) {
+            CronExpression cronExpression = CronUtils.getCronExpression(crontab);
+            Assert.assertSame(cronExpression, CronUtils.getCronExpression(crontab));
+            for (Date endTime : endTimes) {
+                List<Date> fireDates = CronUtils.getFireDateList(startTime, endTime, cronExpression);
+                Assert.assertEquals(crontab, fireDates.isEmpty() ? null : fireDates.get(fireDates.size() - 1),
+                        CronUtils.getLastFireTime(startTime, endTime, cronExpression));
+                List<Date> selfFireDates = CronUtils.getSelfFireDateList(startTime, endTime, cronExpression);
+                Assert.assertEquals(crontab, selfFireDates.isEmpty() ? null : selfFireDates.get(selfFireDates.size() - 1),
+                        CronUtils.getLastSelfFireTime(startTime, endTime, cronExpression));
+            }
+        }
+        // no fire time in the period
+        CronExpression yearly = CronUtils.getCronExpression("0 0 0 1 1 ? *");
+        Assert.assertNull(CronUtils.getLastFireTime(startTime, DateUtils.stringToDate("2019-06-01 00:00:00"), yearly));
+    }
 }
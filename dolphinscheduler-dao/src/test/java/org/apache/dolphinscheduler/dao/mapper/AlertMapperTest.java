@@ -27,6 +27,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.junit4.SpringRunner;
 
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 
@@ -107,4 +108,48 @@ public class AlertMapperTest {
         Assert.assertNotEquals(alerts.size(), 0);
         alertMapper.deleteById(alert.getId());
     }
-}
\ No newline at end of file
+
+    /**
+     * test count duplicate alert
+     */
+    @Test
+    public void testCountDuplicateAlert() {
+        Alert alert = insertOne();
+        alert.setTitle("duplicate alert");
+        alertMapper.updateById(alert);
+
+        Alert duplicate = new Alert();
+        duplicate.setTitle(alert.getTitle());
+        duplicate.setContent(alert.getContent());
+        duplicate.setReceivers(alert.getReceivers());
+        duplicate.setAlertType(alert.getAlertType());
+        duplicate.setAlertGroupId(alert.getAlertGroupId());
+        Assert.assertEquals(1, alertMapper.countDuplicateAlert(AlertStatus.EXECUTION_SUCCESS, duplicate));
+        Assert.assertEquals(0, alertMapper.countDuplicateAlert(AlertStatus.WAIT_EXECUTION, duplicate));
+
+        duplicate.setProcessDefinitionId(1);
+        Assert.assertEquals(0, alertMapper.countDuplicateAlert(AlertStatus.EXECUTION_SUCCESS, duplicate));
+        duplicate.setProcessDefinitionId(null);
+
+        duplicate.setReceiversCc("xx@bb.com");
+        Assert.assertEquals(0, alertMapper.countDuplicateAlert(AlertStatus.EXECUTION_SUCCESS, duplicate));
+        alertMapper.deleteById(alert.getId());
+    }
+
+    /**
+     * test update alert status by ids
+     */
+    @Test
+    public void testUpdateAlertStatusByIds() {
+        Alert first = insertOne();
+        Alert second = insertOne();
+        int update = alertMapper.updateAlertStatusByIds(AlertStatus.EXECUTION_FAILURE, "aggregated",
+                new Date(), Arrays.asList(first.getId(), second.getId()));
+        Assert.assertEquals(2, update);
+        Alert alert = alertMapper.selectById(second.getId());
+        Assert.assertEquals(AlertStatus.EXECUTION_FAILURE, alert.getAlertStatus());
+        Assert.assertEquals("aggregated", alert.getLog());
+        alertMapper.deleteById(first.getId());
+        alertMapper.deleteById(second.getId());
+    }
+}
@@ -27,6 +27,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.junit4.SpringRunner;
 
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
@@ -173,4 +174,54 @@ public class CommandMapperTest {
         Assert.assertNotEquals(commandCounts.size(), 0);
         Assert.assertNotEquals(commandCounts2.size(), 0);
     }
-}
\ No newline at end of file
+
+    /**
+     * test batch insert
+     */
+    @Test
+    public void testBatchInsert() {
+        List<Command> commands = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Command command = new Command();
+            command.setCommandType(CommandType.RECOVER_TOLERANCE_FAULT_PROCESS);
+            command.setProcessDefinitionId(1);
+            command.setExecutorId(4);
+            command.setCommandParam("{\"ProcessInstanceId\":" + i + "}");
+            commands.add(command);
+        }
+        int insert = commandMapper.batchInsert(commands);
+
+        List<Command> inserted = commandMapper.selectList(null);
+        for (Command command : inserted) {
+            if (command.getCommandType() == CommandType.RECOVER_TOLERANCE_FAULT_PROCESS
+                    && command.getCommandParam() != null
+                    && command.getCommandParam().startsWith("{\"ProcessInstanceId\":")) {
+                commandMapper.deleteById(command.getId());
+            }
+        }
+        Assert.assertEquals(insert, 3);
+    }
+
+    /**
+     * test count by process instance id
+     */
+    @Test
+    public void testCountByProcessInstanceId() {
+        Command command = insertOne();
+        command.setCommandType(CommandType.REPEAT_RUNNING);
+        command.setProcessInstanceId(100000);
+        commandMapper.updateById(command);
+
+        int[] commandTypes = new int[]{CommandType.REPEAT_RUNNING.ordinal(),
+                CommandType.RECOVER_SUSPENDED_PROCESS.ordinal()};
+        int count = commandMapper.countByProcessInstanceId(100000, commandTypes);
+        int otherType = commandMapper.countByProcessInstanceId(100000,
+                new int[]{CommandType.START_FAILURE_TASK_PROCESS.ordinal()});
+        int otherInstance = commandMapper.countByProcessInstanceId(100001, commandTypes);
+        commandMapper.deleteById(command.getId());
+
+        Assert.assertEquals(1, count);
+        Assert.assertEquals(0, otherType);
+        Assert.assertEquals(0, otherInstance);
+    }
+}
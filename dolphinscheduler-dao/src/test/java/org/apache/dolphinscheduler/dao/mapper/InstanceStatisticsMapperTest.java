@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.dao.mapper;
+
+
+import org.apache.dolphinscheduler.common.enums.ExecutionStatus;
+import org.apache.dolphinscheduler.common.enums.InstanceType;
+import org.apache.dolphinscheduler.common.utils.DateUtils;
+import org.apache.dolphinscheduler.dao.entity.ExecuteStatusCount;
+import org.apache.dolphinscheduler.dao.entity.InstanceStatistics;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.Date;
+import java.util.List;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class InstanceStatisticsMapperTest {
+
+    @Autowired
+    InstanceStatisticsMapper instanceStatisticsMapper;
+
+    /**
+     * insert
+     * @param statHour stat hour
+     * @param state state
+     * @return InstanceStatistics
+     */
+    private InstanceStatistics insertOne(Date statHour, ExecutionStatus state){
+        InstanceStatistics instanceStatistics = new InstanceStatistics();
+        instanceStatistics.setInstanceType(InstanceType.PROCESS_INSTANCE);
+        instanceStatistics.setProjectId(11111);
+        instanceStatistics.setStatHour(statHour);
+        instanceStatistics.setState(state);
+        instanceStatistics.setInstanceCount(3);
+        instanceStatistics.setUpdateTime(new Date());
+        instanceStatisticsMapper.insert(instanceStatistics);
+        return instanceStatistics;
+    }
+
+    /**
+     * test count state by project
+     */
+    @Test
+    public void testCountStateByProject() {
+        Date statHour = DateUtils.getSomeHourOfDay(new Date(), 1000);
+        InstanceStatistics instanceStatistics = insertOne(statHour, ExecutionStatus.SUCCESS);
+
+        List<ExecuteStatusCount> counts = instanceStatisticsMapper.countStateByProject(
+                InstanceType.PROCESS_INSTANCE, statHour, DateUtils.getSomeHourOfDay(statHour, -1),
+                new Integer[]{11111});
+        Assert.assertEquals(1, counts.size());
+        Assert.assertEquals(3, counts.get(0).getCount());
+
+        instanceStatisticsMapper.deleteById(instanceStatistics.getId());
+    }
+
+    /**
+     * test delete by stat hour
+     */
+    @Test
+    public void testDeleteByStatHour() {
+        Date statHour = DateUtils.getSomeHourOfDay(new Date(), 1000);
+        insertOne(statHour, ExecutionStatus.SUCCESS);
+
+        int delete = instanceStatisticsMapper.deleteByStatHour(InstanceType.PROCESS_INSTANCE, statHour);
+        Assert.assertNotEquals(0, delete);
+    }
+
+    /**
+     * test query stat hours by states
+     */
+    @Test
+    public void testQueryStatHoursByStates() {
+        Date statHour = DateUtils.getSomeHourOfDay(new Date(), 1000);
+        InstanceStatistics instanceStatistics = insertOne(statHour, ExecutionStatus.RUNNING_EXEUTION);
+
+        List<Date> statHours = instanceStatisticsMapper.queryStatHoursByStates(InstanceType.PROCESS_INSTANCE,
+                new int[]{ExecutionStatus.RUNNING_EXEUTION.ordinal()}, new Date());
+        Assert.assertNotEquals(0, statHours.size());
+
+        instanceStatisticsMapper.deleteById(instanceStatistics.getId());
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.dao.mapper;
+
+
+import org.apache.dolphinscheduler.common.enums.LifecycleStage;
+import org.apache.dolphinscheduler.dao.entity.LifecycleEvent;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class LifecycleEventMapperTest {
+
+    @Autowired
+    LifecycleEventMapper lifecycleEventMapper;
+
+    /**
+     * test batch insert and query by process instance id
+     */
+    @Test
+    public void testBatchInsert() {
+        Date now = new Date();
+        LifecycleEvent queued = new LifecycleEvent(10000, 20000, LifecycleStage.TASK_QUEUED,
+                new Date(now.getTime() + 1), "127.0.0.1");
+        LifecycleEvent submitted = new LifecycleEvent(10000, 20000, LifecycleStage.TASK_SUBMITTED,
+                now, "127.0.0.1");
+        int insert = lifecycleEventMapper.batchInsert(Arrays.asList(queued, submitted));
+        Assert.assertEquals(2, insert);
+
+        List<LifecycleEvent> events = lifecycleEventMapper.queryByProcessInstanceId(10000);
+        Assert.assertEquals(2, events.size());
+        Assert.assertEquals(LifecycleStage.TASK_SUBMITTED, events.get(0).getStage());
+        Assert.assertEquals(LifecycleStage.TASK_QUEUED, events.get(1).getStage());
+
+        lifecycleEventMapper.deleteByProcessInstanceId(10000);
+    }
+
+    /**
+     * test delete by process instance id
+     */
+    @Test
+    public void testDeleteByProcessInstanceId() {
+        lifecycleEventMapper.batchInsert(Arrays.asList(
+                new LifecycleEvent(10001, 0, LifecycleStage.COMMAND_CLAIMED, new Date(), "127.0.0.1"),
+                new LifecycleEvent(10002, 0, LifecycleStage.COMMAND_CLAIMED, new Date(), "127.0.0.1")));
+
+        int delete = lifecycleEventMapper.deleteByProcessInstanceId(10001);
+        Assert.assertEquals(1, delete);
+        Assert.assertEquals(1, lifecycleEventMapper.queryByProcessInstanceId(10002).size());
+
+        lifecycleEventMapper.deleteByProcessInstanceId(10002);
+    }
+
+    /**
+     * test delete by process instance ids
+     */
+    @Test
+    public void testDeleteByProcessInstanceIds() {
+        lifecycleEventMapper.batchInsert(Arrays.asList(
+                new LifecycleEvent(10003, 0, LifecycleStage.COMMAND_CLAIMED, new Date(), "127.0.0.1"),
+                new LifecycleEvent(10004, 30000, LifecycleStage.TASK_QUEUED, new Date(), "127.0.0.1"),
+                new LifecycleEvent(10005, 0, LifecycleStage.COMMAND_CLAIMED, new Date(), "127.0.0.1")));
+
+        int delete = lifecycleEventMapper.deleteByProcessInstanceIds(new int[]{10003, 10004});
+        Assert.assertEquals(2, delete);
+        Assert.assertEquals(1, lifecycleEventMapper.queryByProcessInstanceId(10005).size());
+
+        lifecycleEventMapper.deleteByProcessInstanceId(10005);
+    }
+
+    /**
+     * test query ids before the event time
+     */
+    @Test
+    public void testQueryIdsBefore() {
+        Date old = new Date(2019-1900, 1-1, 1, 0, 0, 0);
+        lifecycleEventMapper.batchInsert(Arrays.asList(
+                new LifecycleEvent(10006, 0, LifecycleStage.COMMAND_CLAIMED, old, "127.0.0.1"),
+                new LifecycleEvent(10006, 0, LifecycleStage.PROCESS_FINISHED, new Date(), "127.0.0.1")));
+
+        List<Integer> ids = lifecycleEventMapper.queryIdsBefore(new Date(2019-1900, 1-1, 2, 0, 0, 0), 100);
+        List<LifecycleEvent> events = lifecycleEventMapper.queryByProcessInstanceId(10006);
+        lifecycleEventMapper.deleteByProcessInstanceId(10006);
+
+        Assert.assertTrue(ids.contains(events.get(0).getId()));
+        Assert.assertFalse(ids.contains(events.get(1).getId()));
+    }
+}
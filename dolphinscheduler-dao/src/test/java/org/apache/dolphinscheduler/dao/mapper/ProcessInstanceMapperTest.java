@@ -29,6 +29,7 @@ import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Date;
 import java.util.List;
@@ -176,6 +177,47 @@ public class ProcessInstanceMapperTest {
         processInstanceMapper.deleteById(processInstance.getId());
     }
 
+    /**
+     * test query process instance list after the last row of the previous page
+     */
+    @Test
+    public void testQueryProcessInstanceListAfter() {
+        ProcessDefinition processDefinition = new ProcessDefinition();
+        processDefinition.setProjectId(1011);
+        processDefinition.setReleaseState(ReleaseState.ONLINE);
+        processDefinitionMapper.insert(processDefinition);
+
+        ProcessInstance first = insertOne();
+        first.setProcessDefinitionId(processDefinition.getId());
+        first.setIsSubProcess(Flag.NO);
+        processInstanceMapper.updateById(first);
+        ProcessInstance second = insertOne();
+        second.setProcessDefinitionId(processDefinition.getId());
+        second.setIsSubProcess(Flag.NO);
+        processInstanceMapper.updateById(second);
+
+        // same start time, the page is ordered by id descending
+        List<ProcessInstance> firstPage = processInstanceMapper.queryProcessInstanceListAfter(
+                processDefinition.getProjectId(), 0, null, null, null, null, null,
+                null, 0, 1);
+        Assert.assertEquals(1, firstPage.size());
+        Assert.assertEquals(second.getId(), firstPage.get(0).getId());
+
+        List<ProcessInstance> secondPage = processInstanceMapper.queryProcessInstanceListAfter(
+                processDefinition.getProjectId(), 0, null, null, null, null, null,
+                second.getStartTime(), second.getId(), 1);
+        Assert.assertEquals(1, secondPage.size());
+        Assert.assertEquals(first.getId(), secondPage.get(0).getId());
+
+        int count = processInstanceMapper.countProcessInstanceList(
+                processDefinition.getProjectId(), 0, null, null, null, null, null);
+        Assert.assertEquals(2, count);
+
+        processDefinitionMapper.deleteById(processDefinition.getId());
+        processInstanceMapper.deleteById(first.getId());
+        processInstanceMapper.deleteById(second.getId());
+    }
+
     /**
      * test set failover by host and state
      */
@@ -200,6 +242,23 @@ public class ProcessInstanceMapperTest {
         processInstanceMapper.deleteById(processInstance.getId());
     }
 
+    /**
+     * test update host by ids
+     */
+    @Test
+    public void testUpdateHostByIds() {
+        ProcessInstance processInstance = insertOne();
+        processInstance.setHost("192.168.2.220");
+        processInstanceMapper.updateById(processInstance);
+
+        int update = processInstanceMapper.updateHostByIds(new int[]{processInstance.getId()}, "null");
+        Assert.assertEquals(update, 1);
+
+        processInstance = processInstanceMapper.selectById(processInstance.getId());
+        Assert.assertEquals(processInstance.getHost(), "null");
+        processInstanceMapper.deleteById(processInstance.getId());
+    }
+
     /**
      * test update process instance by state
      */
@@ -324,4 +383,29 @@ public class ProcessInstanceMapperTest {
         processInstanceMapper.deleteById(processInstance.getId());
 
     }
-}
\ No newline at end of file
+
+    /**
+     * test archive finished process instances, rolled back as the archive table is not cleaned otherwise
+     */
+    @Test
+    @Transactional
+    public void testArchiveByIds() {
+        ProcessInstance processInstance = insertOne();
+        processInstance.setState(ExecutionStatus.SUCCESS);
+        processInstanceMapper.updateById(processInstance);
+
+        int[] stateArray = new int[]{ExecutionStatus.SUCCESS.ordinal()};
+        Date endTime = new Date(2019-1900, 1-1, 1, 2, 0, 0);
+        List<Integer> ids = processInstanceMapper.queryArchivableIds(endTime, stateArray, 100);
+        Assert.assertTrue(ids.contains(processInstance.getId()));
+
+        int[] archiveIds = new int[]{processInstance.getId()};
+        Assert.assertEquals(1, processInstanceMapper.archiveByIds(archiveIds));
+        Assert.assertEquals(1, processInstanceMapper.deleteByIds(archiveIds));
+
+        Assert.assertNull(processInstanceMapper.queryDetailById(processInstance.getId()));
+        ProcessInstance archived = processInstanceMapper.queryArchivedDetailById(processInstance.getId());
+        Assert.assertNotNull(archived);
+        Assert.assertEquals(ExecutionStatus.SUCCESS, archived.getState());
+    }
+}
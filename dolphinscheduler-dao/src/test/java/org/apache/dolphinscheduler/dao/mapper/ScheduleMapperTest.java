@@ -215,4 +215,44 @@ public class ScheduleMapperTest {
         scheduleMapper.deleteById(schedule.getId());
         Assert.assertNotEquals(schedules.size(), 0);
     }
-}
\ No newline at end of file
+
+    /**
+     * test query online schedules and claim their fire times
+     */
+    @Test
+    public void testQueryOnlineSchedulesAndUpdateFireTime() {
+        ProcessDefinition processDefinition = new ProcessDefinition();
+        processDefinition.setName("def 1");
+        processDefinition.setReleaseState(ReleaseState.ONLINE);
+        processDefinition.setUpdateTime(new Date());
+        processDefinition.setCreateTime(new Date());
+        processDefinition.setLocations("");
+        processDefinitionMapper.insert(processDefinition);
+
+        Schedule schedule = insertOne();
+        schedule.setProcessDefinitionId(processDefinition.getId());
+        schedule.setReleaseState(ReleaseState.ONLINE);
+        scheduleMapper.updateById(schedule);
+
+        Date fireTime = new Date(System.currentTimeMillis() / 1000 * 1000);
+        Assert.assertEquals(1, scheduleMapper.insertFireTime(schedule.getId(), fireTime));
+        // a fire time is claimed only once
+        Date nextFireTime = new Date(fireTime.getTime() + 60000);
+        Assert.assertEquals(1, scheduleMapper.updateFireTime(schedule.getId(), nextFireTime));
+        Assert.assertEquals(0, scheduleMapper.updateFireTime(schedule.getId(), nextFireTime));
+        Assert.assertEquals(0, scheduleMapper.updateFireTime(schedule.getId(), fireTime));
+
+        List<Schedule> schedules = scheduleMapper.queryOnlineSchedules();
+        Assert.assertEquals(1, scheduleMapper.deleteFireTime(schedule.getId()));
+        scheduleMapper.deleteById(schedule.getId());
+        processDefinitionMapper.deleteById(processDefinition.getId());
+        Schedule onlineSchedule = null;
+        for (Schedule s : schedules) {
+            if (s.getId() == schedule.getId()) {
+                onlineSchedule = s;
+            }
+        }
+        Assert.assertNotNull(onlineSchedule);
+        Assert.assertEquals(nextFireTime, onlineSchedule.getLastFireTime());
+    }
+}
@@ -33,7 +33,9 @@ import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 
@@ -182,6 +184,25 @@ public class TaskInstanceMapperTest {
         Assert.assertNotEquals(setResult, 0);
     }
 
+    /**
+     * test update state by ids
+     */
+    @Test
+    public void testUpdateStateByIds() {
+        TaskInstance task = insertOne();
+        TaskInstance task2 = insertOne();
+
+        int update = taskInstanceMapper.updateStateByIds(
+                new int[]{task.getId(), task2.getId()},
+                ExecutionStatus.NEED_FAULT_TOLERANCE
+        );
+        TaskInstance queryTask = taskInstanceMapper.selectById(task2.getId());
+        taskInstanceMapper.deleteById(task.getId());
+        taskInstanceMapper.deleteById(task2.getId());
+        Assert.assertEquals(update, 2);
+        Assert.assertEquals(queryTask.getState(), ExecutionStatus.NEED_FAULT_TOLERANCE);
+    }
+
     /**
      * test query by task instance id and name
      */
@@ -199,6 +220,28 @@ public class TaskInstanceMapperTest {
         Assert.assertNotEquals(taskInstance, null);
     }
 
+    /**
+     * test query by process instance ids
+     */
+    @Test
+    public void testQueryByProcessInstanceIds() {
+        ProcessInstance processInstance = new ProcessInstance();
+        processInstance.setName("ut process");
+        processInstanceMapper.insert(processInstance);
+
+        TaskInstance task = insertOne();
+        task.setProcessInstanceId(processInstance.getId());
+        taskInstanceMapper.updateById(task);
+
+        List<TaskInstance> taskInstances = taskInstanceMapper.queryByProcessInstanceIds(
+                new int[]{processInstance.getId()}
+        );
+        taskInstanceMapper.deleteById(task.getId());
+        processInstanceMapper.deleteById(processInstance.getId());
+        Assert.assertEquals(1, taskInstances.size());
+        Assert.assertEquals(task.getName(), taskInstances.get(0).getName());
+    }
+
     /**
      * test count task instance
      */
@@ -292,4 +335,30 @@ public class TaskInstanceMapperTest {
         Assert.assertNotEquals(taskInstanceIPage.getTotal(), 0);
 
     }
-}
\ No newline at end of file
+
+    /**
+     * test archive task instances by process instance ids, rolled back as the archive table is not cleaned otherwise
+     */
+    @Test
+    @Transactional
+    public void testArchiveByProcessInstanceIds() {
+        ProcessInstance processInstance = new ProcessInstance();
+        processInstance.setCommandType(CommandType.START_PROCESS);
+        processInstanceMapper.insert(processInstance);
+
+        TaskInstance task = insertOne();
+        task.setProcessInstanceId(processInstance.getId());
+        taskInstanceMapper.updateById(task);
+
+        int[] processInstanceIds = new int[]{processInstance.getId()};
+        Assert.assertEquals(1, taskInstanceMapper.archiveByProcessInstanceIds(processInstanceIds));
+        Assert.assertEquals(1, taskInstanceMapper.deleteByProcessInstanceIds(processInstanceIds));
+
+        Assert.assertNull(taskInstanceMapper.selectById(task.getId()));
+        Assert.assertNotNull(taskInstanceMapper.queryArchivedById(task.getId()));
+        Assert.assertEquals(1, taskInstanceMapper.queryArchivedByIds(
+                Collections.singletonList(task.getId())).size());
+        Assert.assertEquals(1, taskInstanceMapper.findValidArchivedTaskListByProcessId(
+                processInstance.getId(), Flag.YES).size());
+    }
+}
@@ -20,16 +20,21 @@ import org.apache.commons.configuration.ConfigurationException;
 import org.apache.commons.configuration.PropertiesConfiguration;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.dolphinscheduler.common.Constants;
+import org.apache.dolphinscheduler.common.metrics.MetricsServer;
 import org.apache.dolphinscheduler.common.thread.Stopper;
 import org.apache.dolphinscheduler.common.thread.ThreadPoolExecutors;
 import org.apache.dolphinscheduler.common.thread.ThreadUtils;
 import org.apache.dolphinscheduler.common.utils.OSUtils;
 import org.apache.dolphinscheduler.dao.ProcessDao;
+import org.apache.dolphinscheduler.server.master.runner.InstanceArchiveThread;
+import org.apache.dolphinscheduler.server.master.runner.InstanceStatisticsThread;
+import org.apache.dolphinscheduler.server.master.runner.LifecycleEventPurgeThread;
 import org.apache.dolphinscheduler.server.master.runner.MasterSchedulerThread;
-import org.apache.dolphinscheduler.server.quartz.ProcessScheduleJob;
-import org.apache.dolphinscheduler.server.quartz.QuartzExecutors;
+import org.apache.dolphinscheduler.server.master.runner.TaskWatchEngine;
+import org.apache.dolphinscheduler.server.master.schedule.QuartzScheduleEngine;
+import org.apache.dolphinscheduler.server.master.schedule.ScheduleEngine;
+import org.apache.dolphinscheduler.server.master.schedule.TimingWheelScheduleEngine;
 import org.apache.dolphinscheduler.server.zk.ZKMasterClient;
-import org.quartz.SchedulerException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -73,6 +78,26 @@ public class MasterServer extends AbstractServer {
      */
     private ExecutorService masterSchedulerService;
 
+    /**
+     *  instance statistics thread pool
+     */
+    private ScheduledExecutorService statisticsService;
+
+    /**
+     *  instance archive and lifecycle event purge thread pool
+     */
+    private ScheduledExecutorService archiveService;
+
+    /**
+     *  schedule engine firing the online schedules
+     */
+    private ScheduleEngine scheduleEngine;
+
+    /**
+     *  metrics server
+     */
+    private MetricsServer metricsServer;
+
 
     /**
      * master server startup
@@ -98,6 +123,9 @@ public class MasterServer extends AbstractServer {
             System.exit(1);
         }
 
+        metricsServer = MetricsServer.start(conf.getInt(Constants.MASTER_METRICS_PORT,
+                Constants.defaultMasterMetricsPort));
+
         masterSchedulerService = ThreadUtils.newDaemonSingleThreadExecutor("Master-Scheduler-Thread");
 
         zkMasterClient = ZKMasterClient.getZKMasterClient(processDao);
@@ -132,18 +160,63 @@ public class MasterServer extends AbstractServer {
         // submit master scheduler thread
         masterSchedulerService.execute(masterSchedulerThread);
 
-        // start QuartzExecutors
+        // instance statistics refresh
+        int statisticsRefreshInterval = conf.getInt(Constants.MASTER_STATISTICS_REFRESH_INTERVAL,
+                Constants.defaultMasterStatisticsRefreshInterval);
+        int statisticsRefreshWindow = conf.getInt(Constants.MASTER_STATISTICS_REFRESH_WINDOW,
+                Constants.defaultMasterStatisticsRefreshWindow);
+        int statisticsReconcileDays = conf.getInt(Constants.MASTER_STATISTICS_RECONCILE_DAYS,
+                Constants.defaultMasterStatisticsReconcileDays);
+        statisticsService = ThreadUtils.newDaemonThreadScheduledExecutor("Master-Statistics-Thread",
+                Constants.defaultMasterStatisticsThreadNum);
+        statisticsService.scheduleWithFixedDelay(
+                new InstanceStatisticsThread(zkMasterClient, processDao,
+                        statisticsRefreshWindow, statisticsReconcileDays),
+                statisticsRefreshInterval, statisticsRefreshInterval, TimeUnit.SECONDS);
+
+        // archive finished instances older than the retention and purge the old lifecycle events
+        boolean archiveEnable = conf.getBoolean(Constants.MASTER_ARCHIVE_ENABLE, Constants.defaultMasterArchiveEnable);
+        int lifecycleRetentionDays = conf.getInt(Constants.MASTER_LIFECYCLE_RETENTION_DAYS,
+                Constants.defaultMasterLifecycleRetentionDays);
+        if (archiveEnable || lifecycleRetentionDays > 0) {
+            int archiveInterval = conf.getInt(Constants.MASTER_ARCHIVE_INTERVAL,
+                    Constants.defaultMasterArchiveInterval);
+            int archiveBatchSize = conf.getInt(Constants.MASTER_ARCHIVE_BATCH_SIZE,
+                    Constants.defaultMasterArchiveBatchSize);
+            archiveService = ThreadUtils.newDaemonThreadScheduledExecutor("Master-Archive-Thread",
+                    Constants.defaultMasterArchiveThreadNum);
+            if (archiveEnable) {
+                int archiveRetentionDays = conf.getInt(Constants.MASTER_ARCHIVE_RETENTION_DAYS,
+                        Constants.defaultMasterArchiveRetentionDays);
+                archiveService.scheduleWithFixedDelay(
+                        new InstanceArchiveThread(zkMasterClient, processDao, archiveRetentionDays, archiveBatchSize),
+                        archiveInterval, archiveInterval, TimeUnit.SECONDS);
+            }
+            if (lifecycleRetentionDays > 0) {
+                archiveService.scheduleWithFixedDelay(
+                        new LifecycleEventPurgeThread(zkMasterClient, processDao, lifecycleRetentionDays, archiveBatchSize),
+                        archiveInterval, archiveInterval, TimeUnit.SECONDS);
+            }
+        }
+
+        // start schedule engine, clustered quartz by default
         // what system should do if exception
+        String scheduleEngineType = conf.getString(Constants.MASTER_SCHEDULE_ENGINE,
+                Constants.defaultMasterScheduleEngine);
+        if (Constants.SCHEDULE_ENGINE_TIMING_WHEEL.equalsIgnoreCase(scheduleEngineType)) {
+            scheduleEngine = new TimingWheelScheduleEngine(zkMasterClient, processDao, conf);
+        } else {
+            scheduleEngine = new QuartzScheduleEngine(processDao, conf);
+        }
         try {
-            ProcessScheduleJob.init(processDao);
-            QuartzExecutors.getInstance().start();
+            scheduleEngine.start();
         } catch (Exception e) {
             try {
-                QuartzExecutors.getInstance().shutdown();
-            } catch (SchedulerException e1) {
-                logger.error("QuartzExecutors shutdown failed : " + e1.getMessage(), e1);
+                scheduleEngine.shutdown();
+            } catch (Exception e1) {
+                logger.error("schedule engine shutdown failed : " + e1.getMessage(), e1);
             }
-            logger.error("start Quartz failed : " + e.getMessage(), e);
+            logger.error("start schedule engine {} failed : {}", scheduleEngineType, e.getMessage(), e);
         }
 
 
@@ -197,14 +270,16 @@ public class MasterServer extends AbstractServer {
 
             logger.info("heartbeat service stopped");
 
-            //close quartz
+            //close schedule engine
             try{
-                QuartzExecutors.getInstance().shutdown();
+                if(scheduleEngine != null){
+                    scheduleEngine.shutdown();
+                }
             }catch (Exception e){
-                logger.warn("Quartz service stopped exception:{}",e.getMessage());
+                logger.warn("schedule engine stopped exception:{}",e.getMessage());
             }
 
-            logger.info("Quartz service stopped");
+            logger.info("schedule engine stopped");
 
             try {
                 ThreadPoolExecutors.getInstance().shutdown();
@@ -222,6 +297,32 @@ public class MasterServer extends AbstractServer {
 
             logger.info("master scheduler service stopped");
 
+            try {
+                statisticsService.shutdownNow();
+            }catch (Exception e){
+                logger.warn("statistics service stopped exception:{}",e.getMessage());
+            }
+
+            logger.info("statistics service stopped");
+
+            try {
+                if(archiveService != null){
+                    archiveService.shutdownNow();
+                }
+            }catch (Exception e){
+                logger.warn("archive service stopped exception:{}",e.getMessage());
+            }
+
+            logger.info("archive service stopped");
+
+            try {
+                TaskWatchEngine.getInstance().shutdown();
+            }catch (Exception e){
+                logger.warn("task watch engine stopped exception:{}",e.getMessage());
+            }
+
+            logger.info("task watch engine stopped");
+
             try {
                 zkMasterClient.close();
             }catch (Exception e){
@@ -230,6 +331,14 @@ public class MasterServer extends AbstractServer {
 
             logger.info("zookeeper service stopped");
 
+            try {
+                if(metricsServer != null){
+                    metricsServer.stop();
+                }
+            }catch (Exception e){
+                logger.warn("metrics server stopped exception:{}",e.getMessage());
+            }
+
 
         } catch (Exception e) {
             logger.error("master server stop exception : " + e.getMessage(), e);
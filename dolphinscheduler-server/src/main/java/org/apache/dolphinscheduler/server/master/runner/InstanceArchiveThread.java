@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.server.master.runner;
+
+import org.apache.curator.framework.imps.CuratorFrameworkState;
+import org.apache.curator.framework.recipes.locks.InterProcessMutex;
+import org.apache.dolphinscheduler.common.thread.Stopper;
+import org.apache.dolphinscheduler.common.utils.DateUtils;
+import org.apache.dolphinscheduler.common.zk.AbstractZKClient;
+import org.apache.dolphinscheduler.dao.ProcessDao;
+import org.apache.dolphinscheduler.server.zk.ZKMasterClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Date;
+
+/**
+ * instance archive thread, moves finished process and task instances older than the retention
+ * from the hot tables into the archive tables in bounded batches.
+ *
+ * note: the dependent tasks of a complement run whose business date is more than (retention - 62) days
+ * ago find no upstream instance, so the retention must cover the oldest business date to complement
+ */
+public class InstanceArchiveThread implements Runnable {
+
+    /**
+     * logger of InstanceArchiveThread
+     */
+    private static final Logger logger = LoggerFactory.getLogger(InstanceArchiveThread.class);
+
+    /**
+     * dependent tasks only query the hot tables, the last month and last month begin intervals
+     * of a dependent task reach back up to 62 days from its business date
+     */
+    private static final int MIN_RETENTION_DAYS = 62;
+
+    /**
+     * dolphinscheduler database interface
+     */
+    private final ProcessDao processDao;
+
+    /**
+     * zookeeper master client
+     */
+    private final ZKMasterClient zkMasterClient;
+
+    /**
+     * days finished instances stay in the hot tables
+     */
+    private final int retentionDays;
+
+    /**
+     * process instances archived in one transaction
+     */
+    private final int batchSize;
+
+    /**
+     * constructor of InstanceArchiveThread
+     * @param zkMasterClient zookeeper master client
+     * @param processDao process dao
+     * @param retentionDays retention days
+     * @param batchSize batch size
+     */
+    public InstanceArchiveThread(ZKMasterClient zkMasterClient, ProcessDao processDao, int retentionDays, int batchSize){
+        this.zkMasterClient = zkMasterClient;
+        this.processDao = processDao;
+        if(retentionDays < MIN_RETENTION_DAYS){
+            logger.warn("archive retention days {} is less than {}, use {}", retentionDays,
+                    MIN_RETENTION_DAYS, MIN_RETENTION_DAYS);
+            retentionDays = MIN_RETENTION_DAYS;
+        }
+        this.retentionDays = retentionDays;
+        this.batchSize = Math.max(batchSize, 1);
+    }
+
+    @Override
+    public void run() {
+        if(!Stopper.isRunning()
+                || zkMasterClient.getZkClient().getState() != CuratorFrameworkState.STARTED){
+            return;
+        }
+
+        InterProcessMutex mutex = null;
+        try {
+            // only one master archives at the same time
+            mutex = zkMasterClient.acquireZkLock(zkMasterClient.getZkClient(),
+                    zkMasterClient.getArchiveLockPath());
+
+            Date endTime = DateUtils.getSomeDay(new Date(), -retentionDays);
+            int archived = 0;
+            while(Stopper.isRunning()){
+                int[] ids = processDao.findArchivableProcessInstanceIds(endTime, batchSize);
+                if(ids.length == 0){
+                    break;
+                }
+                archived += processDao.archiveProcessInstances(ids);
+                if(ids.length < batchSize){
+                    break;
+                }
+            }
+            logger.info("archive {} process instances finished before {}", archived, endTime);
+        }catch (Exception e){
+            logger.error("instance archive thread exception : " + e.getMessage(), e);
+        }finally {
+            AbstractZKClient.releaseMutex(mutex);
+        }
+    }
+}
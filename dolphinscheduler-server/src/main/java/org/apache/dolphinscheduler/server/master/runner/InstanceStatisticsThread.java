@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.server.master.runner;
+
+import org.apache.curator.framework.imps.CuratorFrameworkState;
+import org.apache.curator.framework.recipes.locks.InterProcessMutex;
+import org.apache.dolphinscheduler.common.thread.Stopper;
+import org.apache.dolphinscheduler.common.utils.DateUtils;
+import org.apache.dolphinscheduler.common.zk.AbstractZKClient;
+import org.apache.dolphinscheduler.dao.ProcessDao;
+import org.apache.dolphinscheduler.server.zk.ZKMasterClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * instance statistics thread, rolls up process and task instance states per project and hour.
+ *
+ * a rerun moves the start time of a process instance and a recovery changes the state of an instance
+ * whose hour may hold finished states only, such an hour is rebuilt by the reconciliation, which walks
+ * back through the reconcile days before the refresh window a few hours per refresh
+ */
+public class InstanceStatisticsThread implements Runnable {
+
+    /**
+     * logger of InstanceStatisticsThread
+     */
+    private static final Logger logger = LoggerFactory.getLogger(InstanceStatisticsThread.class);
+
+    /**
+     * hours rebuilt by the reconciliation on each refresh
+     */
+    private static final int RECONCILE_HOURS = 24;
+
+    /**
+     * dolphinscheduler database interface
+     */
+    private final ProcessDao processDao;
+
+    /**
+     * zookeeper master client
+     */
+    private final ZKMasterClient zkMasterClient;
+
+    /**
+     * hours before the current hour that are always rebuilt
+     */
+    private final int windowHours;
+
+    /**
+     * days before the refresh window rebuilt by the reconciliation
+     */
+    private final int reconcileDays;
+
+    /**
+     * last hour rebuilt by this master
+     */
+    private Date lastRefreshHour;
+
+    /**
+     * next hour rebuilt by the reconciliation
+     */
+    private Date reconcileHour;
+
+    /**
+     * constructor of InstanceStatisticsThread
+     * @param zkMasterClient zookeeper master client
+     * @param processDao process dao
+     * @param windowHours refresh window hours
+     * @param reconcileDays reconcile days
+     */
+    public InstanceStatisticsThread(ZKMasterClient zkMasterClient, ProcessDao processDao,
+                                    int windowHours, int reconcileDays){
+        this.zkMasterClient = zkMasterClient;
+        this.processDao = processDao;
+        this.windowHours = windowHours;
+        this.reconcileDays = reconcileDays;
+    }
+
+    @Override
+    public void run() {
+        if(!Stopper.isRunning()
+                || zkMasterClient.getZkClient().getState() != CuratorFrameworkState.STARTED){
+            return;
+        }
+
+        InterProcessMutex mutex = null;
+        try {
+            // only one master refreshes the statistics at the same time
+            mutex = zkMasterClient.acquireZkLock(zkMasterClient.getZkClient(),
+                    zkMasterClient.getStatisticsLockPath());
+
+            TreeSet<Date> statHours = new TreeSet<>(
+                    processDao.findInstanceStatisticsHoursToRefresh(lastRefreshHour, windowHours));
+            statHours.addAll(nextReconcileHours(new Date()));
+            for(Date statHour : statHours){
+                if(!Stopper.isRunning()){
+                    break;
+                }
+                try {
+                    processDao.refreshInstanceStatistics(statHour);
+                    if(lastRefreshHour == null || statHour.after(lastRefreshHour)){
+                        lastRefreshHour = statHour;
+                    }
+                }catch (Exception e){
+                    logger.error("refresh instance statistics of hour {} failed", statHour, e);
+                }
+            }
+            logger.info("refresh instance statistics of {} hours", statHours.size());
+        }catch (Exception e){
+            logger.error("instance statistics thread exception : " + e.getMessage(), e);
+        }finally {
+            AbstractZKClient.releaseMutex(mutex);
+        }
+    }
+
+    /**
+     * get the hours rebuilt by the reconciliation this time, walking back from the refresh window
+     * to the start of the reconcile days and then again
+     * @param now current time
+     * @return reconcile hours
+     */
+    private List<Date> nextReconcileHours(Date now){
+        List<Date> hours = new ArrayList<>(RECONCILE_HOURS);
+        if(reconcileDays <= 0){
+            return hours;
+        }
+        Date windowStart = DateUtils.getSomeHourOfDay(now, windowHours);
+        Date reconcileStart = DateUtils.getSomeHourOfDay(windowStart, reconcileDays * 24);
+        for(int i = 0; i < RECONCILE_HOURS; i++){
+            if(reconcileHour == null || !reconcileHour.before(windowStart) || reconcileHour.before(reconcileStart)){
+                reconcileHour = DateUtils.getSomeHourOfDay(windowStart, 1);
+            }
+            hours.add(reconcileHour);
+            reconcileHour = DateUtils.getSomeHourOfDay(reconcileHour, 1);
+        }
+        return hours;
+    }
+}
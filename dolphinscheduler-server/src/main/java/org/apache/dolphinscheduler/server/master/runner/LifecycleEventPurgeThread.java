@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.server.master.runner;
+
+import org.apache.curator.framework.imps.CuratorFrameworkState;
+import org.apache.curator.framework.recipes.locks.InterProcessMutex;
+import org.apache.dolphinscheduler.common.thread.Stopper;
+import org.apache.dolphinscheduler.common.utils.DateUtils;
+import org.apache.dolphinscheduler.common.zk.AbstractZKClient;
+import org.apache.dolphinscheduler.dao.ProcessDao;
+import org.apache.dolphinscheduler.server.zk.ZKMasterClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Date;
+
+/**
+ * lifecycle event purge thread, deletes the lifecycle events older than the retention in bounded batches,
+ * the events of archived instances are already deleted with them, this covers the rest
+ */
+public class LifecycleEventPurgeThread implements Runnable {
+
+    /**
+     * logger of LifecycleEventPurgeThread
+     */
+    private static final Logger logger = LoggerFactory.getLogger(LifecycleEventPurgeThread.class);
+
+    /**
+     * dolphinscheduler database interface
+     */
+    private final ProcessDao processDao;
+
+    /**
+     * zookeeper master client
+     */
+    private final ZKMasterClient zkMasterClient;
+
+    /**
+     * days lifecycle events are kept
+     */
+    private final int retentionDays;
+
+    /**
+     * events deleted in one statement
+     */
+    private final int batchSize;
+
+    /**
+     * constructor of LifecycleEventPurgeThread
+     * @param zkMasterClient zookeeper master client
+     * @param processDao process dao
+     * @param retentionDays retention days
+     * @param batchSize batch size
+     */
+    public LifecycleEventPurgeThread(ZKMasterClient zkMasterClient, ProcessDao processDao, int retentionDays, int batchSize){
+        this.zkMasterClient = zkMasterClient;
+        this.processDao = processDao;
+        this.retentionDays = retentionDays;
+        this.batchSize = Math.max(batchSize, 1);
+    }
+
+    @Override
+    public void run() {
+        if(!Stopper.isRunning()
+                || zkMasterClient.getZkClient().getState() != CuratorFrameworkState.STARTED){
+            return;
+        }
+
+        InterProcessMutex mutex = null;
+        try {
+            // shares the archive lock, only one master cleans up the history at the same time
+            mutex = zkMasterClient.acquireZkLock(zkMasterClient.getZkClient(),
+                    zkMasterClient.getArchiveLockPath());
+
+            Date eventTime = DateUtils.getSomeDay(new Date(), -retentionDays);
+            int purged = 0;
+            while(Stopper.isRunning()){
+                int deleted = processDao.purgeLifecycleEvents(eventTime, batchSize);
+                purged += deleted;
+                if(deleted < batchSize){
+                    break;
+                }
+            }
+            logger.info("purge {} lifecycle events recorded before {}", purged, eventTime);
+        }catch (Exception e){
+            logger.error("lifecycle event purge thread exception : " + e.getMessage(), e);
+        }finally {
+            AbstractZKClient.releaseMutex(mutex);
+        }
+    }
+}
@@ -19,6 +19,7 @@ package org.apache.dolphinscheduler.server.master.runner;
 import org.apache.dolphinscheduler.common.Constants;
 import org.apache.dolphinscheduler.common.queue.ITaskQueue;
 import org.apache.dolphinscheduler.common.queue.TaskQueueFactory;
+import org.apache.dolphinscheduler.common.thread.Stopper;
 import org.apache.dolphinscheduler.dao.AlertDao;
 import org.apache.dolphinscheduler.dao.ProcessDao;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
@@ -75,7 +76,7 @@ public class MasterBaseTaskExecThread implements Callable<Boolean> {
     /**
      * load configuration file
      */
-    private static Configuration conf;
+    protected static Configuration conf;
 
     static {
         try {
@@ -92,10 +93,24 @@ public class MasterBaseTaskExecThread implements Callable<Boolean> {
      * @param processInstance   process instance
      */
     public MasterBaseTaskExecThread(TaskInstance taskInstance, ProcessInstance processInstance){
-        this.processDao = BeanContext.getBean(ProcessDao.class);
-        this.alertDao = BeanContext.getBean(AlertDao.class);
+        this(taskInstance, processInstance, BeanContext.getBean(ProcessDao.class),
+                BeanContext.getBean(AlertDao.class), TaskQueueFactory.getTaskQueueInstance());
+    }
+
+    /**
+     * constructor of MasterBaseTaskExecThread with the given dependencies
+     * @param taskInstance      task instance
+     * @param processInstance   process instance
+     * @param processDao        process dao
+     * @param alertDao          alert dao
+     * @param taskQueue         task queue
+     */
+    MasterBaseTaskExecThread(TaskInstance taskInstance, ProcessInstance processInstance,
+                             ProcessDao processDao, AlertDao alertDao, ITaskQueue taskQueue){
+        this.processDao = processDao;
+        this.alertDao = alertDao;
         this.processInstance = processInstance;
-        this.taskQueue = TaskQueueFactory.getTaskQueueInstance();
+        this.taskQueue = taskQueue;
         this.cancel = false;
         this.taskInstance = taskInstance;
     }
@@ -113,6 +128,9 @@ public class MasterBaseTaskExecThread implements Callable<Boolean> {
      */
     public void kill(){
         this.cancel = true;
+        if(taskInstance != null){
+            TaskWatchEngine.getInstance().wakeup(taskInstance.getId());
+        }
     }
 
     /**
@@ -144,13 +162,57 @@ public class MasterBaseTaskExecThread implements Callable<Boolean> {
     }
 
     /**
-     * submit wait complete
-     * @return true
+     * submit the task, the first step of watching it
+     * @return true if the task needs to be checked until it quits
      */
-    protected Boolean submitWaitComplete(){
+    protected boolean watchStart(){
+        return false;
+    }
+
+    /**
+     * check the task once, must not block
+     * @return true if the task quits
+     */
+    protected boolean watchCheck(){
         return true;
     }
 
+    /**
+     * the last step of watching the task
+     * @return result of the task
+     */
+    protected Boolean watchFinish(){
+        return true;
+    }
+
+    /**
+     * interval between two checks of the task
+     * @param defaultInterval check interval of the watch engine, unit is millisecond
+     * @return check interval, unit is millisecond
+     */
+    protected long getWatchInterval(long defaultInterval){
+        return defaultInterval;
+    }
+
+    /**
+     * submit wait complete, watches the task in the calling thread
+     * @return result of the task
+     */
+    protected Boolean submitWaitComplete(){
+        if(watchStart()){
+            while (Stopper.isRunning() && !watchCheck()){
+                try {
+                    Thread.sleep(Constants.SLEEP_TIME_MILLIS);
+                } catch (InterruptedException e) {
+                    logger.error(e.getMessage(), e);
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        return watchFinish();
+    }
+
     /**
      * call
      * @return boolean
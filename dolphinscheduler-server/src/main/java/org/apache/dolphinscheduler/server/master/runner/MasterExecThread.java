@@ -18,18 +18,19 @@ package org.apache.dolphinscheduler.server.master.runner;
 
 import org.apache.dolphinscheduler.common.Constants;
 import org.apache.dolphinscheduler.common.enums.*;
-import org.apache.dolphinscheduler.common.graph.DAG;
+import org.apache.dolphinscheduler.common.graph.FrozenDAG;
 import org.apache.dolphinscheduler.common.model.TaskNode;
 import org.apache.dolphinscheduler.common.model.TaskNodeRelation;
 import org.apache.dolphinscheduler.common.process.ProcessDag;
 import org.apache.dolphinscheduler.common.thread.Stopper;
-import org.apache.dolphinscheduler.common.thread.ThreadUtils;
 import org.apache.dolphinscheduler.dao.DaoFactory;
 import org.apache.dolphinscheduler.dao.ProcessDao;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
+import org.apache.dolphinscheduler.dao.entity.ProcessInstanceMap;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.apache.dolphinscheduler.dao.utils.DagHelper;
 import org.apache.dolphinscheduler.server.utils.AlertManager;
+import org.apache.dolphinscheduler.server.zk.ZKMasterClient;
 import com.alibaba.fastjson.JSONObject;
 import org.apache.commons.configuration.Configuration;
 import org.apache.commons.configuration.ConfigurationException;
@@ -45,7 +46,6 @@ import java.io.File;
 import java.io.IOException;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 
 import static org.apache.dolphinscheduler.common.Constants.*;
@@ -71,9 +71,9 @@ public class MasterExecThread implements Runnable {
     private final Map<MasterBaseTaskExecThread,Future<Boolean>> activeTaskNode = new ConcurrentHashMap<MasterBaseTaskExecThread,Future<Boolean>>();
 
     /**
-     * task exec service
+     * task watch group, tasks of this process instance watched by the master task watch engine
      */
-    private final ExecutorService taskExecService;
+    private final TaskWatchEngine.WatchGroup taskWatchGroup;
 
     /**
      * submit failure nodes
@@ -123,7 +123,17 @@ public class MasterExecThread implements Runnable {
     /**
      * the object of DAG
      */
-    private DAG<String,TaskNode,TaskNodeRelation> dag;
+    private FrozenDAG<String,TaskNode,TaskNodeRelation> dag;
+
+    /**
+     * depend nodes of every task node in the DAG not yet completed successfully
+     */
+    private FrozenDAG<String,TaskNode,TaskNodeRelation>.ReadyCounter dependCounter;
+
+    /**
+     * task nodes depending on nodes that are not in the DAG
+     */
+    private Set<String> outsideDependTaskList = new HashSet<>();
 
     /**
      *  process dao
@@ -147,8 +157,7 @@ public class MasterExecThread implements Runnable {
 
         int masterTaskExecNum = conf.getInt(Constants.MASTER_EXEC_TASK_THREADS,
                 Constants.defaultMasterTaskExecNum);
-        this.taskExecService = ThreadUtils.newDaemonFixedThreadExecutor("Master-Task-Exec-Thread",
-                masterTaskExecNum);
+        this.taskWatchGroup = TaskWatchEngine.getInstance().newGroup(masterTaskExecNum);
     }
 
 
@@ -191,9 +200,32 @@ public class MasterExecThread implements Runnable {
             processInstance.setEndTime(new Date());
             processDao.updateProcessInstance(processInstance);
         }finally {
-            taskExecService.shutdown();
             // post handle
             postHandle();
+            // wake up the parent task if this is a sub process
+            notifyParentProcess();
+        }
+    }
+
+    /**
+     * notify the parent sub process task that this sub process instance finished,
+     * directly if it is watched by this master, otherwise through zookeeper
+     */
+    private void notifyParentProcess() {
+        if(processInstance.getIsSubProcess() != Flag.YES || !processInstance.getState().typeIsFinished()){
+            return;
+        }
+        try {
+            ProcessInstanceMap processInstanceMap = processDao.findWorkProcessMapByChild(processInstance.getId());
+            if(processInstanceMap == null){
+                return;
+            }
+            int parentTaskInstanceId = processInstanceMap.getParentTaskInstanceId();
+            if(!TaskWatchEngine.getInstance().wakeup(parentTaskInstanceId)){
+                ZKMasterClient.getZKMasterClient(processDao).notifySubProcessFinished(parentTaskInstanceId);
+            }
+        }catch (Exception e){
+            logger.error("notify parent process failed, sub process id:{}", processInstance.getId(), e);
         }
     }
 
@@ -293,6 +325,7 @@ public class MasterExecThread implements Runnable {
 
         // gen process dag
         buildFlowDag();
+        processDao.recordLifecycle(processInstance.getId(), 0, LifecycleStage.DAG_BUILT);
         logger.info("prepare process :{} end", processInstance.getId());
     }
 
@@ -303,6 +336,8 @@ public class MasterExecThread implements Runnable {
     private void endProcess() {
         processInstance.setEndTime(new Date());
         processDao.updateProcessInstance(processInstance);
+        processDao.recordLifecycle(processInstance.getId(), 0, LifecycleStage.PROCESS_FINISHED,
+                processInstance.getEndTime());
         if(processInstance.getState().typeIsWaittingThread()){
             processDao.createRecoveryWaitingThreadCommand(null, processInstance);
         }
@@ -329,8 +364,52 @@ public class MasterExecThread implements Runnable {
             return;
         }
         // generate process dag
-        dag = DagHelper.buildDagGraph(processDag);
+        dag = DagHelper.buildDagGraph(processDag).freeze();
 
+        // count the depend nodes not completed yet
+        dependCounter = dag.newReadyCounter();
+        for(String taskName : forbiddenTaskList.keySet()){
+            dependCounter.setDone(taskName, true);
+        }
+        for(Map.Entry<String, TaskInstance> entry : completeTaskList.entrySet()){
+            dependCounter.setDone(entry.getKey(), isDependSuccess(entry.getKey(), entry.getValue().getState()));
+        }
+        outsideDependTaskList.clear();
+        for(String taskName : dag.topologicalSort()){
+            List<String> depsNameList = dag.getNode(taskName).getDepList();
+            if(depsNameList == null){
+                continue;
+            }
+            for(String depsNode : depsNameList){
+                if(!dag.containsNode(depsNode) && !forbiddenTaskList.containsKey(depsNode)){
+                    outsideDependTaskList.add(taskName);
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * add task to complete task list
+     * @param taskName task name
+     * @param taskInstance task instance
+     */
+    private void addCompleteTask(String taskName, TaskInstance taskInstance){
+        completeTaskList.put(taskName, taskInstance);
+        dependCounter.setDone(taskName, isDependSuccess(taskName, taskInstance.getState()));
+    }
+
+    /**
+     * whether a completed depend task lets its post tasks run
+     * @param taskName task name
+     * @param state state of the depend task
+     * @return true if forbidden, or not failure, pause or cancel
+     */
+    private boolean isDependSuccess(String taskName, ExecutionStatus state){
+        if(forbiddenTaskList.containsKey(taskName)){
+            return true;
+        }
+        return !state.typeIsFailure() && !state.typeIsPause() && !state.typeIsCancel();
     }
 
     /**
@@ -387,7 +466,7 @@ public class MasterExecThread implements Runnable {
         }else {
             abstractExecThread = new MasterTaskExecThread(taskInstance, processInstance);
         }
-        Future<Boolean> future = taskExecService.submit(abstractExecThread);
+        Future<Boolean> future = taskWatchGroup.watch(abstractExecThread);
         activeTaskNode.putIfAbsent(abstractExecThread, future);
         return abstractExecThread.getTaskInstance();
     }
@@ -470,7 +549,7 @@ public class MasterExecThread implements Runnable {
      * @param parentNodeName    parent node name
      * @return task instance list
      */
-    private List<TaskInstance> getPostTaskInstanceByNode(DAG<String, TaskNode, TaskNodeRelation> dag, String parentNodeName){
+    private List<TaskInstance> getPostTaskInstanceByNode(FrozenDAG<String, TaskNode, TaskNodeRelation> dag, String parentNodeName){
 
         List<TaskInstance> postTaskList = new ArrayList<>();
         Collection<String> startVertex = DagHelper.getStartVertex(parentNodeName, dag, completeTaskList);
@@ -555,9 +634,12 @@ public class MasterExecThread implements Runnable {
      */
     private DependResult isTaskDepsComplete(String taskName) {
 
-        Collection<String> startNodes = dag.getBeginNode();
         // ff the vertex returns true directly
-        if(startNodes.contains(taskName)){
+        if(dag.isBeginNode(taskName)){
+            return DependResult.SUCCESS;
+        }
+        // all the depend nodes completed successfully or forbidden
+        if(dependCounter.isReady(taskName) && !outsideDependTaskList.contains(taskName)){
             return DependResult.SUCCESS;
         }
 
@@ -847,7 +929,7 @@ public class MasterExecThread implements Runnable {
                         task.getName(), task.getId(), task.getState().toString());
                 // node success , post node submit
                 if(task.getState() == ExecutionStatus.SUCCESS){
-                    completeTaskList.put(task.getName(), task);
+                    addCompleteTask(task.getName(), task);
                     submitPostNode(task.getName());
                     continue;
                 }
@@ -861,7 +943,7 @@ public class MasterExecThread implements Runnable {
                     }else{
                         // node failure, based on failure strategy
                         errorTaskList.put(task.getName(), task);
-                        completeTaskList.put(task.getName(), task);
+                        addCompleteTask(task.getName(), task);
                         if(processInstance.getFailureStrategy() == FailureStrategy.END){
                             killTheOtherTasks();
                         }
@@ -869,7 +951,7 @@ public class MasterExecThread implements Runnable {
                     continue;
                 }
                 // other status stop/pause
-                completeTaskList.put(task.getName(), task);
+                addCompleteTask(task.getName(), task);
             }
             // send alert
             if(this.recoverToleranceFaultTaskList.size() > 0){
@@ -884,7 +966,7 @@ public class MasterExecThread implements Runnable {
                     TaskInstance completeTask = entry.getValue();
                     if(completeTask.getState()== ExecutionStatus.PAUSE){
                         completeTask.setState(ExecutionStatus.KILL);
-                        completeTaskList.put(entry.getKey(), completeTask);
+                        addCompleteTask(entry.getKey(), completeTask);
                         processDao.updateTaskInstance(completeTask);
                     }
                 }
@@ -898,6 +980,10 @@ public class MasterExecThread implements Runnable {
                 logger.error(e.getMessage(),e);
             }
             updateProcessInstanceState();
+            if(processInstance.getState() == ExecutionStatus.READY_PAUSE ||
+                    processInstance.getState() == ExecutionStatus.READY_STOP){
+                wakeupSubProcessTasks();
+            }
         }
 
         logger.info("process:{} end, state :{}", processInstance.getId(), processInstance.getState());
@@ -931,6 +1017,18 @@ public class MasterExecThread implements Runnable {
     }
 
 
+    /**
+     * wake up the running sub process tasks to pass the pause or stop on to the sub processes
+     */
+    private void wakeupSubProcessTasks() {
+        for (MasterBaseTaskExecThread taskExecThread : activeTaskNode.keySet()) {
+            TaskInstance taskInstance = taskExecThread.getTaskInstance();
+            if (taskExecThread instanceof SubProcessTaskExecThread && taskInstance != null) {
+                TaskWatchEngine.getInstance().wakeup(taskInstance.getId());
+            }
+        }
+    }
+
     /**
      * close the on going tasks
      */
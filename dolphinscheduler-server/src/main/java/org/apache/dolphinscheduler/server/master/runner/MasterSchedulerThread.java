@@ -17,6 +17,9 @@
 package org.apache.dolphinscheduler.server.master.runner;
 
 import org.apache.dolphinscheduler.common.Constants;
+import org.apache.dolphinscheduler.common.metrics.Counter;
+import org.apache.dolphinscheduler.common.metrics.Metrics;
+import org.apache.dolphinscheduler.common.metrics.Timer;
 import org.apache.dolphinscheduler.common.thread.Stopper;
 import org.apache.dolphinscheduler.common.thread.ThreadUtils;
 import org.apache.dolphinscheduler.common.utils.OSUtils;
@@ -44,6 +47,15 @@ public class MasterSchedulerThread implements Runnable {
      */
     private static final Logger logger = LoggerFactory.getLogger(MasterSchedulerThread.class);
 
+    private static final Timer LOOP_TIME = Metrics.timer("master_scheduler_loop_seconds",
+            "time of one scheduler loop finding and handling a command, the sleep is not counted");
+
+    private static final Counter COMMANDS_HANDLED = Metrics.counter("master_commands_handled_total",
+            "commands handled by the master");
+
+    private static final Counter COMMANDS_FAILED = Metrics.counter("master_commands_failed_total",
+            "commands moved to the error command table");
+
     /**
      * master exec service
      */
@@ -82,6 +94,12 @@ public class MasterSchedulerThread implements Runnable {
         this.conf = conf;
         this.masterExecThreadNum = masterExecThreadNum;
         this.masterExecService = ThreadUtils.newDaemonFixedThreadExecutor("Master-Exec-Thread",masterExecThreadNum);
+
+        ThreadPoolExecutor poolExecutor = (ThreadPoolExecutor) masterExecService;
+        Metrics.gauge("master_exec_threads_active", "process instances run by the master exec threads",
+                poolExecutor::getActiveCount);
+        Metrics.gauge("master_exec_threads", "master exec threads", () -> masterExecThreadNum);
+        Metrics.gauge("master_command_backlog", "commands waiting in the command table", processDao::countCommands);
     }
 
     /**
@@ -95,6 +113,7 @@ public class MasterSchedulerThread implements Runnable {
             ProcessInstance processInstance = null;
 
             InterProcessMutex mutex = null;
+            long start = System.nanoTime();
             try {
 
                 if(OSUtils.checkResource(conf, true)){
@@ -113,6 +132,7 @@ public class MasterSchedulerThread implements Runnable {
                         if (command != null) {
                             logger.info(String.format("find one command: id: %d, type: %s", command.getId(),command.getCommandType().toString()));
 
+                            COMMANDS_HANDLED.inc();
                             try{
                                 processInstance = processDao.handleCommand(logger, OSUtils.getHost(), this.masterExecThreadNum - activeCount, command);
                                 if (processInstance != null) {
@@ -121,12 +141,15 @@ public class MasterSchedulerThread implements Runnable {
                                 }
                             }catch (Exception e){
                                 logger.error("scan command error ", e);
+                                COMMANDS_FAILED.inc();
                                 processDao.moveToErrorCommand(command, e.toString());
                             }
                         }
                     }
                 }
 
+                LOOP_TIME.recordSince(start);
+
                 // accessing the command table every SLEEP_TIME_MILLIS milliseconds
                 Thread.sleep(Constants.SLEEP_TIME_MILLIS);
 
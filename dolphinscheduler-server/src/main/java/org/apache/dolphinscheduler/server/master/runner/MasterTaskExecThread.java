@@ -18,10 +18,10 @@ package org.apache.dolphinscheduler.server.master.runner;
 
 import org.apache.dolphinscheduler.common.Constants;
 import org.apache.dolphinscheduler.common.enums.ExecutionStatus;
+import org.apache.dolphinscheduler.common.enums.LifecycleStage;
 import org.apache.dolphinscheduler.common.enums.TaskTimeoutStrategy;
 import org.apache.dolphinscheduler.common.model.TaskNode;
 import org.apache.dolphinscheduler.common.task.TaskTimeoutParameter;
-import org.apache.dolphinscheduler.common.thread.Stopper;
 import org.apache.dolphinscheduler.dao.entity.ProcessDefinition;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
@@ -67,78 +67,99 @@ public class MasterTaskExecThread extends MasterBaseTaskExecThread {
     private Boolean alreadyKilled = false;
 
     /**
-     * submit task instance and wait complete
-     * @return true is task quit is true
+     * task quit result
      */
-    @Override
-    public Boolean submitWaitComplete() {
-        Boolean result = false;
-        this.taskInstance = submit();
-        if(!this.taskInstance.getState().typeIsFinished()) {
-            result = waitTaskQuit();
-        }
-        taskInstance.setEndTime(new Date());
-        processDao.updateTaskInstance(taskInstance);
-        logger.info("task :{} id:{}, process id:{}, exec thread completed ",
-                this.taskInstance.getName(),taskInstance.getId(), processInstance.getId() );
-        return result;
-    }
+    private Boolean result = false;
+
+    /**
+     * whether to check task timeout
+     */
+    private Boolean checkTimeout = false;
+
+    /**
+     * task timeout parameter
+     */
+    private TaskTimeoutParameter taskTimeoutParameter;
 
     /**
-     * wait task quit
-     * @return true if task quit success
+     * submit task instance
+     * @return true if the task needs to be checked until it quits
      */
-    public Boolean waitTaskQuit(){
+    @Override
+    protected boolean watchStart() {
+        this.taskInstance = submit();
+        if(this.taskInstance.getState().typeIsFinished()) {
+            return false;
+        }
         // query new state
         taskInstance = processDao.findTaskInstanceById(taskInstance.getId());
         // task time out
-        Boolean checkTimeout = false;
-        TaskTimeoutParameter taskTimeoutParameter = getTaskTimeoutParameter();
+        taskTimeoutParameter = getTaskTimeoutParameter();
         if(taskTimeoutParameter.getEnable()){
             TaskTimeoutStrategy strategy = taskTimeoutParameter.getStrategy();
             if(strategy == TaskTimeoutStrategy.WARN || strategy == TaskTimeoutStrategy.WARNFAILED){
                 checkTimeout = true;
             }
         }
+        result = true;
+        return true;
+    }
 
-        while (Stopper.isRunning()){
-            try {
-                if(this.processInstance == null){
-                    logger.error("process instance not exists , master task exec thread exit");
-                    return true;
-                }
-                // task instance add queue , waiting worker to kill
-                if(this.cancel || this.processInstance.getState() == ExecutionStatus.READY_STOP){
-                    cancelTaskInstance();
-                }
-                // task instance finished
-                if (taskInstance.getState().typeIsFinished()){
-                    break;
-                }
-                if(checkTimeout){
-                    long remainTime = getRemaintime(taskTimeoutParameter.getInterval()*60);
-                    if (remainTime < 0) {
-                        logger.warn("task id: {} execution time out",taskInstance.getId());
-                        // process define
-                        ProcessDefinition processDefine = processDao.findProcessDefineById(processInstance.getProcessDefinitionId());
-                        // send warn mail
-                        alertDao.sendTaskTimeoutAlert(processInstance.getWarningGroupId(),processDefine.getReceivers(),processDefine.getReceiversCc(),taskInstance.getId(),taskInstance.getName());
-                        checkTimeout = false;
-                    }
-                }
-                // updateProcessInstance task instance
-                taskInstance = processDao.findTaskInstanceById(taskInstance.getId());
-                processInstance = processDao.findProcessInstanceById(processInstance.getId());
-                Thread.sleep(Constants.SLEEP_TIME_MILLIS);
-            } catch (Exception e) {
-                logger.error("exception: "+ e.getMessage(),e);
-                if (processInstance != null) {
-                    logger.error("wait task quit failed, instance id:{}, task id:{}",
-                            processInstance.getId(), taskInstance.getId());
+    /**
+     * check task once
+     * @return true if task quit
+     */
+    @Override
+    protected boolean watchCheck(){
+        try {
+            if(this.processInstance == null){
+                logger.error("process instance not exists , master task exec thread exit");
+                return true;
+            }
+            // task instance add queue , waiting worker to kill
+            if(this.cancel || this.processInstance.getState() == ExecutionStatus.READY_STOP){
+                cancelTaskInstance();
+            }
+            // task instance finished
+            if (taskInstance.getState().typeIsFinished()){
+                processDao.recordLifecycle(processInstance.getId(), taskInstance.getId(), LifecycleStage.TASK_OBSERVED);
+                return true;
+            }
+            if(checkTimeout){
+                long remainTime = getRemaintime(taskTimeoutParameter.getInterval()*60);
+                if (remainTime < 0) {
+                    logger.warn("task id: {} execution time out",taskInstance.getId());
+                    // process define
+                    ProcessDefinition processDefine = processDao.findProcessDefineById(processInstance.getProcessDefinitionId());
+                    // send warn mail
+                    alertDao.sendTaskTimeoutAlert(processInstance.getWarningGroupId(),processDefine.getReceivers(),processDefine.getReceiversCc(),processDefine.getId(),taskInstance.getId(),taskInstance.getName());
+                    checkTimeout = false;
                 }
             }
+            // updateProcessInstance task instance
+            taskInstance = processDao.findTaskInstanceById(taskInstance.getId());
+            processInstance = processDao.findProcessInstanceById(processInstance.getId());
+        } catch (Exception e) {
+            logger.error("exception: "+ e.getMessage(),e);
+            if (processInstance != null) {
+                logger.error("wait task quit failed, instance id:{}, task id:{}",
+                        processInstance.getId(), taskInstance.getId());
+            }
         }
-        return true;
+        return false;
+    }
+
+    /**
+     * update task instance end time
+     * @return true is task quit is true
+     */
+    @Override
+    protected Boolean watchFinish() {
+        taskInstance.setEndTime(new Date());
+        processDao.updateTaskInstance(taskInstance);
+        logger.info("task :{} id:{}, process id:{}, exec thread completed ",
+                this.taskInstance.getName(),taskInstance.getId(), processInstance.getId() );
+        return result;
     }
 
 
@@ -156,7 +177,8 @@ public class MasterTaskExecThread extends MasterBaseTaskExecThread {
         }
         String queueValue = String.format("%s-%d",
                 host, taskInstance.getId());
-        taskQueue.sadd(DOLPHINSCHEDULER_TASKS_KILL, queueValue);
+        taskQueue.sadd(DOLPHINSCHEDULER_TASKS_KILL, queueValue,
+                processDao.taskQueueCounter(taskInstance, processInstance.getProcessDefinition()));
 
         logger.info("master add kill task :{} id:{} to kill queue",
                 taskInstance.getName(), taskInstance.getId() );
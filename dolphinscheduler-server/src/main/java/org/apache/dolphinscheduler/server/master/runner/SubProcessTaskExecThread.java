@@ -18,7 +18,6 @@ package org.apache.dolphinscheduler.server.master.runner;
 
 import org.apache.dolphinscheduler.common.Constants;
 import org.apache.dolphinscheduler.common.enums.ExecutionStatus;
-import org.apache.dolphinscheduler.common.thread.Stopper;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.slf4j.Logger;
@@ -50,20 +49,100 @@ public class SubProcessTaskExecThread extends MasterBaseTaskExecThread {
         super(taskInstance, processInstance);
     }
 
-    @Override
-    public Boolean submitWaitComplete() {
+    /**
+     * whether watching the sub process failed
+     */
+    private boolean failed = false;
 
-        Boolean result = false;
+    /**
+     * submit task instance
+     * @return true if the sub process needs to be checked until it quits
+     */
+    @Override
+    protected boolean watchStart() {
         try{
             // submit task instance
             this.taskInstance = submit();
 
             if(taskInstance == null){
                 logger.error("sub work flow submit task instance to mysql and queue failed , please check and fix it");
-                return result;
+                failed = true;
+                return false;
             }
             setTaskInstanceState();
-            waitTaskQuit();
+
+            logger.info("wait sub work flow: {} complete", this.taskInstance.getName());
+
+            if (taskInstance.getState().typeIsFinished()) {
+                logger.info("sub work flow task {} already complete. task state:{}, parent work flow instance state:{}",
+                        this.taskInstance.getName(),
+                        this.taskInstance.getState().toString(),
+                        this.processInstance.getState().toString());
+                return false;
+            }
+            return true;
+        }catch (Exception e){
+            watchFailed(e);
+            return false;
+        }
+    }
+
+    /**
+     * check sub process once
+     * @return true if sub process quit
+     */
+    @Override
+    protected boolean watchCheck() {
+        try{
+            // waiting for subflow process instance establishment
+            if (subProcessInstance == null && !setTaskInstanceState()) {
+                return false;
+            }
+            subProcessInstance = processDao.findProcessInstanceById(subProcessInstance.getId());
+            updateParentProcessState();
+            if (subProcessInstance.getState().typeIsFinished()){
+                return true;
+            }
+
+            if(this.processInstance.getState() == ExecutionStatus.READY_PAUSE){
+                // parent process "ready to pause" , child process "pause"
+                pauseSubProcess();
+            }else if(this.cancel || this.processInstance.getState() == ExecutionStatus.READY_STOP){
+                // parent Process "Ready to Cancel" , subflow "Cancel"
+                stopSubProcess();
+            }
+            return false;
+        }catch (Exception e){
+            watchFailed(e);
+            return true;
+        }
+    }
+
+    /**
+     * once the sub process instance exists, its master wakes this task up when it finishes,
+     * so the state is only polled as a fallback
+     * @param defaultInterval check interval of the watch engine, unit is millisecond
+     * @return check interval, unit is millisecond
+     */
+    @Override
+    protected long getWatchInterval(long defaultInterval) {
+        if(subProcessInstance == null){
+            return defaultInterval;
+        }
+        return conf.getLong(Constants.MASTER_SUBPROCESS_WATCH_INTERVAL,
+                Constants.defaultMasterSubProcessWatchInterval);
+    }
+
+    /**
+     * change the task state to the sub process state
+     * @return true if task quit success
+     */
+    @Override
+    protected Boolean watchFinish() {
+        if(failed){
+            return false;
+        }
+        try{
             subProcessInstance = processDao.findSubProcessInstance(processInstance.getId(), taskInstance.getId());
 
             // at the end of the subflow , the task state is changed to the subflow state
@@ -72,21 +151,28 @@ public class SubProcessTaskExecThread extends MasterBaseTaskExecThread {
                     this.taskInstance.setState(ExecutionStatus.KILL);
                 }else{
                     this.taskInstance.setState(subProcessInstance.getState());
-                    result = true;
                 }
             }
             taskInstance.setEndTime(new Date());
             processDao.updateTaskInstance(taskInstance);
             logger.info("subflow task :{} id:{}, process id:{}, exec thread completed ",
                     this.taskInstance.getName(),taskInstance.getId(), processInstance.getId() );
-            result = true;
-
+            return true;
         }catch (Exception e){
-            logger.error("exception: "+ e.getMessage(),e);
-            logger.error("wait task quit failed, instance id:{}, task id:{}",
-                    processInstance.getId(), taskInstance.getId());
+            watchFailed(e);
+            return false;
         }
-        return result;
+    }
+
+    /**
+     * watch sub process failed
+     * @param e exception
+     */
+    private void watchFailed(Exception e){
+        failed = true;
+        logger.error("exception: "+ e.getMessage(),e);
+        logger.error("wait task quit failed, instance id:{}, task id:{}",
+                processInstance.getId(), taskInstance.getId());
     }
 
 
@@ -119,48 +205,6 @@ public class SubProcessTaskExecThread extends MasterBaseTaskExecThread {
         this.processInstance.setState(parentProcessInstance.getState());
     }
 
-    /**
-     * wait task quit
-     * @throws InterruptedException
-     */
-    private void waitTaskQuit() throws InterruptedException {
-
-        logger.info("wait sub work flow: {} complete", this.taskInstance.getName());
-
-        if (taskInstance.getState().typeIsFinished()) {
-            logger.info("sub work flow task {} already complete. task state:{}, parent work flow instance state:{}",
-                    this.taskInstance.getName(),
-                    this.taskInstance.getState().toString(),
-                    this.processInstance.getState().toString());
-            return;
-        }
-        while (Stopper.isRunning()) {
-            // waiting for subflow process instance establishment
-            if (subProcessInstance == null) {
-
-                Thread.sleep(Constants.SLEEP_TIME_MILLIS);
-
-                if(!setTaskInstanceState()){
-                    continue;
-                }
-            }
-            subProcessInstance = processDao.findProcessInstanceById(subProcessInstance.getId());
-            updateParentProcessState();
-            if (subProcessInstance.getState().typeIsFinished()){
-                break;
-            }
-
-            if(this.processInstance.getState() == ExecutionStatus.READY_PAUSE){
-                // parent process "ready to pause" , child process "pause"
-                pauseSubProcess();
-            }else if(this.cancel || this.processInstance.getState() == ExecutionStatus.READY_STOP){
-                // parent Process "Ready to Cancel" , subflow "Cancel"
-                stopSubProcess();
-            }
-            Thread.sleep(Constants.SLEEP_TIME_MILLIS);
-        }
-    }
-
     /**
      * stop sub process
      */
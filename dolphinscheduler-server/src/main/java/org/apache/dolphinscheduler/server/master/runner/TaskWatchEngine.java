@@ -0,0 +1,352 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.server.master.runner;
+
+import org.apache.commons.configuration.Configuration;
+import org.apache.commons.configuration.ConfigurationException;
+import org.apache.commons.configuration.PropertiesConfiguration;
+import org.apache.dolphinscheduler.common.Constants;
+import org.apache.dolphinscheduler.common.thread.Stopper;
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedList;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * task watch engine
+ *
+ * every submitted task is a small state machine (start, check, finish) driven by scheduled events
+ * on a shared thread pool, instead of a thread blocking in a poll loop for each running task.
+ * a task can be woken up to be checked at once, e.g. when its sub process finishes.
+ * the start step may block between commit retries, so it runs on its own pool and a database
+ * failure never delays the checks of the running tasks
+ */
+public class TaskWatchEngine {
+
+    /**
+     * logger of TaskWatchEngine
+     */
+    private static final Logger logger = LoggerFactory.getLogger(TaskWatchEngine.class);
+
+    private static volatile TaskWatchEngine instance;
+
+    /**
+     * scheduler of the watch events
+     */
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * executor of the start events, which submit the tasks
+     */
+    private final ExecutorService submitter;
+
+    /**
+     * interval between two checks of a task, unit is millisecond
+     */
+    private final long checkInterval;
+
+    /**
+     * watched tasks, key is task instance id
+     */
+    private final ConcurrentMap<Integer, Watch> watches = new ConcurrentHashMap<>();
+
+    TaskWatchEngine(int threadNum, int submitThreadNum, long checkInterval){
+        this.scheduler = ThreadUtils.newDaemonThreadScheduledExecutor("Master-Task-Watch-Thread", threadNum);
+        this.submitter = ThreadUtils.newDaemonFixedThreadExecutor("Master-Task-Submit-Thread", submitThreadNum);
+        this.checkInterval = checkInterval;
+    }
+
+    public static TaskWatchEngine getInstance(){
+        if (null == instance) {
+            synchronized (TaskWatchEngine.class) {
+                if (null == instance) {
+                    Configuration conf;
+                    try {
+                        conf = new PropertiesConfiguration(Constants.MASTER_PROPERTIES_PATH);
+                    } catch (ConfigurationException e) {
+                        logger.error("load configuration failed : " + e.getMessage(), e);
+                        conf = new PropertiesConfiguration();
+                    }
+                    instance = new TaskWatchEngine(
+                            conf.getInt(Constants.MASTER_TASK_WATCH_THREADS, Constants.defaultMasterTaskWatchThreadNum),
+                            conf.getInt(Constants.MASTER_TASK_SUBMIT_THREADS, Constants.defaultMasterTaskSubmitThreadNum),
+                            conf.getLong(Constants.MASTER_TASK_WATCH_INTERVAL, Constants.SLEEP_TIME_MILLIS));
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * create a watch group that runs at most parallelism tasks at the same time,
+     * one group for the tasks of one process instance
+     * @param parallelism max running tasks
+     * @return watch group
+     */
+    public WatchGroup newGroup(int parallelism){
+        return new WatchGroup(parallelism);
+    }
+
+    /**
+     * shutdown the engine
+     */
+    public void shutdown(){
+        submitter.shutdownNow();
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * check a watched task right now instead of waiting for its next scheduled check
+     * @param taskInstanceId task instance id
+     * @return true if the task is watched by this master
+     */
+    public boolean wakeup(int taskInstanceId){
+        Watch watch = watches.get(taskInstanceId);
+        if(watch == null){
+            return false;
+        }
+        watch.wakeup();
+        return true;
+    }
+
+    /**
+     * watch of one task
+     */
+    private class Watch {
+
+        private final MasterBaseTaskExecThread task;
+
+        private final CompletableFuture<Boolean> future;
+
+        private final WatchGroup group;
+
+        /**
+         * next scheduled check
+         */
+        private ScheduledFuture<?> next;
+
+        /**
+         * sequence of the next scheduled check, a cancelled check that already started sees a stale one
+         */
+        private long sequence;
+
+        /**
+         * whether a wakeup arrived while a check was running
+         */
+        private boolean wakeup;
+
+        /**
+         * whether a check is running, only the running check schedules the next one then
+         */
+        private boolean checking;
+
+        /**
+         * whether the watch is finished or failed
+         */
+        private boolean done;
+
+        private Watch(MasterBaseTaskExecThread task, CompletableFuture<Boolean> future, WatchGroup group){
+            this.task = task;
+            this.future = future;
+            this.group = group;
+        }
+
+        /**
+         * put the start event on the submitter
+         */
+        private void submit(){
+            try {
+                submitter.execute(this::start);
+            } catch (RejectedExecutionException e) {
+                // the engine is shut down
+                fail(e);
+            }
+        }
+
+        /**
+         * submit the task, then check it until it quits
+         */
+        private void start(){
+            try {
+                if (task.watchStart()) {
+                    watches.put(task.getTaskInstance().getId(), this);
+                    scheduleCheck();
+                } else {
+                    finish();
+                }
+            } catch (Throwable e) {
+                if (task.getTaskInstance() != null) {
+                    watches.remove(task.getTaskInstance().getId());
+                }
+                fail(e);
+            }
+        }
+
+        /**
+         * check the task once and schedule the next check if it is not finished
+         * @param seq sequence of this check
+         */
+        private void check(long seq){
+            synchronized (this) {
+                if (done || seq != sequence) {
+                    return;
+                }
+                checking = true;
+            }
+            try {
+                if (!Stopper.isRunning() || task.watchCheck()) {
+                    watches.remove(task.getTaskInstance().getId());
+                    finish();
+                } else {
+                    scheduleCheck();
+                }
+            } catch (Throwable e) {
+                watches.remove(task.getTaskInstance().getId());
+                fail(e);
+            }
+        }
+
+        private synchronized void scheduleCheck(){
+            checking = false;
+            long delay = wakeup ? 0 : task.getWatchInterval(checkInterval);
+            wakeup = false;
+            long seq = ++sequence;
+            next = scheduler.schedule(() -> check(seq), delay, TimeUnit.MILLISECONDS);
+        }
+
+        private synchronized void wakeup(){
+            if (done) {
+                return;
+            }
+            // a running check is not cancelled, it schedules the next check itself
+            if (!checking && next != null && next.cancel(false)) {
+                try {
+                    long seq = ++sequence;
+                    next = scheduler.schedule(() -> check(seq), 0, TimeUnit.MILLISECONDS);
+                } catch (RejectedExecutionException e) {
+                    // the engine is shut down
+                    watches.remove(task.getTaskInstance().getId());
+                    fail(e);
+                }
+            } else {
+                // the task is being checked or not scheduled yet, check it again right after
+                wakeup = true;
+            }
+        }
+
+        /**
+         * mark the watch done
+         * @return false if it was done already
+         */
+        private synchronized boolean markDone(){
+            if (done) {
+                return false;
+            }
+            done = true;
+            checking = false;
+            return true;
+        }
+
+        private void finish(){
+            if (!markDone()) {
+                return;
+            }
+            try {
+                future.complete(task.watchFinish());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            } finally {
+                group.release();
+            }
+        }
+
+        private void fail(Throwable e){
+            if (!markDone()) {
+                return;
+            }
+            logger.error("watch task failed, task : {}", task.getTaskInstance() == null ? null : task.getTaskInstance().getId(), e);
+            future.completeExceptionally(e);
+            group.release();
+        }
+    }
+
+    /**
+     * tasks of one process instance, at most parallelism of them are watched at the same time,
+     * the others wait in submission order
+     */
+    public class WatchGroup {
+
+        private final int parallelism;
+
+        private final Queue<Watch> waiting = new LinkedList<>();
+
+        private int running;
+
+        private WatchGroup(int parallelism){
+            this.parallelism = parallelism;
+        }
+
+        /**
+         * submit a task and watch it until it quits
+         * @param task task exec thread
+         * @return future of the task result
+         */
+        public Future<Boolean> watch(MasterBaseTaskExecThread task){
+            CompletableFuture<Boolean> future = new CompletableFuture<>();
+            Watch watch = new Watch(task, future, this);
+            synchronized (this) {
+                if (running >= parallelism) {
+                    waiting.add(watch);
+                    return future;
+                }
+                running++;
+            }
+            watch.submit();
+            return future;
+        }
+
+        /**
+         * @return number of the watched tasks
+         */
+        synchronized int getRunning(){
+            return running;
+        }
+
+        private void release(){
+            Watch next;
+            synchronized (this) {
+                next = waiting.poll();
+                if (next == null) {
+                    running--;
+                    return;
+                }
+            }
+            next.submit();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.server.master.schedule;
+
+import org.apache.commons.configuration.Configuration;
+import org.apache.dolphinscheduler.common.Constants;
+import org.apache.dolphinscheduler.dao.ProcessDao;
+import org.apache.dolphinscheduler.server.quartz.ProcessScheduleJob;
+import org.apache.dolphinscheduler.server.quartz.QuartzExecutors;
+import org.apache.dolphinscheduler.server.quartz.ScheduleCommandBuffer;
+
+/**
+ * schedule engine based on clustered quartz, the schedules are fired by the quartz jdbc job store
+ */
+public class QuartzScheduleEngine implements ScheduleEngine {
+
+    /**
+     * process dao
+     */
+    private final ProcessDao processDao;
+
+    /**
+     * master configuration
+     */
+    private final Configuration conf;
+
+    /**
+     * buffer of the fired commands
+     */
+    private ScheduleCommandBuffer commandBuffer;
+
+    /**
+     * constructor of QuartzScheduleEngine
+     * @param processDao process dao
+     * @param conf master configuration
+     */
+    public QuartzScheduleEngine(ProcessDao processDao, Configuration conf) {
+        this.processDao = processDao;
+        this.conf = conf;
+    }
+
+    @Override
+    public void start() throws Exception {
+        commandBuffer = new ScheduleCommandBuffer(processDao,
+                conf.getLong(Constants.MASTER_SCHEDULE_COMMAND_LINGER, Constants.defaultMasterScheduleCommandLinger),
+                conf.getInt(Constants.MASTER_SCHEDULE_FIRE_BATCH_SIZE, Constants.defaultMasterScheduleFireBatchSize));
+        ProcessScheduleJob.init(processDao, commandBuffer,
+                conf.getInt(Constants.MASTER_SCHEDULE_CACHE_EXPIRE, Constants.defaultMasterScheduleCacheExpire));
+        QuartzExecutors.getInstance().start();
+    }
+
+    @Override
+    public void shutdown() throws Exception {
+        try {
+            QuartzExecutors.getInstance().shutdown();
+        } finally {
+            if (commandBuffer != null) {
+                commandBuffer.shutdown();
+            }
+        }
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.server.master.schedule;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * hierarchical timing wheel.
+ *
+ * the lowest wheel has wheelSize buckets of one tick, each upper wheel has wheelSize buckets
+ * as long as the whole wheel below it. an item is kept in the lowest wheel that covers its deadline,
+ * when the time reaches the bucket of an upper wheel its items move down, so adding an item and
+ * advancing one tick are O(1) whatever the number of items and however far the deadlines are.
+ *
+ * not thread safe, the wheel is owned by one thread
+ * @param <T> item type
+ */
+public class TimingWheel<T> {
+
+    /**
+     * tick of the lowest wheel, unit is millisecond
+     */
+    private final long tickMs;
+
+    /**
+     * bucket number of each wheel
+     */
+    private final int wheelSize;
+
+    /**
+     * wheels from the lowest, upper wheels are created when needed
+     */
+    private final List<Wheel> wheels = new ArrayList<>();
+
+    /**
+     * current time of the wheel, all the buckets up to it are expired
+     */
+    private long currentTime;
+
+    /**
+     * item number in the wheel
+     */
+    private int size;
+
+    /**
+     * constructor of TimingWheel
+     * @param tickMs tick of the lowest wheel, unit is millisecond
+     * @param wheelSize bucket number of each wheel
+     * @param startMs start time, unit is millisecond
+     */
+    public TimingWheel(long tickMs, int wheelSize, long startMs) {
+        if (tickMs <= 0 || wheelSize <= 1) {
+            throw new IllegalArgumentException("tick must be positive and wheel size must be larger than 1");
+        }
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.currentTime = startMs - startMs % tickMs;
+        this.wheels.add(new Wheel(tickMs));
+    }
+
+    /**
+     * add an item
+     * @param item item
+     * @param deadline deadline, unit is millisecond
+     * @return false if the deadline is already expired and the item is not added
+     */
+    public boolean add(T item, long deadline) {
+        return add(new Entry<>(item, deadline));
+    }
+
+    /**
+     * advance the wheel to the given time
+     * @param nowMs current time, unit is millisecond
+     * @param expired consumer of the expired items, never called before their deadline
+     */
+    public void advance(long nowMs, Consumer<T> expired) {
+        while (currentTime + tickMs <= nowMs) {
+            currentTime += tickMs;
+            for (Entry<T> entry : wheels.get(0).take(currentTime)) {
+                size--;
+                expired.accept(entry.item);
+            }
+            // then move the items of upper wheels down from the lowest one, the due ones are expired.
+            // a bucket is taken before the items moved into the same slot one round later
+            for (int i = 1; i < wheels.size() && currentTime % wheels.get(i).tickMs == 0; i++) {
+                for (Entry<T> entry : wheels.get(i).take(currentTime)) {
+                    size--;
+                    if (!add(entry)) {
+                        expired.accept(entry.item);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @return item number in the wheel
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return current time of the wheel, unit is millisecond
+     */
+    public long getCurrentTime() {
+        return currentTime;
+    }
+
+    /**
+     * add an entry to the lowest wheel covering its deadline
+     * @param entry entry
+     * @return false if the entry is already expired
+     */
+    private boolean add(Entry<T> entry) {
+        // the lowest wheel rounds up so an entry never expires before its deadline
+        long bucketTime = (entry.deadline + tickMs - 1) / tickMs * tickMs;
+        if (bucketTime <= currentTime) {
+            return false;
+        }
+        for (int i = 0; ; i++) {
+            if (i == wheels.size()) {
+                wheels.add(new Wheel(wheels.get(i - 1).tickMs * wheelSize));
+            }
+            Wheel wheel = wheels.get(i);
+            if (i > 0) {
+                // upper wheels round down, the entry moves to a lower wheel when its bucket expires
+                bucketTime = entry.deadline - entry.deadline % wheel.tickMs;
+            }
+            if (bucketTime <= currentTime + wheel.tickMs * wheelSize) {
+                wheel.put(bucketTime, entry);
+                size++;
+                return true;
+            }
+        }
+    }
+
+    /**
+     * one wheel of the hierarchy
+     */
+    private class Wheel {
+
+        /**
+         * time of one bucket
+         */
+        private final long tickMs;
+
+        /**
+         * buckets, created when needed
+         */
+        private final List<Entry<T>>[] buckets;
+
+        @SuppressWarnings("unchecked")
+        Wheel(long tickMs) {
+            this.tickMs = tickMs;
+            this.buckets = new List[wheelSize];
+        }
+
+        void put(long bucketTime, Entry<T> entry) {
+            int index = (int) (bucketTime / tickMs % wheelSize);
+            if (buckets[index] == null) {
+                buckets[index] = new ArrayList<>();
+            }
+            buckets[index].add(entry);
+        }
+
+        List<Entry<T>> take(long bucketTime) {
+            int index = (int) (bucketTime / tickMs % wheelSize);
+            List<Entry<T>> bucket = buckets[index];
+            if (bucket == null) {
+                return Collections.emptyList();
+            }
+            buckets[index] = null;
+            return bucket;
+        }
+    }
+
+    /**
+     * item with its deadline
+     * @param <T> item type
+     */
+    private static class Entry<T> {
+
+        private final T item;
+
+        private final long deadline;
+
+        Entry(T item, long deadline) {
+            this.item = item;
+            this.deadline = deadline;
+        }
+    }
+}
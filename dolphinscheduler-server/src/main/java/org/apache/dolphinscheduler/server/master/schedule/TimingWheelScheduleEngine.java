@@ -0,0 +1,410 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.server.master.schedule;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import org.apache.commons.configuration.Configuration;
+import org.apache.dolphinscheduler.common.Constants;
+import org.apache.dolphinscheduler.common.enums.ZKNodeType;
+import org.apache.dolphinscheduler.common.thread.Stopper;
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.common.utils.OSUtils;
+import org.apache.dolphinscheduler.dao.ProcessDao;
+import org.apache.dolphinscheduler.dao.entity.Schedule;
+import org.apache.dolphinscheduler.dao.utils.cron.CronUtils;
+import org.apache.dolphinscheduler.server.zk.ZKMasterClient;
+import org.quartz.CronExpression;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * schedule engine based on a timing wheel in each master.
+ *
+ * the online schedules are spread over the live masters in zookeeper by consistent hashing,
+ * each master keeps the next fire time of its schedules in a timing wheel and fires them into
+ * scheduler commands in batches. the last fire time of each schedule is kept in t_ds_schedule_fire,
+ * a fire time is claimed there before its command is inserted, so a fire is never lost when the owner
+ * changes or restarts, and never doubled when two masters see different owners for a while.
+ */
+public class TimingWheelScheduleEngine implements ScheduleEngine {
+
+    /**
+     * logger of TimingWheelScheduleEngine
+     */
+    private static final Logger logger = LoggerFactory.getLogger(TimingWheelScheduleEngine.class);
+
+    /**
+     * bucket number of each wheel
+     */
+    private static final int WHEEL_SIZE = 60;
+
+    /**
+     * virtual nodes of each master on the hash ring
+     */
+    private static final int VIRTUAL_NODES = 128;
+
+    /**
+     * hash function of the hash ring
+     */
+    private static final HashFunction HASH_FUNCTION = Hashing.murmur3_32();
+
+    /**
+     * zookeeper master client
+     */
+    private final ZKMasterClient zkMasterClient;
+
+    /**
+     * process dao
+     */
+    private final ProcessDao processDao;
+
+    /**
+     * tick of the wheel, unit is millisecond
+     */
+    private final long tickMs;
+
+    /**
+     * interval of reloading the schedules, unit is second
+     */
+    private final int reloadInterval;
+
+    /**
+     * misfire threshold of a schedule never fired by this engine, older fire times are skipped, unit is millisecond
+     */
+    private final long misfireThreshold;
+
+    /**
+     * max number of missed fire times a schedule catches up
+     */
+    private final int misfireMaxFires;
+
+    /**
+     * number of commands created in one transaction
+     */
+    private final int fireBatchSize;
+
+    /**
+     * the wheel thread, ticks the wheel and reloads the schedules, so the state below needs no lock
+     */
+    private ScheduledExecutorService wheelExecutor;
+
+    /**
+     * timing wheel of the next fire times
+     */
+    private TimingWheel<Trigger> wheel;
+
+    /**
+     * triggers of the schedules owned by this master, key is schedule id
+     */
+    private Map<Integer, Trigger> triggers = new HashMap<>();
+
+    /**
+     * due triggers fired on the next tick, caught up or failed ones
+     */
+    private List<Trigger> pending = new ArrayList<>();
+
+    /**
+     * constructor of TimingWheelScheduleEngine
+     * @param zkMasterClient zookeeper master client
+     * @param processDao process dao
+     * @param conf master configuration
+     */
+    public TimingWheelScheduleEngine(ZKMasterClient zkMasterClient, ProcessDao processDao, Configuration conf) {
+        this.zkMasterClient = zkMasterClient;
+        this.processDao = processDao;
+        this.tickMs = conf.getLong(Constants.MASTER_SCHEDULE_WHEEL_TICK,
+                Constants.defaultMasterScheduleWheelTick);
+        this.reloadInterval = conf.getInt(Constants.MASTER_SCHEDULE_RELOAD_INTERVAL,
+                Constants.defaultMasterScheduleReloadInterval);
+        this.misfireThreshold = TimeUnit.SECONDS.toMillis(conf.getInt(Constants.MASTER_SCHEDULE_MISFIRE_THRESHOLD,
+                Constants.defaultMasterScheduleMisfireThreshold));
+        this.misfireMaxFires = conf.getInt(Constants.MASTER_SCHEDULE_MISFIRE_MAX_FIRES,
+                Constants.defaultMasterScheduleMisfireMaxFires);
+        this.fireBatchSize = conf.getInt(Constants.MASTER_SCHEDULE_FIRE_BATCH_SIZE,
+                Constants.defaultMasterScheduleFireBatchSize);
+    }
+
+    @Override
+    public void start() {
+        wheel = new TimingWheel<>(tickMs, WHEEL_SIZE, System.currentTimeMillis());
+        wheelExecutor = ThreadUtils.newDaemonThreadScheduledExecutor("Master-Schedule-Wheel-Thread", 1);
+        wheelExecutor.scheduleWithFixedDelay(this::reload, 0, reloadInterval, TimeUnit.SECONDS);
+        wheelExecutor.scheduleAtFixedRate(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+        logger.info("timing wheel schedule engine started, tick : {} ms, reload interval : {} s", tickMs, reloadInterval);
+    }
+
+    @Override
+    public void shutdown() {
+        if (wheelExecutor != null) {
+            wheelExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * reload the online schedules and keep the ones owned by this master
+     */
+    private void reload() {
+        if (!Stopper.isRunning()) {
+            return;
+        }
+        try {
+            String host = OSUtils.getHost();
+            TreeMap<Integer, String> ring = buildHashRing(getMasterHosts());
+            if (!ring.containsValue(host)) {
+                logger.warn("master {} is not registered in zookeeper, owns no schedule", host);
+            }
+
+            List<Schedule> schedules = processDao.queryOnlineSchedules();
+            Map<Integer, Trigger> owned = new HashMap<>();
+            Date now = new Date();
+            for (Schedule schedule : schedules) {
+                if (!host.equals(getOwner(ring, schedule.getId()))) {
+                    continue;
+                }
+                Trigger trigger = triggers.get(schedule.getId());
+                if (trigger == null || !trigger.isSameSchedule(schedule)) {
+                    trigger = createTrigger(schedule, now);
+                    if (trigger == null) {
+                        continue;
+                    }
+                    scheduleNext(trigger, now.getTime());
+                }
+                owned.put(schedule.getId(), trigger);
+            }
+            // triggers left in the wheel or pending list are dropped when they expire
+            triggers = owned;
+            logger.debug("master {} owns {} of {} online schedules", host, owned.size(), schedules.size());
+        } catch (Exception e) {
+            logger.error("reload schedules failed : " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * advance the wheel and fire the due triggers
+     */
+    private void tick() {
+        if (!Stopper.isRunning()) {
+            return;
+        }
+        try {
+            List<Trigger> due = pending;
+            pending = new ArrayList<>();
+            long now = System.currentTimeMillis();
+            wheel.advance(now, due::add);
+            due.removeIf(trigger -> triggers.get(trigger.schedule.getId()) != trigger);
+            for (int from = 0; from < due.size(); from += fireBatchSize) {
+                fire(due.subList(from, Math.min(from + fireBatchSize, due.size())));
+            }
+        } catch (Exception e) {
+            logger.error("schedule wheel tick failed : " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * create the commands of a batch of due triggers and schedule their next fire times
+     * @param due due triggers
+     */
+    private void fire(List<Trigger> due) {
+        List<Schedule> schedules = new ArrayList<>(due.size());
+        List<Date> fireTimes = new ArrayList<>(due.size());
+        for (Trigger trigger : due) {
+            schedules.add(trigger.schedule);
+            fireTimes.add(trigger.nextFireTime);
+        }
+        try {
+            int created = processDao.createScheduleCommands(schedules, fireTimes, new Date());
+            logger.info("fire {} schedules, {} commands created", due.size(), created);
+        } catch (Exception e) {
+            // nothing is claimed, fire them again on the next tick
+            logger.error("fire schedules failed : " + e.getMessage(), e);
+            pending.addAll(due);
+            return;
+        }
+        long now = System.currentTimeMillis();
+        for (Trigger trigger : due) {
+            trigger.lastFireTime = trigger.nextFireTime;
+            scheduleNext(trigger, now);
+        }
+    }
+
+    /**
+     * put the next fire time of a trigger into the wheel, or into the pending list if it is due
+     * @param trigger trigger
+     * @param now current time
+     */
+    private void scheduleNext(Trigger trigger, long now) {
+        trigger.nextFireTime = CronUtils.getNextFireTime(trigger.cron, trigger.lastFireTime,
+                trigger.schedule.getStartTime(), trigger.schedule.getEndTime());
+        if (trigger.nextFireTime == null) {
+            return;
+        }
+        // missed fire times are caught up one per tick
+        if (trigger.nextFireTime.getTime() <= now || !wheel.add(trigger, trigger.nextFireTime.getTime())) {
+            pending.add(trigger);
+        }
+    }
+
+    /**
+     * create the trigger of a schedule
+     * @param schedule schedule
+     * @param now current time
+     * @return trigger, null if the crontab is invalid
+     */
+    private Trigger createTrigger(Schedule schedule, Date now) {
+        CronExpression cron;
+        try {
+            cron = CronUtils.parse2CronExpression(schedule.getCrontab());
+        } catch (Exception e) {
+            logger.error("invalid crontab {} of schedule {}", schedule.getCrontab(), schedule.getId());
+            return null;
+        }
+        Date lastFireTime = getMisfireLastFireTime(schedule, cron, now, misfireThreshold, misfireMaxFires);
+        if (schedule.getLastFireTime() == null) {
+            processDao.initScheduleFireTime(schedule.getId(), lastFireTime);
+        }
+        return new Trigger(schedule, cron, lastFireTime);
+    }
+
+    /**
+     * get the last fire time a trigger starts from, the fire times missed since the last fire time,
+     * e.g. while the masters are down, are caught up. the oldest ones beyond maxFires are dropped and logged.
+     * the fire times before the schedule is updated, e.g. while it is offline, are not its fires and are skipped,
+     * so are the ones beyond the misfire threshold of a schedule never fired by this engine
+     * @param schedule schedule with its last fire time in t_ds_schedule_fire, null if never fired
+     * @param cron cron expression of the schedule
+     * @param now current time
+     * @param misfireThreshold misfire threshold of a schedule never fired, unit is millisecond
+     * @param maxFires max number of missed fire times caught up
+     * @return last fire time of the trigger
+     */
+    static Date getMisfireLastFireTime(Schedule schedule, CronExpression cron, Date now,
+                                       long misfireThreshold, int maxFires) {
+        Date lastFireTime = schedule.getLastFireTime();
+        if (lastFireTime == null) {
+            lastFireTime = new Date(now.getTime() - misfireThreshold);
+        }
+        Date updateTime = schedule.getUpdateTime();
+        if (updateTime != null && updateTime.after(lastFireTime)) {
+            lastFireTime = updateTime;
+        }
+
+        // at most maxFires missed fire times, all of them are caught up
+        Date firstMisfire = null;
+        Date fireTime = lastFireTime;
+        for (int i = 0; i <= maxFires; i++) {
+            fireTime = CronUtils.getNextFireTime(cron, fireTime, schedule.getStartTime(), schedule.getEndTime());
+            if (fireTime == null || fireTime.after(now)) {
+                return lastFireTime;
+            }
+            if (firstMisfire == null) {
+                firstMisfire = fireTime;
+            }
+        }
+
+        // keep the last maxFires of them, the one before them is the last dropped
+        Date endTime = schedule.getEndTime() != null && schedule.getEndTime().before(now) ? schedule.getEndTime() : now;
+        Date lastDropped = endTime;
+        for (int i = 0; i <= maxFires; i++) {
+            lastDropped = CronUtils.getLastFireTime(lastFireTime,
+                    i == 0 ? endTime : new Date(lastDropped.getTime() - 1), cron);
+        }
+        logger.warn("schedule {} missed too many fire times, the ones from {} to {} are dropped, the last {} are caught up",
+                schedule.getId(), firstMisfire, lastDropped, maxFires);
+        return lastDropped;
+    }
+
+    /**
+     * get the hosts of the live masters
+     * @return master hosts
+     * @throws Exception if zookeeper fails
+     */
+    private Set<String> getMasterHosts() throws Exception {
+        List<String> masterNodes = zkMasterClient.getZkClient().getChildren()
+                .forPath(zkMasterClient.getZNodeParentPath(ZKNodeType.MASTER));
+        Set<String> hosts = new TreeSet<>();
+        for (String masterNode : masterNodes) {
+            // master node is host_sequence
+            hosts.add(masterNode.split(Constants.UNDERLINE)[0]);
+        }
+        return hosts;
+    }
+
+    /**
+     * build the consistent hash ring of masters
+     * @param hosts master hosts
+     * @return hash ring
+     */
+    static TreeMap<Integer, String> buildHashRing(Collection<String> hosts) {
+        TreeMap<Integer, String> ring = new TreeMap<>();
+        for (String host : hosts) {
+            for (int i = 0; i < VIRTUAL_NODES; i++) {
+                ring.put(HASH_FUNCTION.hashString(host + Constants.UNDERLINE + i, StandardCharsets.UTF_8).asInt(), host);
+            }
+        }
+        return ring;
+    }
+
+    /**
+     * get the owner master of a schedule
+     * @param ring hash ring
+     * @param scheduleId schedule id
+     * @return owner host, null if there is no master
+     */
+    static String getOwner(TreeMap<Integer, String> ring, int scheduleId) {
+        if (ring.isEmpty()) {
+            return null;
+        }
+        Map.Entry<Integer, String> entry = ring.ceilingEntry(HASH_FUNCTION.hashInt(scheduleId).asInt());
+        return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+    }
+
+    /**
+     * fire state of a schedule
+     */
+    private static class Trigger {
+
+        private final Schedule schedule;
+
+        private final CronExpression cron;
+
+        private Date lastFireTime;
+
+        private Date nextFireTime;
+
+        Trigger(Schedule schedule, CronExpression cron, Date lastFireTime) {
+            this.schedule = schedule;
+            this.cron = cron;
+            this.lastFireTime = lastFireTime;
+        }
+
+        /**
+         * @param other schedule reloaded
+         * @return true if the schedule is not updated since the trigger was created
+         */
+        boolean isSameSchedule(Schedule other) {
+            return Objects.equals(schedule.getUpdateTime(), other.getUpdateTime())
+                    && Objects.equals(schedule.getCrontab(), other.getCrontab())
+                    && schedule.getProcessDefinitionId() == other.getProcessDefinitionId();
+        }
+    }
+}
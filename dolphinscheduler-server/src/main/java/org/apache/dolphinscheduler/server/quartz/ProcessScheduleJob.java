@@ -17,8 +17,9 @@
 package org.apache.dolphinscheduler.server.quartz;
 
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import org.apache.dolphinscheduler.common.Constants;
-import org.apache.dolphinscheduler.common.enums.CommandType;
 import org.apache.dolphinscheduler.common.enums.ReleaseState;
 import org.apache.dolphinscheduler.dao.ProcessDao;
 import org.apache.dolphinscheduler.dao.entity.Command;
@@ -30,6 +31,9 @@ import org.slf4j.LoggerFactory;
 import org.springframework.util.Assert;
 
 import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 /**
  * process schedule job
@@ -46,13 +50,52 @@ public class ProcessScheduleJob implements Job {
      */
     private static ProcessDao processDao;
 
+    /**
+     * buffer inserting the fired commands in batches, null to insert them one by one
+     */
+    private static ScheduleCommandBuffer commandBuffer;
+
+    /**
+     * schedule cache, key is schedule id, absent if the schedule is deleted
+     */
+    private static Cache<Integer, Optional<Schedule>> scheduleCache;
+
+    /**
+     * process definition cache, key is process definition id
+     */
+    private static Cache<Integer, Optional<ProcessDefinition>> processDefinitionCache;
+
 
     /**
      * init
      * @param processDao process dao
      */
     public static void init(ProcessDao processDao) {
+        init(processDao, null, 0);
+    }
+
+    /**
+     * init with a command buffer and short lived caches of the schedules and process definitions
+     * @param processDao process dao
+     * @param commandBuffer command buffer, null to insert commands one by one
+     * @param cacheExpireSeconds expire time of the caches, 0 to disable them
+     */
+    public static void init(ProcessDao processDao, ScheduleCommandBuffer commandBuffer, int cacheExpireSeconds) {
         ProcessScheduleJob.processDao = processDao;
+        ProcessScheduleJob.commandBuffer = commandBuffer;
+        ProcessScheduleJob.scheduleCache = buildCache(cacheExpireSeconds);
+        ProcessScheduleJob.processDefinitionCache = buildCache(cacheExpireSeconds);
+    }
+
+    /**
+     * build a time expiring cache, fires of one cycle share the lookups
+     * @param expireSeconds expire time
+     * @return cache
+     */
+    private static <K, V> Cache<K, V> buildCache(int expireSeconds) {
+        return CacheBuilder.newBuilder()
+                .expireAfterWrite(expireSeconds, TimeUnit.SECONDS)
+                .build();
     }
 
     /**
@@ -80,7 +123,7 @@ public class ProcessScheduleJob implements Job {
         logger.info("scheduled fire time :{}, fire time :{}, process id :{}", scheduledFireTime, fireTime, scheduleId);
 
         // query schedule
-        Schedule schedule = processDao.querySchedule(scheduleId);
+        Schedule schedule = getCached(scheduleCache, scheduleId, () -> processDao.querySchedule(scheduleId));
         if (schedule == null) {
             logger.warn("process schedule does not exist in db，delete schedule job in quartz, projectId:{}, scheduleId:{}", projectId, scheduleId);
             deleteJob(projectId, scheduleId);
@@ -88,27 +131,42 @@ public class ProcessScheduleJob implements Job {
         }
 
 
-        ProcessDefinition processDefinition = processDao.findProcessDefineById(schedule.getProcessDefinitionId());
+        int processDefinitionId = schedule.getProcessDefinitionId();
+        ProcessDefinition processDefinition = getCached(processDefinitionCache, processDefinitionId,
+                () -> processDao.findProcessDefineById(processDefinitionId));
         // release state : online/offline
-        ReleaseState releaseState = processDefinition.getReleaseState();
-        if (processDefinition == null || releaseState == ReleaseState.OFFLINE) {
+        if (processDefinition == null || processDefinition.getReleaseState() == ReleaseState.OFFLINE) {
             logger.warn("process definition does not exist in db or offline，need not to create command, projectId:{}, processId:{}", projectId, scheduleId);
             return;
         }
 
-        Command command = new Command();
-        command.setCommandType(CommandType.SCHEDULER);
-        command.setExecutorId(schedule.getUserId());
-        command.setFailureStrategy(schedule.getFailureStrategy());
-        command.setProcessDefinitionId(schedule.getProcessDefinitionId());
-        command.setScheduleTime(scheduledFireTime);
-        command.setStartTime(fireTime);
-        command.setWarningGroupId(schedule.getWarningGroupId());
-        command.setWorkerGroupId(schedule.getWorkerGroupId());
-        command.setWarningType(schedule.getWarningType());
-        command.setProcessInstancePriority(schedule.getProcessInstancePriority());
-
-        processDao.createCommand(command);
+        Command command = processDao.buildScheduleCommand(schedule, scheduledFireTime, fireTime);
+
+        if (commandBuffer == null) {
+            processDao.createCommand(command);
+            return;
+        }
+        try {
+            commandBuffer.createCommand(command);
+        } catch (Exception e) {
+            throw new JobExecutionException("create command of schedule " + scheduleId + " failed", e);
+        }
+    }
+
+    /**
+     * get a value from the cache, or load it if absent
+     * @param cache cache
+     * @param key key
+     * @param loader loader
+     * @return value, null if not exists
+     */
+    private static <V> V getCached(Cache<Integer, Optional<V>> cache, int key, Supplier<V> loader) {
+        Optional<V> value = cache.getIfPresent(key);
+        if (value == null) {
+            value = Optional.ofNullable(loader.get());
+            cache.put(key, value);
+        }
+        return value.orElse(null);
     }
 
 
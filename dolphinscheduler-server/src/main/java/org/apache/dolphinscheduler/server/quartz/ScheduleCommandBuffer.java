@@ -0,0 +1,267 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.server.quartz;
+
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.dao.ProcessDao;
+import org.apache.dolphinscheduler.dao.entity.Command;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * buffer of the commands fired by quartz jobs.
+ *
+ * the commands fired within the linger time are inserted in one statement by one thread,
+ * so a fire storm takes a few connections instead of one per quartz thread.
+ * a job waits until its command is inserted, so a fired trigger still means a persisted command.
+ */
+public class ScheduleCommandBuffer {
+
+    /**
+     * logger of ScheduleCommandBuffer
+     */
+    private static final Logger logger = LoggerFactory.getLogger(ScheduleCommandBuffer.class);
+
+    /**
+     * poll timeout of the flush thread when the buffer is empty, unit is millisecond
+     */
+    private static final long POLL_TIMEOUT = 100;
+
+    /**
+     * writer of the commands
+     */
+    private final CommandWriter writer;
+
+    /**
+     * time of collecting commands before inserting them, unit is millisecond
+     */
+    private final long lingerMs;
+
+    /**
+     * max commands inserted in one statement
+     */
+    private final int batchSize;
+
+    /**
+     * buffered commands
+     */
+    private final BlockingQueue<BufferedCommand> buffer = new LinkedBlockingQueue<>();
+
+    /**
+     * flush thread
+     */
+    private final ExecutorService flushExecutor;
+
+    /**
+     * running flag
+     */
+    private volatile boolean running = true;
+
+    /**
+     * constructor of ScheduleCommandBuffer
+     * @param processDao process dao
+     * @param lingerMs time of collecting commands before inserting them, unit is millisecond
+     * @param batchSize max commands inserted in one statement
+     */
+    public ScheduleCommandBuffer(ProcessDao processDao, long lingerMs, int batchSize) {
+        this(new CommandWriter() {
+            @Override
+            public void createCommand(Command command) {
+                processDao.createCommand(command);
+            }
+
+            @Override
+            public void createCommands(List<Command> commands) {
+                processDao.createCommands(commands);
+            }
+        }, lingerMs, batchSize);
+    }
+
+    /**
+     * constructor of ScheduleCommandBuffer
+     * @param writer writer of the commands
+     * @param lingerMs time of collecting commands before inserting them, unit is millisecond
+     * @param batchSize max commands inserted in one statement
+     */
+    ScheduleCommandBuffer(CommandWriter writer, long lingerMs, int batchSize) {
+        this.writer = writer;
+        this.lingerMs = lingerMs;
+        this.batchSize = batchSize;
+        this.flushExecutor = ThreadUtils.newDaemonSingleThreadExecutor("Schedule-Command-Flush-Thread");
+        this.flushExecutor.execute(this::flushLoop);
+    }
+
+    /**
+     * insert a command with the other buffered ones and wait until it is inserted
+     * @param command command
+     * @throws Exception if the command can not be inserted, the cause is the failure of the insert
+     */
+    public void createCommand(Command command) throws Exception {
+        if (!running) {
+            writer.createCommand(command);
+            return;
+        }
+        BufferedCommand bufferedCommand = new BufferedCommand(command);
+        buffer.add(bufferedCommand);
+        while (true) {
+            try {
+                bufferedCommand.future.get(POLL_TIMEOUT, TimeUnit.MILLISECONDS);
+                return;
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new Exception("insert schedule command failed", cause);
+            } catch (TimeoutException e) {
+                // the flush thread may have exited before the command is added
+                if (!running && buffer.remove(bufferedCommand)) {
+                    writer.createCommand(command);
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * stop the buffer, the buffered commands are inserted before the flush thread exits
+     */
+    public void shutdown() {
+        running = false;
+        flushExecutor.shutdown();
+        try {
+            if (!flushExecutor.awaitTermination(POLL_TIMEOUT * 10, TimeUnit.MILLISECONDS)) {
+                logger.warn("schedule command buffer is not flushed in time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * collect the buffered commands and insert them
+     */
+    private void flushLoop() {
+        while (running || !buffer.isEmpty()) {
+            try {
+                BufferedCommand first = buffer.poll(POLL_TIMEOUT, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<BufferedCommand> batch = new ArrayList<>();
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMs);
+                while (batch.size() < batchSize) {
+                    buffer.drainTo(batch, batchSize - batch.size());
+                    long waitNanos = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || waitNanos <= 0) {
+                        break;
+                    }
+                    BufferedCommand next = buffer.poll(waitNanos, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        // interrupted, insert what is left one by one
+        BufferedCommand left;
+        while ((left = buffer.poll()) != null) {
+            List<BufferedCommand> batch = new ArrayList<>(1);
+            batch.add(left);
+            flush(batch);
+        }
+    }
+
+    /**
+     * insert a batch of commands, one by one if the batch fails
+     * @param batch buffered commands
+     */
+    private void flush(List<BufferedCommand> batch) {
+        List<Command> commands = new ArrayList<>(batch.size());
+        for (BufferedCommand bufferedCommand : batch) {
+            commands.add(bufferedCommand.command);
+        }
+        try {
+            writer.createCommands(commands);
+            for (BufferedCommand bufferedCommand : batch) {
+                bufferedCommand.future.complete(null);
+            }
+            logger.debug("insert {} schedule commands", commands.size());
+            return;
+        } catch (Throwable e) {
+            logger.warn("insert {} schedule commands failed, insert them one by one : {}", commands.size(), e.getMessage());
+        }
+        for (BufferedCommand bufferedCommand : batch) {
+            try {
+                writer.createCommand(bufferedCommand.command);
+                bufferedCommand.future.complete(null);
+            } catch (Throwable e) {
+                // errors are handed to the waiting job too, the flush thread keeps running
+                logger.error("insert schedule command failed : " + e.getMessage(), e);
+                bufferedCommand.future.completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * inserts the commands of the buffer
+     */
+    interface CommandWriter {
+
+        /**
+         * insert one command
+         * @param command command
+         */
+        void createCommand(Command command);
+
+        /**
+         * insert commands in one statement
+         * @param commands commands
+         */
+        void createCommands(List<Command> commands);
+    }
+
+    /**
+     * command waiting to be inserted
+     */
+    private static class BufferedCommand {
+
+        private final Command command;
+
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        BufferedCommand(Command command) {
+            this.command = command;
+        }
+    }
+}
@@ -18,6 +18,9 @@ package org.apache.dolphinscheduler.server.rpc;
 
 import io.grpc.stub.StreamObserver;
 import org.apache.dolphinscheduler.common.Constants;
+import org.apache.dolphinscheduler.common.metrics.Counter;
+import org.apache.dolphinscheduler.common.metrics.MetricFamily;
+import org.apache.dolphinscheduler.common.metrics.Metrics;
 import com.google.protobuf.ByteString;
 import io.grpc.Server;
 import io.grpc.ServerBuilder;
@@ -39,6 +42,12 @@ public class LoggerServer {
 
     private static  final Logger logger = LoggerFactory.getLogger(LoggerServer.class);
 
+    private static final MetricFamily<Counter> REQUESTS = Metrics.counterFamily("log_rpc_requests_total",
+            "log rpc requests served", "method");
+
+    private static final MetricFamily<Counter> BYTES = Metrics.counterFamily("log_rpc_bytes_total",
+            "log bytes sent by the log rpc", "method");
+
     /**
      * server
      */
@@ -105,6 +114,19 @@ public class LoggerServer {
      * Log View Service Grpc Implementation
      */
     static class LogViewServiceGrpcImpl extends LogViewServiceGrpc.LogViewServiceImplBase {
+
+        private final Counter rollViewLogRequests = REQUESTS.get("rollViewLog");
+
+        private final Counter rollViewLogBytes = BYTES.get("rollViewLog");
+
+        private final Counter viewLogRequests = REQUESTS.get("viewLog");
+
+        private final Counter viewLogBytes = BYTES.get("viewLog");
+
+        private final Counter getLogBytesRequests = REQUESTS.get("getLogBytes");
+
+        private final Counter getLogBytesBytes = BYTES.get("getLogBytes");
+
         @Override
         public void rollViewLog(LogParameter request, StreamObserver<RetStrInfo> responseObserver) {
 
@@ -118,6 +140,8 @@ public class LoggerServer {
                 sb.append(line + "\r\n");
             }
             RetStrInfo retInfoBuild = RetStrInfo.newBuilder().setMsg(sb.toString()).build();
+            rollViewLogRequests.inc();
+            rollViewLogBytes.inc(retInfoBuild.getMsgBytes().size());
             responseObserver.onNext(retInfoBuild);
             responseObserver.onCompleted();
         }
@@ -126,6 +150,8 @@ public class LoggerServer {
         public void viewLog(PathParameter request, StreamObserver<RetStrInfo> responseObserver) {
             logger.info("task path is : {} " , request.getPath());
             RetStrInfo retInfoBuild = RetStrInfo.newBuilder().setMsg(readFile(request.getPath())).build();
+            viewLogRequests.inc();
+            viewLogBytes.inc(retInfoBuild.getMsgBytes().size());
             responseObserver.onNext(retInfoBuild);
             responseObserver.onCompleted();
         }
@@ -136,6 +162,8 @@ public class LoggerServer {
                 ByteString bytes = ByteString.copyFrom(getFileBytes(request.getPath()));
                 RetByteInfo.Builder builder = RetByteInfo.newBuilder();
                 builder.setData(bytes);
+                getLogBytesRequests.inc();
+                getLogBytesBytes.inc(bytes.size());
                 responseObserver.onNext(builder.build());
                 responseObserver.onCompleted();
             }catch (Exception e){
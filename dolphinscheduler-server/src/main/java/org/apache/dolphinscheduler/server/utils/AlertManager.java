@@ -189,6 +189,7 @@ public class AlertManager {
             alert.setAlertGroupId(processInstance.getWarningGroupId() == null ? 1:processInstance.getWarningGroupId());
             alert.setReceivers(processInstance.getProcessDefinition().getReceivers());
             alert.setReceiversCc(processInstance.getProcessDefinition().getReceiversCc());
+            alert.setProcessDefinitionId(processInstance.getProcessDefinitionId());
             alertDao.addAlert(alert);
             logger.info("add alert to db , alert : {}", alert.toString());
 
@@ -244,6 +245,7 @@ public class AlertManager {
         alert.setCreateTime(new Date());
         alert.setReceivers(processInstance.getProcessDefinition().getReceivers());
         alert.setReceiversCc(processInstance.getProcessDefinition().getReceiversCc());
+        alert.setProcessDefinitionId(processInstance.getProcessDefinitionId());
 
         alertDao.addAlert(alert);
         logger.info("add alert to db , alert: {}", alert.toString());
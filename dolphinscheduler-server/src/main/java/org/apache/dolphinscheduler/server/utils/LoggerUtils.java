@@ -16,8 +16,12 @@
  */
 package org.apache.dolphinscheduler.server.utils;
 
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.sift.SiftingAppender;
 import org.apache.dolphinscheduler.common.Constants;
+import org.apache.dolphinscheduler.server.worker.log.TaskLogDiscriminator;
 import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -65,6 +69,48 @@ public class LoggerUtils {
     }
 
 
+    /**
+     * get task log path
+     *
+     * @param processDefId  process define id
+     * @param processInstId process instance id
+     * @param taskId        task id
+     * @return task log path
+     */
+    public static String getTaskLogPath(int processDefId, int processInstId, int taskId) {
+        String baseLog = ((TaskLogDiscriminator) getTaskLogAppender().getDiscriminator()).getLogBase();
+        String taskLog = Constants.SINGLE_SLASH +
+                processDefId + Constants.SINGLE_SLASH  +
+                processInstId + Constants.SINGLE_SLASH  +
+                taskId + ".log";
+        if (baseLog.startsWith(Constants.SINGLE_SLASH)){
+            return baseLog + taskLog;
+        }
+        return System.getProperty("user.dir") + Constants.SINGLE_SLASH + baseLog + taskLog;
+    }
+
+    /**
+     * close the logback file appender of a finished task now instead of waiting for the sifting appender timeout
+     *
+     * @param processDefId  process define id
+     * @param processInstId process instance id
+     * @param taskId        task id
+     */
+    public static void closeTaskLogAppender(int processDefId, int processInstId, int taskId) {
+        getTaskLogAppender().getAppenderTracker().endOfLife(
+                processDefId + Constants.SINGLE_SLASH + processInstId + Constants.SINGLE_SLASH + taskId);
+    }
+
+    /**
+     * get the sifting appender of task logs
+     * @return task log appender
+     */
+    private static SiftingAppender getTaskLogAppender() {
+        return (SiftingAppender) ((LoggerContext) LoggerFactory.getILoggerFactory())
+                .getLogger("ROOT")
+                .getAppender("TASKLOGFILE");
+    }
+
     /**
      * processing log
      * get yarn application id list
@@ -23,6 +23,7 @@ import org.apache.curator.framework.recipes.locks.InterProcessMutex;
 import org.apache.dolphinscheduler.common.Constants;
 import org.apache.dolphinscheduler.common.enums.ExecutionStatus;
 import org.apache.dolphinscheduler.common.enums.TaskType;
+import org.apache.dolphinscheduler.common.metrics.MetricsServer;
 import org.apache.dolphinscheduler.common.queue.ITaskQueue;
 import org.apache.dolphinscheduler.common.queue.TaskQueueFactory;
 import org.apache.dolphinscheduler.common.thread.Stopper;
@@ -37,6 +38,8 @@ import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.apache.dolphinscheduler.server.master.AbstractServer;
 import org.apache.dolphinscheduler.server.utils.ProcessUtils;
 import org.apache.dolphinscheduler.server.utils.SpringApplicationContext;
+import org.apache.dolphinscheduler.server.worker.log.TaskLogOverflowPolicy;
+import org.apache.dolphinscheduler.server.worker.log.TaskLogWriter;
 import org.apache.dolphinscheduler.server.worker.runner.FetchTaskThread;
 import org.apache.dolphinscheduler.server.zk.ZKWorkerClient;
 import org.slf4j.Logger;
@@ -103,6 +106,11 @@ public class WorkerServer extends AbstractServer {
      */
     private ExecutorService fetchTaskExecutorService;
 
+    /**
+     *  metrics server
+     */
+    private MetricsServer metricsServer;
+
     /**
      *  spring application context
      *  only use it for initialization
@@ -145,6 +153,19 @@ public class WorkerServer extends AbstractServer {
             System.exit(1);
         }
 
+        // task output writer
+        if (conf.getBoolean(Constants.WORKER_TASK_LOG_ASYNC, true)) {
+            TaskLogWriter.getInstance().start(
+                    conf.getInt(Constants.WORKER_TASK_LOG_BUFFER_SIZE, Constants.defaultWorkerTaskLogBufferSize),
+                    conf.getInt(Constants.WORKER_TASK_LOG_BATCH_SIZE, Constants.defaultWorkerTaskLogBatchSize),
+                    conf.getInt(Constants.WORKER_TASK_LOG_FLUSH_INTERVAL, Constants.defaultWorkerTaskLogFlushInterval),
+                    TaskLogOverflowPolicy.valueOf(conf.getString(Constants.WORKER_TASK_LOG_OVERFLOW_POLICY,
+                            Constants.defaultWorkerTaskLogOverflowPolicy).trim().toUpperCase()));
+        }
+
+        metricsServer = MetricsServer.start(conf.getInt(Constants.WORKER_METRICS_PORT,
+                Constants.defaultWorkerMetricsPort));
+
         zkWorkerClient = ZKWorkerClient.getZKWorkerClient();
 
         this.taskQueue = TaskQueueFactory.getTaskQueueInstance();
@@ -247,6 +268,13 @@ public class WorkerServer extends AbstractServer {
 
             logger.info("threadpool service stopped");
 
+            try {
+                TaskLogWriter.getInstance().stop();
+            }catch (Exception e){
+                logger.warn("task log writer stopped exception:{}",e.getMessage());
+            }
+            logger.info("task log writer stopped");
+
             try {
                 killExecutorService.shutdownNow();
             }catch (Exception e){
@@ -269,6 +297,14 @@ public class WorkerServer extends AbstractServer {
             latch.countDown();
             logger.info("zookeeper service stopped");
 
+            try {
+                if(metricsServer != null){
+                    metricsServer.stop();
+                }
+            }catch (Exception e){
+                logger.warn("metrics server stopped exception:{}",e.getMessage());
+            }
+
         } catch (Exception e) {
             logger.error("worker server stop exception : " + e.getMessage(), e);
             System.exit(-1);
@@ -0,0 +1,231 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.server.worker.log;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * log channel of one task: a bounded line buffer filled by the output pump of the task
+ * and drained into the task log file by the {@link TaskLogWriter}
+ */
+public class TaskLogChannel {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskLogChannel.class);
+
+    /**
+     * log line prefix, the same level and date layout as the task logger pattern
+     */
+    private static final String LINE_PREFIX_FORMAT = "'[INFO] 'yyyy-MM-dd HH:mm:ss.SSS' - '";
+
+    private static final byte[] LINE_SEPARATOR = "\n".getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * log file path
+     */
+    private final String logPath;
+
+    /**
+     * buffered lines
+     */
+    private final BlockingQueue<String> lines;
+
+    /**
+     * overflow policy
+     */
+    private final TaskLogOverflowPolicy overflowPolicy;
+
+    /**
+     * writer to wake up when the buffer is filling up
+     */
+    private final TaskLogWriter writer;
+
+    /**
+     * lines dropped since the last drain
+     */
+    private final AtomicLong droppedLines = new AtomicLong();
+
+    /**
+     * only accessed by the draining thread while holding the channel lock
+     */
+    private final SimpleDateFormat prefixFormat = new SimpleDateFormat(LINE_PREFIX_FORMAT);
+
+    private FileChannel fileChannel;
+
+    private volatile boolean closed;
+
+    /**
+     * set once the file is closed, guarded by the channel lock
+     */
+    private boolean released;
+
+    TaskLogChannel(String logPath, int bufferSize, TaskLogOverflowPolicy overflowPolicy, TaskLogWriter writer){
+        this.logPath = logPath;
+        this.lines = new ArrayBlockingQueue<>(bufferSize);
+        this.overflowPolicy = overflowPolicy;
+        this.writer = writer;
+    }
+
+    /**
+     * append one line of task output
+     * @param line line
+     * @throws InterruptedException if interrupted while waiting for buffer space
+     */
+    public void append(String line) throws InterruptedException {
+        if (closed) {
+            return;
+        }
+        if (!lines.offer(line)) {
+            writer.wakeup();
+            if (overflowPolicy == TaskLogOverflowPolicy.DROP) {
+                droppedLines.incrementAndGet();
+            } else {
+                lines.put(line);
+            }
+        } else if (lines.remainingCapacity() < lines.size()) {
+            writer.wakeup();
+        }
+    }
+
+    /**
+     * flush the remaining lines and close the log file, called by the output pump when the task output ends
+     */
+    public void close() {
+        closed = true;
+        writer.release(this);
+    }
+
+    public String getLogPath() {
+        return logPath;
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * write the buffered lines to the log file
+     * @param buffer reusable byte buffer of the writer
+     * @param batchSize max lines taken from the buffer per write
+     * @throws IOException io exception
+     */
+    synchronized void drain(ByteBuffer buffer, int batchSize) throws IOException {
+        if (released) {
+            return;
+        }
+        List<String> batch = new ArrayList<>(Math.min(batchSize, lines.size() + 1));
+        // bounded rounds, so that a task writing without pause can not hold the writer
+        int rounds = lines.size() / batchSize + 1;
+        for (int i = 0; i < rounds; i++) {
+            if (lines.drainTo(batch, batchSize) == 0 && droppedLines.get() == 0) {
+                break;
+            }
+            FileChannel channel = getFileChannel();
+            // one timestamp per batch instead of one per line
+            byte[] prefix = prefixFormat.format(new Date()).getBytes(StandardCharsets.UTF_8);
+
+            long dropped = droppedLines.getAndSet(0);
+            if (dropped > 0) {
+                writeLine(channel, buffer, prefix,
+                        String.format("%d lines of task output were dropped because the log buffer is full", dropped));
+            }
+            for (String line : batch) {
+                writeLine(channel, buffer, prefix, line);
+            }
+            flush(channel, buffer);
+            batch.clear();
+        }
+    }
+
+    /**
+     * drain the remaining lines and close the file
+     * @param buffer reusable byte buffer of the writer
+     * @param batchSize max lines taken from the buffer per write
+     */
+    synchronized void drainAndClose(ByteBuffer buffer, int batchSize) {
+        try {
+            drain(buffer, batchSize);
+        } catch (IOException e) {
+            logger.error("write task log {} failed", logPath, e);
+        } finally {
+            released = true;
+            closeFileChannel();
+        }
+    }
+
+    private void writeLine(FileChannel channel, ByteBuffer buffer, byte[] prefix, String line) throws IOException {
+        byte[] content = line.getBytes(StandardCharsets.UTF_8);
+        int length = prefix.length + content.length + LINE_SEPARATOR.length;
+        if (buffer.remaining() < length) {
+            flush(channel, buffer);
+        }
+        if (buffer.remaining() < length) {
+            // longer than the whole buffer, write directly
+            channel.write(new ByteBuffer[]{ByteBuffer.wrap(prefix), ByteBuffer.wrap(content),
+                    ByteBuffer.wrap(LINE_SEPARATOR)});
+            return;
+        }
+        buffer.put(prefix).put(content).put(LINE_SEPARATOR);
+    }
+
+    private void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private FileChannel getFileChannel() throws IOException {
+        if (fileChannel == null) {
+            Path path = Paths.get(logPath);
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            fileChannel = FileChannel.open(path, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+        return fileChannel;
+    }
+
+    private void closeFileChannel() {
+        if (fileChannel != null) {
+            try {
+                fileChannel.close();
+            } catch (IOException e) {
+                logger.warn("close task log {} failed", logPath, e);
+            }
+            fileChannel = null;
+        }
+    }
+}
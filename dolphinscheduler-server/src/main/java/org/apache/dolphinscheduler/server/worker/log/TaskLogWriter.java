@@ -0,0 +1,171 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.server.worker.log;
+
+import org.apache.dolphinscheduler.common.Constants;
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * asynchronous writer of task output:
+ * the output of task processes is buffered per task and written to the task log files
+ * in batches by one writer thread, without going through logback
+ */
+public class TaskLogWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskLogWriter.class);
+
+    private static final TaskLogWriter instance = new TaskLogWriter();
+
+    /**
+     * open channels
+     */
+    private final Set<TaskLogChannel> channels = ConcurrentHashMap.newKeySet();
+
+    /**
+     * write buffer, only used by the writer thread
+     */
+    private final ByteBuffer writeBuffer = ByteBuffer.allocateDirect(Constants.TASK_LOG_WRITE_BUFFER_SIZE);
+
+    private int bufferSize;
+
+    private int batchSize;
+
+    private long flushIntervalMillis;
+
+    private TaskLogOverflowPolicy overflowPolicy;
+
+    private ExecutorService writerService;
+
+    private volatile Thread writerThread;
+
+    private volatile boolean started;
+
+    private TaskLogWriter(){
+    }
+
+    public static TaskLogWriter getInstance(){
+        return instance;
+    }
+
+    /**
+     * start the writer thread
+     * @param bufferSize max buffered lines of each task
+     * @param batchSize max lines written per batch
+     * @param flushIntervalMillis max interval between two writes of a task
+     * @param overflowPolicy what to do when the buffer of a task is full
+     */
+    public synchronized void start(int bufferSize, int batchSize, long flushIntervalMillis,
+                                   TaskLogOverflowPolicy overflowPolicy){
+        if (started) {
+            return;
+        }
+        this.bufferSize = bufferSize;
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.overflowPolicy = overflowPolicy;
+        this.started = true;
+
+        writerService = ThreadUtils.newDaemonSingleThreadExecutor("Worker-Task-Log-Writer");
+        writerService.execute(this::writeLoop);
+        logger.info("task log writer started, buffer size : {}, batch size : {}, flush interval : {}ms, overflow policy : {}",
+                bufferSize, batchSize, flushIntervalMillis, overflowPolicy);
+    }
+
+    /**
+     * stop the writer thread after writing all the buffered lines
+     */
+    public synchronized void stop(){
+        if (!started) {
+            return;
+        }
+        started = false;
+        wakeup();
+        writerService.shutdown();
+        try {
+            writerService.awaitTermination(Constants.TASK_LOG_WRITER_STOP_TIMEOUT, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public boolean isStarted() {
+        return started;
+    }
+
+    /**
+     * open the log channel of a task
+     * @param logPath task log path
+     * @return task log channel
+     */
+    public TaskLogChannel open(String logPath){
+        TaskLogChannel channel = new TaskLogChannel(logPath, bufferSize, overflowPolicy, this);
+        channels.add(channel);
+        return channel;
+    }
+
+    /**
+     * write the remaining lines of a closed channel and close its file, in the caller thread
+     * so that the whole output is in the log file when the task output ends
+     * @param channel channel
+     */
+    void release(TaskLogChannel channel){
+        channels.remove(channel);
+        channel.drainAndClose(ByteBuffer.allocate(Constants.TASK_LOG_WRITE_BUFFER_SIZE), batchSize);
+    }
+
+    /**
+     * wake up the writer thread before the flush interval
+     */
+    void wakeup(){
+        Thread thread = writerThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    private void writeLoop(){
+        writerThread = Thread.currentThread();
+        while (started) {
+            writeAll();
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis));
+        }
+        writeAll();
+    }
+
+    private void writeAll(){
+        for (TaskLogChannel channel : channels) {
+            if (channel.isClosed()) {
+                continue;
+            }
+            try {
+                channel.drain(writeBuffer, batchSize);
+            } catch (Exception e) {
+                writeBuffer.clear();
+                logger.error("write task log {} failed", channel.getLogPath(), e);
+            }
+        }
+    }
+}
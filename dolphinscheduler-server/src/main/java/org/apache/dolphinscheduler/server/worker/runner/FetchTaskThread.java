@@ -17,6 +17,10 @@
 package org.apache.dolphinscheduler.server.worker.runner;
 
 import org.apache.dolphinscheduler.common.Constants;
+import org.apache.dolphinscheduler.common.enums.LifecycleStage;
+import org.apache.dolphinscheduler.common.metrics.Counter;
+import org.apache.dolphinscheduler.common.metrics.Metrics;
+import org.apache.dolphinscheduler.common.metrics.Timer;
 import org.apache.dolphinscheduler.common.queue.ITaskQueue;
 import org.apache.dolphinscheduler.common.thread.Stopper;
 import org.apache.dolphinscheduler.common.thread.ThreadUtils;
@@ -40,6 +44,7 @@ import java.util.Date;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  *  fetch task thread
@@ -47,6 +52,12 @@ import java.util.concurrent.ThreadPoolExecutor;
 public class FetchTaskThread implements Runnable{
 
     private static final Logger logger = LoggerFactory.getLogger(FetchTaskThread.class);
+
+    private static final Counter TASKS_FETCHED = Metrics.counter("worker_tasks_fetched_total",
+            "tasks fetched from the task queue and submitted to the worker exec threads");
+
+    private static final Timer DISPATCH_LATENCY = Metrics.timer("task_dispatch_latency_seconds",
+            "time from the master submitting a task to a worker fetching it, includes the clock difference of the hosts");
     /**
      *  set worker concurrent tasks
      */
@@ -102,6 +113,9 @@ public class FetchTaskThread implements Runnable{
                 Constants.defaultWorkerExecThreadNum);
         // worker thread pool executor
         this.workerExecService = ThreadUtils.newDaemonFixedThreadExecutor("Worker-Fetch-Task-Thread",workerExecNums);
+        ThreadPoolExecutor poolExecutor = (ThreadPoolExecutor) workerExecService;
+        Metrics.gauge("worker_exec_threads_active", "tasks run by the worker exec threads", poolExecutor::getActiveCount);
+        Metrics.gauge("worker_exec_threads", "worker exec threads", () -> workerExecNums);
         this.conf = conf;
         this.taskQueue = taskQueue;
         this.taskInstance = null;
@@ -189,6 +203,7 @@ public class FetchTaskThread implements Runnable{
                         removeNodeFromTaskQueue(taskQueueStr);
                         continue;
                     }
+                    processDao.recordLifecycle(taskInstance.getProcessInstanceId(), taskInstId, LifecycleStage.TASK_POLLED);
 
                     Tenant tenant = processDao.getTenantForProcess(taskInstance.getProcessInstance().getTenantId(),
                             taskInstance.getProcessDefine().getUserId());
@@ -229,6 +244,11 @@ public class FetchTaskThread implements Runnable{
                     logger.info("task : {} ready to submit to task scheduler thread",taskInstId);
                     // submit task
                     workerExecService.submit(new TaskScheduleThread(taskInstance, processDao));
+                    TASKS_FETCHED.inc();
+                    if (taskInstance.getSubmitTime() != null) {
+                        DISPATCH_LATENCY.record(taskInstance.getStartTime().getTime() - taskInstance.getSubmitTime().getTime(),
+                                TimeUnit.MILLISECONDS);
+                    }
 
                     // remove node from zk
                     removeNodeFromTaskQueue(taskQueueStr);
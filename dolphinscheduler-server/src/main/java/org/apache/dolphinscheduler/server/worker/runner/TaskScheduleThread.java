@@ -17,12 +17,14 @@
 package org.apache.dolphinscheduler.server.worker.runner;
 
 
-import ch.qos.logback.classic.LoggerContext;
-import ch.qos.logback.classic.sift.SiftingAppender;
 import com.alibaba.fastjson.JSONObject;
 import org.apache.dolphinscheduler.common.Constants;
 import org.apache.dolphinscheduler.common.enums.ExecutionStatus;
+import org.apache.dolphinscheduler.common.enums.LifecycleStage;
 import org.apache.dolphinscheduler.common.enums.TaskType;
+import org.apache.dolphinscheduler.common.metrics.MetricFamily;
+import org.apache.dolphinscheduler.common.metrics.Metrics;
+import org.apache.dolphinscheduler.common.metrics.Timer;
 import org.apache.dolphinscheduler.common.model.TaskNode;
 import org.apache.dolphinscheduler.common.process.Property;
 import org.apache.dolphinscheduler.common.task.AbstractParameters;
@@ -34,7 +36,6 @@ import org.apache.dolphinscheduler.dao.ProcessDao;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.apache.dolphinscheduler.server.utils.LoggerUtils;
-import org.apache.dolphinscheduler.server.worker.log.TaskLogDiscriminator;
 import org.apache.dolphinscheduler.server.worker.task.AbstractTask;
 import org.apache.dolphinscheduler.server.worker.task.TaskManager;
 import org.apache.dolphinscheduler.server.worker.task.TaskProps;
@@ -44,6 +45,7 @@ import org.slf4j.LoggerFactory;
 import java.io.File;
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 
@@ -57,6 +59,9 @@ public class TaskScheduleThread implements Runnable {
      */
     private final Logger logger = LoggerFactory.getLogger(TaskScheduleThread.class);
 
+    private static final MetricFamily<Timer> TASK_DURATION = Metrics.timerFamily("task_duration_seconds",
+            "duration of the tasks run by the worker", "task_type");
+
     /**
      *  task instance
      */
@@ -87,6 +92,7 @@ public class TaskScheduleThread implements Runnable {
     public void run() {
 
         try {
+            processDao.recordLifecycle(taskInstance.getProcessInstanceId(), taskInstance.getId(), LifecycleStage.TASK_STARTED);
             // update task state is running according to task type
             updateTaskState(taskInstance.getTaskType());
 
@@ -157,8 +163,18 @@ public class TaskScheduleThread implements Runnable {
                 taskInstance.getId(),
                 task.getExitStatus());
         // update task instance state
+        Date endTime = new Date();
         processDao.changeTaskState(task.getExitStatus(),
-                new Date(),
+                endTime,
+                taskInstance.getId());
+        processDao.recordLifecycle(taskInstance.getProcessInstanceId(), taskInstance.getId(),
+                LifecycleStage.TASK_FINISHED, endTime);
+        TASK_DURATION.get(taskInstance.getTaskType())
+                .record(endTime.getTime() - taskInstance.getStartTime().getTime(), TimeUnit.MILLISECONDS);
+
+        // the task logger is not used any more
+        LoggerUtils.closeTaskLogAppender(taskInstance.getProcessDefinitionId(),
+                taskInstance.getProcessInstanceId(),
                 taskInstance.getId());
     }
 
@@ -208,21 +224,9 @@ public class TaskScheduleThread implements Runnable {
      * @return
      */
     private String getTaskLogPath() {
-        String baseLog = ((TaskLogDiscriminator) ((SiftingAppender) ((LoggerContext) LoggerFactory.getILoggerFactory())
-                .getLogger("ROOT")
-                .getAppender("TASKLOGFILE"))
-                .getDiscriminator()).getLogBase();
-        if (baseLog.startsWith(Constants.SINGLE_SLASH)){
-            return baseLog + Constants.SINGLE_SLASH +
-                    taskInstance.getProcessDefinitionId() + Constants.SINGLE_SLASH  +
-                    taskInstance.getProcessInstanceId() + Constants.SINGLE_SLASH  +
-                    taskInstance.getId() + ".log";
-        }
-        return System.getProperty("user.dir") + Constants.SINGLE_SLASH +
-                baseLog +  Constants.SINGLE_SLASH +
-                taskInstance.getProcessDefinitionId() + Constants.SINGLE_SLASH  +
-                taskInstance.getProcessInstanceId() + Constants.SINGLE_SLASH  +
-                taskInstance.getId() + ".log";
+        return LoggerUtils.getTaskLogPath(taskInstance.getProcessDefinitionId(),
+                taskInstance.getProcessInstanceId(),
+                taskInstance.getId());
     }
 
     /**
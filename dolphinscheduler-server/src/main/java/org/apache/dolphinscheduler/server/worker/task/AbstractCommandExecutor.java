@@ -18,12 +18,15 @@ package org.apache.dolphinscheduler.server.worker.task;
 
 import org.apache.dolphinscheduler.common.Constants;
 import org.apache.dolphinscheduler.common.enums.ExecutionStatus;
+import org.apache.dolphinscheduler.common.enums.LifecycleStage;
 import org.apache.dolphinscheduler.common.thread.ThreadUtils;
 import org.apache.dolphinscheduler.common.utils.HadoopUtils;
 import org.apache.dolphinscheduler.dao.ProcessDao;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.apache.dolphinscheduler.server.utils.LoggerUtils;
 import org.apache.dolphinscheduler.server.utils.ProcessUtils;
+import org.apache.dolphinscheduler.server.worker.log.TaskLogChannel;
+import org.apache.dolphinscheduler.server.worker.log.TaskLogWriter;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 
@@ -104,6 +107,11 @@ public abstract class AbstractCommandExecutor {
      */
     protected final List<String> logBuffer;
 
+    /**
+     *  process output pump
+     */
+    private ExecutorService parseProcessOutputExecutorService;
+
 
     public AbstractCommandExecutor(Consumer<List<String>> logHandler,
                                    String taskDir, String taskAppId,int taskInstId,String tenantCode, String envFile,
@@ -150,10 +158,13 @@ public abstract class AbstractCommandExecutor {
             // get process id
             int pid = getProcessId(process);
 
-            // task instance id
-            int taskInstId = Integer.parseInt(taskAppId.split("_")[2]);
+            // process instance id and task instance id
+            String[] appIds = taskAppId.split("_");
+            int processInstId = Integer.parseInt(appIds[1]);
+            int taskInstId = Integer.parseInt(appIds[2]);
 
             processDao.updatePidByTaskInstId(taskInstId, pid, "");
+            processDao.recordLifecycle(processInstId, taskInstId, LifecycleStage.PROCESS_SPAWNED);
 
             logger.info("process start, process id is: {}", pid);
 
@@ -164,6 +175,8 @@ public abstract class AbstractCommandExecutor {
             boolean status = process.waitFor(remainTime, TimeUnit.SECONDS);
 
             if (status) {
+                // the yarn application ids are parsed from the log, which must hold the whole output
+                awaitProcessOutput();
                 exitStatusCode = process.exitValue();
                 logger.info("process has exited, work dir:{}, pid:{} ,exitStatusCode:{}", taskDir, pid,exitStatusCode);
                 //update process state to db
@@ -351,30 +364,89 @@ public abstract class AbstractCommandExecutor {
     private void parseProcessOutput(Process process) {
         String threadLoggerInfoName = String.format(LoggerUtils.TASK_LOGGER_THREAD_NAME + "-%s", taskAppId);
         ExecutorService parseProcessOutputExecutorService = ThreadUtils.newDaemonSingleThreadExecutor(threadLoggerInfoName);
-        parseProcessOutputExecutorService.submit(new Runnable(){
-            @Override
-            public void run() {
-                BufferedReader inReader = null;
+        TaskLogWriter taskLogWriter = TaskLogWriter.getInstance();
+        if (taskLogWriter.isStarted()) {
+            parseProcessOutputExecutorService.submit(new Runnable(){
+                @Override
+                public void run() {
+                    writeProcessOutput(process, taskLogWriter);
+                }
+            });
+        } else {
+            parseProcessOutputExecutorService.submit(new Runnable(){
+                @Override
+                public void run() {
+                    BufferedReader inReader = null;
+
+                    try {
+                        inReader = new BufferedReader(new InputStreamReader(process.getInputStream()));
+                        String line;
+
+                        long lastFlushTime = System.currentTimeMillis();
+
+                        while ((line = inReader.readLine()) != null) {
+                            logBuffer.add(line);
+                            lastFlushTime = flush(lastFlushTime);
+                        }
+                    } catch (Exception e) {
+                        logger.error(e.getMessage(),e);
+                    } finally {
+                        clear();
+                        close(inReader);
+                    }
+                }
+            });
+        }
+        parseProcessOutputExecutorService.shutdown();
+        this.parseProcessOutputExecutorService = parseProcessOutputExecutorService;
+    }
 
-                try {
-                    inReader = new BufferedReader(new InputStreamReader(process.getInputStream()));
-                    String line;
+    /**
+     * write the standard output of the process to the task log file through the task log writer,
+     * the raw lines skip the logback filters and pattern layout
+     * @param process process
+     * @param taskLogWriter task log writer
+     */
+    private void writeProcessOutput(Process process, TaskLogWriter taskLogWriter) {
+        String[] taskAppIdArray = taskAppId.split("_");
+        TaskLogChannel taskLogChannel = taskLogWriter.open(LoggerUtils.getTaskLogPath(
+                Integer.parseInt(taskAppIdArray[0]),
+                Integer.parseInt(taskAppIdArray[1]),
+                Integer.parseInt(taskAppIdArray[2])));
+        BufferedReader inReader = null;
 
-                    long lastFlushTime = System.currentTimeMillis();
+        try {
+            inReader = new BufferedReader(new InputStreamReader(process.getInputStream()));
+            String line;
+            while ((line = inReader.readLine()) != null) {
+                taskLogChannel.append(line);
+            }
+        } catch (InterruptedException e) {
+            logger.warn("write process output interrupted, task : {}", taskAppId);
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.error(e.getMessage(),e);
+        } finally {
+            taskLogChannel.close();
+            close(inReader);
+        }
+    }
 
-                    while ((line = inReader.readLine()) != null) {
-                        logBuffer.add(line);
-                        lastFlushTime = flush(lastFlushTime);
-                    }
-                } catch (Exception e) {
-                    logger.error(e.getMessage(),e);
-                } finally {
-                    clear();
-                    close(inReader);
-                }
+    /**
+     * wait for the output of the process being written to the task log
+     */
+    private void awaitProcessOutput() {
+        if (parseProcessOutputExecutorService == null) {
+            return;
+        }
+        try {
+            if (!parseProcessOutputExecutorService.awaitTermination(Constants.PROCESS_OUTPUT_AWAIT_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                logger.warn("process output is still being written after {}ms, task : {}",
+                        Constants.PROCESS_OUTPUT_AWAIT_TIMEOUT, taskAppId);
             }
-        });
-        parseProcessOutputExecutorService.shutdown();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
     }
 
     public int getPid() {
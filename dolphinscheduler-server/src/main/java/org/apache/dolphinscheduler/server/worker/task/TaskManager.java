@@ -30,11 +30,28 @@ import org.apache.dolphinscheduler.server.worker.task.sql.SqlTask;
 import org.apache.commons.lang3.EnumUtils;
 import org.slf4j.Logger;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
 /**
  * task manaster
  */
 public class TaskManager {
 
+  /**
+   * task types registered besides the built in ones, e.g. the simulated tasks of the load test
+   */
+  private static final Map<String, BiFunction<TaskProps, Logger, AbstractTask>> registeredTasks = new ConcurrentHashMap<>();
+
+  /**
+   * register a task type, it takes precedence over a built in task type of the same name
+   * @param taskType  task type
+   * @param factory   creates the task from the props and the task logger
+   */
+  public static void register(String taskType, BiFunction<TaskProps, Logger, AbstractTask> factory) {
+    registeredTasks.put(taskType, factory);
+  }
 
   /**
    * create new task
@@ -46,7 +63,16 @@ public class TaskManager {
    */
   public static AbstractTask newTask(String taskType, TaskProps props, Logger logger)
       throws IllegalArgumentException {
-    switch (EnumUtils.getEnum(TaskType.class,taskType)) {
+    BiFunction<TaskProps, Logger, AbstractTask> factory = registeredTasks.get(taskType);
+    if (factory != null) {
+      return factory.apply(props, logger);
+    }
+    TaskType type = EnumUtils.getEnum(TaskType.class,taskType);
+    if (type == null) {
+      logger.error("unsupport task type: {}", taskType);
+      throw new IllegalArgumentException("not support task type");
+    }
+    switch (type) {
         case SHELL:
         return new ShellTask(props, logger);
       case PROCEDURE:
@@ -21,6 +21,7 @@ import com.alibaba.fastjson.JSONObject;
 import com.alibaba.fastjson.serializer.SerializerFeature;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.lang3.EnumUtils;
+import org.apache.dolphinscheduler.alert.utils.ExcelUtils;
 import org.apache.dolphinscheduler.alert.utils.MailUtils;
 import org.apache.dolphinscheduler.common.Constants;
 import org.apache.dolphinscheduler.common.enums.ShowType;
@@ -62,6 +63,11 @@ import static org.apache.dolphinscheduler.common.enums.DbType.HIVE;
  */
 public class SqlTask extends AbstractTask {
 
+    /**
+     *  sql parameter ${} with the quotes around it, special characters need to be escaped
+     */
+    private static final Pattern SQL_PARAM_PATTERN = Pattern.compile("['\"]*\\$\\{(.*?)\\}['\"]*");
+
     /**
      *  sql parameters
      */
@@ -146,17 +152,31 @@ public class SqlTask extends AbstractTask {
             baseDataSource = DataSourceFactory.getDatasource(dataSource.getType(),
                     dataSource.getConnectionParams());
 
+            // the parameters are the same for all statements, convert them once
+            Map<String, Property> paramsMap = ParamUtils.convert(taskProps.getUserDefParamsMap(),
+                    taskProps.getDefinedParams(),
+                    sqlParameters.getLocalParametersMap(),
+                    taskProps.getCmdTypeIfComplement(),
+                    taskProps.getScheduleTime());
+
+            if (paramsMap != null && StringUtils.isNotEmpty(sqlParameters.getTitle())){
+                String title = ParameterUtils.convertParameterPlaceholders(sqlParameters.getTitle(),
+                        ParamUtils.convert(paramsMap));
+                logger.info("SQL tile : {}",title);
+                sqlParameters.setTitle(title);
+            }
+
             // ready to execute SQL and parameter entity Map
-            SqlBinds mainSqlBinds = getSqlAndSqlParamsMap(sqlParameters.getSql());
+            SqlBinds mainSqlBinds = getSqlAndSqlParamsMap(sqlParameters.getSql(), paramsMap);
             List<SqlBinds> preStatementSqlBinds = Optional.ofNullable(sqlParameters.getPreStatements())
                     .orElse(new ArrayList<>())
                     .stream()
-                    .map(this::getSqlAndSqlParamsMap)
+                    .map(sql -> getSqlAndSqlParamsMap(sql, paramsMap))
                     .collect(Collectors.toList());
             List<SqlBinds> postStatementSqlBinds = Optional.ofNullable(sqlParameters.getPostStatements())
                     .orElse(new ArrayList<>())
                     .stream()
-                    .map(this::getSqlAndSqlParamsMap)
+                    .map(sql -> getSqlAndSqlParamsMap(sql, paramsMap))
                     .collect(Collectors.toList());
 
             // determine if it is UDF
@@ -187,44 +207,28 @@ public class SqlTask extends AbstractTask {
 
     /**
      *  ready to execute SQL and parameter entity Map
+     * @param sql sql
+     * @param paramsMap converted parameters
      * @return
      */
-    private SqlBinds getSqlAndSqlParamsMap(String sql) {
+    private SqlBinds getSqlAndSqlParamsMap(String sql, Map<String, Property> paramsMap) {
         Map<Integer,Property> sqlParamsMap =  new HashMap<>();
         StringBuilder sqlBuilder = new StringBuilder();
 
-        // find process instance by task id
-
-
-        Map<String, Property> paramsMap = ParamUtils.convert(taskProps.getUserDefParamsMap(),
-                taskProps.getDefinedParams(),
-                sqlParameters.getLocalParametersMap(),
-                taskProps.getCmdTypeIfComplement(),
-                taskProps.getScheduleTime());
-
         // spell SQL according to the final user-defined variable
         if(paramsMap == null){
             sqlBuilder.append(sql);
             return new SqlBinds(sqlBuilder.toString(), sqlParamsMap);
         }
 
-        if (StringUtils.isNotEmpty(sqlParameters.getTitle())){
-            String title = ParameterUtils.convertParameterPlaceholders(sqlParameters.getTitle(),
-                    ParamUtils.convert(paramsMap));
-            logger.info("SQL tile : {}",title);
-            sqlParameters.setTitle(title);
-        }
-
-        // special characters need to be escaped, ${} needs to be escaped
-        String rgex = "['\"]*\\$\\{(.*?)\\}['\"]*";
-        setSqlParamsMap(sql, rgex, sqlParamsMap, paramsMap);
+        setSqlParamsMap(sql, SQL_PARAM_PATTERN, sqlParamsMap, paramsMap);
 
         // replace the ${} of the SQL statement with the Placeholder
-        String formatSql = sql.replaceAll(rgex,"?");
+        String formatSql = SQL_PARAM_PATTERN.matcher(sql).replaceAll("?");
         sqlBuilder.append(formatSql);
 
         // print repalce sql
-        printReplacedSql(sql,formatSql,rgex,sqlParamsMap);
+        printReplacedSql(sql,formatSql,sqlParamsMap);
         return new SqlBinds(sqlBuilder.toString(), sqlParamsMap);
     }
 
@@ -296,7 +300,20 @@ public class SqlTask extends AbstractTask {
                     ResultSetMetaData md = resultSet.getMetaData();
                     int num = md.getColumnCount();
 
+                    // rows over the attachment cap would be dropped when sending, do not keep them
+                    int maxRows = ExcelUtils.attachmentMaxRows;
                     while (resultSet.next()) {
+                        if (resultJSONArray.size() >= maxRows) {
+                            logger.warn("query result exceeds {} rows, the rest rows are not sent", maxRows);
+                            // tells the receivers the result is truncated, in the first column of a row of its own
+                            JSONObject truncatedRow = new JSONObject(true);
+                            for (int i = 1; i <= num; i++) {
+                                truncatedRow.put(md.getColumnName(i), i == 1 ? String.format(
+                                        "truncated: only the first %d rows of the query result are sent", maxRows) : "");
+                            }
+                            resultJSONArray.add(truncatedRow);
+                            break;
+                        }
                         JSONObject mapOfColValues = new JSONObject(true);
                         for (int i = 1; i <= num; i++) {
                             mapOfColValues.put(md.getColumnName(i), resultSet.getObject(i));
@@ -304,16 +321,15 @@ public class SqlTask extends AbstractTask {
                         resultJSONArray.add(mapOfColValues);
                     }
                     resultSet.close();
-                    logger.debug("execute sql : {}", JSONObject.toJSONString(resultJSONArray, SerializerFeature.WriteMapNullValue));
+                    String result = JSONObject.toJSONString(resultJSONArray, SerializerFeature.WriteMapNullValue);
+                    logger.debug("execute sql : {}", result);
 
                     // if there is a result set
                     if (resultJSONArray.size() > 0) {
                         if (StringUtils.isNotEmpty(sqlParameters.getTitle())) {
-                            sendAttachment(sqlParameters.getTitle(),
-                                    JSONObject.toJSONString(resultJSONArray, SerializerFeature.WriteMapNullValue));
+                            sendAttachment(sqlParameters.getTitle(), result);
                         }else{
-                            sendAttachment(taskProps.getNodeName() + " query resultsets ",
-                                    JSONObject.toJSONString(resultJSONArray, SerializerFeature.WriteMapNullValue));
+                            sendAttachment(taskProps.getNodeName() + " query resultsets ", result);
                         }
                     }
 
@@ -418,12 +434,11 @@ public class SqlTask extends AbstractTask {
     /**
      * regular expressions match the contents between two specified strings
      * @param content           content
-     * @param rgex              rgex
+     * @param pattern           sql parameter pattern
      * @param sqlParamsMap      sql params map
      * @param paramsPropsMap    params props map
      */
-    public void setSqlParamsMap(String content, String rgex, Map<Integer,Property> sqlParamsMap, Map<String,Property> paramsPropsMap){
-        Pattern pattern = Pattern.compile(rgex);
+    public void setSqlParamsMap(String content, Pattern pattern, Map<Integer,Property> sqlParamsMap, Map<String,Property> paramsPropsMap){
         Matcher m = pattern.matcher(content);
         int index = 1;
         while (m.find()) {
@@ -440,10 +455,9 @@ public class SqlTask extends AbstractTask {
      * print replace sql
      * @param content       content
      * @param formatSql     format sql
-     * @param rgex          rgex
      * @param sqlParamsMap  sql params map
      */
-    public void printReplacedSql(String content, String formatSql,String rgex, Map<Integer,Property> sqlParamsMap){
+    public void printReplacedSql(String content, String formatSql, Map<Integer,Property> sqlParamsMap){
         //parameter print style
         logger.info("after replace sql , preparing : {}" , formatSql);
         StringBuilder logPrint = new StringBuilder("replaced sql , parameters:");
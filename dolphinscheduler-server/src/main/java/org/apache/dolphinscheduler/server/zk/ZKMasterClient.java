@@ -16,6 +16,10 @@
  */
 package org.apache.dolphinscheduler.server.zk;
 
+import com.google.common.collect.Lists;
+import org.apache.commons.configuration.Configuration;
+import org.apache.commons.configuration.ConfigurationException;
+import org.apache.commons.configuration.PropertiesConfiguration;
 import org.apache.dolphinscheduler.common.Constants;
 import org.apache.dolphinscheduler.common.enums.ExecutionStatus;
 import org.apache.dolphinscheduler.common.enums.ZKNodeType;
@@ -26,6 +30,7 @@ import org.apache.dolphinscheduler.dao.DaoFactory;
 import org.apache.dolphinscheduler.dao.ProcessDao;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.server.master.runner.TaskWatchEngine;
 import org.apache.dolphinscheduler.server.utils.ProcessUtils;
 import org.apache.commons.lang.StringUtils;
 import org.apache.curator.framework.CuratorFramework;
@@ -34,12 +39,21 @@ import org.apache.curator.framework.recipes.cache.PathChildrenCacheEvent;
 import org.apache.curator.framework.recipes.cache.PathChildrenCacheListener;
 import org.apache.curator.framework.recipes.locks.InterProcessMutex;
 import org.apache.curator.utils.ThreadUtils;
+import org.apache.zookeeper.CreateMode;
+import org.apache.zookeeper.KeeperException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 
 
 /**
@@ -88,6 +102,50 @@ public class ZKMasterClient extends AbstractZKClient {
 	 */
 	private PathChildrenCache workerPathChildrenCache;
 
+	/**
+	 * sub process events path children cache
+	 */
+	private PathChildrenCache subProcessEventsPathChildrenCache;
+
+	/**
+	 * master configuration
+	 */
+	private static Configuration masterConf;
+
+	/**
+	 * failover of dead servers, one server a thread
+	 */
+	private final ExecutorService failoverExecutor;
+
+	/**
+	 * killing the yarn jobs of failover tasks
+	 */
+	private final ExecutorService failoverKillExecutor;
+
+	/**
+	 * number of instances failed over in one transaction
+	 */
+	private final int failoverBatchSize;
+
+	/**
+	 * deletes the sub process events no master consumed
+	 */
+	private final ScheduledExecutorService subProcessEventSweeper;
+
+	/**
+	 * milliseconds a sub process event is kept, the fallback check of the parent task runs within it
+	 */
+	private final long subProcessEventTtl;
+
+	static {
+		try {
+			masterConf = new PropertiesConfiguration(Constants.MASTER_PROPERTIES_PATH);
+		}catch (ConfigurationException e){
+			logger.error("load configuration failed : " + e.getMessage(),e);
+			masterConf = new PropertiesConfiguration();
+		}
+	}
+
 	/**
 	 * constructor
 	 *
@@ -95,14 +153,18 @@ public class ZKMasterClient extends AbstractZKClient {
 	 */
 	private ZKMasterClient(ProcessDao processDao){
 		this.processDao = processDao;
+		int failoverThreadNum = masterConf.getInt(Constants.MASTER_FAILOVER_THREADS,
+				Constants.defaultMasterFailoverThreadNum);
+		this.failoverExecutor = ThreadUtils.newFixedThreadPool(failoverThreadNum, "Master-Failover-Thread");
+		this.failoverKillExecutor = ThreadUtils.newFixedThreadPool(failoverThreadNum, "Master-Failover-Kill-Thread");
+		this.failoverBatchSize = masterConf.getInt(Constants.MASTER_FAILOVER_BATCH_SIZE,
+				Constants.defaultMasterFailoverBatchSize);
+		this.subProcessEventSweeper = ThreadUtils.newSingleThreadScheduledExecutor("Master-SubProcess-Event-Sweeper");
+		this.subProcessEventTtl = masterConf.getLong(Constants.MASTER_SUBPROCESS_WATCH_INTERVAL,
+				Constants.defaultMasterSubProcessWatchInterval);
 		init();
 	}
 
-	/**
-	 * default constructor
-	 */
-	private ZKMasterClient(){}
-
 	/**
 	 * get zkMasterClient
 	 *
@@ -141,6 +203,9 @@ public class ZKMasterClient extends AbstractZKClient {
 			// monitor worker
 			this.listenerWorker();
 
+			// monitor finished sub processes
+			this.listenerSubProcessEvents();
+
 			// register master
 			this.registerMaster();
 
@@ -166,6 +231,12 @@ public class ZKMasterClient extends AbstractZKClient {
 			if(workerPathChildrenCache != null){
 				workerPathChildrenCache.close();
 			}
+			if(subProcessEventsPathChildrenCache != null){
+				subProcessEventsPathChildrenCache.close();
+			}
+			failoverExecutor.shutdownNow();
+			failoverKillExecutor.shutdownNow();
+			subProcessEventSweeper.shutdownNow();
 			super.close();
 		} catch (Exception ignore) {
 		}
@@ -179,6 +250,8 @@ public class ZKMasterClient extends AbstractZKClient {
 	 */
 	public void initDao(){
 		this.alertDao = DaoFactory.getDaoInstance(AlertDao.class);
+		// wake up the alert server once an alert is added
+		AlertDao.setAlertAddedListener(this::signalAlert);
 	}
 	/**
 	 * get alert dao
@@ -232,7 +305,7 @@ public class ZKMasterClient extends AbstractZKClient {
 							if(checkServerSelfDead(serverHost, ZKNodeType.MASTER)){
 								return;
 							}
-							removeZKNodePath(path, ZKNodeType.MASTER, true);
+							failoverExecutor.execute(() -> removeZKNodePath(path, ZKNodeType.MASTER, true));
 							break;
 						case CHILD_UPDATED:
 							break;
@@ -246,6 +319,71 @@ public class ZKMasterClient extends AbstractZKClient {
 		}
 }
 
+	/**
+	 *  monitor finished sub processes, wake up the parent sub process task if it is watched by this master
+	 */
+	public void listenerSubProcessEvents(){
+		subProcessEventsPathChildrenCache = new PathChildrenCache(zkClient,
+				getSubProcessEventsPath(), false, defaultThreadFactory);
+
+		try {
+			createNodePath(getSubProcessEventsPath());
+			subProcessEventsPathChildrenCache.start();
+			subProcessEventsPathChildrenCache.getListenable().addListener(new PathChildrenCacheListener() {
+				@Override
+				public void childEvent(CuratorFramework client, PathChildrenCacheEvent event) throws Exception {
+					if(event.getType() != PathChildrenCacheEvent.Type.CHILD_ADDED){
+						return;
+					}
+					String path = event.getData().getPath();
+					String node = path.substring(path.lastIndexOf("/") + 1);
+					int parentTaskInstanceId = Integer.parseInt(node.substring(0, node.indexOf(Constants.UNDERLINE)));
+					if(TaskWatchEngine.getInstance().wakeup(parentTaskInstanceId)){
+						logger.info("sub process finished, wake up parent task : {}", parentTaskInstanceId);
+						deleteSubProcessEvent(path);
+						return;
+					}
+					// no master may watch the parent task, e.g. it was failed over or already finished,
+					// every master that has seen the event deletes it once the fallback check of the parent ran
+					subProcessEventSweeper.schedule(() -> deleteSubProcessEvent(path),
+							subProcessEventTtl, TimeUnit.MILLISECONDS);
+				}
+			});
+		}catch (Exception e){
+			logger.error("monitor sub process events failed : " + e.getMessage(),e);
+		}
+	}
+
+	/**
+	 * delete a sub process event, it may have been deleted by another master
+	 *
+	 * @param path	event node path
+	 */
+	private void deleteSubProcessEvent(String path){
+		try {
+			zkClient.delete().forPath(path);
+		}catch (KeeperException.NoNodeException ignore){
+			// consumed or swept by another master
+		}catch (Exception e){
+			logger.error("delete sub process event failed : {}", path, e);
+		}
+	}
+
+	/**
+	 * notify the master watching the parent task that the sub process finished
+	 *
+	 * @param parentTaskInstanceId	parent task instance id
+	 */
+	public void notifySubProcessFinished(int parentTaskInstanceId){
+		try {
+			// ephemeral, the event is dropped with this master session if no master consumes it
+			zkClient.create().creatingParentContainersIfNeeded().withMode(CreateMode.EPHEMERAL_SEQUENTIAL)
+					.forPath(getSubProcessEventsPath() + Constants.SINGLE_SLASH + parentTaskInstanceId + Constants.UNDERLINE);
+		}catch (Exception e){
+			logger.error("notify sub process finished failed, parent task : {}", parentTaskInstanceId, e);
+		}
+	}
+
 	/**
 	 * remove zookeeper node path
 	 *
@@ -257,12 +395,15 @@ public class ZKMasterClient extends AbstractZKClient {
 		logger.info("{} node deleted : {}", zkNodeType.toString(), path);
 		InterProcessMutex mutex = null;
 		try {
+			String serverHost = getHostByEventDataPath(path);
+			// create a distributed lock of the server, different servers failover at the same time
 			String failoverPath = getFailoverLockPath(zkNodeType);
-			// create a distributed lock
+			if(StringUtils.isNotEmpty(serverHost)){
+				failoverPath += Constants.SINGLE_SLASH + serverHost;
+			}
 			mutex = new InterProcessMutex(getZkClient(), failoverPath);
 			mutex.acquire();
 
-			String serverHost = getHostByEventDataPath(path);
 			// handle dead server
 			handleDeadServer(path, zkNodeType, Constants.ADD_ZK_OP);
 			//alert server down.
@@ -352,7 +493,7 @@ public class ZKMasterClient extends AbstractZKClient {
 						case CHILD_REMOVED:
 							String path = event.getData().getPath();
 							logger.info("node deleted : {}",event.getData().getPath());
-							removeZKNodePath(path, ZKNodeType.WORKER, true);
+							failoverExecutor.execute(() -> removeZKNodePath(path, ZKNodeType.WORKER, true));
 							break;
 						default:
 							break;
@@ -378,9 +519,10 @@ public class ZKMasterClient extends AbstractZKClient {
 	 * task needs failover if task start before worker starts
      *
 	 * @param taskInstance task instance
+	 * @param workerStartTimes start time of the alive workers, key is host
 	 * @return true if task instance need fail over
 	 */
-	private boolean checkTaskInstanceNeedFailover(TaskInstance taskInstance) throws Exception {
+	private boolean checkTaskInstanceNeedFailover(TaskInstance taskInstance, Map<String, Date> workerStartTimes) {
 
 		boolean taskNeedFailover = true;
 
@@ -390,39 +532,25 @@ public class ZKMasterClient extends AbstractZKClient {
 		}
 
 		// if the worker node exists in zookeeper, we must check the task starts after the worker
-	    if(checkZKNodeExists(taskInstance.getHost(), ZKNodeType.WORKER)){
-	        //if task start after worker starts, there is no need to failover the task.
-         	if(checkTaskAfterWorkerStart(taskInstance)){
-         	    taskNeedFailover = false;
-			}
+		Date workerServerStartDate = workerStartTimes.get(taskInstance.getHost());
+		//if task start after worker starts, there is no need to failover the task.
+		if(workerServerStartDate != null && taskInstance.getStartTime().after(workerServerStartDate)){
+			taskNeedFailover = false;
 		}
 		return taskNeedFailover;
 	}
 
 	/**
-	 * check task start after the worker server starts.
+	 * get the start time of the alive workers
 	 *
-	 * @param taskInstance task instance
-	 * @return true if task instance start time after worker server start date
+	 * @return start time of the alive workers, key is host
 	 */
-	private boolean checkTaskAfterWorkerStart(TaskInstance taskInstance) {
-	    if(StringUtils.isEmpty(taskInstance.getHost())){
-	    	return false;
-		}
-	    Date workerServerStartDate = null;
-	    List<Server> workerServers = getServersList(ZKNodeType.WORKER);
-	    for(Server workerServer : workerServers){
-	    	if(workerServer.getHost().equals(taskInstance.getHost())){
-	    	    workerServerStartDate = workerServer.getCreateTime();
-	    	    break;
-			}
-		}
-
-		if(workerServerStartDate != null){
-			return taskInstance.getStartTime().after(workerServerStartDate);
-		}else{
-			return false;
+	private Map<String, Date> getWorkerStartTimes() {
+		Map<String, Date> workerStartTimes = new HashMap<>();
+		for(Server workerServer : getServersList(ZKNodeType.WORKER)){
+			workerStartTimes.putIfAbsent(workerServer.getHost(), workerServer.getCreateTime());
 		}
+		return workerStartTimes;
 	}
 
 	/**
@@ -448,22 +576,36 @@ public class ZKMasterClient extends AbstractZKClient {
 		logger.info("start worker[{}] failover ...", workerHost);
 
 		List<TaskInstance> needFailoverTaskInstanceList = processDao.queryNeedFailoverTaskInstances(workerHost);
-		for(TaskInstance taskInstance : needFailoverTaskInstanceList){
-			if(needCheckWorkerAlive){
-				if(!checkTaskInstanceNeedFailover(taskInstance)){
-					continue;
-                }
+		if(needCheckWorkerAlive){
+			// read the alive workers once instead of once a task
+			Map<String, Date> workerStartTimes = getWorkerStartTimes();
+			List<TaskInstance> checkedTaskInstanceList = new ArrayList<>();
+			for(TaskInstance taskInstance : needFailoverTaskInstanceList){
+				if(checkTaskInstanceNeedFailover(taskInstance, workerStartTimes)){
+					checkedTaskInstanceList.add(taskInstance);
+				}
 			}
+			needFailoverTaskInstanceList = checkedTaskInstanceList;
+		}
 
-			ProcessInstance instance = processDao.findProcessInstanceDetailById(taskInstance.getProcessInstanceId());
-			if(instance!=null){
-				taskInstance.setProcessInstance(instance);
-			}
+		for(List<TaskInstance> batch : Lists.partition(needFailoverTaskInstanceList, failoverBatchSize)){
 			// only kill yarn job if exists , the local thread has exited
-			ProcessUtils.killYarnJob(taskInstance);
+			Map<Integer, ProcessInstance> processInstanceMap = new HashMap<>();
+			List<Future<?>> killFutures = new ArrayList<>(batch.size());
+			for(TaskInstance taskInstance : batch){
+				ProcessInstance instance = processInstanceMap.computeIfAbsent(taskInstance.getProcessInstanceId(),
+						processInstanceId -> processDao.findProcessInstanceDetailById(processInstanceId));
+				if(instance!=null){
+					taskInstance.setProcessInstance(instance);
+				}
+				killFutures.add(failoverKillExecutor.submit(() -> ProcessUtils.killYarnJob(taskInstance)));
+			}
+			for(Future<?> killFuture : killFutures){
+				killFuture.get();
+			}
 
-			taskInstance.setState(ExecutionStatus.NEED_FAULT_TOLERANCE);
-			processDao.saveTaskInstance(taskInstance);
+			processDao.updateTaskInstanceState(batch, ExecutionStatus.NEED_FAULT_TOLERANCE);
+			logger.info("worker[{}] failover {} tasks", workerHost, batch.size());
 		}
 		logger.info("end worker[{}] failover ...", workerHost);
 	}
@@ -479,8 +621,9 @@ public class ZKMasterClient extends AbstractZKClient {
 		List<ProcessInstance> needFailoverProcessInstanceList = processDao.queryNeedFailoverProcessInstances(masterHost);
 
 		//updateProcessInstance host is null and insert into command
-		for(ProcessInstance processInstance : needFailoverProcessInstanceList){
-			processDao.processNeedFailoverProcessInstances(processInstance);
+		for(List<ProcessInstance> batch : Lists.partition(needFailoverProcessInstanceList, failoverBatchSize)){
+			processDao.processNeedFailoverProcessInstances(batch);
+			logger.info("master[{}] failover {} process instances", masterHost, batch.size());
 		}
 
 		logger.info("master failover end");
@@ -19,6 +19,7 @@ package org.apache.dolphinscheduler.server.zk;
 import org.apache.dolphinscheduler.common.Constants;
 import org.apache.dolphinscheduler.common.enums.ZKNodeType;
 import org.apache.dolphinscheduler.common.zk.AbstractZKClient;
+import org.apache.dolphinscheduler.dao.AlertDao;
 import org.apache.commons.lang.StringUtils;
 import org.apache.curator.framework.CuratorFramework;
 import org.apache.curator.framework.recipes.cache.PathChildrenCache;
@@ -81,6 +82,9 @@ public class ZKWorkerClient extends AbstractZKClient {
 
 		// register worker
 		this.registWorker();
+
+		// wake up the alert server once an alert is added
+		AlertDao.setAlertAddedListener(this::signalAlert);
 	}
 
 	@Override
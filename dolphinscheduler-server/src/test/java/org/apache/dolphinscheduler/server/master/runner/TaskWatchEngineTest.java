@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.server.master.runner;
+
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * task watch engine test
+ */
+public class TaskWatchEngineTest {
+
+    private final TaskWatchEngine engine = new TaskWatchEngine(2, 1, 60000);
+
+    /**
+     * task whose first check blocks until released, checked again only when woken up
+     */
+    private static class SlowCheckTask extends MasterBaseTaskExecThread {
+
+        private final CountDownLatch checking = new CountDownLatch(1);
+
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        private final AtomicInteger checks = new AtomicInteger();
+
+        private final AtomicInteger finishes = new AtomicInteger();
+
+        SlowCheckTask(int taskInstanceId) {
+            super(newTaskInstance(taskInstanceId), null, null, null, null);
+        }
+
+        private static TaskInstance newTaskInstance(int id) {
+            TaskInstance taskInstance = new TaskInstance();
+            taskInstance.setId(id);
+            return taskInstance;
+        }
+
+        @Override
+        protected boolean watchStart() {
+            return true;
+        }
+
+        @Override
+        protected boolean watchCheck() {
+            if (checks.incrementAndGet() == 1) {
+                checking.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return true;
+        }
+
+        @Override
+        protected Boolean watchFinish() {
+            finishes.incrementAndGet();
+            return true;
+        }
+
+        @Override
+        protected long getWatchInterval(long defaultInterval) {
+            return checks.get() == 0 ? 0 : defaultInterval;
+        }
+    }
+
+    @After
+    public void tearDown() {
+        engine.shutdown();
+    }
+
+    @Test
+    public void testWakeupDuringCheck() throws Exception {
+        TaskWatchEngine.WatchGroup group = engine.newGroup(1);
+        SlowCheckTask task = new SlowCheckTask(1);
+        Future<Boolean> future = group.watch(task);
+
+        Assert.assertTrue(task.checking.await(10, TimeUnit.SECONDS));
+        Assert.assertTrue(engine.wakeup(1));
+        task.release.countDown();
+
+        Assert.assertTrue(future.get(10, TimeUnit.SECONDS));
+        // a second check chain would run right after the wakeup
+        Thread.sleep(200);
+        Assert.assertEquals(1, task.checks.get());
+        Assert.assertEquals(1, task.finishes.get());
+        Assert.assertEquals(0, group.getRunning());
+        Assert.assertFalse(engine.wakeup(1));
+    }
+
+    @Test
+    public void testWakeupWaitingCheck() throws Exception {
+        TaskWatchEngine.WatchGroup group = engine.newGroup(1);
+        SlowCheckTask task = new SlowCheckTask(2) {
+            @Override
+            protected long getWatchInterval(long defaultInterval) {
+                return defaultInterval;
+            }
+        };
+        task.release.countDown();
+        Future<Boolean> future = group.watch(task);
+
+        // the first check waits a minute, the wakeup runs it at once
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!engine.wakeup(2) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        Assert.assertTrue(future.get(10, TimeUnit.SECONDS));
+        Assert.assertEquals(1, task.checks.get());
+        Assert.assertEquals(1, task.finishes.get());
+        Assert.assertEquals(0, group.getRunning());
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.server.master.schedule;
+
+import org.apache.dolphinscheduler.dao.entity.Schedule;
+import org.apache.dolphinscheduler.dao.utils.cron.CronUtils;
+import org.junit.Assert;
+import org.junit.Test;
+import org.quartz.CronExpression;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * timing wheel test
+ */
+public class TimingWheelTest {
+
+    /**
+     * items expire on their own tick, never before the deadline
+     */
+    @Test
+    public void testAdvance() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000, 60, 0);
+        Assert.assertTrue(wheel.add("a", 1000));
+        Assert.assertTrue(wheel.add("b", 1500));
+        Assert.assertTrue(wheel.add("c", 59000));
+        Assert.assertFalse(wheel.add("expired", 0));
+        Assert.assertEquals(3, wheel.size());
+
+        List<String> expired = new ArrayList<>();
+        wheel.advance(999, expired::add);
+        Assert.assertTrue(expired.isEmpty());
+        wheel.advance(1000, expired::add);
+        Assert.assertEquals(Arrays.asList("a"), expired);
+        wheel.advance(1999, expired::add);
+        Assert.assertEquals(Arrays.asList("a"), expired);
+        wheel.advance(2000, expired::add);
+        Assert.assertEquals(Arrays.asList("a", "b"), expired);
+        wheel.advance(60000, expired::add);
+        Assert.assertEquals(Arrays.asList("a", "b", "c"), expired);
+        Assert.assertEquals(0, wheel.size());
+    }
+
+    /**
+     * items far away move down the upper wheels and expire on time
+     */
+    @Test
+    public void testUpperWheels() {
+        long start = 1234567;
+        TimingWheel<Long> wheel = new TimingWheel<>(1000, 60, start);
+        Random random = new Random(7);
+        Map<Long, Long> expiredAt = new HashMap<>();
+        List<Long> deadlines = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            long deadline = start + 1000 + (long) (random.nextDouble() * 3L * 24 * 3600 * 1000);
+            deadlines.add(deadline);
+            Assert.assertTrue(wheel.add(deadline, deadline));
+        }
+        long end = start + 3L * 24 * 3600 * 1000 + 2000;
+        for (long now = start; now <= end; now += 500) {
+            final long time = now;
+            wheel.advance(now, deadline -> expiredAt.put(deadline, time));
+        }
+        Assert.assertEquals(0, wheel.size());
+        for (Long deadline : deadlines) {
+            long time = expiredAt.get(deadline);
+            Assert.assertTrue(time >= deadline);
+            Assert.assertTrue(time - deadline < 1000 + 500);
+        }
+    }
+
+    /**
+     * each schedule is owned by one master and most schedules stay when a master joins
+     */
+    @Test
+    public void testHashRing() {
+        TreeMap<Integer, String> ring = TimingWheelScheduleEngine.buildHashRing(
+                Arrays.asList("192.168.0.1", "192.168.0.2", "192.168.0.3"));
+        TreeMap<Integer, String> newRing = TimingWheelScheduleEngine.buildHashRing(
+                Arrays.asList("192.168.0.1", "192.168.0.2", "192.168.0.3", "192.168.0.4"));
+        Map<String, Integer> owned = new HashMap<>();
+        int moved = 0;
+        for (int scheduleId = 1; scheduleId <= 3000; scheduleId++) {
+            String owner = TimingWheelScheduleEngine.getOwner(ring, scheduleId);
+            owned.merge(owner, 1, Integer::sum);
+            String newOwner = TimingWheelScheduleEngine.getOwner(newRing, scheduleId);
+            if (!owner.equals(newOwner)) {
+                Assert.assertEquals("192.168.0.4", newOwner);
+                moved++;
+            }
+        }
+        Assert.assertEquals(3, owned.size());
+        Assert.assertTrue(moved < 3000 / 2);
+        Assert.assertNull(TimingWheelScheduleEngine.getOwner(new TreeMap<>(), 1));
+    }
+
+    /**
+     * fire times missed while the masters are down are caught up up to the max fires,
+     * the ones while a schedule is offline are skipped
+     */
+    @Test
+    public void testMisfireLastFireTime() throws Exception {
+        long threshold = 60 * 1000L;
+        int maxFires = 100;
+        CronExpression cron = CronUtils.parse2CronExpression("0 * * * * ? *");
+        Date now = new Date();
+        Date monthAgo = new Date(now.getTime() - 30L * 24 * 3600 * 1000);
+        Schedule schedule = new Schedule();
+        schedule.setStartTime(new Date(monthAgo.getTime() - 24 * 3600 * 1000));
+        schedule.setUpdateTime(monthAgo);
+
+        // never fired, caught up within the threshold
+        Assert.assertEquals(new Date(now.getTime() - threshold),
+                TimingWheelScheduleEngine.getMisfireLastFireTime(schedule, cron, now, threshold, maxFires));
+
+        // masters down for half an hour, every missed fire is caught up
+        Date halfHourAgo = CronUtils.getLastFireTime(monthAgo, new Date(now.getTime() - 30 * 60 * 1000), cron);
+        schedule.setLastFireTime(halfHourAgo);
+        Assert.assertEquals(halfHourAgo,
+                TimingWheelScheduleEngine.getMisfireLastFireTime(schedule, cron, now, threshold, maxFires));
+
+        // masters down for a month, the last max fires are caught up
+        schedule.setLastFireTime(monthAgo);
+        Date lastFireTime = TimingWheelScheduleEngine.getMisfireLastFireTime(schedule, cron, now, threshold, maxFires);
+        Assert.assertEquals(maxFires, CronUtils.getFireDateList(lastFireTime, now, cron).size());
+
+        // the schedule ends a day ago, the last max fires before its end are caught up
+        schedule.setEndTime(new Date(now.getTime() - 24 * 3600 * 1000));
+        lastFireTime = TimingWheelScheduleEngine.getMisfireLastFireTime(schedule, cron, now, threshold, maxFires);
+        Assert.assertEquals(maxFires, CronUtils.getFireDateList(lastFireTime, schedule.getEndTime(), cron).size());
+        schedule.setEndTime(null);
+
+        // offline for a month and online again 10 seconds ago, fires from the update time
+        Date onlineTime = new Date(now.getTime() - 10 * 1000);
+        schedule.setUpdateTime(onlineTime);
+        lastFireTime = TimingWheelScheduleEngine.getMisfireLastFireTime(schedule, cron, now, threshold, maxFires);
+        Assert.assertEquals(onlineTime, lastFireTime);
+        Assert.assertTrue(CronUtils.getFireDateList(lastFireTime, now, cron).size() <= 1);
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.server.quartz;
+
+import org.apache.dolphinscheduler.dao.entity.Command;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * schedule command buffer test
+ */
+public class ScheduleCommandBufferTest {
+
+    /**
+     * records the inserted commands, blocks the batches until released
+     */
+    private static class RecordingWriter implements ScheduleCommandBuffer.CommandWriter {
+
+        private final List<List<Command>> batches = Collections.synchronizedList(new ArrayList<>());
+
+        private final List<Command> singles = Collections.synchronizedList(new ArrayList<>());
+
+        private final CountDownLatch release;
+
+        private volatile RuntimeException batchFailure;
+
+        private volatile Throwable singleFailure;
+
+        RecordingWriter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void createCommand(Command command) {
+            if (singleFailure instanceof Error) {
+                throw (Error) singleFailure;
+            }
+            if (singleFailure != null) {
+                throw (RuntimeException) singleFailure;
+            }
+            singles.add(command);
+        }
+
+        @Override
+        public void createCommands(List<Command> commands) {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (batchFailure != null) {
+                throw batchFailure;
+            }
+            batches.add(new ArrayList<>(commands));
+        }
+    }
+
+    private static Command command(int id) {
+        Command command = new Command();
+        command.setId(id);
+        return command;
+    }
+
+    /**
+     * create a command in a job and return once the job waits on it
+     */
+    private static Future<?> submitAndWait(ExecutorService jobs, ScheduleCommandBuffer buffer,
+                                           Command command) throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        Thread[] job = new Thread[1];
+        Future<?> future = jobs.submit(() -> {
+            job[0] = Thread.currentThread();
+            started.countDown();
+            buffer.createCommand(command);
+            return null;
+        });
+        started.await();
+        while (job[0].getState() != Thread.State.TIMED_WAITING) {
+            Thread.sleep(10);
+        }
+        return future;
+    }
+
+    /**
+     * commands fired together are inserted in batches of at most the batch size
+     */
+    @Test
+    public void testFlushBatching() throws Exception {
+        RecordingWriter writer = new RecordingWriter(new CountDownLatch(0));
+        ScheduleCommandBuffer buffer = new ScheduleCommandBuffer(writer, 500, 3);
+        ExecutorService jobs = Executors.newFixedThreadPool(5);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 1; i <= 5; i++) {
+                int id = i;
+                futures.add(jobs.submit(() -> {
+                    start.await();
+                    buffer.createCommand(command(id));
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+
+            int inserted = 0;
+            int maxBatch = 0;
+            for (List<Command> batch : writer.batches) {
+                Assert.assertTrue(batch.size() <= 3);
+                inserted += batch.size();
+                maxBatch = Math.max(maxBatch, batch.size());
+            }
+            Assert.assertEquals(5, inserted);
+            Assert.assertTrue(maxBatch > 1);
+            Assert.assertTrue(writer.singles.isEmpty());
+        } finally {
+            jobs.shutdownNow();
+            buffer.shutdown();
+        }
+    }
+
+    /**
+     * a command still buffered when the buffer stops is inserted by its own job
+     */
+    @Test
+    public void testTimeoutFallbackAfterShutdown() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingWriter writer = new RecordingWriter(release);
+        ScheduleCommandBuffer buffer = new ScheduleCommandBuffer(writer, 0, 1);
+        ExecutorService jobs = Executors.newFixedThreadPool(2);
+        try {
+            // the first command blocks the flush thread in its batch, the second one stays buffered
+            Future<?> first = submitAndWait(jobs, buffer, command(1));
+            Future<?> second = submitAndWait(jobs, buffer, command(2));
+
+            // the flush thread does not stop in time, the second job inserts its command itself
+            buffer.shutdown();
+            second.get(10, TimeUnit.SECONDS);
+            Assert.assertEquals(1, writer.singles.size());
+            Assert.assertEquals(2, writer.singles.get(0).getId());
+
+            release.countDown();
+            first.get(10, TimeUnit.SECONDS);
+            Assert.assertEquals(1, writer.batches.size());
+            Assert.assertEquals(1, writer.batches.get(0).get(0).getId());
+
+            // a stopped buffer inserts at once
+            buffer.createCommand(command(3));
+            Assert.assertEquals(2, writer.singles.size());
+        } finally {
+            release.countDown();
+            jobs.shutdownNow();
+        }
+    }
+
+    /**
+     * an insert failure reaches the waiting job, an error is rethrown as is
+     */
+    @Test
+    public void testFailurePropagation() throws Exception {
+        RecordingWriter writer = new RecordingWriter(new CountDownLatch(0));
+        writer.batchFailure = new IllegalStateException("batch failed");
+        ScheduleCommandBuffer buffer = new ScheduleCommandBuffer(writer, 0, 10);
+        try {
+            IllegalStateException failure = new IllegalStateException("insert failed");
+            writer.singleFailure = failure;
+            try {
+                buffer.createCommand(command(1));
+                Assert.fail("the failure of the insert is not propagated");
+            } catch (Exception e) {
+                Assert.assertSame(failure, e.getCause());
+            }
+
+            StackOverflowError error = new StackOverflowError();
+            writer.singleFailure = error;
+            try {
+                buffer.createCommand(command(2));
+                Assert.fail("the error of the insert is not propagated");
+            } catch (StackOverflowError e) {
+                Assert.assertSame(error, e);
+            }
+
+            // the flush thread survives the error
+            writer.singleFailure = null;
+            writer.batchFailure = null;
+            buffer.createCommand(command(3));
+            Assert.assertEquals(1, writer.batches.size());
+        } finally {
+            buffer.shutdown();
+        }
+    }
+}
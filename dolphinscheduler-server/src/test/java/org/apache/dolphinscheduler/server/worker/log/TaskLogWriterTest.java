@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.server.worker.log;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+public class TaskLogWriterTest {
+
+    private Path logDir;
+
+    @Before
+    public void before() throws Exception {
+        logDir = Files.createTempDirectory("task-log");
+        TaskLogWriter.getInstance().start(100, 10, 50, TaskLogOverflowPolicy.BLOCK);
+    }
+
+    @After
+    public void after() {
+        TaskLogWriter.getInstance().stop();
+    }
+
+    @Test
+    public void testWriteInOrder() throws Exception {
+        Path logPath = logDir.resolve("1/2/3.log");
+        TaskLogChannel channel = TaskLogWriter.getInstance().open(logPath.toString());
+        for (int i = 0; i < 1000; i++) {
+            channel.append("line " + i);
+        }
+        channel.close();
+
+        List<String> lines = Files.readAllLines(logPath, StandardCharsets.UTF_8);
+        Assert.assertEquals(1000, lines.size());
+        Assert.assertTrue(lines.get(0).startsWith("[INFO] "));
+        Assert.assertTrue(lines.get(999).endsWith(" - line 999"));
+    }
+
+    @Test
+    public void testAppendAfterClose() throws Exception {
+        Path logPath = logDir.resolve("1/2/4.log");
+        TaskLogChannel channel = TaskLogWriter.getInstance().open(logPath.toString());
+        channel.append("line");
+        channel.close();
+        channel.append("ignored");
+
+        Assert.assertEquals(1, Files.readAllLines(logPath, StandardCharsets.UTF_8).size());
+    }
+}
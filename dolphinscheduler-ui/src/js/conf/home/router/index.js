@@ -152,6 +152,14 @@ const router = new Router({
               meta: {
                 title: `${i18n.$t('Gantt')}`
               }
+            },
+            {
+              path: '/projects/instance/lifecycle/:id',
+              name: 'instance-lifecycle-index',
+              component: resolve => require(['../pages/projects/pages/instance/pages/lifecycle/index'], resolve),
+              meta: {
+                title: `${i18n.$t('Lifecycle')}`
+              }
             }
           ]
         },
@@ -642,6 +642,18 @@ export default {
       })
     })
   },
+  /**
+   * lifecycle of the process instance and its tasks
+   */
+  getViewLifecycle ({ state }, payload) {
+    return new Promise((resolve, reject) => {
+      io.get(`projects/${state.projectName}/instance/view-lifecycle`, payload, res => {
+        resolve(res.data)
+      }).catch(e => {
+        reject(e)
+      })
+    })
+  },
   /**
    * Query task node list
    */
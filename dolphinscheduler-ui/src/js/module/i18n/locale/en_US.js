@@ -251,6 +251,11 @@ export default {
   'Pause': 'Pause',
   'Recovery Suspend': 'Recovery Suspend',
   'Gantt': 'Gantt',
+  'Lifecycle': 'Lifecycle',
+  'Task Type': 'Task Type',
+  'Scheduling Overhead': 'Scheduling Overhead',
+  'Execution Time': 'Execution Time',
+  'All Tasks': 'All Tasks',
   'Name': 'Name',
   'Node Type': 'Node Type',
   'Submit Time': 'Submit Time',
@@ -249,6 +249,11 @@ export default {
   'Pause': '暂停',
   'Recovery Suspend': '恢复运行',
   'Gantt': '甘特图',
+  'Lifecycle': '生命周期',
+  'Task Type': '任务类型',
+  'Scheduling Overhead': '调度开销',
+  'Execution Time': '执行时间',
+  'All Tasks': '所有任务',
   'Name': '名称',
   'Node Type': '节点类型',
   'Submit Time': '提交时间',
@@ -195,10 +195,12 @@ CREATE TABLE t_ds_alert (
   alertgroup_id int DEFAULT NULL ,
   receivers text ,
   receivers_cc text ,
+  process_definition_id int DEFAULT NULL ,
   create_time timestamp DEFAULT NULL ,
   update_time timestamp DEFAULT NULL ,
   PRIMARY KEY (id)
 ) ;
+create index alert_status_index on t_ds_alert (alert_status);
 --
 -- Table structure for table t_ds_alertgroup
 --
@@ -235,8 +237,10 @@ CREATE TABLE t_ds_command (
   update_time timestamp DEFAULT NULL ,
   process_instance_priority int DEFAULT NULL ,
   worker_group_id int DEFAULT '-1' ,
+  process_instance_id int DEFAULT '0' ,
   PRIMARY KEY (id)
 ) ;
+create index command_process_instance_id_index on t_ds_command (process_instance_id);
 
 --
 -- Table structure for table t_ds_datasource
@@ -279,6 +283,40 @@ CREATE TABLE t_ds_error_command (
   message text ,
   PRIMARY KEY (id)
 );
+--
+-- Table structure for table t_ds_instance_statistics
+--
+
+DROP TABLE IF EXISTS t_ds_instance_statistics;
+CREATE TABLE t_ds_instance_statistics (
+  id int NOT NULL ,
+  instance_type int NOT NULL ,
+  project_id int NOT NULL ,
+  stat_hour timestamp NOT NULL ,
+  state int NOT NULL ,
+  instance_count int NOT NULL DEFAULT '0' ,
+  update_time timestamp DEFAULT NULL ,
+  PRIMARY KEY (id)
+);
+create unique index instance_statistics_unique on t_ds_instance_statistics (instance_type,stat_hour,project_id,state);
+
+--
+-- Table structure for table t_ds_lifecycle_event
+--
+
+DROP TABLE IF EXISTS t_ds_lifecycle_event;
+CREATE TABLE t_ds_lifecycle_event (
+  id int NOT NULL ,
+  process_instance_id int NOT NULL ,
+  task_instance_id int NOT NULL DEFAULT '0' ,
+  stage int NOT NULL ,
+  event_time timestamp(3) NOT NULL ,
+  host varchar(45) DEFAULT NULL ,
+  PRIMARY KEY (id)
+);
+create index lifecycle_event_process_instance_id_index on t_ds_lifecycle_event (process_instance_id);
+create index lifecycle_event_time_index on t_ds_lifecycle_event (event_time);
+
 --
 -- Table structure for table t_ds_master_server
 --
@@ -365,7 +403,14 @@ CREATE TABLE t_ds_process_instance (
   PRIMARY KEY (id)
 ) ;
   create index process_instance_index on t_ds_process_instance (process_definition_id,id);
-  create index start_time_index on t_ds_process_instance (start_time);
+  create index process_instance_start_time_index on t_ds_process_instance (start_time,id);
+
+--
+-- Table structure for table t_ds_process_instance_archive
+--
+
+DROP TABLE IF EXISTS t_ds_process_instance_archive;
+CREATE TABLE t_ds_process_instance_archive (LIKE t_ds_process_instance INCLUDING ALL);
 
 --
 -- Table structure for table t_ds_project
@@ -509,6 +554,17 @@ CREATE TABLE t_ds_resources (
 ) ;
 ;
 
+--
+-- Table structure for table t_ds_schedule_fire
+--
+
+DROP TABLE IF EXISTS t_ds_schedule_fire;
+CREATE TABLE t_ds_schedule_fire (
+  schedule_id int NOT NULL ,
+  last_fire_time timestamp NOT NULL ,
+  PRIMARY KEY (schedule_id)
+);
+
 --
 -- Table structure for table t_ds_schedules
 --
@@ -575,6 +631,14 @@ CREATE TABLE t_ds_task_instance (
   worker_group_id int DEFAULT '-1' ,
   PRIMARY KEY (id)
 ) ;
+create index task_instance_start_time_index on t_ds_task_instance (start_time,id);
+
+--
+-- Table structure for table t_ds_task_instance_archive
+--
+
+DROP TABLE IF EXISTS t_ds_task_instance_archive;
+CREATE TABLE t_ds_task_instance_archive (LIKE t_ds_task_instance INCLUDING ALL);
 
 --
 -- Table structure for table t_ds_tenant
@@ -691,6 +755,12 @@ ALTER TABLE t_ds_command ALTER COLUMN id SET DEFAULT NEXTVAL('t_ds_command_id_se
 DROP SEQUENCE IF EXISTS t_ds_datasource_id_sequence;
 CREATE SEQUENCE  t_ds_datasource_id_sequence;
 ALTER TABLE t_ds_datasource ALTER COLUMN id SET DEFAULT NEXTVAL('t_ds_datasource_id_sequence');
+DROP SEQUENCE IF EXISTS t_ds_instance_statistics_id_sequence;
+CREATE SEQUENCE  t_ds_instance_statistics_id_sequence;
+ALTER TABLE t_ds_instance_statistics ALTER COLUMN id SET DEFAULT NEXTVAL('t_ds_instance_statistics_id_sequence');
+DROP SEQUENCE IF EXISTS t_ds_lifecycle_event_id_sequence;
+CREATE SEQUENCE  t_ds_lifecycle_event_id_sequence;
+ALTER TABLE t_ds_lifecycle_event ALTER COLUMN id SET DEFAULT NEXTVAL('t_ds_lifecycle_event_id_sequence');
 DROP SEQUENCE IF EXISTS t_ds_master_server_id_sequence;
 CREATE SEQUENCE  t_ds_master_server_id_sequence;
 ALTER TABLE t_ds_master_server ALTER COLUMN id SET DEFAULT NEXTVAL('t_ds_master_server_id_sequence');
@@ -768,4 +838,4 @@ INSERT INTO t_ds_relation_user_alertgroup(alertgroup_id,user_id,create_time,upda
 INSERT INTO t_ds_queue(queue_name,queue,create_time,update_time) VALUES ('default', 'default','2018-11-29 10:22:33', '2018-11-29 10:22:33');
 
 -- Records of t_ds_queue,default queue name : default
-INSERT INTO t_ds_version(version) VALUES ('1.2.0');
\ No newline at end of file
+INSERT INTO t_ds_version(version) VALUES ('1.2.1');
\ No newline at end of file
@@ -239,9 +239,11 @@ CREATE TABLE `t_ds_alert` (
   `alertgroup_id` int(11) DEFAULT NULL COMMENT 'alert group id',
   `receivers` text COMMENT 'receivers',
   `receivers_cc` text COMMENT 'cc',
+  `process_definition_id` int(11) DEFAULT NULL COMMENT 'process definition id raising the alert',
   `create_time` datetime DEFAULT NULL COMMENT 'create time',
   `update_time` datetime DEFAULT NULL COMMENT 'update time',
-  PRIMARY KEY (`id`)
+  PRIMARY KEY (`id`),
+  KEY `alert_status_index` (`alert_status`) USING BTREE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8;
 
 -- ----------------------------
@@ -285,7 +287,9 @@ CREATE TABLE `t_ds_command` (
   `update_time` datetime DEFAULT NULL COMMENT 'update time',
   `process_instance_priority` int(11) DEFAULT NULL COMMENT 'process instance priority: 0 Highest,1 High,2 Medium,3 Low,4 Lowest',
   `worker_group_id` int(11) DEFAULT '-1' COMMENT 'worker group id',
-  PRIMARY KEY (`id`)
+  `process_instance_id` int(11) DEFAULT '0' COMMENT 'process instance id recovered or rerun by the command',
+  PRIMARY KEY (`id`),
+  KEY `process_instance_id_index` (`process_instance_id`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8;
 
 -- ----------------------------
@@ -328,6 +332,38 @@ CREATE TABLE `t_ds_error_command` (
   PRIMARY KEY (`id`) USING BTREE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8 ROW_FORMAT=DYNAMIC;
 
+-- ----------------------------
+-- Table structure for t_ds_instance_statistics
+-- ----------------------------
+DROP TABLE IF EXISTS `t_ds_instance_statistics`;
+CREATE TABLE `t_ds_instance_statistics` (
+  `id` int(11) NOT NULL AUTO_INCREMENT COMMENT 'key',
+  `instance_type` tinyint(4) NOT NULL COMMENT 'instance type: 0 process instance, 1 task instance',
+  `project_id` int(11) NOT NULL COMMENT 'project id',
+  `stat_hour` datetime NOT NULL COMMENT 'hour of instance start time',
+  `state` tinyint(4) NOT NULL COMMENT 'instance state',
+  `instance_count` int(11) NOT NULL DEFAULT '0' COMMENT 'instance count',
+  `update_time` datetime DEFAULT NULL COMMENT 'update time',
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `instance_statistics_unique` (`instance_type`,`stat_hour`,`project_id`,`state`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+-- ----------------------------
+-- Table structure for t_ds_lifecycle_event
+-- ----------------------------
+DROP TABLE IF EXISTS `t_ds_lifecycle_event`;
+CREATE TABLE `t_ds_lifecycle_event` (
+  `id` int(11) NOT NULL AUTO_INCREMENT COMMENT 'key',
+  `process_instance_id` int(11) NOT NULL COMMENT 'process instance id',
+  `task_instance_id` int(11) NOT NULL DEFAULT '0' COMMENT 'task instance id, 0 for process instance stages',
+  `stage` tinyint(4) NOT NULL COMMENT 'lifecycle stage',
+  `event_time` datetime(3) NOT NULL COMMENT 'the time the stage was passed',
+  `host` varchar(45) DEFAULT NULL COMMENT 'host recording the event',
+  PRIMARY KEY (`id`),
+  KEY `process_instance_id_index` (`process_instance_id`),
+  KEY `event_time_index` (`event_time`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
 -- ----------------------------
 -- Table structure for t_ds_master_server
 -- ----------------------------
@@ -409,9 +445,15 @@ CREATE TABLE `t_ds_process_instance` (
   `tenant_id` int(11) NOT NULL DEFAULT '-1' COMMENT 'tenant id',
   PRIMARY KEY (`id`),
   KEY `process_instance_index` (`process_definition_id`,`id`) USING BTREE,
-  KEY `start_time_index` (`start_time`) USING BTREE
+  KEY `start_time_index` (`start_time`,`id`) USING BTREE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8;
 
+-- ----------------------------
+-- Table structure for t_ds_process_instance_archive
+-- ----------------------------
+DROP TABLE IF EXISTS `t_ds_process_instance_archive`;
+CREATE TABLE `t_ds_process_instance_archive` LIKE `t_ds_process_instance`;
+
 -- ----------------------------
 -- Table structure for t_ds_project
 -- ----------------------------
@@ -554,6 +596,16 @@ CREATE TABLE `t_ds_resources` (
   PRIMARY KEY (`id`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8;
 
+-- ----------------------------
+-- Table structure for t_ds_schedule_fire
+-- ----------------------------
+DROP TABLE IF EXISTS `t_ds_schedule_fire`;
+CREATE TABLE `t_ds_schedule_fire` (
+  `schedule_id` int(11) NOT NULL COMMENT 'schedule id',
+  `last_fire_time` datetime NOT NULL COMMENT 'last fire time claimed by a master',
+  PRIMARY KEY (`schedule_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
 -- ----------------------------
 -- Table structure for t_ds_schedules
 -- ----------------------------
@@ -618,9 +670,16 @@ CREATE TABLE `t_ds_task_instance` (
   PRIMARY KEY (`id`),
   KEY `process_instance_id` (`process_instance_id`) USING BTREE,
   KEY `task_instance_index` (`process_definition_id`,`process_instance_id`) USING BTREE,
+  KEY `start_time_index` (`start_time`,`id`) USING BTREE,
   CONSTRAINT `foreign_key_instance_id` FOREIGN KEY (`process_instance_id`) REFERENCES `t_ds_process_instance` (`id`) ON DELETE CASCADE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8;
 
+-- ----------------------------
+-- Table structure for t_ds_task_instance_archive
+-- ----------------------------
+DROP TABLE IF EXISTS `t_ds_task_instance_archive`;
+CREATE TABLE `t_ds_task_instance_archive` LIKE `t_ds_task_instance`;
+
 -- ----------------------------
 -- Table structure for t_ds_tenant
 -- ----------------------------
@@ -697,7 +756,7 @@ CREATE TABLE `t_ds_version` (
 -- Records of t_ds_version
 -- ----------------------------
 BEGIN;
-INSERT INTO `t_ds_version` VALUES (1, '1.2.0');
+INSERT INTO `t_ds_version` VALUES (1, '1.2.1');
 COMMIT;
 
 -- ----------------------------
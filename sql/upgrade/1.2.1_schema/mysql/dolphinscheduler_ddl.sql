@@ -0,0 +1,262 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+SET sql_mode=(SELECT REPLACE(@@sql_mode,'ONLY_FULL_GROUP_BY',''));
+
+-- uc_dolphin_T_t_ds_instance_statistics
+drop PROCEDURE if EXISTS uc_dolphin_T_t_ds_instance_statistics;
+delimiter d//
+CREATE PROCEDURE uc_dolphin_T_t_ds_instance_statistics()
+   BEGIN
+       IF NOT EXISTS (SELECT 1 FROM information_schema.TABLES
+           WHERE TABLE_NAME='t_ds_instance_statistics'
+           AND TABLE_SCHEMA=(SELECT DATABASE()))
+   THEN
+         CREATE TABLE `t_ds_instance_statistics` (
+           `id` int(11) NOT NULL AUTO_INCREMENT COMMENT 'key',
+           `instance_type` tinyint(4) NOT NULL COMMENT 'instance type: 0 process instance, 1 task instance',
+           `project_id` int(11) NOT NULL COMMENT 'project id',
+           `stat_hour` datetime NOT NULL COMMENT 'hour of instance start time',
+           `state` tinyint(4) NOT NULL COMMENT 'instance state',
+           `instance_count` int(11) NOT NULL DEFAULT '0' COMMENT 'instance count',
+           `update_time` datetime DEFAULT NULL COMMENT 'update time',
+           PRIMARY KEY (`id`),
+           UNIQUE KEY `instance_statistics_unique` (`instance_type`,`stat_hour`,`project_id`,`state`)
+         ) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+       END IF;
+ END;
+
+d//
+
+delimiter ;
+CALL uc_dolphin_T_t_ds_instance_statistics;
+DROP PROCEDURE uc_dolphin_T_t_ds_instance_statistics;
+
+-- uc_dolphin_T_t_ds_task_instance_A_start_time_index
+drop PROCEDURE if EXISTS uc_dolphin_T_t_ds_task_instance_A_start_time_index;
+delimiter d//
+CREATE PROCEDURE uc_dolphin_T_t_ds_task_instance_A_start_time_index()
+   BEGIN
+       IF NOT EXISTS (SELECT 1 FROM information_schema.STATISTICS
+           WHERE TABLE_NAME='t_ds_task_instance'
+           AND TABLE_SCHEMA=(SELECT DATABASE())
+           AND INDEX_NAME='start_time_index')
+   THEN
+         ALTER TABLE `t_ds_task_instance` ADD INDEX `start_time_index` (`start_time`) USING BTREE;
+       END IF;
+ END;
+
+d//
+
+delimiter ;
+CALL uc_dolphin_T_t_ds_task_instance_A_start_time_index;
+DROP PROCEDURE uc_dolphin_T_t_ds_task_instance_A_start_time_index;
+
+-- uc_dolphin_T_t_ds_schedule_fire
+drop PROCEDURE if EXISTS uc_dolphin_T_t_ds_schedule_fire;
+delimiter d//
+CREATE PROCEDURE uc_dolphin_T_t_ds_schedule_fire()
+   BEGIN
+       IF NOT EXISTS (SELECT 1 FROM information_schema.TABLES
+           WHERE TABLE_NAME='t_ds_schedule_fire'
+           AND TABLE_SCHEMA=(SELECT DATABASE()))
+   THEN
+         CREATE TABLE `t_ds_schedule_fire` (
+           `schedule_id` int(11) NOT NULL COMMENT 'schedule id',
+           `last_fire_time` datetime NOT NULL COMMENT 'last fire time claimed by a master',
+           PRIMARY KEY (`schedule_id`)
+         ) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+       END IF;
+ END;
+
+d//
+
+delimiter ;
+CALL uc_dolphin_T_t_ds_schedule_fire;
+DROP PROCEDURE uc_dolphin_T_t_ds_schedule_fire;
+
+-- uc_dolphin_T_t_ds_alert_A_alert_status_index
+drop PROCEDURE if EXISTS uc_dolphin_T_t_ds_alert_A_alert_status_index;
+delimiter d//
+CREATE PROCEDURE uc_dolphin_T_t_ds_alert_A_alert_status_index()
+   BEGIN
+       IF NOT EXISTS (SELECT 1 FROM information_schema.STATISTICS
+           WHERE TABLE_NAME='t_ds_alert'
+           AND TABLE_SCHEMA=(SELECT DATABASE())
+           AND INDEX_NAME='alert_status_index')
+   THEN
+         ALTER TABLE `t_ds_alert` ADD INDEX `alert_status_index` (`alert_status`) USING BTREE;
+       END IF;
+ END;
+
+d//
+
+delimiter ;
+CALL uc_dolphin_T_t_ds_alert_A_alert_status_index;
+DROP PROCEDURE uc_dolphin_T_t_ds_alert_A_alert_status_index;
+
+-- uc_dolphin_T_t_ds_lifecycle_event
+drop PROCEDURE if EXISTS uc_dolphin_T_t_ds_lifecycle_event;
+delimiter d//
+CREATE PROCEDURE uc_dolphin_T_t_ds_lifecycle_event()
+   BEGIN
+       IF NOT EXISTS (SELECT 1 FROM information_schema.TABLES
+           WHERE TABLE_NAME='t_ds_lifecycle_event'
+           AND TABLE_SCHEMA=(SELECT DATABASE()))
+   THEN
+         CREATE TABLE `t_ds_lifecycle_event` (
+           `id` int(11) NOT NULL AUTO_INCREMENT COMMENT 'key',
+           `process_instance_id` int(11) NOT NULL COMMENT 'process instance id',
+           `task_instance_id` int(11) NOT NULL DEFAULT '0' COMMENT 'task instance id, 0 for process instance stages',
+           `stage` tinyint(4) NOT NULL COMMENT 'lifecycle stage',
+           `event_time` datetime(3) NOT NULL COMMENT 'the time the stage was passed',
+           `host` varchar(45) DEFAULT NULL COMMENT 'host recording the event',
+           PRIMARY KEY (`id`),
+           KEY `process_instance_id_index` (`process_instance_id`),
+           KEY `event_time_index` (`event_time`)
+         ) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+       END IF;
+ END;
+
+d//
+
+delimiter ;
+CALL uc_dolphin_T_t_ds_lifecycle_event;
+DROP PROCEDURE uc_dolphin_T_t_ds_lifecycle_event;
+
+-- uc_dolphin_T_t_ds_process_instance_A_start_time_id_index
+drop PROCEDURE if EXISTS uc_dolphin_T_t_ds_process_instance_A_start_time_id_index;
+delimiter d//
+CREATE PROCEDURE uc_dolphin_T_t_ds_process_instance_A_start_time_id_index()
+   BEGIN
+       IF NOT EXISTS (SELECT 1 FROM information_schema.STATISTICS
+           WHERE TABLE_NAME='t_ds_process_instance'
+           AND TABLE_SCHEMA=(SELECT DATABASE())
+           AND INDEX_NAME='start_time_index'
+           AND COLUMN_NAME='id')
+   THEN
+         ALTER TABLE `t_ds_process_instance` DROP INDEX `start_time_index`,
+           ADD INDEX `start_time_index` (`start_time`,`id`) USING BTREE;
+       END IF;
+ END;
+
+d//
+
+delimiter ;
+CALL uc_dolphin_T_t_ds_process_instance_A_start_time_id_index;
+DROP PROCEDURE uc_dolphin_T_t_ds_process_instance_A_start_time_id_index;
+
+-- uc_dolphin_T_t_ds_task_instance_A_start_time_id_index
+drop PROCEDURE if EXISTS uc_dolphin_T_t_ds_task_instance_A_start_time_id_index;
+delimiter d//
+CREATE PROCEDURE uc_dolphin_T_t_ds_task_instance_A_start_time_id_index()
+   BEGIN
+       IF NOT EXISTS (SELECT 1 FROM information_schema.STATISTICS
+           WHERE TABLE_NAME='t_ds_task_instance'
+           AND TABLE_SCHEMA=(SELECT DATABASE())
+           AND INDEX_NAME='start_time_index'
+           AND COLUMN_NAME='id')
+   THEN
+         ALTER TABLE `t_ds_task_instance` DROP INDEX `start_time_index`,
+           ADD INDEX `start_time_index` (`start_time`,`id`) USING BTREE;
+       END IF;
+ END;
+
+d//
+
+delimiter ;
+CALL uc_dolphin_T_t_ds_task_instance_A_start_time_id_index;
+DROP PROCEDURE uc_dolphin_T_t_ds_task_instance_A_start_time_id_index;
+
+-- uc_dolphin_T_t_ds_process_instance_archive
+drop PROCEDURE if EXISTS uc_dolphin_T_t_ds_process_instance_archive;
+delimiter d//
+CREATE PROCEDURE uc_dolphin_T_t_ds_process_instance_archive()
+   BEGIN
+       IF NOT EXISTS (SELECT 1 FROM information_schema.TABLES
+           WHERE TABLE_NAME='t_ds_process_instance_archive'
+           AND TABLE_SCHEMA=(SELECT DATABASE()))
+   THEN
+         CREATE TABLE `t_ds_process_instance_archive` LIKE `t_ds_process_instance`;
+       END IF;
+ END;
+
+d//
+
+delimiter ;
+CALL uc_dolphin_T_t_ds_process_instance_archive;
+DROP PROCEDURE uc_dolphin_T_t_ds_process_instance_archive;
+
+-- uc_dolphin_T_t_ds_task_instance_archive
+drop PROCEDURE if EXISTS uc_dolphin_T_t_ds_task_instance_archive;
+delimiter d//
+CREATE PROCEDURE uc_dolphin_T_t_ds_task_instance_archive()
+   BEGIN
+       IF NOT EXISTS (SELECT 1 FROM information_schema.TABLES
+           WHERE TABLE_NAME='t_ds_task_instance_archive'
+           AND TABLE_SCHEMA=(SELECT DATABASE()))
+   THEN
+         CREATE TABLE `t_ds_task_instance_archive` LIKE `t_ds_task_instance`;
+       END IF;
+ END;
+
+d//
+
+delimiter ;
+CALL uc_dolphin_T_t_ds_task_instance_archive;
+DROP PROCEDURE uc_dolphin_T_t_ds_task_instance_archive;
+
+-- uc_dolphin_T_t_ds_command_A_process_instance_id
+drop PROCEDURE if EXISTS uc_dolphin_T_t_ds_command_A_process_instance_id;
+delimiter d//
+CREATE PROCEDURE uc_dolphin_T_t_ds_command_A_process_instance_id()
+   BEGIN
+       IF NOT EXISTS (SELECT 1 FROM information_schema.COLUMNS
+           WHERE TABLE_NAME='t_ds_command'
+           AND TABLE_SCHEMA=(SELECT DATABASE())
+           AND COLUMN_NAME='process_instance_id')
+   THEN
+         ALTER TABLE `t_ds_command` ADD COLUMN `process_instance_id` int(11) DEFAULT '0' COMMENT 'process instance id recovered or rerun by the command' AFTER `worker_group_id`;
+         ALTER TABLE `t_ds_command` ADD INDEX `process_instance_id_index` (`process_instance_id`) USING BTREE;
+       END IF;
+ END;
+
+d//
+
+delimiter ;
+CALL uc_dolphin_T_t_ds_command_A_process_instance_id;
+DROP PROCEDURE uc_dolphin_T_t_ds_command_A_process_instance_id;
+
+-- uc_dolphin_T_t_ds_alert_A_process_definition_id
+drop PROCEDURE if EXISTS uc_dolphin_T_t_ds_alert_A_process_definition_id;
+delimiter d//
+CREATE PROCEDURE uc_dolphin_T_t_ds_alert_A_process_definition_id()
+   BEGIN
+       IF NOT EXISTS (SELECT 1 FROM information_schema.COLUMNS
+           WHERE TABLE_NAME='t_ds_alert'
+           AND TABLE_SCHEMA=(SELECT DATABASE())
+           AND COLUMN_NAME='process_definition_id')
+   THEN
+         ALTER TABLE `t_ds_alert` ADD COLUMN `process_definition_id` int(11) DEFAULT NULL COMMENT 'process definition id raising the alert' AFTER `receivers_cc`;
+       END IF;
+ END;
+
+d//
+
+delimiter ;
+CALL uc_dolphin_T_t_ds_alert_A_process_definition_id;
+DROP PROCEDURE uc_dolphin_T_t_ds_alert_A_process_definition_id;
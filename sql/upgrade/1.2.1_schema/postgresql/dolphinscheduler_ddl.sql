@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+-- t_ds_instance_statistics
+CREATE SEQUENCE IF NOT EXISTS t_ds_instance_statistics_id_sequence;
+CREATE TABLE IF NOT EXISTS t_ds_instance_statistics (
+  id int NOT NULL DEFAULT NEXTVAL('t_ds_instance_statistics_id_sequence') ,
+  instance_type int NOT NULL ,
+  project_id int NOT NULL ,
+  stat_hour timestamp NOT NULL ,
+  state int NOT NULL ,
+  instance_count int NOT NULL DEFAULT '0' ,
+  update_time timestamp DEFAULT NULL ,
+  PRIMARY KEY (id)
+);
+CREATE UNIQUE INDEX IF NOT EXISTS instance_statistics_unique on t_ds_instance_statistics (instance_type,stat_hour,project_id,state);
+
+-- t_ds_task_instance start_time,id index
+CREATE INDEX IF NOT EXISTS task_instance_start_time_index on t_ds_task_instance (start_time,id);
+
+-- t_ds_schedule_fire
+CREATE TABLE IF NOT EXISTS t_ds_schedule_fire (
+  schedule_id int NOT NULL ,
+  last_fire_time timestamp NOT NULL ,
+  PRIMARY KEY (schedule_id)
+);
+
+-- t_ds_alert alert_status index
+CREATE INDEX IF NOT EXISTS alert_status_index on t_ds_alert (alert_status);
+
+-- t_ds_lifecycle_event
+CREATE SEQUENCE IF NOT EXISTS t_ds_lifecycle_event_id_sequence;
+CREATE TABLE IF NOT EXISTS t_ds_lifecycle_event (
+  id int NOT NULL DEFAULT NEXTVAL('t_ds_lifecycle_event_id_sequence') ,
+  process_instance_id int NOT NULL ,
+  task_instance_id int NOT NULL DEFAULT '0' ,
+  stage int NOT NULL ,
+  event_time timestamp(3) NOT NULL ,
+  host varchar(45) DEFAULT NULL ,
+  PRIMARY KEY (id)
+);
+CREATE INDEX IF NOT EXISTS lifecycle_event_process_instance_id_index on t_ds_lifecycle_event (process_instance_id);
+CREATE INDEX IF NOT EXISTS lifecycle_event_time_index on t_ds_lifecycle_event (event_time);
+
+-- t_ds_process_instance start_time,id index
+DROP INDEX IF EXISTS start_time_index;
+CREATE INDEX IF NOT EXISTS process_instance_start_time_index on t_ds_process_instance (start_time,id);
+
+-- t_ds_process_instance_archive
+CREATE TABLE IF NOT EXISTS t_ds_process_instance_archive (LIKE t_ds_process_instance INCLUDING ALL);
+
+-- t_ds_task_instance_archive
+CREATE TABLE IF NOT EXISTS t_ds_task_instance_archive (LIKE t_ds_task_instance INCLUDING ALL);
+
+-- t_ds_command process_instance_id
+ALTER TABLE t_ds_command ADD COLUMN IF NOT EXISTS process_instance_id int DEFAULT '0';
+CREATE INDEX IF NOT EXISTS command_process_instance_id_index on t_ds_command (process_instance_id);
+
+-- t_ds_alert process_definition_id
+ALTER TABLE t_ds_alert ADD COLUMN IF NOT EXISTS process_definition_id int DEFAULT NULL;
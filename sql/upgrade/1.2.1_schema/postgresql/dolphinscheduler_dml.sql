@@ -0,0 +1,21 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+-- backfill t_ds_command.process_instance_id of the recover suspended (3), start failure task (4)
+-- and repeat running (7) commands from their parameter {"ProcessInstanceId":id}
+UPDATE t_ds_command SET process_instance_id = substring(command_param from '[0-9]+')::int
+WHERE command_type IN (3, 4, 7) AND command_param ~ '^[{]"ProcessInstanceId":[0-9]+[}]$';